@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io.binary.processor;
+
+import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.binary.types.CustomTypeSerializer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation that specifies that a class or record is to be written and read as a GraphBinary custom type. Two
+ * classes are generated to the package of the annotated type. Assuming a type annotated with
+ * {@code GraphBinaryType} called {@code Money}, they are:
+ *
+ * <ul>
+ *     <li>{@code MoneySerializer} - a {@link CustomTypeSerializer} that writes the fields of {@code Money}</li>
+ *     <li>{@code GraphBinaryIoRegistry} - an {@link IoRegistry} that holds the serializers of all the annotated types
+ *     of the package, or the one named by {@link #registry()}</li>
+ * </ul>
+ *
+ * The fields that are not {@code static} or {@code transient} are written in the order they are declared, each
+ * read with an accessor named like the field itself, as for a record, or prefixed with {@code get} or {@code is}, or
+ * directly if the field is not {@code private}. The type is read back with a constructor that takes those fields in
+ * the same order, which is the canonical constructor of a record. Primitive and {@code String} fields are written
+ * without type information while any other field is written fully qualified so it may be of any type GraphBinary
+ * can write, including another annotated type with a serializer in the same registry.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface GraphBinaryType {
+
+    /**
+     * The name the custom type is written with, which must be the same wherever the type is read. If this value is
+     * left unset or set to an empty string, it will default to the canonical name of the annotated type.
+     */
+    public String name() default "";
+
+    /**
+     * The name of the {@link IoRegistry} that the generated serializer is added to. A simple name is a class in the
+     * package of the annotated type while a canonical name may place it in any package.
+     */
+    public String registry() default "GraphBinaryIoRegistry";
+}
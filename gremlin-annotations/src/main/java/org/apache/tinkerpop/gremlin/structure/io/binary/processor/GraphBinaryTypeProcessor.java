@@ -0,0 +1,408 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io.binary.processor;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.ProcessorException;
+import org.apache.tinkerpop.gremlin.structure.io.AbstractIoRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryIo;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.structure.io.binary.types.CustomTypeSerializer;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A custom Java annotation processor for the {@link GraphBinaryType} annotation that generates a
+ * {@link CustomTypeSerializer} for each annotated type and the {@code IoRegistry} that registers them. The generated
+ * serializers write the fields straight to the buffer and read them into local variables that are passed to the
+ * constructor, so no more objects are created than the value itself and those of its fields.
+ */
+@SupportedAnnotationTypes("org.apache.tinkerpop.gremlin.structure.io.binary.processor.GraphBinaryType")
+public class GraphBinaryTypeProcessor extends AbstractProcessor {
+    private static final ClassName BUFFER = ClassName.get(Buffer.class);
+    private static final ClassName READER = ClassName.get(GraphBinaryReader.class);
+    private static final ClassName WRITER = ClassName.get(GraphBinaryWriter.class);
+
+    private Messager messager;
+    private Elements elementUtils;
+    private Filer filer;
+    private Types typeUtils;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        messager = processingEnv.getMessager();
+        elementUtils = processingEnv.getElementUtils();
+        filer = processingEnv.getFiler();
+        typeUtils = processingEnv.getTypeUtils();
+    }
+
+    /**
+     * Supports the latest version of the compiler it runs in so that records can be annotated.
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        try {
+            // the serializers of the types of a round are added to the registries that are generated at its end
+            final Map<ClassName, Map<ClassName, ClassName>> registries = new LinkedHashMap<>();
+            for (Element element : roundEnv.getElementsAnnotatedWith(GraphBinaryType.class)) {
+                validateType(element);
+                final TypeElement typeElement = (TypeElement) element;
+                final ClassName registryName = getRegistryName(typeElement);
+                final ClassName serializerName = generateSerializer(typeElement);
+                registries.computeIfAbsent(registryName, k -> new LinkedHashMap<>()).put(ClassName.get(typeElement), serializerName);
+            }
+
+            for (Map.Entry<ClassName, Map<ClassName, ClassName>> registry : registries.entrySet()) {
+                generateRegistry(registry.getKey(), registry.getValue());
+            }
+        } catch (ProcessorException ex) {
+            messager.printMessage(Diagnostic.Kind.ERROR, ex.getMessage(), ex.getElement());
+        } catch (Exception ex) {
+            messager.printMessage(Diagnostic.Kind.ERROR, ex.getMessage());
+        }
+
+        return true;
+    }
+
+    private ClassName generateSerializer(final TypeElement typeElement) throws ProcessorException, IOException {
+        final ClassName typeName = ClassName.get(typeElement);
+        final ClassName serializerName = ClassName.get(typeName.packageName(), String.join("_", typeName.simpleNames()) + "Serializer");
+        final String customTypeName = typeElement.getAnnotation(GraphBinaryType.class).name();
+        final List<Property> properties = getProperties(typeElement);
+        validateConstructor(typeElement, properties);
+
+        final TypeSpec.Builder serializerClass = TypeSpec.classBuilder(serializerName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addOriginatingElement(typeElement)
+                .addSuperinterface(ParameterizedTypeName.get(ClassName.get(CustomTypeSerializer.class), typeName))
+                .addField(FieldSpec.builder(String.class, "TYPE_NAME", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$S", customTypeName.isEmpty() ? typeElement.getQualifiedName().toString() : customTypeName)
+                        .build());
+
+        serializerClass.addMethod(MethodSpec.methodBuilder("getTypeName")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(String.class)
+                .addStatement("return TYPE_NAME")
+                .build());
+
+        serializerClass.addMethod(MethodSpec.methodBuilder("getDataType")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .returns(DataType.class)
+                .addStatement("return $T.CUSTOM", DataType.class)
+                .build());
+
+        serializerClass.addMethod(MethodSpec.methodBuilder("read")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(BUFFER, "buffer", Modifier.FINAL)
+                .addParameter(READER, "context", Modifier.FINAL)
+                .addException(IOException.class)
+                .returns(typeName)
+                .addComment("no {custom_type_info}")
+                .beginControlFlow("if (buffer.readInt() != 0)")
+                .addStatement("throw new $T($S + TYPE_NAME)", IOException.class, "{custom_type_info} should not be provided for ")
+                .endControlFlow()
+                .addStatement("return readValue(buffer, context, true)")
+                .build());
+
+        final MethodSpec.Builder readValueMethod = MethodSpec.methodBuilder("readValue")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(BUFFER, "buffer", Modifier.FINAL)
+                .addParameter(READER, "context", Modifier.FINAL)
+                .addParameter(TypeName.BOOLEAN, "nullable", Modifier.FINAL)
+                .addException(IOException.class)
+                .returns(typeName)
+                .beginControlFlow("if (nullable && (buffer.readByte() & 1) == 1)")
+                .addStatement("return null")
+                .endControlFlow();
+        for (Property property : properties) {
+            readValueMethod.addCode(readProperty(property));
+        }
+        if (properties.stream().anyMatch(p -> p.kind == PropertyKind.OBJECT))
+            readValueMethod.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build());
+        readValueMethod.addStatement("return new $T($L)", typeName,
+                properties.stream().map(p -> p.local).collect(Collectors.joining(", ")));
+        serializerClass.addMethod(readValueMethod.build());
+
+        serializerClass.addMethod(MethodSpec.methodBuilder("write")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(typeName, "value", Modifier.FINAL)
+                .addParameter(BUFFER, "buffer", Modifier.FINAL)
+                .addParameter(WRITER, "context", Modifier.FINAL)
+                .addException(IOException.class)
+                .addComment("no {custom_type_info}")
+                .addStatement("buffer.writeInt(0)")
+                .addStatement("writeValue(value, buffer, context, true)")
+                .build());
+
+        final MethodSpec.Builder writeValueMethod = MethodSpec.methodBuilder("writeValue")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(typeName, "value", Modifier.FINAL)
+                .addParameter(BUFFER, "buffer", Modifier.FINAL)
+                .addParameter(WRITER, "context", Modifier.FINAL)
+                .addParameter(TypeName.BOOLEAN, "nullable", Modifier.FINAL)
+                .addException(IOException.class)
+                .beginControlFlow("if (value == null)")
+                .beginControlFlow("if (!nullable)")
+                .addStatement("throw new $T($S)", IOException.class, "Unexpected null value when nullable is false")
+                .endControlFlow()
+                .addStatement("context.writeValueFlagNull(buffer)")
+                .addStatement("return")
+                .endControlFlow()
+                .beginControlFlow("if (nullable)")
+                .addStatement("context.writeValueFlagNone(buffer)")
+                .endControlFlow();
+        for (Property property : properties) {
+            writeValueMethod.addCode(writeProperty(property));
+        }
+        serializerClass.addMethod(writeValueMethod.build());
+
+        JavaFile.builder(serializerName.packageName(), serializerClass.build()).build().writeTo(filer);
+        return serializerName;
+    }
+
+    private void generateRegistry(final ClassName registryName, final Map<ClassName, ClassName> serializers) throws IOException {
+        final MethodSpec.Builder constructor = MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE);
+        for (Map.Entry<ClassName, ClassName> serializer : serializers.entrySet()) {
+            constructor.addStatement("register($T.class, $T.class, new $T())", GraphBinaryIo.class, serializer.getKey(), serializer.getValue());
+        }
+
+        final TypeSpec registryClass = TypeSpec.classBuilder(registryName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .superclass(AbstractIoRegistry.class)
+                .addField(FieldSpec.builder(registryName, "INSTANCE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", registryName)
+                        .build())
+                .addMethod(constructor.build())
+                .addMethod(MethodSpec.methodBuilder("instance")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(registryName)
+                        .addStatement("return INSTANCE")
+                        .build())
+                .build();
+
+        JavaFile.builder(registryName.packageName(), registryClass).build().writeTo(filer);
+    }
+
+    private CodeBlock readProperty(final Property property) {
+        final TypeName typeName = TypeName.get(property.type);
+        switch (property.kind) {
+            case INT:
+                return CodeBlock.builder().addStatement("final int $N = context.readInt(buffer)", property.local).build();
+            case LONG:
+                return CodeBlock.builder().addStatement("final long $N = context.readLong(buffer)", property.local).build();
+            case CHAR:
+                return CodeBlock.builder().addStatement("final char $N = (char) buffer.readShort()", property.local).build();
+            case PRIMITIVE:
+                final String primitive = property.type.getKind().name().toLowerCase();
+                return CodeBlock.builder().addStatement("final $T $N = buffer.read$L()", typeName, property.local,
+                        Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1)).build();
+            case STRING:
+                return CodeBlock.builder().addStatement("final String $N = context.readValue(buffer, String.class, true)", property.local).build();
+            case ENUM:
+                return CodeBlock.builder()
+                        .addStatement("final String $N$$name = context.readValue(buffer, String.class, true)", property.local)
+                        .addStatement("final $T $N = $N$$name == null ? null : $T.valueOf($N$$name)", typeName, property.local,
+                                property.local, typeName, property.local)
+                        .build();
+            default:
+                return CodeBlock.builder().addStatement("final $T $N = ($T) context.read(buffer)", typeName, property.local, typeName).build();
+        }
+    }
+
+    private CodeBlock writeProperty(final Property property) {
+        switch (property.kind) {
+            case INT:
+                return CodeBlock.builder().addStatement("context.writeInt(value.$L, buffer)", property.accessor).build();
+            case LONG:
+                return CodeBlock.builder().addStatement("context.writeLong(value.$L, buffer)", property.accessor).build();
+            case CHAR:
+                return CodeBlock.builder().addStatement("buffer.writeShort(value.$L)", property.accessor).build();
+            case PRIMITIVE:
+                final String primitive = property.type.getKind().name().toLowerCase();
+                return CodeBlock.builder().addStatement("buffer.write$L(value.$L)",
+                        Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1), property.accessor).build();
+            case STRING:
+                return CodeBlock.builder().addStatement("context.writeValue(value.$L, buffer, true)", property.accessor).build();
+            case ENUM:
+                return CodeBlock.builder()
+                        .addStatement("final $T $N = value.$L", TypeName.get(property.type), property.local, property.accessor)
+                        .addStatement("context.writeValue($N == null ? null : $N.name(), buffer, true)", property.local, property.local)
+                        .build();
+            default:
+                return CodeBlock.builder().addStatement("context.write(value.$L, buffer)", property.accessor).build();
+        }
+    }
+
+    private void validateType(final Element element) throws ProcessorException {
+        // records are matched by name as ElementKind.RECORD is not known to the version this is built for
+        if (element.getKind() != ElementKind.CLASS && !element.getKind().name().equals("RECORD"))
+            throw new ProcessorException(element, "Only classes and records can be annotated with @%s", GraphBinaryType.class.getSimpleName());
+
+        final TypeElement typeElement = (TypeElement) element;
+        final Set<Modifier> modifiers = typeElement.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE))
+            throw new ProcessorException(element, "The type %s cannot be abstract or private.", typeElement.getQualifiedName());
+        if (typeElement.getNestingKind() == NestingKind.LOCAL || typeElement.getNestingKind() == NestingKind.ANONYMOUS ||
+                (typeElement.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)))
+            throw new ProcessorException(element, "The type %s is not a top level or static nested type.", typeElement.getQualifiedName());
+        if (!typeElement.getTypeParameters().isEmpty())
+            throw new ProcessorException(element, "The type %s cannot have type parameters.", typeElement.getQualifiedName());
+        if (!getRegistryName(typeElement).packageName().equals(ClassName.get(typeElement).packageName()) &&
+                !modifiers.contains(Modifier.PUBLIC))
+            throw new ProcessorException(element, "The type %s must be public to be registered in another package.", typeElement.getQualifiedName());
+    }
+
+    private void validateConstructor(final TypeElement typeElement, final List<Property> properties) throws ProcessorException {
+        final boolean found = ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                .filter(c -> !c.getModifiers().contains(Modifier.PRIVATE))
+                .map(ExecutableElement::getParameters)
+                .anyMatch(parameters -> parameters.size() == properties.size() && IntStream.range(0, parameters.size())
+                        .allMatch(i -> typeUtils.isSameType(parameters.get(i).asType(), properties.get(i).type)));
+        if (!found)
+            throw new ProcessorException(typeElement, "The type %s has no constructor that takes its fields in the order they are declared.",
+                    typeElement.getQualifiedName());
+    }
+
+    private ClassName getRegistryName(final TypeElement typeElement) {
+        final String registry = typeElement.getAnnotation(GraphBinaryType.class).registry();
+        return registry.contains(".") ?
+                ClassName.bestGuess(registry) :
+                ClassName.get(ClassName.get(typeElement).packageName(), registry);
+    }
+
+    private List<Property> getProperties(final TypeElement typeElement) throws ProcessorException {
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(typeElement.getEnclosedElements());
+        final TypeMirror stringType = elementUtils.getTypeElement(String.class.getCanonicalName()).asType();
+        final List<Property> properties = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT))
+                continue;
+
+            final TypeMirror type = field.asType();
+            final PropertyKind kind;
+            if (type.getKind() == TypeKind.INT)
+                kind = PropertyKind.INT;
+            else if (type.getKind() == TypeKind.LONG)
+                kind = PropertyKind.LONG;
+            else if (type.getKind() == TypeKind.CHAR)
+                kind = PropertyKind.CHAR;
+            else if (type.getKind().isPrimitive())
+                kind = PropertyKind.PRIMITIVE;
+            else if (typeUtils.isSameType(type, stringType))
+                kind = PropertyKind.STRING;
+            else if (type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM)
+                kind = PropertyKind.ENUM;
+            else
+                kind = PropertyKind.OBJECT;
+
+            properties.add(new Property(field.getSimpleName().toString(), type, kind, getAccessor(typeElement, field, methods)));
+        }
+        return properties;
+    }
+
+    private String getAccessor(final TypeElement typeElement, final VariableElement field,
+                               final List<ExecutableElement> methods) throws ProcessorException {
+        final String name = field.getSimpleName().toString();
+        final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String candidate : Arrays.asList(name, "get" + capitalized, "is" + capitalized)) {
+            final boolean found = methods.stream().anyMatch(m -> m.getSimpleName().contentEquals(candidate) &&
+                    m.getParameters().isEmpty() && !m.getModifiers().contains(Modifier.PRIVATE) &&
+                    !m.getModifiers().contains(Modifier.STATIC) && typeUtils.isSameType(m.getReturnType(), field.asType()));
+            if (found) return candidate + "()";
+        }
+
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) return name;
+
+        throw new ProcessorException(field, "The field %s of %s is private and has no accessor.", name, typeElement.getQualifiedName());
+    }
+
+    private enum PropertyKind {
+        INT, LONG, CHAR, PRIMITIVE, STRING, ENUM, OBJECT
+    }
+
+    private static class Property {
+        private final TypeMirror type;
+        private final PropertyKind kind;
+        private final String accessor;
+
+        /**
+         * The name of the variable the property is read into, which cannot be the same as a parameter name.
+         */
+        private final String local;
+
+        private Property(final String name, final TypeMirror type, final PropertyKind kind, final String accessor) {
+            this.type = type;
+            this.kind = kind;
+            this.accessor = accessor;
+            this.local = "_" + name;
+        }
+    }
+}
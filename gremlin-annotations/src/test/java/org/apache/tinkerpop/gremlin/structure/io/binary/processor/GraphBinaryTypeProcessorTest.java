@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io.binary.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import io.netty.buffer.ByteBufAllocator;
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
+import org.apache.tinkerpop.gremlin.util.ser.NettyBufferFactory;
+import org.junit.Test;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class GraphBinaryTypeProcessorTest {
+    private static final String PACKAGE = "org.apache.tinkerpop.gremlin.structure.io.binary.processor";
+    private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
+
+    @Test
+    public void shouldGenerateSerializersAndRegistry() {
+        final Compilation compilation = compilePerson();
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedFile(StandardLocation.SOURCE_OUTPUT, PACKAGE, "PersonSerializer.java");
+        assertThat(compilation).generatedFile(StandardLocation.SOURCE_OUTPUT, PACKAGE, "Person_AddressSerializer.java");
+        assertThat(compilation).generatedFile(StandardLocation.SOURCE_OUTPUT, PACKAGE, "GraphBinaryIoRegistry.java");
+    }
+
+    @Test
+    public void shouldFailWithoutMatchingConstructor() {
+        final Compilation compilation = javac()
+                .withProcessors(new GraphBinaryTypeProcessor())
+                .compile(JavaFileObjects.forResource(GraphBinaryType.class.getResource("NoConstructor.java")));
+        assertThat(compilation).failed();
+        assertThat(compilation).hadErrorContaining("has no constructor that takes its fields in the order they are declared");
+    }
+
+    @Test
+    public void shouldWriteAndReadWithGeneratedSerializers() throws Exception {
+        assertRoundTrip(false);
+    }
+
+    @Test
+    public void shouldWriteAndReadWithGeneratedSerializersAndVarInts() throws Exception {
+        assertRoundTrip(true);
+    }
+
+    private void assertRoundTrip(final boolean varInts) throws Exception {
+        final ClassLoader cl = new JavaFileObjectClassLoader(compilePerson().generatedFiles());
+        final Class<?> personClass = cl.loadClass(PACKAGE + ".Person");
+        final Class<?> statusClass = cl.loadClass(PACKAGE + ".Person$Status");
+        final Class<?> addressClass = cl.loadClass(PACKAGE + ".Person$Address");
+        // package-private in Person, which is in another runtime package when loaded by the test class loader
+        final Field addressField = personClass.getDeclaredField("address");
+        addressField.setAccessible(true);
+        final IoRegistry ioRegistry = (IoRegistry) cl.loadClass(PACKAGE + ".GraphBinaryIoRegistry").getMethod("instance").invoke(null);
+        final TypeSerializerRegistry registry = TypeSerializerRegistry.build().addRegistry(ioRegistry).create();
+
+        final Object address = addressClass.getConstructor(String.class).newInstance("Santa Fe");
+        final Object person = personClass.getConstructors()[0].newInstance("marko", 29, Long.MAX_VALUE, 0.5d, true, 'm',
+                statusClass.getEnumConstants()[1], Arrays.asList("a", "b"), address);
+        final Object empty = personClass.getConstructors()[0].newInstance(null, -1, -1L, 0d, false, '\u0000', null, null, null);
+
+        final GraphBinaryWriter writer = varInts ? new GraphBinaryWriter(registry).withVarInts() : new GraphBinaryWriter(registry);
+        final GraphBinaryReader reader = varInts ? new GraphBinaryReader(registry).withVarInts() : new GraphBinaryReader(registry);
+        final Buffer buffer = bufferFactory.create(ByteBufAllocator.DEFAULT.buffer());
+        try {
+            writer.write(person, buffer);
+            writer.write(empty, buffer);
+
+            final Object readPerson = reader.read(buffer);
+            assertEquals("marko", personClass.getMethod("getName").invoke(readPerson));
+            assertEquals(29, personClass.getMethod("getAge").invoke(readPerson));
+            assertEquals(Long.MAX_VALUE, personClass.getMethod("getId").invoke(readPerson));
+            assertEquals(0.5d, personClass.getMethod("getScore").invoke(readPerson));
+            assertEquals(true, personClass.getMethod("isActive").invoke(readPerson));
+            assertEquals('m', personClass.getMethod("initial").invoke(readPerson));
+            assertEquals(statusClass.getEnumConstants()[1], personClass.getMethod("getStatus").invoke(readPerson));
+            assertEquals(Arrays.asList("a", "b"), personClass.getMethod("getTags").invoke(readPerson));
+            assertEquals("Santa Fe", addressClass.getMethod("getCity").invoke(addressField.get(readPerson)));
+
+            final Object readEmpty = reader.read(buffer);
+            assertNull(personClass.getMethod("getName").invoke(readEmpty));
+            assertEquals(-1, personClass.getMethod("getAge").invoke(readEmpty));
+            assertEquals(-1L, personClass.getMethod("getId").invoke(readEmpty));
+            assertNull(personClass.getMethod("getStatus").invoke(readEmpty));
+            assertNull(personClass.getMethod("getTags").invoke(readEmpty));
+            assertNull(addressField.get(readEmpty));
+            assertEquals(0, buffer.readableBytes());
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static Compilation compilePerson() {
+        return javac()
+                .withProcessors(new GraphBinaryTypeProcessor())
+                .compile(JavaFileObjects.forResource(GraphBinaryType.class.getResource("Person.java")));
+    }
+
+    static class JavaFileObjectClassLoader extends ClassLoader {
+        private final Map<String, JavaFileObject> classFileMap;
+
+        JavaFileObjectClassLoader(final List<JavaFileObject> classFiles) {
+            classFileMap = classFiles.stream()
+                    .filter(f -> f.getKind() == JavaFileObject.Kind.CLASS)
+                    .collect(Collectors.toMap(
+                            f -> f.toUri().toString().replaceFirst(".*(?=org/apache/tinkerpop)", ""),
+                            Function.identity()));
+        }
+
+        @Override
+        public Class<?> findClass(final String name) throws ClassNotFoundException {
+            final JavaFileObject classFile = classFileMap.get(name.replaceAll("\\.", "/") + ".class");
+            if (null == classFile) throw new ClassNotFoundException(name);
+
+            try (InputStream in = classFile.openInputStream()) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final byte[] buf = new byte[1024];
+                int len = in.read(buf);
+                while (len != -1) {
+                    out.write(buf, 0, len);
+                    len = in.read(buf);
+                }
+                return defineClass(name, out.toByteArray(), 0, out.size());
+            } catch (IOException ex) {
+                throw new ClassNotFoundException(name, ex);
+            }
+        }
+    }
+}
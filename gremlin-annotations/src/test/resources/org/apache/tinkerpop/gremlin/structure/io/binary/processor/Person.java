@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io.binary.processor;
+
+import java.util.List;
+
+@GraphBinaryType(name = "test.Person")
+public class Person {
+    private final String name;
+    private final int age;
+    private final long id;
+    private final double score;
+    private final boolean active;
+    private final char initial;
+    private final Status status;
+    private final List<String> tags;
+    final Address address;
+    private transient int hash;
+
+    public Person(final String name, final int age, final long id, final double score, final boolean active,
+                  final char initial, final Status status, final List<String> tags, final Address address) {
+        this.name = name;
+        this.age = age;
+        this.id = id;
+        this.score = score;
+        this.active = active;
+        this.initial = initial;
+        this.status = status;
+        this.tags = tags;
+        this.address = address;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public char initial() {
+        return initial;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public enum Status {
+        ACTIVE, RETIRED
+    }
+
+    @GraphBinaryType
+    public static class Address {
+        private final String city;
+
+        public Address(final String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+    }
+}
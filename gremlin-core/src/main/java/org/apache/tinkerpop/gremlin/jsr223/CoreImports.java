@@ -80,6 +80,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Elemen
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.HaltedTraverserStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ParallelBranchStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
@@ -261,6 +262,7 @@ public final class CoreImports {
         CLASS_IMPORTS.add(InlineFilterStrategy.class);
         CLASS_IMPORTS.add(MessagePassingReductionStrategy.class);
         CLASS_IMPORTS.add(OptionsStrategy.class);
+        CLASS_IMPORTS.add(ParallelBranchStrategy.class);
         CLASS_IMPORTS.add(PartitionStrategy.class);
         CLASS_IMPORTS.add(ReservedKeysVerificationStrategy.class);
         CLASS_IMPORTS.add(SubgraphStrategy.class);
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.jsr223;
 
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParserCache;
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
 import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
@@ -56,6 +57,16 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
 
     private final Function<Map<String, Object>, VariableResolver> variableResolverMaker;
 
+    /**
+     * The cache of strategized traversals which is only present when a {@link TraversalPlanCacheCustomizer} is given.
+     */
+    private final TraversalPlanCache traversalPlanCache;
+
+    /**
+     * The cache of parse trees which is only present when a {@link GremlinParserCacheCustomizer} is given.
+     */
+    private final GremlinParserCache parserCache;
+
     /**
      * Creates a new instance using no {@link Customizer}.
      */
@@ -73,6 +84,27 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
                 ((VariableResolverCustomizer) opt.get()).getVariableResolverMaker() :
                 VariableResolver.DirectVariableResolver::new;
 
+        final Optional<Customizer> cacheOpt = listOfCustomizers.stream().filter(c -> c instanceof TraversalPlanCacheCustomizer).findFirst();
+        traversalPlanCache = cacheOpt.isPresent() ?
+                new TraversalPlanCache(((TraversalPlanCacheCustomizer) cacheOpt.get()).getMaxSize()) : null;
+
+        final Optional<Customizer> parserCacheOpt = listOfCustomizers.stream().filter(c -> c instanceof GremlinParserCacheCustomizer).findFirst();
+        parserCache = parserCacheOpt.isPresent() ?
+                new GremlinParserCache(((GremlinParserCacheCustomizer) parserCacheOpt.get()).getMaxSize()) : null;
+    }
+
+    /**
+     * Gets the {@link TraversalPlanCache} if one was configured.
+     */
+    public Optional<TraversalPlanCache> getTraversalPlanCache() {
+        return Optional.ofNullable(traversalPlanCache);
+    }
+
+    /**
+     * Gets the {@link GremlinParserCache} if one was configured.
+     */
+    public Optional<GremlinParserCache> getParserCache() {
+        return Optional.ofNullable(parserCache);
     }
 
     @Override
@@ -102,7 +134,12 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
                 variableResolverMaker.apply(m));
 
         try {
-            return GremlinQueryParser.parse(script, antlr);
+            if (null == traversalPlanCache)
+                return GremlinQueryParser.parse(script, antlr, parserCache);
+            else
+                return traversalPlanCache.get(script, (GraphTraversalSource) o, () -> null == parserCache ?
+                        GremlinQueryParser.parseQueryList(script) :
+                        parserCache.get(script, () -> GremlinQueryParser.parseQueryList(script)), antlr);
         } catch (Exception ex) {
             throw new ScriptException(ex);
         }
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParserCache;
+
+/**
+ * A plugin that enables a {@link GremlinParserCache} for the {@link GremlinLangScriptEngine}, allowing repeated
+ * evaluations of the same script to skip parsing no matter what values are bound to its variables.
+ */
+public class GremlinParserCachePlugin extends AbstractGremlinPlugin {
+    private static final String NAME = "tinkerpop.parserCache";
+
+    private GremlinParserCachePlugin(final GremlinParserCachePlugin.Builder builder) {
+        super(NAME, new GremlinParserCacheCustomizer(builder.maxSize));
+    }
+
+    public static GremlinParserCachePlugin.Builder build() {
+        return new GremlinParserCachePlugin.Builder();
+    }
+
+    public static final class Builder {
+
+        int maxSize = 1000;
+
+        private Builder() {}
+
+        /**
+         * The maximum number of parse trees to hold in the cache. Defaults to 1000.
+         */
+        public GremlinParserCachePlugin.Builder maxSize(final int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public GremlinParserCachePlugin create() {
+            return new GremlinParserCachePlugin(this);
+        }
+    }
+}
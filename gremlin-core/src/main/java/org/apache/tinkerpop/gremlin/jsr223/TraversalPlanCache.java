@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParser;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinVisitor;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SackStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SideEffectStrategy;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, least-recently-used cache of strategized {@link Traversal} templates used by the
+ * {@link GremlinLangScriptEngine}. Entries are keyed by the Gremlin script and the {@link Graph} and
+ * {@link TraversalStrategies} of the {@link TraversalSource} it is evaluated against. A cache hit for a script
+ * without variables returns a clone of the template which is already locked and therefore skips both parsing and
+ * strategy application.
+ * <p/>
+ * Strategies are free to fold values into the steps they produce (for example, {@code InlineFilterStrategy} merging
+ * {@code has()} containers) so a strategized template cannot be safely re-bound to new parameter values after the
+ * fact. For a script with variables only its parse tree is cached, so a hit skips parsing and the traversal is built
+ * from the bindings of each request and strategized as usual. The same goes for a script whose traversal holds state
+ * that a clone would share with the template, like the side-effects of {@code withSideEffect()} or the initial sack of
+ * {@code withSack()}, or that has a value taken when it is built, like {@code datetime()} for the current time.
+ */
+public final class TraversalPlanCache {
+
+    private final int maxSize;
+    private final Map<Key, Object> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TraversalPlanCache(final int maxSize) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("maxSize must be greater than zero");
+        this.maxSize = maxSize;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Object> eldest) {
+                return size() > TraversalPlanCache.this.maxSize;
+            }
+        });
+    }
+
+    /**
+     * Gets an executable copy of the traversal for the script, creating and strategizing the template by visiting
+     * the parse tree from the {@code parser} if it is not already cached. Results of the {@code visitor} that are not
+     * an unlocked {@link Traversal} are returned as-is and only their parse tree is cached.
+     */
+    public Object get(final String script, final TraversalSource source,
+                      final Supplier<GremlinParser.QueryListContext> parser, final GremlinVisitor<Object> visitor) {
+        final Key key = new Key(script, source);
+        final Object cached = cache.get(key);
+        if (cached instanceof Traversal.Admin) {
+            hits.incrementAndGet();
+            return ((Traversal.Admin<?, ?>) cached).clone();
+        } else if (cached instanceof GremlinParser.QueryListContext) {
+            hits.incrementAndGet();
+            return GremlinQueryParser.visit(script, (GremlinParser.QueryListContext) cached, visitor);
+        }
+
+        misses.incrementAndGet();
+        final GremlinParser.QueryListContext tree = parser.get();
+        final Object result = GremlinQueryParser.visit(script, tree, visitor);
+        if (!(result instanceof Traversal.Admin) || ((Traversal.Admin<?, ?>) result).isLocked() || hasVariables(tree)
+                || hasState((Traversal.Admin<?, ?>) result) || hasNowLiteral(tree)) {
+            cache.put(key, tree);
+            return result;
+        }
+
+        final Traversal.Admin<?, ?> traversal = (Traversal.Admin<?, ?>) result;
+        traversal.applyStrategies();
+        cache.put(key, traversal);
+        return traversal.clone();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private static boolean hasVariables(final ParseTree tree) {
+        if (tree instanceof GremlinParser.VariableContext)
+            return true;
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (hasVariables(tree.getChild(i)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Determines if the traversal has side-effects or an initial sack, which a clone shares rather than copies and
+     * so would carry from one request to the next.
+     */
+    private static boolean hasState(final Traversal.Admin<?, ?> traversal) {
+        final TraversalStrategies strategies = traversal.getStrategies();
+        return strategies.getStrategy(SideEffectStrategy.class).isPresent() ||
+                strategies.getStrategy(SackStrategy.class).isPresent() ||
+                !traversal.getSideEffects().keys().isEmpty();
+    }
+
+    /**
+     * Determines if the tree has a {@code datetime()} without an argument, which is the time the traversal is built.
+     */
+    private static boolean hasNowLiteral(final ParseTree tree) {
+        if (tree instanceof GremlinParser.DateLiteralContext && null == ((GremlinParser.DateLiteralContext) tree).stringArgument())
+            return true;
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (hasNowLiteral(tree.getChild(i)))
+                return true;
+        }
+        return false;
+    }
+
+    private static final class Key {
+        private final String script;
+        private final Graph graph;
+        private final TraversalStrategies strategies;
+        private final int hashCode;
+
+        private Key(final String script, final TraversalSource source) {
+            this.script = script.trim();
+            this.graph = source.getGraph();
+            this.strategies = source.getStrategies();
+            this.hashCode = Objects.hash(this.script, System.identityHashCode(graph), System.identityHashCode(strategies));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return graph == key.graph && strategies == key.strategies && script.equals(key.script);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
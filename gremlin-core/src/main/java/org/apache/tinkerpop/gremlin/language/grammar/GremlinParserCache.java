@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.language.grammar;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, least-recently-used cache of parse trees produced by the {@link GremlinQueryParser}, keyed by the exact
+ * text of the Gremlin query. Parse trees are not modified by visiting them and variables are only resolved by the
+ * {@link VariableResolver} at visit time, so a single tree may be shared by any number of evaluations of a
+ * parameterized query regardless of the values bound to its variables.
+ */
+public final class GremlinParserCache {
+
+    private final int maxSize;
+    private final Map<String, GremlinParser.QueryListContext> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public GremlinParserCache(final int maxSize) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("maxSize must be greater than zero");
+        this.maxSize = maxSize;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, GremlinParser.QueryListContext>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, GremlinParser.QueryListContext> eldest) {
+                return size() > GremlinParserCache.this.maxSize;
+            }
+        });
+    }
+
+    /**
+     * Gets the parse tree for the query, producing it with the {@code parser} if it is not already cached. Queries
+     * that fail to parse are not cached.
+     */
+    public GremlinParser.QueryListContext get(final String query, final Supplier<GremlinParser.QueryListContext> parser) {
+        final GremlinParser.QueryListContext tree = cache.get(query);
+        if (tree != null) {
+            hits.incrementAndGet();
+            return tree;
+        }
+
+        misses.incrementAndGet();
+        final GremlinParser.QueryListContext parsed = parser.get();
+        cache.put(query, parsed);
+        return parsed;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -26,8 +26,6 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-
 /**
  * Parses Gremlin strings to an {@code Object}, typically to a {@link Traversal}.
  */
@@ -42,29 +40,62 @@ public class GremlinQueryParser {
         return parse(query, new GremlinAntlrToJava());
     }
 
+    /**
+     * Lexer and parser instances are reset and reused by each thread rather than constructed per query. The
+     * generated recognizers already share their DFA and prediction context caches statically, so reuse saves the
+     * construction of the recognizers and their interpreters on every call.
+     */
+    private static final ThreadLocal<GremlinLexer> lexers = ThreadLocal.withInitial(() -> {
+        final GremlinLexer lexer = new GremlinLexer(null);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
+        return lexer;
+    });
+
+    private static final ThreadLocal<GremlinParser> parsers = ThreadLocal.withInitial(() -> {
+        final GremlinParser parser = new GremlinParser(null);
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorListener);
+        return parser;
+    });
+
     /**
      * Parse Gremlin string using a specified {@link GremlinAntlrToJava} object.
      */
     public static Object parse(final String query, final GremlinVisitor<Object> visitor)  {
+        return visit(query, parseQueryList(query), visitor);
+    }
+
+    /**
+     * Parse Gremlin string using a specified {@link GremlinAntlrToJava} object, taking the parse tree from the
+     * {@link GremlinParserCache} when present. A {@code null} cache simply parses the query.
+     */
+    public static Object parse(final String query, final GremlinVisitor<Object> visitor, final GremlinParserCache cache)  {
+        final GremlinParser.QueryListContext queryContext = null == cache ?
+                parseQueryList(query) : cache.get(query, () -> parseQueryList(query));
+        return visit(query, queryContext, visitor);
+    }
+
+    /**
+     * Parse Gremlin string to its parse tree without visiting it.
+     */
+    public static GremlinParser.QueryListContext parseQueryList(final String query) {
         final CharStream in = CharStreams.fromString(query);
-        final GremlinLexer lexer = new GremlinLexer(in);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(errorListener);
+        final GremlinLexer lexer = lexers.get();
+        lexer.setInputStream(in);
 
         final CommonTokenStream tokens = new CommonTokenStream(lexer);
 
         // Setup error handler on parser
-        final GremlinParser parser = new GremlinParser(tokens);
+        final GremlinParser parser = parsers.get();
+        parser.setTokenStream(tokens);
         // SLL prediction mode is faster than the LL prediction mode when parsing the grammar,
         // but it does not cover parsing all types of input.  We use the SLL by default, and fallback
         // to LL mode if fails to parse the query.
         parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
-        parser.removeErrorListeners();
-        parser.addErrorListener(errorListener);
 
-        GremlinParser.QueryListContext queryContext;
         try {
-            queryContext = parser.queryList();
+            return parser.queryList();
         } catch (Exception ex) {
             // Retry parsing the query again with using LL prediction mode.  LL parsing mode is more powerful
             // so retrying the parsing would help parsing the rare edge cases.
@@ -74,13 +105,23 @@ public class GremlinQueryParser {
                 parser.reset();
                 parser.getInterpreter().setPredictionMode(PredictionMode.LL);
                 log.debug("Query parsed with using LL prediction mode: {}", query);
-                queryContext = parser.queryList();
+                return parser.queryList();
             } catch (Exception e) {
                 log.debug("Query parsing failed in retry with exception" + e);
                 throw new GremlinParserException("Failed to interpret Gremlin query: " + e.getMessage());
-            }        
+            }
+        } finally {
+            // release the input so that the thread-bound recognizers do not hold the last query
+            parser.setTokenStream(null);
+            lexer.setInputStream(null);
         }
+    }
 
+    /**
+     * Visit a parse tree from {@link #parseQueryList(String)} for the query with the specified visitor.
+     */
+    public static Object visit(final String query, final GremlinParser.QueryListContext queryContext,
+                               final GremlinVisitor<Object> visitor) {
         try {
             return visitor.visit(queryContext);
         } catch (ClassCastException ex) {
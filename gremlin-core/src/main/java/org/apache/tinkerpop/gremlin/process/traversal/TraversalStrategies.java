@@ -30,6 +30,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Elemen
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.HaltedTraverserStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ParallelBranchStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SackStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
@@ -246,6 +247,7 @@ public interface TraversalStrategies extends Serializable, Cloneable, Iterable<T
             put(EventStrategy.class.getSimpleName(), EventStrategy.class);
             put(HaltedTraverserStrategy.class.getSimpleName(), HaltedTraverserStrategy.class);
             put(OptionsStrategy.class.getSimpleName(), OptionsStrategy.class);
+            put(ParallelBranchStrategy.class.getSimpleName(), ParallelBranchStrategy.class);
             put(PartitionStrategy.class.getSimpleName(), PartitionStrategy.class);
             put(SeedStrategy.class.getSimpleName(), SeedStrategy.class);
             put(SubgraphStrategy.class.getSimpleName(), SubgraphStrategy.class);
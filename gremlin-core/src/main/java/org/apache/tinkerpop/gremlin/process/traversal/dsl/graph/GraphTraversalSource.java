@@ -39,6 +39,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IoStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.InjectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.RequirementsStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalTemplate;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -52,6 +53,7 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -680,6 +682,23 @@ public class GraphTraversalSource implements TraversalSource {
         return traversal.addStep(new IoStep<S>(traversal, file));
     }
 
+    /**
+     * Creates a {@link TraversalTemplate} which builds the traversal with placeholders for its arguments and applies
+     * its strategies once, returning cheap clones of the compiled traversal with the arguments bound into them from
+     * {@link TraversalTemplate#instance(Object...)}. The {@code builder} is given this {@code GraphTraversalSource}
+     * and the arguments of the instance being requested, for example,
+     * {@code g.template((s, args) -> s.V().out("knows").has("age", P.gt(args[0])).values("name"))}. The builder must
+     * produce the same shape of traversal whatever the values of the arguments, so it must not branch on them, as the
+     * arguments of later instances are bound into the traversal compiled from placeholders.
+     *
+     * @param builder produces the traversal from this source and the template arguments
+     * @since 4.0.0
+     */
+    public <S, E> TraversalTemplate<S, E> template(final BiFunction<GraphTraversalSource, Object[], ? extends Traversal<S, E>> builder) {
+        final GraphTraversalSource source = this;
+        return new TraversalTemplate<>(args -> builder.apply(source, args));
+    }
+
     /**
      * Proxies calls through to the underlying {@link Graph#tx()} or to the {@link RemoteConnection#tx()}.
      */
@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalOptionParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BranchExecutor;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
@@ -39,6 +40,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -55,6 +57,11 @@ public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements Trav
     private boolean first = true;
     private boolean hasBarrier;
 
+    /**
+     * When set, the options seeded by a traverser are evaluated concurrently rather than one after the other.
+     */
+    protected BranchExecutor branchExecutor;
+
     public BranchStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -108,6 +115,9 @@ public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements Trav
 
     @Override
     protected Iterator<Traverser.Admin<E>> standardAlgorithm() {
+        if (null != this.branchExecutor)
+            return this.parallelAlgorithm();
+
         while (true) {
             if (!this.first) {
                 // this block is ignored on the first pass through the while(true) giving the opportunity for
@@ -139,6 +149,35 @@ public class BranchStep<S, E, M> extends ComputerAwareStep<S, E> implements Trav
         }
     }
 
+    /**
+     * Seeds the options in the same way as {@link #standardAlgorithm()} but then fully iterates every seeded option
+     * concurrently. The results are concatenated in option order so that the output matches sequential evaluation.
+     */
+    private Iterator<Traverser.Admin<E>> parallelAlgorithm() {
+        while (true) {
+            if (this.hasBarrier) {
+                if (!this.starts.hasNext())
+                    throw FastNoSuchElementException.instance();
+                while (this.starts.hasNext()) {
+                    this.applyCurrentTraverser(this.starts.next());
+                }
+            } else {
+                this.applyCurrentTraverser(this.starts.next());
+            }
+
+            final List<Callable<List<Traverser.Admin<E>>>> tasks = new ArrayList<>();
+            for (final Traversal.Admin<S, E> option : getGlobalChildren()) {
+                if (option.getStartStep().hasStarts())
+                    tasks.add(() -> BranchExecutor.drain(option));
+            }
+
+            final List<Traverser.Admin<E>> ends = new ArrayList<>();
+            this.branchExecutor.invokeAll(tasks).forEach(ends::addAll);
+            if (!ends.isEmpty())
+                return ends.iterator();
+        }
+    }
+
     /**
      * Choose the right traversal option to apply and seed those options with this traverser.
      */
@@ -20,25 +20,40 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Parallelizable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BranchExecutor;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class LocalStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+public final class LocalStep<S, E> extends AbstractStep<S, E> implements TraversalParent, Parallelizable {
 
     private Traversal.Admin<S, E> localTraversal;
     private boolean first = true;
 
+    private BranchExecutor branchExecutor;
+
+    /**
+     * Copies of the {@code localTraversal} used to process a batch of traversers concurrently when a
+     * {@link BranchExecutor} is present. The {@code localTraversal} itself always handles the first of the batch.
+     */
+    private List<Traversal.Admin<S, E>> parallelTraversals = new ArrayList<>();
+    private Iterator<Traverser.Admin<E>> parallelEnds = EmptyIterator.instance();
+
     public LocalStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> localTraversal) {
         super(traversal);
         this.localTraversal = this.integrateChild(localTraversal);
@@ -54,8 +69,21 @@ public final class LocalStep<S, E> extends AbstractStep<S, E> implements Travers
         return this.localTraversal.getTraverserRequirements();
     }
 
+    @Override
+    public void setBranchExecutor(final BranchExecutor branchExecutor) {
+        this.branchExecutor = branchExecutor;
+    }
+
+    @Override
+    public BranchExecutor getBranchExecutor() {
+        return this.branchExecutor;
+    }
+
     @Override
     protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (null != this.branchExecutor)
+            return this.processNextParallelStart();
+
         if (this.first) {
             this.first = false;
             this.localTraversal.addStart(this.starts.next());
@@ -72,11 +100,47 @@ public final class LocalStep<S, E> extends AbstractStep<S, E> implements Travers
         }
     }
 
+    /**
+     * Takes up to {@link BranchExecutor#getParallelism()} traversers at a time and evaluates each against its own
+     * copy of the {@code localTraversal}, returning the results in the order of the incoming traversers.
+     */
+    private Traverser.Admin<E> processNextParallelStart() {
+        while (true) {
+            if (this.parallelEnds.hasNext())
+                return this.parallelEnds.next();
+            if (!this.starts.hasNext())
+                throw FastNoSuchElementException.instance();
+
+            final List<Callable<List<Traverser.Admin<E>>>> tasks = new ArrayList<>();
+            for (int i = 0; i < this.branchExecutor.getParallelism() && this.starts.hasNext(); i++) {
+                final Traversal.Admin<S, E> worker = this.getParallelTraversal(i);
+                worker.reset();
+                worker.addStart(this.starts.next());
+                tasks.add(() -> BranchExecutor.drain(worker));
+            }
+
+            final List<Traverser.Admin<E>> ends = new ArrayList<>();
+            this.branchExecutor.invokeAll(tasks).forEach(ends::addAll);
+            this.parallelEnds = ends.iterator();
+        }
+    }
+
+    private Traversal.Admin<S, E> getParallelTraversal(final int index) {
+        if (0 == index)
+            return this.localTraversal;
+        while (this.parallelTraversals.size() < index) {
+            this.parallelTraversals.add(this.integrateChild(this.localTraversal.clone()));
+        }
+        return this.parallelTraversals.get(index - 1);
+    }
+
     @Override
     public void reset() {
         super.reset();
         this.first = true;
         this.localTraversal.reset();
+        this.parallelTraversals.forEach(Traversal.Admin::reset);
+        this.parallelEnds = EmptyIterator.instance();
     }
 
     @Override
@@ -84,6 +148,8 @@ public final class LocalStep<S, E> extends AbstractStep<S, E> implements Travers
         final LocalStep<S, E> clone = (LocalStep<S, E>) super.clone();
         clone.localTraversal = this.localTraversal.clone();
         clone.first = true;
+        clone.parallelTraversals = new ArrayList<>();
+        clone.parallelEnds = EmptyIterator.instance();
         return clone;
     }
 
@@ -91,6 +157,7 @@ public final class LocalStep<S, E> extends AbstractStep<S, E> implements Travers
     public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
         super.setTraversal(parentTraversal);
         this.integrateChild(this.localTraversal);
+        this.parallelTraversals.forEach(this::integrateChild);
     }
 
     @Override
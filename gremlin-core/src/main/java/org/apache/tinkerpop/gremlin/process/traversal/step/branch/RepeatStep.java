@@ -21,24 +21,42 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Configuring;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Parameters;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements TraversalParent {
+public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements TraversalParent, Configuring {
+
+    /**
+     * The {@code with()} key that enables breadth-first frontier processing in OLTP. In this mode each incoming
+     * traverser is expanded on its own, one loop at a time: traversers from the same start that arrive at the same
+     * object in a loop are merged into one with their bulks summed and traversers arriving at an object that this start
+     * already reached in an earlier loop are pruned, so each object is processed once per start at the loop where it
+     * was first reached. Merging would lose the history and the sacks of the traversers, so the option has no effect
+     * when the traversal requires paths or sacks, nor does it have any in OLAP.
+     */
+    public static final String FRONTIER = "frontier";
 
     private Traversal.Admin<S, S> repeatTraversal = null;
     private Traversal.Admin<S, ?> untilTraversal = null;
@@ -47,6 +65,12 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     public boolean untilFirst = false;
     public boolean emitFirst = false;
 
+    private Parameters parameters = new Parameters();
+    private boolean frontier = false;
+    private Boolean frontierEnabled = null;
+    private Collection<Traverser.Admin<S>> frontierTraversers = null;
+    private Set<Object> visited = null;
+
     public RepeatStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -104,6 +128,32 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return this.repeatTraversal;
     }
 
+    /**
+     * Determines if this step processes its loops as a breadth-first frontier.
+     */
+    public boolean isFrontier() {
+        return this.frontier;
+    }
+
+    @Override
+    public void configure(final Object... keyValues) {
+        if (keyValues[0].equals(FRONTIER)) {
+            if (keyValues.length == 2 && keyValues[1] instanceof Boolean) {
+                this.frontier = (Boolean) keyValues[1];
+                this.frontierEnabled = null;
+            } else {
+                throw new IllegalArgumentException("The repeat()-step frontier option requires a single boolean argument: " + this);
+            }
+        } else {
+            this.parameters.set(this, keyValues);
+        }
+    }
+
+    @Override
+    public Parameters getParameters() {
+        return this.parameters;
+    }
+
     public List<Traversal.Admin<S, S>> getGlobalChildren() {
         return null == this.repeatTraversal ? Collections.emptyList() : Collections.singletonList(this.repeatTraversal);
     }
@@ -146,6 +196,22 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             this.untilTraversal.reset();
         if (null != this.repeatTraversal)
             this.repeatTraversal.reset();
+        this.frontierTraversers = null;
+        this.visited = null;
+    }
+
+    /**
+     * Determines if the frontier option is in effect, which it is not when the traversers must keep their paths or
+     * their sacks.
+     */
+    private boolean isFrontierEnabled() {
+        if (null == this.frontierEnabled) {
+            final Set<TraverserRequirement> requirements = TraversalHelper.getRootTraversal(this.getTraversal()).getTraverserRequirements();
+            this.frontierEnabled = this.frontier &&
+                    !requirements.contains(TraverserRequirement.PATH) && !requirements.contains(TraverserRequirement.LABELED_PATH) &&
+                    !requirements.contains(TraverserRequirement.SACK);
+        }
+        return this.frontierEnabled;
     }
 
     private final String untilString() {
@@ -166,6 +232,10 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             clone.untilTraversal = this.untilTraversal.clone();
         if (null != this.emitTraversal)
             clone.emitTraversal = this.emitTraversal.clone();
+        clone.parameters = this.parameters.clone();
+        clone.frontierEnabled = null;
+        clone.frontierTraversers = null;
+        clone.visited = null;
         return clone;
     }
 
@@ -182,6 +252,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         int result = super.hashCode();
         result ^= Boolean.hashCode(this.untilFirst);
         result ^= Boolean.hashCode(this.emitFirst) << 1;
+        result ^= Boolean.hashCode(this.frontier) << 2;
         if (this.repeatTraversal != null)
             result ^= this.repeatTraversal.hashCode();
         if (this.loopName != null)
@@ -198,6 +269,9 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         if (null == this.repeatTraversal)
             throw new IllegalStateException("The repeat()-traversal was not defined: " + this);
 
+        if (this.isFrontierEnabled())
+            return this.frontierAlgorithm();
+
         while (true) {
             if (this.repeatTraversal.getEndStep().hasNext()) {
                 return this.repeatTraversal.getEndStep();
@@ -218,6 +292,87 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         }
     }
 
+    /**
+     * Processes one loop of the frontier per call, returning the traversers that were emitted or that satisfied the
+     * until condition during that loop. When the frontier is exhausted, the next start begins a new one with its own
+     * set of visited objects.
+     */
+    private Iterator<Traverser.Admin<S>> frontierAlgorithm() {
+        while (true) {
+            final List<Traverser.Admin<S>> ends = new ArrayList<>();
+            if (null == this.frontierTraversers || this.frontierTraversers.isEmpty()) {
+                if (!this.starts.hasNext())
+                    throw FastNoSuchElementException.instance();
+
+                final Traverser.Admin<S> start = this.starts.next();
+                start.initialiseLoops(this.getId(), this.loopName);
+                this.visited = new HashSet<>();
+                this.visited.add(start.get());
+                this.frontierTraversers = Collections.singletonList(start);
+            } else {
+                for (final Traverser.Admin<S> traverser : this.frontierTraversers) {
+                    this.repeatTraversal.addStart(traverser);
+                }
+
+                final Map<Object, Traverser.Admin<S>> nextFrontier = new LinkedHashMap<>();
+                final Step<?, S> endStep = this.repeatTraversal.getEndStep();
+                while (endStep.hasNext()) {
+                    mergeIntoFrontier(nextFrontier, endStep.next());
+                }
+
+                final List<Traverser.Admin<S>> continuing = new ArrayList<>(nextFrontier.size());
+                for (final Traverser.Admin<S> traverser : nextFrontier.values()) {
+                    if (doUntil(traverser, false)) {
+                        traverser.resetLoops();
+                        ends.add(traverser);
+                    } else {
+                        if (doEmit(traverser, false)) {
+                            final Traverser.Admin<S> emitSplit = traverser.split();
+                            emitSplit.resetLoops();
+                            ends.add(emitSplit);
+                        }
+                        continuing.add(traverser);
+                    }
+                }
+                this.frontierTraversers = continuing;
+            }
+
+            // the until()/emit() modulators that come before repeat() are evaluated as the frontier enters the loop
+            final List<Traverser.Admin<S>> entering = new ArrayList<>(this.frontierTraversers.size());
+            for (final Traverser.Admin<S> traverser : this.frontierTraversers) {
+                if (doUntil(traverser, true)) {
+                    traverser.resetLoops();
+                    ends.add(traverser);
+                } else {
+                    if (doEmit(traverser, true)) {
+                        final Traverser.Admin<S> emitSplit = traverser.split();
+                        emitSplit.resetLoops();
+                        ends.add(emitSplit);
+                    }
+                    entering.add(traverser);
+                }
+            }
+            this.frontierTraversers = entering;
+
+            if (!ends.isEmpty())
+                return ends.iterator();
+        }
+    }
+
+    /**
+     * Adds the traverser to the frontier unless its object was already reached in a previous loop, merging it with
+     * any traverser that arrived at the same object in the current loop.
+     */
+    private void mergeIntoFrontier(final Map<Object, Traverser.Admin<S>> frontier, final Traverser.Admin<S> traverser) {
+        final Object object = traverser.get();
+        final Traverser.Admin<S> existing = frontier.get(object);
+        if (null != existing) {
+            existing.merge(traverser);
+        } else if (this.visited.add(object)) {
+            frontier.put(object, traverser);
+        }
+    }
+
     @Override
     protected Iterator<Traverser.Admin<S>> computerAlgorithm() throws NoSuchElementException {
         if (null == this.repeatTraversal)
@@ -301,6 +456,11 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             while (true) {
                 final Traverser.Admin<S> start = this.starts.next();
                 start.incrLoops();
+
+                // in frontier mode the RepeatStep gathers the loop and applies until()/emit() itself
+                if (repeatStep.isFrontierEnabled())
+                    return IteratorUtils.of(start);
+
                 if (repeatStep.doUntil(start, false)) {
                     start.resetLoops();
                     return IteratorUtils.of(start);
@@ -24,6 +24,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.ConstantTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Parallelizable;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BranchExecutor;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.Collections;
@@ -32,7 +34,7 @@ import java.util.Iterator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class UnionStep<S, E> extends BranchStep<S, E, Pick> {
+public class UnionStep<S, E> extends BranchStep<S, E, Pick> implements Parallelizable {
 
     /**
      * Determines if this step is configured to be used as a start step.
@@ -93,6 +95,16 @@ public class UnionStep<S, E> extends BranchStep<S, E, Pick> {
         return t;
     }
 
+    @Override
+    public void setBranchExecutor(final BranchExecutor branchExecutor) {
+        this.branchExecutor = branchExecutor;
+    }
+
+    @Override
+    public BranchExecutor getBranchExecutor() {
+        return this.branchExecutor;
+    }
+
     @Override
     public void addChildOption(final Pick pickToken, final Traversal.Admin<S, E> traversalOption) {
         if (Pick.any != pickToken)
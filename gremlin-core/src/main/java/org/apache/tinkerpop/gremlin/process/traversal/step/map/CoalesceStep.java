@@ -20,8 +20,10 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Parallelizable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BranchExecutor;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
@@ -30,14 +32,17 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
  */
-public class CoalesceStep<S, E> extends FlatMapStep<S, E> implements TraversalParent {
+public class CoalesceStep<S, E> extends FlatMapStep<S, E> implements TraversalParent, Parallelizable {
 
     private List<Traversal.Admin<S, E>> coalesceTraversals;
+    private BranchExecutor branchExecutor;
 
     @SafeVarargs
     public CoalesceStep(final Traversal.Admin traversal, final Traversal.Admin<S, E>... coalesceTraversals) {
@@ -48,10 +53,23 @@ public class CoalesceStep<S, E> extends FlatMapStep<S, E> implements TraversalPa
         }
     }
 
+    @Override
+    public void setBranchExecutor(final BranchExecutor branchExecutor) {
+        this.branchExecutor = branchExecutor;
+    }
+
+    @Override
+    public BranchExecutor getBranchExecutor() {
+        return this.branchExecutor;
+    }
+
     @Override
     protected Iterator<E> flatMap(final Traverser.Admin<S> traverser) {
         final Traverser.Admin<S> innerTraverser = traverser.clone().asAdmin();
         innerTraverser.setBulk(1L);
+        if (null != this.branchExecutor && this.coalesceTraversals.size() > 1)
+            return this.parallelFlatMap(innerTraverser);
+
         for (final Traversal.Admin<S, E> coalesceTraversal : this.coalesceTraversals) {
             coalesceTraversal.reset();
             coalesceTraversal.addStart(innerTraverser.split());
@@ -61,6 +79,22 @@ public class CoalesceStep<S, E> extends FlatMapStep<S, E> implements TraversalPa
         return EmptyIterator.instance();
     }
 
+    /**
+     * Probes the coalesce traversals at once for a first result and returns the first one, in declaration order,
+     * that has one. The traversals after it are cancelled and the one returned is iterated lazily, as it is when
+     * evaluated sequentially.
+     */
+    private Iterator<E> parallelFlatMap(final Traverser.Admin<S> innerTraverser) {
+        final List<Callable<Traversal.Admin<S, E>>> tasks = new ArrayList<>(this.coalesceTraversals.size());
+        for (final Traversal.Admin<S, E> coalesceTraversal : this.coalesceTraversals) {
+            coalesceTraversal.reset();
+            coalesceTraversal.addStart(innerTraverser.split());
+            tasks.add(() -> coalesceTraversal.hasNext() ? coalesceTraversal : null);
+        }
+        final Traversal.Admin<S, E> first = this.branchExecutor.invokeFirst(tasks, Objects::nonNull);
+        return null == first ? EmptyIterator.instance() : first;
+    }
+
     @Override
     public Set<TraverserRequirement> getRequirements() {
         return this.getSelfAndChildRequirements();
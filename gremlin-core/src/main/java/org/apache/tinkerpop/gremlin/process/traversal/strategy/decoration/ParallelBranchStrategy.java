@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Parallelizable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CallStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SackStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SackValueStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectCapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BranchExecutor;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An opt-in strategy that allows the child traversals of {@code union()}, {@code local()} and {@code coalesce()} to
+ * be evaluated concurrently in OLTP. Results are merged in the same order that sequential evaluation would produce
+ * them, so the strategy trades laziness (each seeded branch is fully iterated) for lower latency on wide fan-out
+ * queries.
+ * <p/>
+ * A step is only parallelized when none of its children mutate the graph, read or write side-effects or sacks, are
+ * profiled or hold lambdas, as such children cannot be assumed to be independent of one another. By default the strategy also only takes effect
+ * for graphs that report {@link Graph.Features.GraphFeatures#supportsConcurrentAccess()}, which can be relaxed with
+ * {@link Builder#requireConcurrentAccess(boolean)} for graphs like TinkerGraph whose reads are thread-safe but
+ * which do not advertise that feature.
+ * <p/>
+ * Unless an explicit {@link BranchExecutor} is given to the {@link Builder}, steps share a bounded pool of daemon
+ * threads per configured {@code threads} value. Idle threads of those pools time out and only a few pools are kept,
+ * the least recently used one being shut down when another is needed, so they need no explicit lifecycle.
+ */
+public final class ParallelBranchStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy>
+        implements TraversalStrategy.DecorationStrategy {
+
+    public static final String THREADS = "threads";
+    public static final String REQUIRE_CONCURRENT_ACCESS = "requireConcurrentAccess";
+
+    private static final Set<Class<? extends DecorationStrategy>> PRIORS = Collections.singleton(SideEffectStrategy.class);
+
+    private static final int MAX_SHARED_EXECUTORS = 4;
+
+    private static final Map<Integer, BranchExecutor> SHARED_EXECUTORS = Collections.synchronizedMap(
+            new LinkedHashMap<Integer, BranchExecutor>(MAX_SHARED_EXECUTORS * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Integer, BranchExecutor> eldest) {
+                    if (size() <= MAX_SHARED_EXECUTORS) return false;
+                    eldest.getValue().shutdown();
+                    return true;
+                }
+            });
+
+    private static final List<Class> DEPENDENT_STEP_CLASSES = Arrays.asList(
+            Mutating.class, SideEffectCapable.class, LambdaHolder.class, CallStep.class, ProfileStep.class,
+            SideEffectCapStep.class, SackStep.class, SackValueStep.class);
+
+    private final int threads;
+    private final boolean requireConcurrentAccess;
+    private final transient BranchExecutor branchExecutor;
+
+    private ParallelBranchStrategy(final Builder builder) {
+        this.threads = builder.threads;
+        this.requireConcurrentAccess = builder.requireConcurrentAccess;
+        this.branchExecutor = builder.branchExecutor;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        // ProfileStep is only added to the children once finalization strategies run, after this one, and the
+        // metrics it collects are not safe to share across threads
+        final Traversal.Admin<?, ?> root = TraversalHelper.getRootTraversal(traversal);
+        if (TraversalHelper.hasStepOfAssignableClass(ProfileSideEffectStep.class, root))
+            return;
+
+        if (requireConcurrentAccess) {
+            final Optional<Graph> graph = root.getGraph();
+            if (!graph.isPresent() || !graph.get().features().graph().supportsConcurrentAccess())
+                return;
+        }
+
+        final Set<String> sideEffectKeys = traversal.getSideEffects().keys();
+        for (final Parallelizable step : TraversalHelper.getStepsOfAssignableClass(Parallelizable.class, traversal)) {
+            if (isIndependent((TraversalParent) step, sideEffectKeys))
+                step.setBranchExecutor(getBranchExecutor());
+        }
+    }
+
+    /**
+     * Determines if the children of the step can be evaluated without coordinating with one another. Besides the
+     * steps that are dependent by nature, a {@link Scoping} step is dependent when one of its keys may resolve to a
+     * side-effect.
+     */
+    private static boolean isIndependent(final TraversalParent parent, final Set<String> sideEffectKeys) {
+        for (final Traversal.Admin<?, ?> child : parent.getGlobalChildren()) {
+            if (isDependent(child, sideEffectKeys))
+                return false;
+        }
+        for (final Traversal.Admin<?, ?> child : parent.getLocalChildren()) {
+            if (isDependent(child, sideEffectKeys))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isDependent(final Traversal.Admin<?, ?> child, final Set<String> sideEffectKeys) {
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(DEPENDENT_STEP_CLASSES, child))
+            return true;
+        for (final Scoping scoping : TraversalHelper.getStepsOfAssignableClassRecursively(Scoping.class, child)) {
+            if (scoping.getScopeKeys().stream().anyMatch(sideEffectKeys::contains))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Class<? extends DecorationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public BranchExecutor getBranchExecutor() {
+        return null == branchExecutor ? SHARED_EXECUTORS.computeIfAbsent(threads, BranchExecutor::create) : branchExecutor;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isRequireConcurrentAccess() {
+        return requireConcurrentAccess;
+    }
+
+    public static ParallelBranchStrategy create(final Configuration configuration) {
+        final Builder builder = build();
+        if (configuration.containsKey(THREADS))
+            builder.threads(configuration.getInt(THREADS));
+        if (configuration.containsKey(REQUIRE_CONCURRENT_ACCESS))
+            builder.requireConcurrentAccess(configuration.getBoolean(REQUIRE_CONCURRENT_ACCESS));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put(STRATEGY, ParallelBranchStrategy.class.getCanonicalName());
+        map.put(THREADS, threads);
+        map.put(REQUIRE_CONCURRENT_ACCESS, requireConcurrentAccess);
+        return new MapConfiguration(map);
+    }
+
+    /**
+     * Builds a {@code ParallelBranchStrategy} instance.
+     */
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private boolean requireConcurrentAccess = true;
+        private BranchExecutor branchExecutor;
+
+        private Builder() {}
+
+        /**
+         * The size of the shared pool used to evaluate branches. Defaults to the number of available processors.
+         */
+        public Builder threads(final int threads) {
+            if (threads < 1)
+                throw new IllegalArgumentException("threads must be greater than zero");
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Determines if the strategy should only take effect when the graph reports that it supports concurrent
+         * access. Defaults to {@code true}.
+         */
+        public Builder requireConcurrentAccess(final boolean requireConcurrentAccess) {
+            this.requireConcurrentAccess = requireConcurrentAccess;
+            return this;
+        }
+
+        /**
+         * Supplies a {@link BranchExecutor} whose lifecycle is managed by the caller. When set, the {@code threads}
+         * setting is ignored.
+         */
+        public Builder executor(final BranchExecutor branchExecutor) {
+            this.branchExecutor = branchExecutor;
+            return this;
+        }
+
+        public ParallelBranchStrategy create() {
+            return new ParallelBranchStrategy(this);
+        }
+    }
+}
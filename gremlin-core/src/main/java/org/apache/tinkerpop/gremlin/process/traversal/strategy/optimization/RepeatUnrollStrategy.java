@@ -47,6 +47,8 @@ import java.util.Set;
  *     <li>{@link LoopsStep}</li>
  *     <li>{@link LambdaHolder}</li>
  * </ul>
+ * <p/>
+ * A {@link RepeatStep} configured with {@link RepeatStep#FRONTIER} is also left as-is.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
@@ -73,7 +75,7 @@ public final class RepeatUnrollStrategy extends AbstractTraversalStrategy<Traver
         for (int i = 0; i < traversal.getSteps().size(); i++) {
             if (traversal.getSteps().get(i) instanceof RepeatStep) {
                 final RepeatStep<?> repeatStep = (RepeatStep) traversal.getSteps().get(i);
-                if (null == repeatStep.getEmitTraversal() && null != repeatStep.getRepeatTraversal() &&
+                if (null == repeatStep.getEmitTraversal() && null != repeatStep.getRepeatTraversal() && !repeatStep.isFrontier() &&
                         repeatStep.getUntilTraversal() instanceof LoopTraversal && ((LoopTraversal) repeatStep.getUntilTraversal()).getMaxLoops() > 0 &&
                         !TraversalHelper.hasStepOfAssignableClassRecursively(Scope.global, DedupGlobalStep.class, repeatStep.getRepeatTraversal()) &&
                         !TraversalHelper.hasStepOfAssignableClassRecursively(INVALIDATING_STEPS, repeatStep.getRepeatTraversal())) {
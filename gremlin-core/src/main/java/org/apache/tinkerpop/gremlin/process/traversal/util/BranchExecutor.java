@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates independent child traversals of a branching step concurrently. Results are always returned in the order
+ * of the submitted tasks so that a parallel evaluation produces the same ordering as the sequential one. The calling
+ * thread always evaluates the first task itself and when the underlying {@code ExecutorService} cannot accept more
+ * work (or when called from within a task already running under a {@code BranchExecutor}) the remaining tasks are
+ * evaluated on the calling thread as well, which ensures that nested branches cannot starve the pool.
+ */
+public final class BranchExecutor {
+
+    private static final ThreadLocal<Boolean> IN_BRANCH = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final ExecutorService executorService;
+    private final int parallelism;
+
+    public BranchExecutor(final ExecutorService executorService, final int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be greater than zero");
+        this.executorService = executorService;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates a {@code BranchExecutor} over a bounded pool of daemon threads. Work that cannot be queued is executed
+     * by the submitting thread when it needs the result, as is work still queued when the pool is shut down.
+     */
+    public static BranchExecutor create(final int threads) {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                new BasicThreadFactory.Builder().namingPattern("gremlin-branch-%d").daemon(true).build());
+        pool.allowCoreThreadTimeOut(true);
+        return new BranchExecutor(pool, threads);
+    }
+
+    /**
+     * The number of tasks that this executor expects to be able to run at the same time.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Shuts down the underlying {@code ExecutorService}. Tasks still queued are left to the threads that submitted
+     * them, so a step that still holds this executor keeps working, only sequentially.
+     */
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    /**
+     * Evaluates all of the tasks and returns their results in submission order. Any failure in a task cancels the
+     * remaining ones and is rethrown to the caller once none of them are still running.
+     */
+    public <T> List<T> invokeAll(final List<Callable<T>> tasks) {
+        final List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.size() < 2 || IN_BRANCH.get()) {
+            for (final Callable<T> task : tasks) {
+                results.add(call(task));
+            }
+            return results;
+        }
+
+        final List<Probe<T>> probes = submit(tasks);
+        try {
+            for (final Probe<T> probe : probes) {
+                results.add(probe.join());
+            }
+            return results;
+        } finally {
+            cancel(probes);
+        }
+    }
+
+    /**
+     * Evaluates the tasks concurrently and returns the result of the first task, in submission order, whose result
+     * is accepted, or {@code null} if there is none. The tasks after that one are cancelled and this method only
+     * returns once none of them are still running, so that their traversals can be reset safely.
+     */
+    public <T> T invokeFirst(final List<Callable<T>> tasks, final Predicate<T> accept) {
+        if (tasks.size() < 2 || IN_BRANCH.get()) {
+            for (final Callable<T> task : tasks) {
+                final T result = call(task);
+                if (accept.test(result)) return result;
+            }
+            return null;
+        }
+
+        final List<Probe<T>> probes = submit(tasks);
+        try {
+            for (final Probe<T> probe : probes) {
+                final T result = probe.join();
+                if (accept.test(result)) return result;
+            }
+            return null;
+        } finally {
+            cancel(probes);
+        }
+    }
+
+    /**
+     * Hands all but the first task to the pool. The first, and any that the pool does not get to in time or rejects,
+     * are run by the calling thread when it asks for their result.
+     */
+    private <T> List<Probe<T>> submit(final List<Callable<T>> tasks) {
+        final List<Probe<T>> probes = new ArrayList<>(tasks.size());
+        for (final Callable<T> task : tasks) {
+            probes.add(new Probe<>(task));
+        }
+        for (int i = 1; i < probes.size(); i++) {
+            try {
+                executorService.execute(probes.get(i));
+            } catch (RejectedExecutionException ree) {
+                // run by the caller when it joins on it
+            }
+        }
+        return probes;
+    }
+
+    private static <T> void cancel(final List<Probe<T>> probes) {
+        probes.forEach(Probe::cancel);
+        boolean interrupted = false;
+        for (final Probe<T> probe : probes) {
+            while (true) {
+                try {
+                    probe.done.await();
+                    break;
+                } catch (InterruptedException ie) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Fully iterates the child traversal and collects the traversers from its end step.
+     */
+    public static <E> List<Traverser.Admin<E>> drain(final Traversal.Admin<?, E> traversal) {
+        final List<Traverser.Admin<E>> ends = new ArrayList<>();
+        final Step<?, E> endStep = traversal.getEndStep();
+        while (endStep.hasNext()) {
+            ends.add(endStep.next());
+        }
+        return ends;
+    }
+
+    private static <T> T call(final Callable<T> task) {
+        final boolean previous = IN_BRANCH.get();
+        IN_BRANCH.set(Boolean.TRUE);
+        try {
+            return task.call();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            IN_BRANCH.set(previous);
+        }
+    }
+
+    /**
+     * A task that is run either by the pool or by the thread that asks for its result, whichever gets to it first,
+     * and that can be cancelled whether it has started or not.
+     */
+    private static final class Probe<T> implements Runnable {
+        private final Callable<T> task;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private boolean started;
+        private boolean cancelled;
+        private Thread runner;
+        private T result;
+        private Throwable failure;
+
+        private Probe(final Callable<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (begin()) {
+                execute();
+                // an interrupt from cancel() is meant for the task and not for the next one on this pool thread
+                Thread.interrupted();
+            }
+        }
+
+        private T join() {
+            if (begin()) {
+                execute();
+            } else {
+                try {
+                    done.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new TraversalInterruptedException();
+                }
+            }
+
+            if (failure instanceof RuntimeException)
+                throw (RuntimeException) failure;
+            if (failure instanceof Error)
+                throw (Error) failure;
+            if (failure != null)
+                throw new IllegalStateException(failure);
+            return result;
+        }
+
+        private synchronized boolean begin() {
+            if (started || cancelled) return false;
+            started = true;
+            runner = Thread.currentThread();
+            return true;
+        }
+
+        private void execute() {
+            try {
+                result = call(task);
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                }
+                done.countDown();
+            }
+        }
+
+        private synchronized void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            if (runner != null)
+                runner.interrupt();
+            else if (!started)
+                done.countDown();
+        }
+    }
+}
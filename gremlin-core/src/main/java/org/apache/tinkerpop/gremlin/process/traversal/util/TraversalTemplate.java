@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.PBiPredicate;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.GValue;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A reusable definition of a {@link Traversal} whose arguments are supplied at the time an executable instance is
+ * requested. The traversal is built with placeholders for its arguments and has its strategies applied once after
+ * which {@link #instance(Object...)} returns a clone of the already strategized traversal with the arguments bound
+ * into it. This is most useful in embedded mode where the same lookups are executed at high rates and the cost of
+ * repeatedly constructing the traversal and applying strategies to it is a meaningful part of the total execution
+ * time.
+ * <p/>
+ * Arguments can be bound to the predicates of a {@link HasContainerHolder}, like a {@link HasStep} or a provider's
+ * start step that took the {@code has()} filters following it, as long as the step evaluates the containers of its
+ * own clone. Steps like {@link GraphStep} derive how they execute from their arguments when they are constructed so
+ * when an argument ends up anywhere else than the containers of such a step the template builds and strategizes the
+ * traversal for each instance instead. A template is only compiled once binding the first arguments it is given
+ * produces the same traversal as building it with them.
+ * <p/>
+ * The shape of the compiled traversal is that of the traversal built with placeholders for the arguments, so the
+ * builder must not branch on the values of its arguments as later instances will not take the branch their own
+ * values call for.
+ *
+ * @see GraphTraversalSource#template(java.util.function.BiFunction)
+ */
+public final class TraversalTemplate<S, E> {
+
+    private final Function<Object[], ? extends Traversal<S, E>> builder;
+    private final Map<Integer, Optional<Traversal.Admin<S, E>>> compiled = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a template for the traversals of the {@code builder}.
+     *
+     * @param builder produces the traversal for the supplied arguments
+     */
+    public TraversalTemplate(final Function<Object[], ? extends Traversal<S, E>> builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Gets an executable instance of the traversal for the supplied arguments. The returned traversal has already
+     * had its strategies applied and is locked so further steps may not be added to it.
+     */
+    public Traversal<S, E> instance(final Object... args) {
+        final Optional<Traversal.Admin<S, E>> template = compiled.get(args.length);
+        if (template != null && template.isPresent()) {
+            hits.incrementAndGet();
+            return bind(template.get(), args);
+        }
+
+        misses.incrementAndGet();
+        final Traversal.Admin<S, E> traversal = build(args);
+        if (null == template)
+            compiled.put(args.length, compile(args, traversal));
+        return traversal;
+    }
+
+    /**
+     * Determines if instances with the given number of arguments are bound into a compiled traversal rather than
+     * built for each instance, which is only known once such an instance was requested.
+     */
+    public boolean isCompiled(final int arity) {
+        final Optional<Traversal.Admin<S, E>> template = compiled.get(arity);
+        return template != null && template.isPresent();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Removes all compiled traversals so that they will be rebuilt on their next use.
+     */
+    public void clear() {
+        compiled.clear();
+    }
+
+    private Traversal.Admin<S, E> build(final Object[] args) {
+        final Traversal.Admin<S, E> traversal = builder.apply(args).asAdmin();
+        if (!traversal.isLocked())
+            traversal.applyStrategies();
+        return traversal;
+    }
+
+    /**
+     * Builds the traversal with placeholders for the arguments and keeps it if binding the {@code args} to it is the
+     * same as the {@code expected} traversal built with them.
+     */
+    private Optional<Traversal.Admin<S, E>> compile(final Object[] args, final Traversal.Admin<S, E> expected) {
+        final Object[] placeholders = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            placeholders[i] = new Argument(i);
+        }
+
+        try {
+            final Traversal.Admin<S, E> template = build(placeholders);
+            final Traversal.Admin<S, E> bound = bind(template, args);
+            return bound.equals(expected) && bound.toString().equals(expected.toString()) ?
+                    Optional.of(template) : Optional.empty();
+        } catch (RuntimeException ex) {
+            // the builder or a strategy could not work with a placeholder in place of the argument
+            return Optional.empty();
+        }
+    }
+
+    private static <S, E> Traversal.Admin<S, E> bind(final Traversal.Admin<S, E> template, final Object[] args) {
+        final Traversal.Admin<S, E> traversal = template.clone();
+        for (final Step<?, ?> step : TraversalHelper.getStepsOfAssignableClassRecursively(Step.class, traversal)) {
+            if (step instanceof HasContainerHolder)
+                bindHasContainers((HasContainerHolder) step, args);
+        }
+        return traversal;
+    }
+
+    private static void bindHasContainers(final HasContainerHolder step, final Object[] args) {
+        final List<HasContainer> hasContainers = new ArrayList<>(step.getHasContainers());
+        if (hasContainers.stream().noneMatch(c -> holdsArgument(c.getPredicate()))) return;
+
+        // a new container is needed as it derives how it tests from the value of its predicate
+        hasContainers.forEach(step::removeHasContainer);
+        for (final HasContainer hasContainer : hasContainers) {
+            step.addHasContainer(holdsArgument(hasContainer.getPredicate()) ?
+                    new HasContainer(hasContainer.getKey(), bindPredicate(hasContainer.getPredicate(), args)) :
+                    hasContainer);
+        }
+    }
+
+    private static P<?> bindPredicate(final P<?> predicate, final Object[] args) {
+        if (predicate instanceof AndP || predicate instanceof OrP) {
+            final List<P<Object>> predicates = new ArrayList<>();
+            for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                predicates.add((P<Object>) bindPredicate(p, args));
+            }
+            return predicate instanceof AndP ? new AndP<>(predicates) : new OrP<>(predicates);
+        } else if (predicate.getClass().equals(TextP.class)) {
+            return new TextP(((TextP) predicate).getBiPredicate(), (String) substitute(predicate.getValue(), args));
+        } else if (predicate.getClass().equals(P.class)) {
+            return new P<>((PBiPredicate<Object, Object>) predicate.getBiPredicate(), substitute(predicate.getValue(), args));
+        }
+        throw new IllegalStateException("Arguments cannot be bound to " + predicate.getClass().getSimpleName());
+    }
+
+    private static boolean holdsArgument(final Object value) {
+        if (value instanceof Argument)
+            return true;
+        if (value instanceof GValue)
+            return holdsArgument(((GValue<?>) value).get());
+        if (value instanceof ConnectiveP)
+            return ((ConnectiveP<?>) value).getPredicates().stream().anyMatch(TraversalTemplate::holdsArgument);
+        if (value instanceof P)
+            return holdsArgument(((P<?>) value).getValue());
+        if (value instanceof Collection)
+            return ((Collection<?>) value).stream().anyMatch(TraversalTemplate::holdsArgument);
+        return false;
+    }
+
+    private static Object substitute(final Object value, final Object[] args) {
+        if (value instanceof Argument)
+            return args[((Argument) value).index];
+        if (value instanceof GValue) {
+            final GValue<?> gvalue = (GValue<?>) value;
+            return holdsArgument(gvalue) ? GValue.of(gvalue.getName(), substitute(gvalue.get(), args)) : gvalue;
+        }
+        if (value instanceof List) {
+            final List<Object> list = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(v -> list.add(substitute(v, args)));
+            return list;
+        }
+        return value;
+    }
+
+    /**
+     * The placeholder for an argument, which only equals itself so that a strategy cannot mistake it for any value.
+     */
+    private static final class Argument {
+        private final int index;
+
+        private Argument(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String toString() {
+            return "args[" + index + "]";
+        }
+    }
+}
@@ -53,6 +53,11 @@ public enum DataType {
     BOOLEAN(0x27),
     BULKSET(0X2A),  // todo:
     TREE(0X2B),
+    INT_ARRAY(0X30),
+    LONG_ARRAY(0X31),
+    FLOAT_ARRAY(0X32),
+    DOUBLE_ARRAY(0X33),
+    COLUMNAR_MAPS(0X34),
 
     CHAR(0X80),
     DURATION(0X81),
@@ -21,6 +21,9 @@ package org.apache.tinkerpop.gremlin.structure.io.binary;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Reads a value from a buffer using the {@link TypeSerializer} instances configured in the
@@ -45,6 +48,17 @@ import java.io.IOException;
  *     two double values. As x and y values are expected to be provided as non-nullable doubles, the method
  *     {@code readValue()} should be used: {@code readValue(buffer, Double.class, false)}
  * </p>
+ *
+ * <p>
+ *     Strings that were written as references by a {@link GraphBinaryWriter#withStringReferences()} writer can only be
+ *     read by a reader created with {@link #withStringReferences()}, which is meant for a single message, or a single
+ *     stream of them, and is not thread-safe.
+ * </p>
+ *
+ * <p>
+ *     Lengths, ints and longs that were written as variable-length integers by a {@link GraphBinaryWriter#withVarInts()}
+ *     writer can only be read by a reader created with {@link #withVarInts()}.
+ * </p>
  */
 public class GraphBinaryReader {
     private final TypeSerializerRegistry registry;
@@ -53,8 +67,104 @@ public class GraphBinaryReader {
         this(TypeSerializerRegistry.INSTANCE);
     }
 
+    private final List<String> stringReferences;
+    private final boolean varInts;
+
     public GraphBinaryReader(final TypeSerializerRegistry registry) {
+        this(registry, null, false);
+    }
+
+    private GraphBinaryReader(final TypeSerializerRegistry registry, final List<String> stringReferences,
+                              final boolean varInts) {
         this.registry = registry;
+        this.stringReferences = stringReferences;
+        this.varInts = varInts;
+    }
+
+    /**
+     * Creates a reader with the same serializers and settings as this one that resolves strings written as references
+     * to their first occurrence.
+     */
+    public GraphBinaryReader withStringReferences() {
+        return new GraphBinaryReader(registry, new ArrayList<>(), varInts);
+    }
+
+    /**
+     * Creates a reader with the same serializers and settings as this one that reads lengths, ints and longs as
+     * variable-length integers.
+     */
+    public GraphBinaryReader withVarInts() {
+        return new GraphBinaryReader(registry, stringReferences == null ? null : new ArrayList<>(), true);
+    }
+
+    /**
+     * Determines if this reader reads lengths, ints and longs as variable-length integers.
+     */
+    public boolean isReadingVarInts() {
+        return varInts;
+    }
+
+    /**
+     * Reads an int, or a length, as written by {@link GraphBinaryWriter#writeInt(int, Buffer)}.
+     */
+    public int readInt(final Buffer buffer) throws IOException {
+        return varInts ? (int) readVarLong(buffer, 5) : buffer.readInt();
+    }
+
+    /**
+     * Reads a long as written by {@link GraphBinaryWriter#writeLong(long, Buffer)}.
+     */
+    public long readLong(final Buffer buffer) throws IOException {
+        return varInts ? readVarLong(buffer, 10) : buffer.readLong();
+    }
+
+    private static long readVarLong(final Buffer buffer, final int maxBytes) throws IOException {
+        long zigzag = 0;
+        for (int i = 0; i < maxBytes; i++) {
+            final byte b = buffer.readByte();
+            zigzag |= (long) (b & 0x7F) << (7 * i);
+            if (b >= 0)
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+        throw new IOException(String.format("Variable-length integer is longer than %s bytes", maxBytes));
+    }
+
+    /**
+     * Reads the {value} of a string as written by {@link GraphBinaryWriter#writeString(String, Buffer)}.
+     */
+    public String readString(final Buffer buffer) throws IOException {
+        final int length = readInt(buffer);
+        if (length < 0) {
+            final int index = -(length + 1);
+            if (null == stringReferences || index >= stringReferences.size())
+                throw new IOException(String.format("Unexpected string reference %s", index));
+            return stringReferences.get(index);
+        }
+
+        // Use Netty 4.0 API (avoid ByteBuf#readCharSequence() method) to maximize compatibility
+        final byte[] bytes = new byte[length];
+        buffer.readBytes(bytes);
+        final String value = new String(bytes, StandardCharsets.UTF_8);
+        if (stringReferences != null && GraphBinaryWriter.isReferenceable(value) &&
+                stringReferences.size() < GraphBinaryWriter.MAX_STRING_REFERENCES)
+            stringReferences.add(value);
+        return value;
+    }
+
+    /**
+     * Moves the reader index past the {value} of a string without creating it, unless it has to be kept for later
+     * references to it.
+     */
+    public void skipString(final Buffer buffer) throws IOException {
+        if (stringReferences != null) {
+            readString(buffer);
+            return;
+        }
+
+        final int length = readInt(buffer);
+        if (length < 0)
+            throw new IOException(String.format("Unexpected string reference %s", -(length + 1)));
+        buffer.readerIndex(buffer.readerIndex() + length);
     }
 
     /**
@@ -77,6 +187,29 @@ public class GraphBinaryReader {
         return serializer.readValue(buffer, this, nullable);
     }
 
+    /**
+     * Moves the reader index past a value of a specific type in the same way as
+     * {@link #readValue(Buffer, Class, boolean)} but without creating it where that can be avoided.
+     */
+    public void skipValue(final Buffer buffer, final Class<?> type, final boolean nullable) throws IOException {
+        registry.getSerializer(type).skipValue(buffer, this, nullable);
+    }
+
+    /**
+     * Reads a value of a type known from its type code, which is any type but {@link DataType#CUSTOM}, in the same
+     * way as {@link #readValue(Buffer, Class, boolean)}.
+     */
+    public <T> T readValue(final Buffer buffer, final DataType type, final boolean nullable) throws IOException {
+        if (buffer == null) {
+            throw new IllegalArgumentException("input cannot be null.");
+        } else if (type == null) {
+            throw new IllegalArgumentException("type cannot be null.");
+        }
+
+        final TypeSerializer<T> serializer = registry.getSerializer(type);
+        return serializer.readValue(buffer, this, nullable);
+    }
+
     /**
      * Reads the type code, information and value of a given buffer with fully-qualified format.
      */
@@ -105,4 +238,25 @@ public class GraphBinaryReader {
 
         return serializer.read(buffer, this);
     }
+
+    /**
+     * Moves the reader index past a value in fully-qualified format in the same way as {@link #read(Buffer)} but
+     * without creating it where that can be avoided, which is the case for most types but custom ones. It is meant
+     * for finding where a value ends so that it can be read later or passed on without reading it at all.
+     */
+    public void skip(final Buffer buffer) throws IOException {
+        final DataType type = DataType.get(Byte.toUnsignedInt(buffer.readByte()));
+
+        if (type == DataType.UNSPECIFIED_NULL) {
+            buffer.readByte();
+            return;
+        }
+
+        if (type != DataType.CUSTOM) {
+            registry.getSerializer(type).skip(buffer, this);
+        } else {
+            final String customTypeName = this.readValue(buffer, String.class, false);
+            registry.getSerializerForCustomType(customTypeName).skip(buffer, this);
+        }
+    }
 }
@@ -23,6 +23,11 @@ import org.apache.tinkerpop.gremlin.structure.io.binary.types.TransformSerialize
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * Writes a value to a buffer using the {@link TypeSerializer} instances configured in the
@@ -40,6 +45,25 @@ import java.io.IOException;
  *         </li>
  *     </ul>
  * </p>
+ *
+ * <p>
+ *     A writer created with {@link #withStringReferences()} writes each string in full only once and writes later
+ *     occurrences of it as a reference to the first. Such a writer keeps the strings it has written so it is meant for
+ *     a single message, or a single stream of them, and is not thread-safe. The strings must be read back in the same
+ *     order with a reader created with {@link GraphBinaryReader#withStringReferences()}.
+ * </p>
+ *
+ * <p>
+ *     A writer created with {@link #withPackedLists()} writes a list whose items are all non-null values of the same
+ *     primitive number type with the packed value_flag, as the item type code followed by the bare values. Any reader
+ *     can read such a list but readers for earlier versions of GraphBinary cannot, so it is only written on request.
+ * </p>
+ *
+ * <p>
+ *     A writer created with {@link #withVarInts()} writes lengths, ints and longs as zigzag encoded variable-length
+ *     integers, so that small values like sizes, bulks and numeric ids take a byte or two rather than four or eight.
+ *     They must be read back with a reader created with {@link GraphBinaryReader#withVarInts()}.
+ * </p>
  */
 public class GraphBinaryWriter {
     private final TypeSerializerRegistry registry;
@@ -47,8 +71,25 @@ public class GraphBinaryWriter {
     private final static byte VALUE_FLAG_NONE = 0;
     private final static byte VALUE_FLAG_ORDERED = 2;
     private final static byte VALUE_FLAG_BULK = 2;
+    private final static byte VALUE_FLAG_PACKED = 4;
     public final static byte VERSION_BYTE = (byte)0x81;
     public final static byte BULKED_BYTE = (byte)0x01;
+    public final static byte STRING_REFERENCES_BYTE = (byte)0x02;
+    public final static byte PACKED_LISTS_BYTE = (byte)0x04;
+    public final static byte COLUMNAR_MAPS_BYTE = (byte)0x08;
+    public final static byte VAR_INTS_BYTE = (byte)0x10;
+
+    /**
+     * Strings longer than this number of characters are always written in full when writing with string references
+     * as long text values are rarely repeated and would only take up space in the table.
+     */
+    public final static int MAX_REFERENCED_STRING_LENGTH = 256;
+
+    /**
+     * The most strings kept for references by a writer or reader. Strings that are first written after that are
+     * always written in full, which bounds the memory held for a long stream of mostly distinct strings.
+     */
+    public final static int MAX_STRING_REFERENCES = 65536;
     private final static byte[] unspecifiedNullBytes = new byte[] { DataType.UNSPECIFIED_NULL.getCodeByte(), 0x01};
     private final static byte[] customTypeCodeBytes = new byte[] { DataType.CUSTOM.getCodeByte() };
 
@@ -56,8 +97,124 @@ public class GraphBinaryWriter {
         this(TypeSerializerRegistry.INSTANCE);
     }
 
+    private final Map<String, Integer> stringReferences;
+    private final boolean packedLists;
+    private final boolean varInts;
+
     public GraphBinaryWriter(final TypeSerializerRegistry registry) {
+        this(registry, null, false, false);
+    }
+
+    private GraphBinaryWriter(final TypeSerializerRegistry registry, final Map<String, Integer> stringReferences,
+                              final boolean packedLists, final boolean varInts) {
         this.registry = registry;
+        this.stringReferences = stringReferences;
+        this.packedLists = packedLists;
+        this.varInts = varInts;
+    }
+
+    /**
+     * Creates a writer with the same serializers and settings as this one that writes repeated strings as references
+     * to their first occurrence.
+     */
+    public GraphBinaryWriter withStringReferences() {
+        return new GraphBinaryWriter(registry, new HashMap<>(), packedLists, varInts);
+    }
+
+    /**
+     * Creates a writer with the same serializers and settings as this one that writes lists of primitive numbers
+     * packed.
+     */
+    public GraphBinaryWriter withPackedLists() {
+        return new GraphBinaryWriter(registry, stringReferences == null ? null : new HashMap<>(), true, varInts);
+    }
+
+    /**
+     * Creates a writer with the same serializers and settings as this one that writes lengths, ints and longs as
+     * variable-length integers.
+     */
+    public GraphBinaryWriter withVarInts() {
+        return new GraphBinaryWriter(registry, stringReferences == null ? null : new HashMap<>(), packedLists, true);
+    }
+
+    /**
+     * Determines if this writer writes lengths, ints and longs as variable-length integers.
+     */
+    public boolean isWritingVarInts() {
+        return varInts;
+    }
+
+    /**
+     * Writes an int, or a length, as four bytes or, when writing variable-length integers, as its zigzag encoding
+     * in groups of seven bits from the least significant, with the high bit of each byte set when another follows.
+     */
+    public void writeInt(final int value, final Buffer buffer) {
+        if (varInts)
+            writeVarLong(Integer.toUnsignedLong((value << 1) ^ (value >> 31)), buffer);
+        else
+            buffer.writeInt(value);
+    }
+
+    /**
+     * Writes a long as eight bytes or, when writing variable-length integers, in the same way as
+     * {@link #writeInt(int, Buffer)}.
+     */
+    public void writeLong(final long value, final Buffer buffer) {
+        if (varInts)
+            writeVarLong((value << 1) ^ (value >> 63), buffer);
+        else
+            buffer.writeLong(value);
+    }
+
+    private static void writeVarLong(long zigzag, final Buffer buffer) {
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer.writeByte((int) (zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer.writeByte((int) zigzag);
+    }
+
+    /**
+     * Determines if this writer writes lists of primitive numbers packed.
+     */
+    public boolean isWritingPackedLists() {
+        return packedLists;
+    }
+
+    /**
+     * Determines if this writer writes repeated strings as references.
+     */
+    public boolean isWritingStringReferences() {
+        return stringReferences != null;
+    }
+
+    /**
+     * Writes the {value} of a string, which is its length in bytes followed by the UTF-8 bytes. When writing with
+     * string references, a string that was already written is instead written as the negative length
+     * {@code -(index + 1)} where {@code index} counts the strings that were written in full before it.
+     */
+    public void writeString(final String value, final Buffer buffer) {
+        if (stringReferences != null && isReferenceable(value)) {
+            final Integer index = stringReferences.get(value);
+            if (index != null) {
+                writeInt(-(index + 1), buffer);
+                return;
+            }
+            if (stringReferences.size() < MAX_STRING_REFERENCES)
+                stringReferences.put(value, stringReferences.size());
+        }
+
+        final byte[] stringBytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(stringBytes.length, buffer);
+        buffer.writeBytes(stringBytes);
+    }
+
+    /**
+     * Determines if a string is added to the table of strings when reading or writing with string references. Empty
+     * strings cost no more to write in full than as a reference.
+     */
+    static boolean isReferenceable(final String value) {
+        return !value.isEmpty() && value.length() <= MAX_REFERENCED_STRING_LENGTH;
     }
 
     /**
@@ -79,6 +236,19 @@ public class GraphBinaryWriter {
         serializer.writeValue(value, buffer, this, nullable);
     }
 
+    /**
+     * Gets the type a value is written with in fully-qualified format, or {@code null} when that is not known from
+     * the type code alone, which is the case for {@code null}, custom types and types that are transformed into
+     * another before they are written.
+     */
+    public DataType getDataType(final Object value) throws IOException {
+        if (value == null) return null;
+
+        final TypeSerializer<?> serializer = registry.getSerializer(value.getClass());
+        if (serializer instanceof CustomTypeSerializer || serializer instanceof TransformSerializer) return null;
+        return serializer.getDataType();
+    }
+
     /**
      * Writes an object in fully-qualified format, containing {type_code}{type_info}{value_flag}{value}.
      */
@@ -115,6 +285,76 @@ public class GraphBinaryWriter {
         serializer.write(value, buffer, this);
     }
 
+    /**
+     * Writes the values of an iterator in fully-qualified format as a {@code List} without first collecting them into
+     * one. The length is only known once the values are written, so room is left for it and it is set afterwards,
+     * which for variable-length integers means it is padded to the five bytes an int can take.
+     */
+    public void writeList(final Iterator<?> values, final Buffer buffer) throws IOException {
+        buffer.writeBytes(DataType.LIST.getDataTypeBuffer());
+        writeValueFlagNone(buffer);
+
+        final int lengthIndex = buffer.writerIndex();
+        buffer.writeInt(0);
+        if (varInts) buffer.writeByte(0);
+
+        int length = 0;
+        while (values.hasNext()) {
+            write(values.next(), buffer);
+            length++;
+        }
+
+        final int writerIndex = buffer.writerIndex();
+        buffer.writerIndex(lengthIndex);
+        if (varInts) {
+            // a variable-length integer with continuation bits on leading groups of zeros still reads as the same value
+            final int zigzag = length << 1;
+            for (int i = 0; i < 4; i++) {
+                buffer.writeByte(((zigzag >>> (7 * i)) & 0x7F) | 0x80);
+            }
+            buffer.writeByte(zigzag >>> 28);
+        } else {
+            buffer.writeInt(length);
+        }
+        buffer.writerIndex(writerIndex);
+    }
+
+    /**
+     * Estimates the number of bytes that {@link #write(Object, Buffer)} takes for a value from the estimate of its
+     * serializer, so that buffers can be allocated close to the size they end up with.
+     */
+    public int estimateSize(final Object value) throws IOException {
+        if (value == null) return unspecifiedNullBytes.length;
+
+        final TypeSerializer<Object> serializer = (TypeSerializer<Object>) registry.getSerializer(value.getClass());
+        if (serializer instanceof CustomTypeSerializer) {
+            // {type_code}{type_name}{custom_type_info}{value_flag}{value}
+            return saturatedSum(customTypeCodeBytes.length + Integer.BYTES +
+                    ((CustomTypeSerializer) serializer).getTypeName().length(), serializer.estimateSize(value, this));
+        }
+
+        // transforming the value just to estimate its size would cost more than it saves
+        if (serializer instanceof TransformSerializer) return TypeSerializer.ESTIMATED_SIZE;
+
+        return saturatedSum(1, serializer.estimateSize(value, this));
+    }
+
+    /**
+     * Estimates the number of bytes of the {length}{items} of a collection from its first item, which keeps the
+     * estimate cheap for large collections whose items are alike.
+     */
+    public int estimateItemsSize(final Collection<?> values) throws IOException {
+        if (values.isEmpty()) return Integer.BYTES;
+        return saturatedSum(Integer.BYTES, (long) values.size() * estimateSize(values.iterator().next()));
+    }
+
+    /**
+     * Adds sizes without going past {@code Integer.MAX_VALUE}.
+     */
+    public static int saturatedSum(final long a, final long b) {
+        return (int) Math.min(Integer.MAX_VALUE, a + b);
+    }
+
     /**
      * Represents a null value of a specific type, useful when the parent type contains a type parameter that must be
      * specified.
@@ -153,4 +393,11 @@ public class GraphBinaryWriter {
         buffer.writeByte(VALUE_FLAG_BULK);
     }
 
+    /**
+     * Writes a single byte with value 4, representing a packed value_flag.
+     */
+    public void writeValueFlagPacked(Buffer buffer) {
+        buffer.writeByte(VALUE_FLAG_PACKED);
+    }
+
 }
@@ -27,6 +27,11 @@ import java.io.IOException;
  */
 public interface TypeSerializer<T> {
 
+    /**
+     * The number of bytes a value is guessed to take when there is nothing better to base an estimate on.
+     */
+    int ESTIMATED_SIZE = 16;
+
     /**
      * Gets the {@link DataType} that is represented by the given {@link T}.
      */
@@ -46,6 +51,31 @@ public interface TypeSerializer<T> {
      */
     T readValue(final Buffer buffer, final GraphBinaryReader context, final boolean nullable) throws IOException;
 
+    /**
+     * Moves the reader index of the buffer past the type information and value in the same way as
+     * {@link #read(Buffer, GraphBinaryReader)} but without creating the value where that can be avoided.
+     */
+    default void skip(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        read(buffer, context);
+    }
+
+    /**
+     * Moves the reader index of the buffer past the value in the same way as
+     * {@link #readValue(Buffer, GraphBinaryReader, boolean)} but without creating the value where that can be avoided.
+     */
+    default void skipValue(final Buffer buffer, final GraphBinaryReader context, final boolean nullable) throws IOException {
+        readValue(buffer, context, nullable);
+    }
+
+    /**
+     * Estimates the number of bytes that {@link #write(Object, Buffer, GraphBinaryWriter)} takes for the value, so
+     * that buffers can be allocated close to the size they end up with. The estimate is meant to be cheap rather than
+     * exact, so values that hold others may base it on one of them, and by default it is {@link #ESTIMATED_SIZE}.
+     */
+    default int estimateSize(final T value, final GraphBinaryWriter context) throws IOException {
+        return ESTIMATED_SIZE;
+    }
+
     /**
      * Writes the type code, information and value to a buffer using the provided allocator.
      */
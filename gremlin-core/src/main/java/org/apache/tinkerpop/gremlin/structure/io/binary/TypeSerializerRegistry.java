@@ -47,6 +47,7 @@ import org.apache.tinkerpop.gremlin.structure.io.binary.types.MapEntrySerializer
 import org.apache.tinkerpop.gremlin.structure.io.binary.types.MapSerializer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.types.DateTimeSerializer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.types.PathSerializer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.types.PrimitiveArraySerializer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.types.PropertySerializer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.types.SetSerializer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.types.SingleTypeSerializer;
@@ -113,6 +114,10 @@ public class TypeSerializerRegistry {
             new RegistryEntry<>(Boolean.class, SingleTypeSerializer.BooleanSerializer),
             new RegistryEntry<>(Tree.class, new TreeSerializer()),
             new RegistryEntry<>(Marker.class, SingleTypeSerializer.MarkerSerializer),
+            new RegistryEntry<>(int[].class, PrimitiveArraySerializer.IntArraySerializer),
+            new RegistryEntry<>(long[].class, PrimitiveArraySerializer.LongArraySerializer),
+            new RegistryEntry<>(float[].class, PrimitiveArraySerializer.FloatArraySerializer),
+            new RegistryEntry<>(double[].class, PrimitiveArraySerializer.DoubleArraySerializer),
 
             // TransformSerializer implementations
             new RegistryEntry<>(Map.Entry.class, new MapEntrySerializer()),
@@ -283,7 +288,8 @@ public class TypeSerializerRegistry {
             throw new NullPointerException("Serializer data type can not be null");
         }
 
-        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+        // array classes report themselves as abstract but are only ever matched directly
+        if (type.isArray() || (!type.isInterface() && !Modifier.isAbstract(type.getModifiers()))) {
             // Direct class match
             serializers.put(type, serializer);
         } else {
@@ -40,14 +40,23 @@ public class BulkSetSerializer extends SimpleTypeSerializer<BulkSet> {
         throw new UnsupportedOperationException("BulkSet is used as an internal serializer for bulk lists, deserializing into BulkSet is not supported");
     }
 
+    @Override
+    protected int estimateValueSize(final BulkSet value, final GraphBinaryWriter context) throws IOException {
+        if (value.isEmpty()) return Integer.BYTES;
+
+        // {length}{item}{bulk} for each unique item from the first of them
+        final int itemSize = GraphBinaryWriter.saturatedSum(context.estimateSize(value.iterator().next()), Long.BYTES);
+        return GraphBinaryWriter.saturatedSum(Integer.BYTES, (long) value.uniqueSize() * itemSize);
+    }
+
     @Override
     protected void writeValue(final BulkSet value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         final Map<Object,Long> raw = value.asBulk();
-        buffer.writeInt(raw.size());
+        context.writeInt(raw.size(), buffer);
 
         for (Object key : raw.keySet()) {
             context.write(key, buffer);
-            buffer.writeLong(value.get(key));
+            context.writeLong(value.get(key), buffer);
         }
     }
 }
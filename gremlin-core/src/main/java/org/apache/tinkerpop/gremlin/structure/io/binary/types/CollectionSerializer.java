@@ -34,7 +34,7 @@ class CollectionSerializer extends SimpleTypeSerializer<Collection> {
 
     @Override
     protected Collection readValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
-        final int length = buffer.readInt();
+        final int length = context.readInt(buffer);
 
         final ArrayList result = new ArrayList(length);
         for (int i = 0; i < length; i++) {
@@ -44,9 +44,22 @@ class CollectionSerializer extends SimpleTypeSerializer<Collection> {
         return result;
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        final int length = context.readInt(buffer);
+        for (int i = 0; i < length; i++) {
+            context.skip(buffer);
+        }
+    }
+
+    @Override
+    protected int estimateValueSize(final Collection value, final GraphBinaryWriter context) throws IOException {
+        return context.estimateItemsSize(value);
+    }
+
     @Override
     protected void writeValue(final Collection value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
-        buffer.writeInt(value.size());
+        context.writeInt(value.size(), buffer);
 
         for (Object item : value) {
             context.write(item, buffer);
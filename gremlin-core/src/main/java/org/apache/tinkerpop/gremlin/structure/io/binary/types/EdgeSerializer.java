@@ -18,9 +18,9 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.binary.types;
 
-import org.apache.commons.collections4.IteratorUtils;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
@@ -73,6 +73,31 @@ public class EdgeSerializer extends SimpleTypeSerializer<Edge> {
         return builder.create();
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        // id and label of the edge, then of the in and out vertices
+        for (int i = 0; i < 3; i++) {
+            context.skip(buffer);
+            context.skipValue(buffer, List.class, false);
+        }
+
+        // parent vertex and properties
+        context.skip(buffer);
+        context.skip(buffer);
+    }
+
+    @Override
+    protected int estimateValueSize(final Edge value, final GraphBinaryWriter context) throws IOException {
+        // {id}{label}{inVId}{inVLabel}{outVId}{outVLabel}{parent}{properties} where the properties are guessed as
+        // counting them would mean iterating them
+        final Vertex inV = value.inVertex();
+        final Vertex outV = value.outVertex();
+        final long size = (long) context.estimateSize(value.id()) + Integer.BYTES + context.estimateSize(value.label()) +
+                context.estimateSize(inV.id()) + Integer.BYTES + context.estimateSize(inV.label()) +
+                context.estimateSize(outV.id()) + Integer.BYTES + context.estimateSize(outV.label());
+        return GraphBinaryWriter.saturatedSum(size, 2 + ESTIMATED_SIZE);
+    }
+
     @Override
     protected void writeValue(final Edge value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
 
@@ -94,8 +119,7 @@ public class EdgeSerializer extends SimpleTypeSerializer<Edge> {
             context.write(null, buffer);
         }
         else {
-            final List<?> asList = IteratorUtils.toList(value.properties());
-            context.write(asList, buffer);
+            context.writeList(value.properties(), buffer);
         }
     }
 }
@@ -27,6 +27,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Serializes a {@code List}. Lists of primitive numbers are written packed when the writer asks for it, in which case
+ * they are read back as a {@link PackedList} over an array of the values.
+ */
 public class ListSerializer extends SimpleTypeSerializer<List> {
     private static final CollectionSerializer collectionSerializer = new CollectionSerializer(DataType.LIST);
 
@@ -42,28 +46,138 @@ public class ListSerializer extends SimpleTypeSerializer<List> {
                 return null;
             }
             if ((valueFlag & 2) == 2) {
-                final int length = buffer.readInt();
+                final int length = context.readInt(buffer);
                 final ArrayList result = new ArrayList(length);
                 for (int i = 0; i < length; i++) {
                     Object item = context.read(buffer);
-                    long bulk = buffer.readLong();
+                    long bulk = context.readLong(buffer);
                     for (int j = 0; j < bulk; j++) {
                         result.add(item);
                     }
                 }
                 return result;
             }
+            if ((valueFlag & 4) == 4) {
+                return readPacked(buffer);
+            }
         }
 
         return readValue(buffer, context);
     }
 
+    @Override
+    public void skipValue(final Buffer buffer, final GraphBinaryReader context, final boolean nullable) throws IOException {
+        if (nullable) {
+            final byte valueFlag = buffer.readByte();
+            if ((valueFlag & 1) == 1) {
+                return;
+            }
+            if ((valueFlag & 2) == 2) {
+                final int length = context.readInt(buffer);
+                for (int i = 0; i < length; i++) {
+                    context.skip(buffer);
+                    context.readLong(buffer);
+                }
+                return;
+            }
+            if ((valueFlag & 4) == 4) {
+                readPacked(buffer);
+                return;
+            }
+        }
+
+        skipValue(buffer, context);
+    }
+
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        collectionSerializer.skipValue(buffer, context);
+    }
+
+    private static List readPacked(final Buffer buffer) throws IOException {
+        final DataType itemType = DataType.get(Byte.toUnsignedInt(buffer.readByte()));
+        if (null == itemType)
+            throw new IOException("Packed list items have an unknown type code");
+        switch (itemType) {
+            case INT:
+                return new PackedList.OfInt(PrimitiveArraySerializer.readInts(buffer, PrimitiveArraySerializer.readLength(buffer, Integer.BYTES)));
+            case LONG:
+                return new PackedList.OfLong(PrimitiveArraySerializer.readLongs(buffer, PrimitiveArraySerializer.readLength(buffer, Long.BYTES)));
+            case FLOAT:
+                return new PackedList.OfFloat(PrimitiveArraySerializer.readFloats(buffer, PrimitiveArraySerializer.readLength(buffer, Float.BYTES)));
+            case DOUBLE:
+                return new PackedList.OfDouble(PrimitiveArraySerializer.readDoubles(buffer, PrimitiveArraySerializer.readLength(buffer, Double.BYTES)));
+            default:
+                throw new IOException(String.format("Packed list items cannot be of type %s", itemType));
+        }
+    }
+
     @Override
     protected List readValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
         // The collection is a List<>
         return (List) collectionSerializer.readValue(buffer, context);
     }
 
+    @Override
+    public void writeValue(final List value, final Buffer buffer, final GraphBinaryWriter context, final boolean nullable) throws IOException {
+        final DataType itemType = value != null && nullable && context.isWritingPackedLists() ? packedItemType(value) : null;
+        if (null == itemType) {
+            super.writeValue(value, buffer, context, nullable);
+            return;
+        }
+
+        // {value_flag}{type_code}{length}{values} where the values are written without their own type information
+        context.writeValueFlagPacked(buffer);
+        buffer.writeByte(itemType.getCodeByte());
+        buffer.writeInt(value.size());
+        for (Object item : value) {
+            switch (itemType) {
+                case INT:
+                    buffer.writeInt((Integer) item);
+                    break;
+                case LONG:
+                    buffer.writeLong((Long) item);
+                    break;
+                case FLOAT:
+                    buffer.writeFloat((Float) item);
+                    break;
+                default:
+                    buffer.writeDouble((Double) item);
+            }
+        }
+    }
+
+    /**
+     * Gets the type of the items if the list can be written packed, which is when they are all non-null and of the
+     * same primitive number type, and otherwise {@code null}.
+     */
+    private static DataType packedItemType(final List value) {
+        if (value instanceof PackedList.OfInt) return DataType.INT;
+        if (value instanceof PackedList.OfLong) return DataType.LONG;
+        if (value instanceof PackedList.OfFloat) return DataType.FLOAT;
+        if (value instanceof PackedList.OfDouble) return DataType.DOUBLE;
+        if (value.isEmpty()) return null;
+
+        final Object first = value.get(0);
+        final Class<?> itemClass = null == first ? null : first.getClass();
+        final DataType itemType;
+        if (itemClass == Integer.class) itemType = DataType.INT;
+        else if (itemClass == Long.class) itemType = DataType.LONG;
+        else if (itemClass == Float.class) itemType = DataType.FLOAT;
+        else if (itemClass == Double.class) itemType = DataType.DOUBLE;
+        else return null;
+
+        for (Object item : value) {
+            if (null == item || item.getClass() != itemClass) return null;
+        }
+        return itemType;
+    }
+
+    @Override
+    protected int estimateValueSize(final List value, final GraphBinaryWriter context) throws IOException {
+        return context.estimateItemsSize(value);
+    }
+
     @Override
     protected void writeValue(final List value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         collectionSerializer.writeValue(value, buffer, context);
@@ -53,7 +53,7 @@ public class MapSerializer extends SimpleTypeSerializer<Map> {
 
     @Override
     protected Map readValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
-        final int length = buffer.readInt();
+        final int length = context.readInt(buffer);
 
         final Map<Object,Object> result = new LinkedHashMap<>(length);
         for (int i = 0; i < length; i++) {
@@ -63,8 +63,17 @@ public class MapSerializer extends SimpleTypeSerializer<Map> {
         return result;
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        final int length = context.readInt(buffer);
+        for (int i = 0; i < length; i++) {
+            context.skip(buffer);
+            context.skip(buffer);
+        }
+    }
+
     private Map readMap(final Buffer buffer, final GraphBinaryReader context) throws IOException {
-        final int length = buffer.readInt();
+        final int length = context.readInt(buffer);
 
         final Map<Object,Object> result = new HashMap<>(length);
         for (int i = 0; i < length; i++) {
@@ -74,9 +83,19 @@ public class MapSerializer extends SimpleTypeSerializer<Map> {
         return result;
     }
 
+    @Override
+    protected int estimateValueSize(final Map value, final GraphBinaryWriter context) throws IOException {
+        if (value.isEmpty()) return Integer.BYTES;
+
+        // {length}{entries} from the first entry, as with collections
+        final Map.Entry first = (Map.Entry) value.entrySet().iterator().next();
+        final int entrySize = GraphBinaryWriter.saturatedSum(context.estimateSize(first.getKey()), context.estimateSize(first.getValue()));
+        return GraphBinaryWriter.saturatedSum(Integer.BYTES, (long) value.size() * entrySize);
+    }
+
     @Override
     protected void writeValue(final Map value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
-        buffer.writeInt(value.size());
+        context.writeInt(value.size(), buffer);
 
         for (Map.Entry entry : (Set<Map.Entry>) value.entrySet()) {
             context.write(entry.getKey(), buffer);
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io.binary.types;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A fixed-size {@code List} view over an array of primitive numbers, which is what {@link ListSerializer} returns
+ * for a list that was written packed. The items are boxed only as they are accessed and the array is available
+ * through the typed accessor on each implementation for callers that would rather work with it directly.
+ */
+public abstract class PackedList<E extends Number> extends AbstractList<E> implements RandomAccess {
+
+    private PackedList() {}
+
+    public static final class OfInt extends PackedList<Integer> {
+        private final int[] values;
+
+        public OfInt(final int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(final int index) {
+            return values[index];
+        }
+
+        @Override
+        public Integer set(final int index, final Integer element) {
+            final int old = values[index];
+            values[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * Gets the array backing this list.
+         */
+        public int[] toIntArray() {
+            return values;
+        }
+    }
+
+    public static final class OfLong extends PackedList<Long> {
+        private final long[] values;
+
+        public OfLong(final long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Long get(final int index) {
+            return values[index];
+        }
+
+        @Override
+        public Long set(final int index, final Long element) {
+            final long old = values[index];
+            values[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * Gets the array backing this list.
+         */
+        public long[] toLongArray() {
+            return values;
+        }
+    }
+
+    public static final class OfFloat extends PackedList<Float> {
+        private final float[] values;
+
+        public OfFloat(final float[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Float get(final int index) {
+            return values[index];
+        }
+
+        @Override
+        public Float set(final int index, final Float element) {
+            final float old = values[index];
+            values[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * Gets the array backing this list.
+         */
+        public float[] toFloatArray() {
+            return values;
+        }
+    }
+
+    public static final class OfDouble extends PackedList<Double> {
+        private final double[] values;
+
+        public OfDouble(final double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Double get(final int index) {
+            return values[index];
+        }
+
+        @Override
+        public Double set(final int index, final Double element) {
+            final double old = values[index];
+            values[index] = element;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * Gets the array backing this list.
+         */
+        public double[] toDoubleArray() {
+            return values;
+        }
+    }
+}
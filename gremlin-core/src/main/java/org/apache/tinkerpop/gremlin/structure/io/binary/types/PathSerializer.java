@@ -55,6 +55,12 @@ public class PathSerializer extends SimpleTypeSerializer<Path> {
         return ReferenceFactory.detach(path);
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        context.skip(buffer);
+        context.skip(buffer);
+    }
+
     @Override
     protected void writeValue(final Path value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         context.write(value.labels(), buffer);
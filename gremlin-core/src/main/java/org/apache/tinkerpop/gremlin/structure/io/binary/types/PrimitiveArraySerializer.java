@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io.binary.types;
+
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+
+import java.io.IOException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Represents a serializer for arrays of primitive numbers, which are written as their length followed by the values
+ * packed one after the other without type information for each value.
+ */
+public class PrimitiveArraySerializer<T> extends SimpleTypeSerializer<T> {
+    public static final PrimitiveArraySerializer<int[]> IntArraySerializer =
+            new PrimitiveArraySerializer<>(DataType.INT_ARRAY, Integer.BYTES, PrimitiveArraySerializer::readInts, PrimitiveArraySerializer::writeInts);
+    public static final PrimitiveArraySerializer<long[]> LongArraySerializer =
+            new PrimitiveArraySerializer<>(DataType.LONG_ARRAY, Long.BYTES, PrimitiveArraySerializer::readLongs, PrimitiveArraySerializer::writeLongs);
+    public static final PrimitiveArraySerializer<float[]> FloatArraySerializer =
+            new PrimitiveArraySerializer<>(DataType.FLOAT_ARRAY, Float.BYTES, PrimitiveArraySerializer::readFloats, PrimitiveArraySerializer::writeFloats);
+    public static final PrimitiveArraySerializer<double[]> DoubleArraySerializer =
+            new PrimitiveArraySerializer<>(DataType.DOUBLE_ARRAY, Double.BYTES, PrimitiveArraySerializer::readDoubles, PrimitiveArraySerializer::writeDoubles);
+
+    private final int width;
+    private final BiFunction<Buffer, Integer, T> readFunc;
+    private final BiConsumer<T, Buffer> writeFunc;
+
+    private PrimitiveArraySerializer(final DataType dataType, final int width, final BiFunction<Buffer, Integer, T> readFunc,
+                                     final BiConsumer<T, Buffer> writeFunc) {
+        super(dataType);
+        this.width = width;
+        this.readFunc = readFunc;
+        this.writeFunc = writeFunc;
+    }
+
+    @Override
+    protected T readValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        return readFunc.apply(buffer, readLength(buffer, width));
+    }
+
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        final int length = readLength(buffer, width);
+        buffer.readerIndex(buffer.readerIndex() + length * width);
+    }
+
+    @Override
+    protected void writeValue(final T value, final Buffer buffer, final GraphBinaryWriter context) {
+        writeFunc.accept(value, buffer);
+    }
+
+    /**
+     * Reads the number of values that follow, checking that the buffer holds that many so that a corrupt length
+     * does not lead to allocating a huge array.
+     */
+    static int readLength(final Buffer buffer, final int width) throws IOException {
+        final int length = buffer.readInt();
+        if (length < 0 || (long) length * width > buffer.readableBytes())
+            throw new IOException(String.format("Invalid length of %s for packed values with %s bytes remaining", length, buffer.readableBytes()));
+        return length;
+    }
+
+    static int[] readInts(final Buffer buffer, final int length) {
+        final int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = buffer.readInt();
+        }
+        return values;
+    }
+
+    static long[] readLongs(final Buffer buffer, final int length) {
+        final long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = buffer.readLong();
+        }
+        return values;
+    }
+
+    static float[] readFloats(final Buffer buffer, final int length) {
+        final float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = buffer.readFloat();
+        }
+        return values;
+    }
+
+    static double[] readDoubles(final Buffer buffer, final int length) {
+        final double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = buffer.readDouble();
+        }
+        return values;
+    }
+
+    private static void writeInts(final int[] values, final Buffer buffer) {
+        buffer.writeInt(values.length);
+        for (int v : values) {
+            buffer.writeInt(v);
+        }
+    }
+
+    private static void writeLongs(final long[] values, final Buffer buffer) {
+        buffer.writeInt(values.length);
+        for (long v : values) {
+            buffer.writeLong(v);
+        }
+    }
+
+    private static void writeFloats(final float[] values, final Buffer buffer) {
+        buffer.writeInt(values.length);
+        for (float v : values) {
+            buffer.writeFloat(v);
+        }
+    }
+
+    private static void writeDoubles(final double[] values, final Buffer buffer) {
+        buffer.writeInt(values.length);
+        for (double v : values) {
+            buffer.writeDouble(v);
+        }
+    }
+}
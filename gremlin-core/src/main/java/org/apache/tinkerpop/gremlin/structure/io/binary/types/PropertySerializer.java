@@ -45,6 +45,19 @@ public class PropertySerializer extends SimpleTypeSerializer<Property> {
         return p;
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        context.skipValue(buffer, String.class, false);
+        context.skip(buffer);
+        context.skip(buffer);
+    }
+
+    @Override
+    protected int estimateValueSize(final Property value, final GraphBinaryWriter context) throws IOException {
+        // {key}{value}{parent}
+        return GraphBinaryWriter.saturatedSum(Integer.BYTES + value.key().length() + 2, context.estimateSize(value.value()));
+    }
+
     @Override
     protected void writeValue(final Property value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         context.writeValue(value.key(), buffer, false);
@@ -71,6 +71,55 @@ public abstract class SimpleTypeSerializer<T> implements TypeSerializer<T> {
      */
     protected abstract T readValue(final Buffer buffer, final GraphBinaryReader context) throws IOException;
 
+    @Override
+    public void skip(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        skipValue(buffer, context, true);
+    }
+
+    @Override
+    public void skipValue(final Buffer buffer, final GraphBinaryReader context, final boolean nullable) throws IOException {
+        if (nullable) {
+            final byte valueFlag = buffer.readByte();
+            if ((valueFlag & 1) == 1) {
+                return;
+            }
+        }
+
+        skipValue(buffer, context);
+    }
+
+    /**
+     * Moves the reader index past a non-nullable value, which by default reads the value and discards it.
+     * Implementations override this when a value can be passed over without creating it.
+     *
+     * @param buffer  A buffer which reader index has been set to the beginning of the {value}.
+     * @param context The binary reader.
+     * @throws IOException
+     * @since 4.0.0
+     */
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        readValue(buffer, context);
+    }
+
+    @Override
+    public int estimateSize(final T value, final GraphBinaryWriter context) throws IOException {
+        // {value_flag}{value}
+        return value == null ? 1 : 1 + estimateValueSize(value, context);
+    }
+
+    /**
+     * Estimates the number of bytes of a non-nullable value written by
+     * {@link #writeValue(Object, Buffer, GraphBinaryWriter)}, which by default is {@link #ESTIMATED_SIZE}.
+     *
+     * @param value A non-nullable value.
+     * @param context The binary writer.
+     * @throws IOException
+     * @since 4.0.0
+     */
+    protected int estimateValueSize(final T value, final GraphBinaryWriter context) throws IOException {
+        return ESTIMATED_SIZE;
+    }
+
     @Override
     public void write(final T value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         writeValue(value, buffer, context, true);
@@ -23,7 +23,9 @@ import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.Marker;
+import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
 
+import java.io.IOException;
 import java.time.Year;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -34,39 +36,61 @@ import java.util.function.Function;
  */
 public class SingleTypeSerializer<T> extends SimpleTypeSerializer<T> {
     public static final SingleTypeSerializer<Integer> IntSerializer =
-            new SingleTypeSerializer<>(DataType.INT, Buffer::readInt, (v, b) -> b.writeInt(v));
+            new SingleTypeSerializer<>(DataType.INT, Integer.BYTES, (b, c) -> c.readInt(b), (v, b, c) -> c.writeInt(v, b));
     public static final SingleTypeSerializer<Long> LongSerializer =
-            new SingleTypeSerializer<>(DataType.LONG, Buffer::readLong, (v, b) -> b.writeLong(v));
+            new SingleTypeSerializer<>(DataType.LONG, Long.BYTES, (b, c) -> c.readLong(b), (v, b, c) -> c.writeLong(v, b));
     public static final SingleTypeSerializer<Double> DoubleSerializer =
-            new SingleTypeSerializer<>(DataType.DOUBLE, Buffer::readDouble, (v, b) -> b.writeDouble(v));
+            new SingleTypeSerializer<>(DataType.DOUBLE, Double.BYTES, Buffer::readDouble, (v, b) -> b.writeDouble(v));
     public static final SingleTypeSerializer<Float> FloatSerializer =
-            new SingleTypeSerializer<>(DataType.FLOAT, Buffer::readFloat, (v, b) -> b.writeFloat(v));
+            new SingleTypeSerializer<>(DataType.FLOAT, Float.BYTES, Buffer::readFloat, (v, b) -> b.writeFloat(v));
     public static final SingleTypeSerializer<Short> ShortSerializer =
-            new SingleTypeSerializer<>(DataType.SHORT, Buffer::readShort, (v, b) -> b.writeShort(v));
+            new SingleTypeSerializer<>(DataType.SHORT, Short.BYTES, Buffer::readShort, (v, b) -> b.writeShort(v));
     public static final SingleTypeSerializer<Boolean> BooleanSerializer =
-            new SingleTypeSerializer<>(DataType.BOOLEAN, Buffer::readBoolean, (v, b) -> b.writeBoolean(v));
+            new SingleTypeSerializer<>(DataType.BOOLEAN, 1, Buffer::readBoolean, (v, b) -> b.writeBoolean(v));
     public static final SingleTypeSerializer<Byte> ByteSerializer =
-            new SingleTypeSerializer<>(DataType.BYTE, Buffer::readByte, (v, b) -> b.writeByte(v));
+            new SingleTypeSerializer<>(DataType.BYTE, Byte.BYTES, Buffer::readByte, (v, b) -> b.writeByte(v));
     public static final SingleTypeSerializer<Marker> MarkerSerializer =
-            new SingleTypeSerializer<>(DataType.MARKER, bb -> Marker.of(bb.readByte()), (v, b) -> b.writeByte(v.getValue()));
+            new SingleTypeSerializer<>(DataType.MARKER, Byte.BYTES, bb -> Marker.of(bb.readByte()), (v, b) -> b.writeByte(v.getValue()));
 
-    private final Function<Buffer, T> readFunc;
-    private final BiConsumer<T, Buffer> writeFunc;
+    private final int size;
+    private final ReadFunction<T> readFunc;
+    private final TriConsumer<T, Buffer, GraphBinaryWriter> writeFunc;
 
-    private SingleTypeSerializer(final DataType dataType, final Function<Buffer, T> readFunc,
+    private SingleTypeSerializer(final DataType dataType, final int size, final Function<Buffer, T> readFunc,
                                  final BiConsumer<T, Buffer> writeFunc) {
+        this(dataType, size, (b, c) -> readFunc.apply(b), (v, b, c) -> writeFunc.accept(v, b));
+    }
+
+    /**
+     * Creates a serializer for a value that is read and written differently depending on the settings of the
+     * {@link GraphBinaryReader} and {@link GraphBinaryWriter}, like ints and longs that may be variable-length.
+     */
+    private SingleTypeSerializer(final DataType dataType, final int size, final ReadFunction<T> readFunc,
+                                 final TriConsumer<T, Buffer, GraphBinaryWriter> writeFunc) {
         super(dataType);
+        this.size = size;
         this.readFunc = readFunc;
         this.writeFunc = writeFunc;
     }
 
     @Override
-    public T readValue(final Buffer buffer, final GraphBinaryReader context) {
-        return readFunc.apply(buffer);
+    public T readValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        return readFunc.apply(buffer, context);
+    }
+
+    @Override
+    protected int estimateValueSize(final T value, final GraphBinaryWriter context) {
+        // variable-length ints and longs are mostly shorter, so this is the most they take
+        return size;
     }
 
     @Override
     protected void writeValue(final T value, final Buffer buffer, final GraphBinaryWriter context) {
-        writeFunc.accept(value, buffer);
+        writeFunc.accept(value, buffer, context);
+    }
+
+    @FunctionalInterface
+    private interface ReadFunction<T> {
+        T apply(final Buffer buffer, final GraphBinaryReader context) throws IOException;
     }
 }
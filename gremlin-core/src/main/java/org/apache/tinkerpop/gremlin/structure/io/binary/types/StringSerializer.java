@@ -23,7 +23,7 @@ import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 
 public class StringSerializer extends SimpleTypeSerializer<String> {
     public StringSerializer() {
@@ -31,16 +31,23 @@ public class StringSerializer extends SimpleTypeSerializer<String> {
     }
 
     @Override
-    protected String readValue(final Buffer buffer, final GraphBinaryReader context) {
-        // Use Netty 4.0 API (avoid ByteBuf#readCharSequence() method) to maximize compatibility
-        final byte[] bytes = new byte[buffer.readInt()];
-        buffer.readBytes(bytes);
-        return new String(bytes, StandardCharsets.UTF_8);
+    protected String readValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        return context.readString(buffer);
+    }
+
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        context.skipString(buffer);
+    }
+
+    @Override
+    protected int estimateValueSize(final String value, final GraphBinaryWriter context) {
+        // {length}{bytes} assuming the characters mostly take one byte
+        return Integer.BYTES + value.length();
     }
 
     @Override
     protected void writeValue(final String value, final Buffer buffer, final GraphBinaryWriter context) {
-        final byte[] stringBytes = value.getBytes(StandardCharsets.UTF_8);
-        buffer.writeInt(stringBytes.length).writeBytes(stringBytes);
+        context.writeString(value, buffer);
     }
 }
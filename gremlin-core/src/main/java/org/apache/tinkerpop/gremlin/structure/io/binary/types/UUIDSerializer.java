@@ -35,6 +35,11 @@ public class UUIDSerializer extends SimpleTypeSerializer<UUID> {
         return new UUID(buffer.readLong(), buffer.readLong());
     }
 
+    @Override
+    protected int estimateValueSize(final UUID value, final GraphBinaryWriter context) {
+        return Long.BYTES * 2;
+    }
+
     @Override
     protected void writeValue(final UUID value, final Buffer buffer, final GraphBinaryWriter context) {
         buffer.writeLong(value.getMostSignificantBits()).writeLong(value.getLeastSignificantBits());
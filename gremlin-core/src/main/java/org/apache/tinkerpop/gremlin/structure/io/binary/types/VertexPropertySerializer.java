@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.binary.types;
 
-import org.apache.commons.collections4.IteratorUtils;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
@@ -59,6 +58,26 @@ public class VertexPropertySerializer extends SimpleTypeSerializer<VertexPropert
         return builder.create();
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        context.skip(buffer);
+        context.skipValue(buffer, List.class, false);
+        context.skip(buffer);
+
+        // parent vertex and properties
+        context.skip(buffer);
+        context.skip(buffer);
+    }
+
+    @Override
+    protected int estimateValueSize(final VertexProperty value, final GraphBinaryWriter context) throws IOException {
+        // {id}{label}{value}{parent}{properties} where the properties are guessed as counting them would mean
+        // iterating them
+        final long size = (long) context.estimateSize(value.id()) + Integer.BYTES + context.estimateSize(value.label()) +
+                context.estimateSize(value.value());
+        return GraphBinaryWriter.saturatedSum(size, 2 + ESTIMATED_SIZE);
+    }
+
     @Override
     protected void writeValue(final VertexProperty value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         context.write(value.id(), buffer);
@@ -76,10 +95,9 @@ public class VertexPropertySerializer extends SimpleTypeSerializer<VertexPropert
             context.write(null, buffer);
         }
         else {
-            final List<?> asList = value.graph().features().vertex().supportsMetaProperties() ?
-                    IteratorUtils.toList(value.properties()) :
-                    Collections.emptyList();
-            context.write(asList, buffer);
+            context.writeList(value.graph().features().vertex().supportsMetaProperties() ?
+                    value.properties() :
+                    Collections.emptyIterator(), buffer);
         }
     }
 }
@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.binary.types;
 
-import org.apache.commons.collections4.IteratorUtils;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
@@ -58,6 +57,20 @@ public class VertexSerializer extends SimpleTypeSerializer<Vertex> {
         return builder.create();
     }
 
+    @Override
+    protected void skipValue(final Buffer buffer, final GraphBinaryReader context) throws IOException {
+        context.skip(buffer);
+        context.skipValue(buffer, List.class, false);
+        context.skip(buffer);
+    }
+
+    @Override
+    protected int estimateValueSize(final Vertex value, final GraphBinaryWriter context) throws IOException {
+        // {id}{label}{properties} where the properties are guessed as counting them would mean iterating them
+        return GraphBinaryWriter.saturatedSum(context.estimateSize(value.id()),
+                Integer.BYTES + context.estimateSize(value.label()) + ESTIMATED_SIZE);
+    }
+
     @Override
     protected void writeValue(final Vertex value, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
         context.write(value.id(), buffer);
@@ -70,8 +83,7 @@ public class VertexSerializer extends SimpleTypeSerializer<Vertex> {
             context.write(null, buffer);
         }
         else {
-            final List<?> asList = IteratorUtils.toList(value.properties());
-            context.write(asList, buffer);
+            context.writeList(value.properties(), buffer);
         }
     }
 }
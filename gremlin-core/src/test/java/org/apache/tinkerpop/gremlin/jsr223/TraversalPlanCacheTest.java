@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.script.Bindings;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertEquals;
+
+public class TraversalPlanCacheTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldReturnLockedCloneOnHit() throws ScriptException {
+        final GremlinLangScriptEngine scriptEngine = createScriptEngine(10);
+        final TraversalPlanCache cache = scriptEngine.getTraversalPlanCache().get();
+
+        final Traversal.Admin<?, ?> first = (Traversal.Admin<?, ?>) scriptEngine.eval("g.V().out('knows')", bindings());
+        assertThat(first.isLocked(), is(true));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(0L));
+
+        final Traversal.Admin<?, ?> second = (Traversal.Admin<?, ?>) scriptEngine.eval("g.V().out('knows')", bindings());
+        assertThat(second.isLocked(), is(true));
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getGremlinLang(), is(first.getGremlinLang()));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(1L));
+    }
+
+    @Test
+    public void shouldCacheOnlyParseTreeOfScriptsWithVariables() throws ScriptException {
+        final GremlinLangScriptEngine scriptEngine = createScriptEngine(10);
+        final TraversalPlanCache cache = scriptEngine.getTraversalPlanCache().get();
+
+        final Bindings b1 = bindings();
+        b1.put("x", 1);
+        scriptEngine.eval("g.V(x)", b1);
+        final Traversal.Admin<?, ?> first = (Traversal.Admin<?, ?>) scriptEngine.eval("g.V(x)", b1);
+        assertThat(first.isLocked(), is(false));
+        assertThat(first.getGremlinLang(), is(g.V(1).asAdmin().getGremlinLang()));
+
+        final Bindings b2 = bindings();
+        b2.put("x", 2);
+        final Traversal.Admin<?, ?> second = (Traversal.Admin<?, ?>) scriptEngine.eval("g.V(x)", b2);
+        assertThat(second.isLocked(), is(false));
+        assertThat(second.getGremlinLang(), is(g.V(2).asAdmin().getGremlinLang()));
+
+        assertThat(cache.getHits(), is(2L));
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() throws ScriptException {
+        final GremlinLangScriptEngine scriptEngine = createScriptEngine(2);
+        final TraversalPlanCache cache = scriptEngine.getTraversalPlanCache().get();
+
+        scriptEngine.eval("g.V()", bindings());
+        scriptEngine.eval("g.E()", bindings());
+        scriptEngine.eval("g.V()", bindings());
+        scriptEngine.eval("g.V().count()", bindings());
+        assertThat(cache.size(), is(2));
+
+        scriptEngine.eval("g.V()", bindings());
+        assertThat(cache.getHits(), is(2L));
+        scriptEngine.eval("g.E()", bindings());
+        assertThat(cache.getMisses(), is(4L));
+    }
+
+    @Test
+    public void shouldNotCacheNonTraversalResults() throws ScriptException {
+        final GremlinLangScriptEngine scriptEngine = createScriptEngine(10);
+        final TraversalPlanCache cache = scriptEngine.getTraversalPlanCache().get();
+
+        final Object result = scriptEngine.eval("g.inject(1).toList()", bindings());
+        assertThat(result, not(instanceOf(Traversal.class)));
+        assertThat(scriptEngine.eval("g.inject(1).toList()", bindings()), is(result));
+        assertThat(cache.getHits(), is(1L));
+    }
+
+    @Test
+    public void shouldNotShareSideEffectsBetweenEvaluations() throws ScriptException {
+        final GremlinLangScriptEngine scriptEngine = createScriptEngine(10);
+        final TraversalPlanCache cache = scriptEngine.getTraversalPlanCache().get();
+
+        final String script = "g.withSideEffect('a', []).inject(1,2).aggregate('a').cap('a')";
+        for (int i = 0; i < 3; i++) {
+            final Traversal.Admin<?, ?> traversal = (Traversal.Admin<?, ?>) scriptEngine.eval(script, bindings());
+            assertThat(traversal.isLocked(), is(false));
+            assertEquals(Collections.singletonList(Arrays.asList(1, 2)), traversal.toList());
+        }
+        assertThat(cache.getHits(), is(2L));
+    }
+
+    @Test
+    public void shouldTakeCurrentDateTimeOnEachEvaluation() throws Exception {
+        final GremlinLangScriptEngine scriptEngine = createScriptEngine(10);
+
+        final Object first = ((Traversal.Admin<?, ?>) scriptEngine.eval("g.inject(datetime())", bindings())).next();
+        Thread.sleep(10);
+        final Object second = ((Traversal.Admin<?, ?>) scriptEngine.eval("g.inject(datetime())", bindings())).next();
+        assertThat(second, not(first));
+
+        // a datetime() with an argument is the same on every evaluation so the strategized traversal is cached
+        scriptEngine.eval("g.inject(datetime('2023-08-02T00:00:00Z'))", bindings());
+        final Traversal.Admin<?, ?> fixed = (Traversal.Admin<?, ?>) scriptEngine.eval("g.inject(datetime('2023-08-02T00:00:00Z'))", bindings());
+        assertThat(fixed.isLocked(), is(true));
+    }
+
+    private Bindings bindings() {
+        final Bindings b = new SimpleBindings();
+        b.put("g", g);
+        return b;
+    }
+
+    private static GremlinLangScriptEngine createScriptEngine(final int maxSize) {
+        return new GremlinLangScriptEngine(TraversalPlanCachePlugin.build().maxSize(maxSize).create().getCustomizers().get());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.language.grammar;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class GremlinParserCacheTest {
+    private static final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    private static GremlinAntlrToJava visitor(final Map<String, Object> variables) {
+        return new GremlinAntlrToJava("g", EmptyGraph.instance(), __::start, g,
+                new VariableResolver.DirectVariableResolver(variables));
+    }
+
+    @Test
+    public void shouldReuseParseTreeForDifferentVariableValues() {
+        final GremlinParserCache cache = new GremlinParserCache(10);
+        final String query = "g.V(x).has('name',gt(z))";
+
+        GraphTraversal<?, ?> t = (GraphTraversal<?, ?>) GremlinQueryParser.parse(query,
+                visitor(ElementHelper.asMap("x", 1, "z", 50)), cache);
+        assertEquals(g.V(1).has("name", P.gt(50)).asAdmin().getGremlinLang(), t.asAdmin().getGremlinLang());
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        t = (GraphTraversal<?, ?>) GremlinQueryParser.parse(query,
+                visitor(ElementHelper.asMap("x", 2, "z", 100)), cache);
+        assertEquals(g.V(2).has("name", P.gt(100)).asAdmin().getGremlinLang(), t.asAdmin().getGremlinLang());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldReturnSameParseTree() {
+        final GremlinParserCache cache = new GremlinParserCache(10);
+        final GremlinParser.QueryListContext first = cache.get("g.V()", () -> GremlinQueryParser.parseQueryList("g.V()"));
+        final GremlinParser.QueryListContext second = cache.get("g.V()", () -> GremlinQueryParser.parseQueryList("g.V()"));
+        assertSame(first, second);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        final GremlinParserCache cache = new GremlinParserCache(2);
+        GremlinQueryParser.parse("g.V()", visitor(ElementHelper.asMap()), cache);
+        GremlinQueryParser.parse("g.E()", visitor(ElementHelper.asMap()), cache);
+        GremlinQueryParser.parse("g.V()", visitor(ElementHelper.asMap()), cache);
+        GremlinQueryParser.parse("g.V().count()", visitor(ElementHelper.asMap()), cache);
+        assertEquals(2, cache.size());
+
+        // g.E() was evicted so it must be parsed again
+        GremlinQueryParser.parse("g.E()", visitor(ElementHelper.asMap()), cache);
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void shouldNotCacheFailedParse() {
+        final GremlinParserCache cache = new GremlinParserCache(10);
+        try {
+            GremlinQueryParser.parse("g.V(", visitor(ElementHelper.asMap()), cache);
+            fail("Query should not have parsed");
+        } catch (GremlinParserException ignored) {
+            // expected
+        }
+        assertEquals(0, cache.size());
+
+        // the thread-bound parser should recover for the next query
+        final GraphTraversal<?, ?> t = (GraphTraversal<?, ?>) GremlinQueryParser.parse("g.V().out()",
+                visitor(ElementHelper.asMap()), cache);
+        assertEquals(g.V().out().asAdmin().getGremlinLang(), t.asAdmin().getGremlinLang());
+    }
+}
@@ -37,6 +37,7 @@ public class RepeatStepTest extends StepTest {
     protected List<Traversal> getTraversals() {
         return Arrays.asList(
                 __.repeat(out()).times(3),
+                __.repeat(out()).times(3).with(RepeatStep.FRONTIER, true),
                 __.repeat(out().as("x")).times(3),
                 __.out().emit().repeat(out()).times(3),
                 __.repeat(out()).until(hasLabel("x")),
@@ -20,15 +20,24 @@ package org.apache.tinkerpop.gremlin.driver;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.Future;
 import org.apache.tinkerpop.gremlin.driver.exception.ConnectionException;
 import org.apache.tinkerpop.gremlin.driver.handler.GremlinResponseHandler;
 import org.apache.tinkerpop.gremlin.driver.handler.HttpContentDecompressionHandler;
@@ -40,7 +49,7 @@ import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 
 import java.util.Collections;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Queue;
 
 import static io.netty.handler.codec.http.HttpClientCodec.DEFAULT_FAIL_ON_MISSING_RESPONSE;
 import static io.netty.handler.codec.http.HttpClientCodec.DEFAULT_PARSE_HTTP_AFTER_CONNECT_REQUEST;
@@ -85,6 +94,32 @@ public interface Channelizer extends ChannelHandler {
         return sslEnabled ? "https" : "http";
     }
 
+    /**
+     * Determines if requests on the connection are each written to their own channel opened with
+     * {@link #openRequestChannel(Queue)} rather than to the channel of the connection itself.
+     */
+    default boolean isMultiplexed() {
+        return false;
+    }
+
+    /**
+     * Gets the maximum number of requests that may be in flight at once on the connection. When this is greater than
+     * one for a {@code Channelizer} that is not {@link #isMultiplexed() multiplexed}, requests are pipelined on the
+     * channel of the connection and the responses come back in the same order.
+     */
+    default int getMaxInFlight() {
+        return 1;
+    }
+
+    /**
+     * Opens a channel on the connection for a single request when the {@code Channelizer} is
+     * {@link #isMultiplexed() multiplexed}. The response to that request is handed to the {@link ResultQueue} that
+     * is added to the supplied queue once the request is written.
+     */
+    default Future<? extends Channel> openRequestChannel(final Queue<ResultQueue> pending) {
+        throw new UnsupportedOperationException(String.format("%s does not multiplex requests", getClass().getSimpleName()));
+    }
+
     /**
      * Base implementation of the client side {@link Channelizer}.
      */
@@ -92,7 +127,7 @@ public interface Channelizer extends ChannelHandler {
         protected Connection connection;
         protected Cluster cluster;
         protected SslHandler sslHandler;
-        private AtomicReference<ResultQueue> pending;
+        private Queue<ResultQueue> pending;
 
         protected static final String PIPELINE_GREMLIN_HANDLER = "gremlin-handler";
         protected static final String PIPELINE_SSL_HANDLER = "gremlin-ssl-handler";
@@ -199,8 +234,9 @@ public interface Channelizer extends ChannelHandler {
 
             httpCompressionDecoder = new HttpContentDecompressionHandler();
             gremlinRequestEncoder = new HttpGremlinRequestEncoder(cluster.getSerializer(), cluster.getRequestInterceptors(),
-                    cluster.isUserAgentOnConnectEnabled(), cluster.isBulkResultsEnabled(), connection.getUri());
-            gremlinResponseDecoder = new HttpGremlinResponseDecoder(cluster.getSerializer());
+                    cluster.isUserAgentOnConnectEnabled(), cluster.isBulkResultsEnabled(), cluster.isPackedListsEnabled(), cluster.isVarIntsEnabled(), cluster.isLazyResultsEnabled(), cluster.getCompression(),
+                    connection.getUri());
+            gremlinResponseDecoder = new HttpGremlinResponseDecoder(cluster.getSerializer(), cluster.isLazyResultsEnabled());
             if (cluster.getIdleConnectionTimeout() > 0) {
                 final int idleConnectionTimeout = (int) (cluster.getIdleConnectionTimeout() / 1000);
                 idleStateHandler = new IdleStateHandler(idleConnectionTimeout, idleConnectionTimeout, 0);
@@ -219,6 +255,11 @@ public interface Channelizer extends ChannelHandler {
             return "https".equalsIgnoreCase(scheme);
         }
 
+        @Override
+        public int getMaxInFlight() {
+            return cluster.connectionPoolSettings().maxInFlightPerConnection;
+        }
+
         @Override
         public void configure(final ChannelPipeline pipeline) {
             final String scheme = connection.getUri().getScheme();
@@ -247,4 +288,114 @@ public interface Channelizer extends ChannelHandler {
             pipeline.addLast(PIPELINE_HTTP_DECODER, gremlinResponseDecoder);
         }
     }
+
+    /**
+     * Sends requests over the HTTP endpoint using HTTP/2 where each request is written to its own stream. A single
+     * connection can therefore have many requests in flight at once and a slow response does not hold up the others.
+     * As with {@link HttpChannelizer}, the response on each stream is aggregated, up to the maximum response content
+     * length, before it is decoded, with each stream subject to its own flow control window while it is read. Without
+     * SSL the server must accept HTTP/2 with prior knowledge and with SSL it must agree to it through ALPN.
+     */
+    final class Http2Channelizer extends AbstractChannelizer {
+        private static final String PIPELINE_HTTP2_FRAME_CODEC = "http2-frame-codec";
+        private static final String PIPELINE_HTTP2_MULTIPLEX_HANDLER = "http2-multiplex-handler";
+        private static final String PIPELINE_HTTP2_STREAM_CODEC = "http2-stream-codec";
+
+        private HttpGremlinRequestEncoder gremlinRequestEncoder;
+        private HttpGremlinResponseDecoder gremlinResponseDecoder;
+
+        private HttpContentDecompressionHandler httpCompressionDecoder;
+        private IdleStateHandler idleStateHandler;
+        private IdleConnectionHandler idleConnectionHandler;
+
+        private Http2FrameCodec frameCodec;
+        private Channel channel;
+
+        @Override
+        public void init(final Connection connection) {
+            super.init(connection);
+
+            httpCompressionDecoder = new HttpContentDecompressionHandler();
+            gremlinRequestEncoder = new HttpGremlinRequestEncoder(cluster.getSerializer(), cluster.getRequestInterceptors(),
+                    cluster.isUserAgentOnConnectEnabled(), cluster.isBulkResultsEnabled(), cluster.isPackedListsEnabled(), cluster.isVarIntsEnabled(), cluster.isLazyResultsEnabled(), cluster.getCompression(),
+                    connection.getUri());
+            gremlinResponseDecoder = new HttpGremlinResponseDecoder(cluster.getSerializer(), cluster.isLazyResultsEnabled());
+            if (cluster.getIdleConnectionTimeout() > 0) {
+                final int idleConnectionTimeout = (int) (cluster.getIdleConnectionTimeout() / 1000);
+                idleStateHandler = new IdleStateHandler(idleConnectionTimeout, idleConnectionTimeout, 0);
+                idleConnectionHandler = new IdleConnectionHandler();
+            }
+        }
+
+        @Override
+        public void connected() {
+            super.connected();
+
+            if (supportsSsl() && !ApplicationProtocolNames.HTTP_2.equals(sslHandler.applicationProtocol()))
+                throw new ConnectionException(connection.getUri(), "The server did not agree to use HTTP/2", null);
+        }
+
+        @Override
+        public boolean supportsSsl() {
+            final String scheme = connection.getUri().getScheme();
+            return "https".equalsIgnoreCase(scheme);
+        }
+
+        @Override
+        public boolean isMultiplexed() {
+            return true;
+        }
+
+        @Override
+        public int getMaxInFlight() {
+            // the server announces its own limit in its SETTINGS frame and until then the local setting applies
+            final int maxConcurrentStreams = cluster.getMaxConcurrentStreams();
+            return null == frameCodec ? maxConcurrentStreams :
+                    Math.min(maxConcurrentStreams, frameCodec.connection().local().maxActiveStreams());
+        }
+
+        @Override
+        public Future<? extends Channel> openRequestChannel(final Queue<ResultQueue> pending) {
+            return new Http2StreamChannelBootstrap(channel).handler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(final Channel streamChannel) {
+                    final ChannelPipeline pipeline = streamChannel.pipeline();
+                    pipeline.addLast(PIPELINE_HTTP2_STREAM_CODEC, new Http2StreamFrameToHttpObjectCodec(false));
+                    pipeline.addLast(PIPELINE_HTTP_AGGREGATOR, new HttpObjectAggregator(cluster.getMaxResponseContentLength() > 0
+                            ? (int) cluster.getMaxResponseContentLength() : Integer.MAX_VALUE));
+                    pipeline.addLast(PIPELINE_HTTP_ENCODER, gremlinRequestEncoder);
+                    pipeline.addLast(PIPELINE_HTTP_DECOMPRESSION_HANDLER, httpCompressionDecoder);
+                    pipeline.addLast(PIPELINE_HTTP_DECODER, gremlinResponseDecoder);
+                    pipeline.addLast(PIPELINE_GREMLIN_HANDLER, new GremlinResponseHandler(pending));
+                }
+            }).open();
+        }
+
+        @Override
+        public void configure(final ChannelPipeline pipeline) {
+            final String scheme = connection.getUri().getScheme();
+            if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme))
+                throw new IllegalStateException("Unsupported scheme (only http: or https: supported): " + scheme);
+
+            if (!supportsSsl() && "https".equalsIgnoreCase(scheme))
+                throw new IllegalStateException("To use https scheme ensure that enableSsl is set to true in configuration");
+
+            if (cluster.getIdleConnectionTimeout() > 0) {
+                // idle connection handling is enabled
+                pipeline.addLast(PIPELINE_IDLE_STATE_HANDLER, idleStateHandler);
+                pipeline.addLast(PIPELINE_IDLE_CONNECTION_HANDLER, idleConnectionHandler);
+            }
+
+            // streams beyond what the server allows are held back until others complete rather than failing
+            frameCodec = Http2FrameCodecBuilder.forClient()
+                    .initialSettings(Http2Settings.defaultSettings())
+                    .encoderEnforceMaxConcurrentStreams(true)
+                    .build();
+            pipeline.addLast(PIPELINE_HTTP2_FRAME_CODEC, frameCodec);
+
+            // the server does not push streams so there is nothing to handle for inbound ones
+            pipeline.addLast(PIPELINE_HTTP2_MULTIPLEX_HANDLER, new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+            channel = pipeline.channel();
+        }
+    }
 }
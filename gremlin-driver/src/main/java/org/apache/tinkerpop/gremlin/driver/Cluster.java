@@ -23,6 +23,8 @@ import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
@@ -188,8 +190,15 @@ public final class Cluster {
                 .maxConnectionPoolSize(settings.connectionPool.maxSize)
                 .connectionSetupTimeoutMillis(settings.connectionPool.connectionSetupTimeoutMillis)
                 .idleConnectionTimeoutMillis(settings.connectionPool.idleConnectionTimeout)
+                .channelizer(settings.connectionPool.channelizer)
+                .maxConcurrentStreams(settings.connectionPool.maxConcurrentStreams)
+                .maxInFlightPerConnection(settings.connectionPool.maxInFlightPerConnection)
+                .compression(settings.connectionPool.compression)
                 .enableUserAgentOnConnect(settings.enableUserAgentOnConnect)
                 .bulkResults(settings.bulkResults)
+                .packedLists(settings.packedLists)
+                .varInts(settings.varInts)
+                .lazyResults(settings.lazyResults)
                 .validationRequest(settings.connectionPool.validationRequest);
 
         if (!settings.auth.type.isEmpty()) {
@@ -344,6 +353,34 @@ public final class Cluster {
         return manager.connectionPoolSettings.idleConnectionTimeout;
     }
 
+    /**
+     * Gets the fully qualified class name of the {@link Channelizer} used to construct the connection pipelines.
+     */
+    public String getChannelizer() {
+        return manager.connectionPoolSettings.channelizer;
+    }
+
+    /**
+     * Gets the maximum number of requests that may be in flight at once on a single multiplexed connection.
+     */
+    public int getMaxConcurrentStreams() {
+        return manager.connectionPoolSettings.maxConcurrentStreams;
+    }
+
+    /**
+     * Gets the maximum number of requests that may be pipelined on a single HTTP/1.1 connection.
+     */
+    public int getMaxInFlightPerConnection() {
+        return manager.connectionPoolSettings.maxInFlightPerConnection;
+    }
+
+    /**
+     * Gets the compression the server is asked to use for responses.
+     */
+    public String getCompression() {
+        return manager.connectionPoolSettings.compression;
+    }
+
     /**
      * Specifies the load balancing strategy to use on the client side.
      */
@@ -461,6 +498,15 @@ public final class Cluster {
             builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
         }
 
+        // HTTP/2 over TLS has to be agreed on during the handshake
+        if (Channelizer.Http2Channelizer.class.getName().equals(connectionPoolSettings.channelizer)) {
+            builder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2));
+        }
+
         builder.sslProvider(provider);
 
         return builder.build();
@@ -481,6 +527,27 @@ public final class Cluster {
         return manager.isBulkResultsEnabled();
     }
 
+    /**
+     * Checks if cluster is configured to ask for lists of primitive numbers to be packed
+     */
+    public boolean isPackedListsEnabled() {
+        return manager.isPackedListsEnabled();
+    }
+
+    /**
+     * Checks if cluster is configured to ask for integers to be written with variable length
+     */
+    public boolean isVarIntsEnabled() {
+        return manager.isVarIntsEnabled();
+    }
+
+    /**
+     * Checks if cluster is configured to read results lazily
+     */
+    public boolean isLazyResultsEnabled() {
+        return manager.isLazyResultsEnabled();
+    }
+
     public final static class Builder {
         private static int INTERCEPTOR_NOT_FOUND = -1;
 
@@ -514,6 +581,13 @@ public final class Cluster {
         private long idleConnectionTimeoutMillis = Connection.CONNECTION_IDLE_TIMEOUT_MILLIS;
         private boolean enableUserAgentOnConnect = true;
         private boolean bulkResults = false;
+        private boolean packedLists = false;
+        private boolean varInts = false;
+        private boolean lazyResults = false;
+        private String channelizer = Channelizer.HttpChannelizer.class.getName();
+        private int maxConcurrentStreams = Connection.MAX_CONCURRENT_STREAMS;
+        private int maxInFlightPerConnection = Connection.MAX_IN_FLIGHT_PER_CONNECTION;
+        private String compression = Connection.COMPRESSION;
 
         private Builder() {
             addInterceptor(SERIALIZER_INTERCEPTOR_NAME,
@@ -879,6 +953,52 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * Specify the {@link Channelizer} implementation to use on the client when creating a {@link Connection}.
+         */
+        public Builder channelizer(final String channelizerClass) {
+            this.channelizer = channelizerClass;
+            return this;
+        }
+
+        /**
+         * Specify the {@link Channelizer} implementation to use on the client when creating a {@link Connection}.
+         */
+        public Builder channelizer(final Class<? extends Channelizer> channelizerClass) {
+            return channelizer(channelizerClass.getName());
+        }
+
+        /**
+         * Sets the maximum number of requests that may be in flight at once on a single connection when the
+         * {@link Channelizer} multiplexes them, as {@link Channelizer.Http2Channelizer} does. The pool only opens
+         * another connection once this many requests are outstanding on each of the existing ones.
+         */
+        public Builder maxConcurrentStreams(final int maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests that may be pipelined on a single HTTP/1.1 connection with the
+         * {@link Channelizer.HttpChannelizer}. Responses come back in the order the requests were sent, so a small
+         * pool can keep the server busy but a slow request holds up those behind it on the same connection. The
+         * default of one disables pipelining.
+         */
+        public Builder maxInFlightPerConnection(final int maxInFlightPerConnection) {
+            this.maxInFlightPerConnection = maxInFlightPerConnection;
+            return this;
+        }
+
+        /**
+         * Sets the compression the server is asked to use for responses which may be "deflate", "lz4" or "none". The
+         * "lz4" compression takes far less CPU than "deflate" for somewhat larger responses and requires
+         * {@code lz4-java} on the classpath. The default is "deflate".
+         */
+        public Builder compression(final String compression) {
+            this.compression = compression;
+            return this;
+        }
+
         /**
          * Configures whether cluster will send a user agent during
          * web socket handshakes
@@ -898,6 +1018,38 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * Configures whether the server is asked to write lists of primitive numbers, like embeddings, packed when
+         * using GraphBinary. Such lists are read as a fixed-size {@code List} over an array of the values.
+         * @param packedLists true asks for packed lists.
+         */
+        public Builder packedLists(final boolean packedLists) {
+            this.packedLists = packedLists;
+            return this;
+        }
+
+        /**
+         * Configures whether the server is asked to write lengths, ints and longs as variable-length integers when
+         * using GraphBinary, which makes responses with many small numbers, like sizes, bulks and numeric ids, smaller
+         * at the cost of some time to decode them.
+         * @param varInts true asks for variable-length integers.
+         */
+        public Builder varInts(final boolean varInts) {
+            this.varInts = varInts;
+            return this;
+        }
+
+        /**
+         * Configures whether vertices, edges, paths and collections in GraphBinary results are only read when the
+         * {@link Result} is first asked for, which saves the work of reading results that are never looked at. The
+         * server is then not asked to write strings as references, which makes responses larger.
+         * @param lazyResults true reads results lazily.
+         */
+        public Builder lazyResults(final boolean lazyResults) {
+            this.lazyResults = lazyResults;
+            return this;
+        }
+
         List<InetSocketAddress> getContactPoints() {
             return addresses.stream().map(addy -> new InetSocketAddress(addy, port)).collect(Collectors.toList());
         }
@@ -967,6 +1119,9 @@ public final class Cluster {
         private final String path;
         private final boolean enableUserAgentOnConnect;
         private final boolean bulkResults;
+        private final boolean packedLists;
+        private final boolean varInts;
+        private final boolean lazyResults;
 
         private final AtomicReference<CompletableFuture<Void>> closeFuture = new AtomicReference<>();
 
@@ -980,6 +1135,9 @@ public final class Cluster {
             this.interceptors = builder.interceptors;
             this.enableUserAgentOnConnect = builder.enableUserAgentOnConnect;
             this.bulkResults = builder.bulkResults;
+            this.packedLists = builder.packedLists;
+            this.varInts = builder.varInts;
+            this.lazyResults = builder.lazyResults;
 
             connectionPoolSettings = new Settings.ConnectionPoolSettings();
             connectionPoolSettings.maxSize = builder.maxConnectionPoolSize;
@@ -1001,6 +1159,10 @@ public final class Cluster {
             connectionPoolSettings.validationRequest = builder.validationRequest;
             connectionPoolSettings.connectionSetupTimeoutMillis = builder.connectionSetupTimeoutMillis;
             connectionPoolSettings.idleConnectionTimeout = builder.idleConnectionTimeoutMillis;
+            connectionPoolSettings.channelizer = builder.channelizer;
+            connectionPoolSettings.maxConcurrentStreams = builder.maxConcurrentStreams;
+            connectionPoolSettings.maxInFlightPerConnection = builder.maxInFlightPerConnection;
+            connectionPoolSettings.compression = builder.compression;
 
             sslContextOptional = Optional.ofNullable(builder.sslContext);
 
@@ -1064,6 +1226,30 @@ public final class Cluster {
             if (builder.idleConnectionTimeoutMillis != 0 && builder.idleConnectionTimeoutMillis < 1000)
                 throw new IllegalArgumentException("idleConnectionTimeoutMillis must be zero or greater than or equal to 1000");
 
+            if (builder.maxConcurrentStreams < 1)
+                throw new IllegalArgumentException("maxConcurrentStreams must be greater than zero");
+
+            if (builder.maxInFlightPerConnection < 1)
+                throw new IllegalArgumentException("maxInFlightPerConnection must be greater than zero");
+
+            if (!HttpRequest.Headers.DEFLATE.equals(builder.compression) && !HttpRequest.Headers.LZ4.equals(builder.compression)
+                    && !"none".equals(builder.compression))
+                throw new IllegalArgumentException("compression must be one of deflate, lz4 or none");
+
+            if (HttpRequest.Headers.LZ4.equals(builder.compression)) {
+                try {
+                    Class.forName("net.jpountz.lz4.LZ4Factory");
+                } catch (Exception ex) {
+                    throw new IllegalArgumentException("lz4 compression requires lz4-java on the classpath", ex);
+                }
+            }
+
+            try {
+                Class.forName(builder.channelizer);
+            } catch (Exception ex) {
+                throw new IllegalArgumentException("The channelizer specified [" + builder.channelizer + "] could not be found - it should be the fully qualified classname of a Channelizer implementation available on the classpath", ex);
+            }
+
         }
 
         synchronized void init() {
@@ -1150,5 +1336,26 @@ public final class Cluster {
         public boolean isBulkResultsEnabled() {
             return bulkResults;
         }
+
+        /**
+         * Checks if cluster is configured to ask for packed lists
+         */
+        public boolean isPackedListsEnabled() {
+            return packedLists;
+        }
+
+        /**
+         * Checks if cluster is configured to ask for variable-length integers
+         */
+        public boolean isVarIntsEnabled() {
+            return varInts;
+        }
+
+        /**
+         * Checks if cluster is configured to read results lazily
+         */
+        public boolean isLazyResultsEnabled() {
+            return lazyResults;
+        }
     }
 }
@@ -31,7 +31,9 @@ import io.netty.channel.socket.nio.NioSocketChannel;
 
 import java.net.URI;
 import java.time.Instant;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -52,11 +54,14 @@ final class Connection {
     public static final int RESULT_ITERATION_BATCH_SIZE = 64;
     public static final long CONNECTION_SETUP_TIMEOUT_MILLIS = 15000;
     public static final long CONNECTION_IDLE_TIMEOUT_MILLIS = 180000;
+    public static final int MAX_CONCURRENT_STREAMS = 128;
+    public static final int MAX_IN_FLIGHT_PER_CONNECTION = 1;
+    public static final String COMPRESSION = HttpRequest.Headers.DEFLATE;
     private static final Logger logger = LoggerFactory.getLogger(Connection.class);
 
     private final Channel channel;
     private final URI uri;
-    private final AtomicReference<ResultQueue> pending = new AtomicReference<>();
+    private final Queue<ResultQueue> pending = new ConcurrentLinkedQueue<>();
     private final Cluster cluster;
     private final Client client;
     private final ConnectionPool pool;
@@ -67,6 +72,16 @@ final class Connection {
      * Is a {@code Connection} borrowed from the pool.
      */
     private final AtomicBoolean isBorrowed = new AtomicBoolean(false);
+    /**
+     * The number of requests in flight on a shared {@code Connection}, which is borrowed for as long as there is at
+     * least one.
+     */
+    private int inFlight = 0;
+    /**
+     * Determines if the {@code Connection} can have more than one request in flight at a time, either because the
+     * {@link Channelizer} multiplexes them or because they are pipelined.
+     */
+    private final boolean shared;
     /**
      * This boolean guards the replace of the connection and ensures that it only occurs once.
      */
@@ -96,8 +111,9 @@ final class Connection {
 
         final Bootstrap b = this.cluster.getFactory().createBootstrap();
         try {
-            channelizer = new Channelizer.HttpChannelizer();
+            channelizer = (Channelizer) Class.forName(cluster.connectionPoolSettings().channelizer).newInstance();
             channelizer.init(this);
+            shared = channelizer.isMultiplexed() || channelizer.getMaxInFlight() > 1;
             b.channel(NioSocketChannel.class).handler(channelizer);
 
             channel = b.connect(uri.getHost(), uri.getPort()).sync().channel();
@@ -143,6 +159,53 @@ final class Connection {
         return isBorrowed;
     }
 
+    /**
+     * Determines if the {@code Connection} can have more than one request in flight at a time, in which case it is
+     * borrowed with {@link #tryAcquire()} and returned with {@link #release()}.
+     */
+    boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Gets the maximum number of requests that may be in flight at once on the {@code Connection}.
+     */
+    int getMaxInFlight() {
+        return channelizer.getMaxInFlight();
+    }
+
+    /**
+     * Takes one of the request slots of a shared {@code Connection}, returning {@code false} if they are all in
+     * use.
+     */
+    synchronized boolean tryAcquire() {
+        if (inFlight >= getMaxInFlight()) return false;
+        inFlight++;
+        isBorrowed.set(true);
+        return true;
+    }
+
+    /**
+     * Gives back a request slot of a shared {@code Connection}, returning {@code true} if all slots had been in
+     * use, in which case the pool will have stopped offering it to new requests.
+     */
+    synchronized boolean release() {
+        final boolean wasSaturated = inFlight >= getMaxInFlight();
+        if (inFlight > 0 && --inFlight == 0) isBorrowed.set(false);
+        return wasSaturated;
+    }
+
+    /**
+     * Determines if a shared {@code Connection} can take another request.
+     */
+    synchronized boolean hasCapacity() {
+        return inFlight < getMaxInFlight();
+    }
+
+    private synchronized int getInFlight() {
+        return shared ? inFlight : pending.size();
+    }
+
     boolean isClosing() {
         return closeFuture.get() != null;
     }
@@ -155,7 +218,7 @@ final class Connection {
         return cluster;
     }
 
-    AtomicReference<ResultQueue> getPending() {
+    Queue<ResultQueue> getPending() {
         return pending;
     }
 
@@ -189,6 +252,17 @@ final class Connection {
         // the promise so that the client knows that that it can start checking for results.
         final Connection thisConnection = this;
 
+        // a multiplexed connection gets the response to each request on its own channel while pipelined requests
+        // share the one queue of the connection in the order they are written
+        final boolean multiplexed = channelizer.isMultiplexed();
+        final Queue<ResultQueue> pending = multiplexed ? new ConcurrentLinkedQueue<>() : this.pending;
+
+        // the timings of the request feed the statistics that a LoadBalancingStrategy can use to favor hosts that
+        // are responding quickly
+        final Host host = pool.host;
+        final long start = System.nanoTime();
+        host.requestStarted();
+
         final ChannelPromise requestPromise = channel.newPromise()
                 .addListener(f -> {
                     if (!f.isSuccess()) {
@@ -196,6 +270,7 @@ final class Connection {
                             logger.debug(String.format("Write on connection %s failed",
                                     thisConnection.getConnectionInfo()), f.cause());
 
+                        host.requestCompleted(-1);
                         handleConnectionCleanupOnError(thisConnection);
 
                         cluster.executor().submit(() -> resultQueueSetup.completeExceptionally(f.cause()));
@@ -204,6 +279,7 @@ final class Connection {
                         final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
 
                         readCompleted.whenCompleteAsync((v, t) -> {
+                            host.requestCompleted(System.nanoTime() - start);
                             if (t != null) {
                                 // the callback for when the read failed. a failed read means the request went to the server
                                 // and came back with a server-side error of some sort.  it means the server is responsive
@@ -224,17 +300,31 @@ final class Connection {
                         }, cluster.executor());
 
                         final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
-                        // pending.put(requestMessage.getRequestId(), handler);
-                        pending.set(handler);
+                        pending.add(handler);
 
                         // resultQueueSetup should only be completed by a worker since the application code might have sync
                         // completion stages attached to it which and we do not want the event loop threads to process those
                         // stages.
                         cluster.executor().submit(() -> resultQueueSetup.complete(
-                                new ResultSet(handler, cluster.executor(), readCompleted, requestMessage, pool.host)));
+                                new ResultSet(handler, cluster.executor(), readCompleted, requestMessage, host)));
                     }
                 });
-        channel.writeAndFlush(requestMessage, requestPromise);
+        if (multiplexed) {
+            channelizer.openRequestChannel(pending).addListener(f -> {
+                if (f.isSuccess()) {
+                    ((Channel) f.getNow()).writeAndFlush(requestMessage).addListener(w -> {
+                        if (w.isSuccess())
+                            requestPromise.trySuccess();
+                        else
+                            requestPromise.tryFailure(w.cause());
+                    });
+                } else {
+                    requestPromise.tryFailure(f.cause());
+                }
+            });
+        } else {
+            channel.writeAndFlush(requestMessage, requestPromise);
+        }
 
         return requestPromise;
     }
@@ -257,7 +347,7 @@ final class Connection {
     }
 
     private boolean isOkToClose() {
-        return pending.get() == null || (channel != null && !channel.isOpen()) || !pool.host.isAvailable();
+        return getInFlight() == 0 || (channel != null && !channel.isOpen()) || !pool.host.isAvailable();
     }
 
     /**
@@ -333,9 +423,9 @@ final class Connection {
     public String getConnectionInfo(final boolean showHost) {
         return showHost ?
                 String.format("Connection{channel=%s host=%s isDead=%s borrowed=%s pending=%s markedReplaced=%s closing=%s created=%s thread=%s}",
-                        getChannelId(), pool.host.toString(), isDead(), this.isBorrowed().get(), getPending().get() == null ? 0 : 1, this.isBeingReplaced, isClosing(), createdTimestamp, creatingThread) :
+                        getChannelId(), pool.host.toString(), isDead(), this.isBorrowed().get(), getInFlight(), this.isBeingReplaced, isClosing(), createdTimestamp, creatingThread) :
                 String.format("Connection{channel=%s isDead=%s borrowed=%s pending=%s markedReplaced=%s closing=%s created=%s thread=%s}",
-                        getChannelId(), isDead(), this.isBorrowed().get(), getPending().get() == null ? 0 : 1, this.isBeingReplaced, isClosing(), createdTimestamp, creatingThread);
+                        getChannelId(), isDead(), this.isBorrowed().get(), getInFlight(), this.isBeingReplaced, isClosing(), createdTimestamp, creatingThread);
     }
 
     /**
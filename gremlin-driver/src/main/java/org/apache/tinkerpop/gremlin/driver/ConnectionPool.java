@@ -169,13 +169,22 @@ final class ConnectionPool {
         logger.debug("Attempting to return {} on {}", connection, host);
         if (isClosed()) throw new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown");
 
-        connection.isBorrowed().set(false);
+        // a shared connection stays in the queue of available connections until all of its slots are taken
+        final boolean requeue;
+        if (connection.isShared()) {
+            requeue = connection.release();
+        } else {
+            connection.isBorrowed().set(false);
+            requeue = true;
+        }
 
         if (connection.isDead()) {
             logger.debug("Marking {} as dead", this.host);
             this.replaceConnection(connection);
         } else {
             if (bin.contains(connection)) {
+                if (connection.isBorrowed().get()) return;
+
                 logger.debug("{} is already in the bin and it has no inflight requests so it is safe to close", connection);
                 if (bin.remove(connection))
                     connection.closeAsync();
@@ -191,7 +200,7 @@ final class ConnectionPool {
                 destroyConnection(connection);
             } else {
                 logger.debug("Pool size is {} - returning connection to pool: {}", poolSize, connection);
-                availableConnections.add(connection);
+                if (requeue) availableConnections.add(connection);
                 announceAvailableConnection();
             }
         }
@@ -509,8 +518,15 @@ final class ConnectionPool {
         // remove head of queue until we can borrow a connection or the queue is empty
         Connection head = availableConnections.poll();
         while (head != null) {
-            // try to borrow connection
-            if (!head.isDead() && !head.isBorrowed().get() && head.isBorrowed().compareAndSet(false, true)) {
+            if (head.isShared()) {
+                // a shared connection goes back in the queue while it has room for more requests
+                if (!head.isDead() && head.tryAcquire()) {
+                    if (head.hasCapacity()) availableConnections.add(head);
+                    available = head;
+                    break;
+                }
+            } else if (!head.isDead() && !head.isBorrowed().get() && head.isBorrowed().compareAndSet(false, true)) {
+                // try to borrow connection
                 available = head;
                 break;
             }
@@ -530,6 +546,9 @@ final class ConnectionPool {
         waitLock.lock();
         waiter.incrementAndGet();
         try {
+            // a connection that was created or returned since the last look would otherwise have announced itself
+            // before this wait started and the signal would be lost until the next one
+            if (!availableConnections.isEmpty()) return;
             hasAvailableConnection.await(timeout, unit);
         } finally {
             waiter.decrementAndGet();
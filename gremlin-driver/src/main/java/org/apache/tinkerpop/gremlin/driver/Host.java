@@ -26,6 +26,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
@@ -36,6 +37,13 @@ import java.util.function.Function;
  */
 public final class Host {
     private static final Logger logger = LoggerFactory.getLogger(Host.class);
+
+    /**
+     * The time over which the latency estimate for the host decays, so a host that was slow for a moment, say for a
+     * garbage collection, is not avoided for much longer than that.
+     */
+    private static final long LATENCY_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
     private final InetSocketAddress address;
     private final URI hostUri;
     private volatile boolean isAvailable;
@@ -45,6 +53,11 @@ public final class Host {
     final AtomicReference<Boolean> retryInProgress = new AtomicReference<>(Boolean.FALSE);
     ScheduledFuture<?> retryThread = null;
 
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private boolean latencySampled = false;
+    private long latencyEstimate = 0;
+    private long lastLatencySample = 0;
+
     Host(final InetSocketAddress address, final Cluster cluster) {
         this.cluster = cluster;
         this.address = address;
@@ -111,6 +124,55 @@ public final class Host {
         makeAvailable();
     }
 
+    /**
+     * Gets the number of requests sent to this host that have not yet completed.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets an estimate of the time in nanoseconds that this host takes to complete a request or zero if no request
+     * has completed yet. The estimate follows any increase in latency right away and then decays back as faster
+     * responses come in or as time passes.
+     */
+    public synchronized long getLatencyEstimate() {
+        return decayedLatencyEstimate(System.nanoTime());
+    }
+
+    void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records the completion of a request, with its latency in nanoseconds or a negative value if the host did not
+     * respond to it.
+     */
+    void requestCompleted(final long latency) {
+        inFlight.decrementAndGet();
+        if (latency >= 0) sampleLatency(latency);
+    }
+
+    private synchronized void sampleLatency(final long latency) {
+        final long now = System.nanoTime();
+        if (!latencySampled || latency >= latencyEstimate) {
+            latencyEstimate = latency;
+        } else {
+            final double w = decayWeight(now);
+            latencyEstimate = (long) (latencyEstimate * w + latency * (1 - w));
+        }
+        latencySampled = true;
+        lastLatencySample = now;
+    }
+
+    private long decayedLatencyEstimate(final long now) {
+        return latencySampled ? (long) (latencyEstimate * decayWeight(now)) : 0;
+    }
+
+    private double decayWeight(final long now) {
+        return Math.exp(-(double) (now - lastLatencySample) / LATENCY_DECAY_NANOS);
+    }
+
     private static URI makeUriFromAddress(final InetSocketAddress addy, final String path, final boolean ssl) {
         final Channelizer channelizer = new Channelizer.HttpChannelizer();
 
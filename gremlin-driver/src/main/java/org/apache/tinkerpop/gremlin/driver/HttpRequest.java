@@ -36,6 +36,7 @@ public class HttpRequest {
         public static final String CONTENT_TYPE = "content-type";
         public static final String CONTENT_LENGTH = "content-length";
         public static final String DEFLATE = "deflate";
+        public static final String LZ4 = "lz4";
         public static final String HOST = "host";
         public static final String USER_AGENT = "user-agent";
     }
@@ -20,12 +20,13 @@ package org.apache.tinkerpop.gremlin.driver;
 
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -49,61 +50,108 @@ public interface LoadBalancingStrategy extends Host.Listener {
      * A simple round-robin strategy that simply selects the next host in the {@link Cluster} to send the
      * {@link RequestMessage} to.
      */
-    public static class RoundRobin implements LoadBalancingStrategy {
+    public static class RoundRobin extends AbstractHostArrayStrategy {
 
-        private final CopyOnWriteArrayList<Host> availableHosts = new CopyOnWriteArrayList<>();
         private final AtomicInteger index = new AtomicInteger();
 
         @Override
         public void initialize(final Cluster cluster, final Collection<Host> hosts) {
-            this.availableHosts.addAll(hosts);
+            super.initialize(cluster, hosts);
             this.index.set(new Random().nextInt(Math.max(hosts.size(), 1)));
         }
 
         @Override
         public Iterator<Host> select(final RequestMessage msg) {
-            final List<Host> hosts = new ArrayList<>();
-
-            // a host could be marked as dead in which case we dont need to send messages to it - just skip it for
-            // now. it might come back online later
-            availableHosts.iterator().forEachRemaining(host -> {
-                if (host.isAvailable()) hosts.add(host);
-            });
-
+            final Host[] hosts = availableHosts;
             final int startIndex = index.getAndIncrement();
 
             if (startIndex > Integer.MAX_VALUE - 10000)
                 index.set(0);
 
-            return new Iterator<Host>() {
+            if (hosts.length == 0) return Collections.emptyIterator();
 
-                private int currentIndex = startIndex;
-                private int remainingHosts = hosts.size();
+            int start = startIndex % hosts.length;
+            if (start < 0)
+                start += hosts.length;
 
-                @Override
-                public boolean hasNext() {
-                    return remainingHosts > 0;
-                }
+            return new HostIterator(hosts, start, -1);
+        }
+    }
 
-                @Override
-                public Host next() {
-                    remainingHosts--;
-                    int c = currentIndex++ % hosts.size();
-                    if (c < 0)
-                        c += hosts.size();
-                    return hosts.get(c);
-                }
-            };
+    /**
+     * A strategy that sends each {@link RequestMessage} to the less loaded of two hosts picked at random from the
+     * {@link Cluster}, where the load of a host is its estimated latency weighted by the number of requests it has in
+     * flight. Hosts that slow down, for example while they are stuck in garbage collection, quickly pile up requests
+     * and latency and so receive less traffic until they recover, while picking between two hosts rather than always
+     * the least loaded one keeps every client from rushing to the same host. The remaining hosts follow the chosen
+     * one in the order they were added.
+     */
+    public static class LatencyAware extends AbstractHostArrayStrategy {
+
+        @Override
+        public Iterator<Host> select(final RequestMessage msg) {
+            final Host[] hosts = availableHosts;
+            if (hosts.length == 0) return Collections.emptyIterator();
+            if (hosts.length == 1) return new HostIterator(hosts, 0, -1);
+
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int first = random.nextInt(hosts.length);
+            int second = random.nextInt(hosts.length - 1);
+            if (second >= first) second++;
+
+            return isLessLoaded(hosts[second], hosts[first]) ?
+                    new HostIterator(hosts, second, first) : new HostIterator(hosts, first, second);
+        }
+
+        private static boolean isLessLoaded(final Host host, final Host other) {
+            final long latency = host.getLatencyEstimate();
+            final long otherLatency = other.getLatencyEstimate();
+
+            // until both hosts have responded to something the one with fewer requests outstanding wins
+            if (latency == 0 || otherLatency == 0)
+                return host.getInFlight() < other.getInFlight();
+
+            return (double) latency * (host.getInFlight() + 1) < (double) otherLatency * (other.getInFlight() + 1);
         }
+    }
+
+    /**
+     * A base for strategies that keep the available hosts in an array that is replaced whenever a host comes or goes
+     * so that {@link #select(RequestMessage)} can read it without copying or locking.
+     */
+    public static abstract class AbstractHostArrayStrategy implements LoadBalancingStrategy {
+
+        protected volatile Host[] availableHosts = new Host[0];
 
         @Override
-        public void onAvailable(final Host host) {
-            this.availableHosts.addIfAbsent(host);
+        public void initialize(final Cluster cluster, final Collection<Host> hosts) {
+            hosts.forEach(this::onAvailable);
         }
 
         @Override
-        public void onUnavailable(final Host host) {
-            this.availableHosts.remove(host);
+        public synchronized void onAvailable(final Host host) {
+            final Host[] hosts = availableHosts;
+            for (Host h : hosts) {
+                if (h.equals(host)) return;
+            }
+
+            final Host[] updated = Arrays.copyOf(hosts, hosts.length + 1);
+            updated[hosts.length] = host;
+            availableHosts = updated;
+        }
+
+        @Override
+        public synchronized void onUnavailable(final Host host) {
+            final Host[] hosts = availableHosts;
+            for (int i = 0; i < hosts.length; i++) {
+                if (hosts[i].equals(host)) {
+                    final Host[] updated = new Host[hosts.length - 1];
+                    System.arraycopy(hosts, 0, updated, 0, i);
+                    System.arraycopy(hosts, i + 1, updated, i, hosts.length - i - 1);
+                    availableHosts = updated;
+                    return;
+                }
+            }
         }
 
         @Override
@@ -115,5 +163,53 @@ public interface LoadBalancingStrategy extends Host.Listener {
         public void onRemove(final Host host) {
             onUnavailable(host);
         }
+
+        /**
+         * Iterates the hosts of an array starting at some index and wrapping around, optionally putting one other host
+         * second. A host could be marked as dead in which case we dont need to send messages to it - just skip it for
+         * now. it might come back online later.
+         */
+        protected static final class HostIterator implements Iterator<Host> {
+            private final Host[] hosts;
+            private final int first;
+            private final int second;
+            private int position = 0;
+            private Host next;
+
+            public HostIterator(final Host[] hosts, final int first, final int second) {
+                this.hosts = hosts;
+                this.first = first;
+                this.second = second;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && position < hosts.length) {
+                    final Host host = hosts[indexAt(position++)];
+                    if (host.isAvailable()) next = host;
+                }
+                return next != null;
+            }
+
+            @Override
+            public Host next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final Host host = next;
+                next = null;
+                return host;
+            }
+
+            private int indexAt(final int position) {
+                if (position == 0) return first;
+                if (second < 0) return (first + position) % hosts.length;
+                if (position == 1) return second;
+
+                // the rest in array order, skipping the two that were already returned
+                int ix = position - 2;
+                if (ix >= Math.min(first, second)) ix++;
+                if (ix >= Math.max(first, second)) ix++;
+                return ix;
+            }
+        }
     }
 }
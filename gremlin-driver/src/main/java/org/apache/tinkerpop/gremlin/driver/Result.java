@@ -25,6 +25,8 @@ import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.util.message.ResponseResult;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.util.ser.binary.LazyValue;
 
 import java.util.Iterator;
 
@@ -36,20 +38,37 @@ import java.util.Iterator;
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 public final class Result {
-    final Object resultObject;
+    private Object resultObject;
+    private LazyValue lazyValue;
 
     /**
-     * Constructs a "result" from data found in {@link ResponseResult#getData()}.
+     * Constructs a "result" from data found in {@link ResponseResult#getData()}. A {@link LazyValue} is read when
+     * the result is first asked for.
      */
     public Result(final Object responseData) {
-        this.resultObject = responseData;
+        if (responseData instanceof LazyValue)
+            this.lazyValue = (LazyValue) responseData;
+        else
+            this.resultObject = responseData;
+    }
+
+    private Object object() {
+        if (lazyValue != null) {
+            try {
+                resultObject = lazyValue.get();
+            } catch (SerializationException ex) {
+                throw new IllegalStateException("Could not read the result", ex);
+            }
+            lazyValue = null;
+        }
+        return resultObject;
     }
 
     /**
      * Gets the result item by coercing it to a {@code String} via {@code toString()}.
      */
     public String getString() {
-        return resultObject.toString();
+        return object().toString();
     }
 
     /**
@@ -58,7 +77,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code int}.
      */
     public int getInt() {
-        return Integer.parseInt(resultObject.toString());
+        return Integer.parseInt(object().toString());
     }
 
     /**
@@ -67,7 +86,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code byte}.
      */
     public byte getByte() {
-        return Byte.parseByte(resultObject.toString());
+        return Byte.parseByte(object().toString());
     }
 
     /**
@@ -76,7 +95,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code short}.
      */
     public short getShort() {
-        return Short.parseShort(resultObject.toString());
+        return Short.parseShort(object().toString());
     }
 
     /**
@@ -85,7 +104,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code long}.
      */
     public long getLong() {
-        return Long.parseLong(resultObject.toString());
+        return Long.parseLong(object().toString());
     }
 
     /**
@@ -94,7 +113,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code float}.
      */
     public float getFloat() {
-        return Float.parseFloat(resultObject.toString());
+        return Float.parseFloat(object().toString());
     }
 
     /**
@@ -103,7 +122,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code double}.
      */
     public double getDouble() {
-        return Double.parseDouble(resultObject.toString());
+        return Double.parseDouble(object().toString());
     }
 
     /**
@@ -112,7 +131,7 @@ public final class Result {
      * @throws NumberFormatException if the value is not parsable as an {@code boolean}.
      */
     public boolean getBoolean() {
-        return Boolean.parseBoolean(resultObject.toString());
+        return Boolean.parseBoolean(object().toString());
     }
 
     /**
@@ -121,68 +140,69 @@ public final class Result {
      * {@code null}.
      */
     public boolean isNull() {
-        return null == resultObject;
+        return null == object();
     }
 
     /**
      * Gets the result item by casting it to a {@link Vertex}.
      */
     public Vertex getVertex() {
-        return (Vertex) resultObject;
+        return (Vertex) object();
     }
     /**
      * Gets the result item by casting it to an {@link Edge}.
      */
     public Edge getEdge() {
-        return (Edge) resultObject;
+        return (Edge) object();
     }
     /**
      * Gets the result item by casting it to an {@link Element}.
      */
     public Element getElement() {
-        return (Element) resultObject;
+        return (Element) object();
     }
 
     /**
      * Gets the result item by casting it to a {@link Path}.
      */
     public Path getPath() {
-        return (Path) resultObject;
+        return (Path) object();
     }
 
     /**
      * Gets the result item by casting it to a {@link Property}.
      */
     public <V> Property<V> getProperty() {
-        return (Property<V>) resultObject;
+        return (Property<V>) object();
     }
 
     /**
      * Gets the result item by casting it to a {@link VertexProperty}.
      */
     public <V> VertexProperty<V> getVertexProperty() {
-        return (VertexProperty<V>) resultObject;
+        return (VertexProperty<V>) object();
     }
 
     /**
      * Gets the result item by casting it to the specified {@link Class}.
      */
     public <T> T get(final Class<? extends T> clazz) {
-        return clazz.cast(this.resultObject);
+        return clazz.cast(object());
     }
 
     /**
      * Gets the result item.
      */
     public Object getObject() {
-        return this.resultObject;
+        return object();
     }
 
     @Override
     public String toString() {
-        final String c = resultObject != null ? resultObject.getClass().getCanonicalName() : "null";
+        final Object o = object();
+        final String c = o != null ? o.getClass().getCanonicalName() : "null";
         return "result{" +
-                "object=" + resultObject + " " +
+                "object=" + o + " " +
                 "class=" + c +
                 '}';
     }
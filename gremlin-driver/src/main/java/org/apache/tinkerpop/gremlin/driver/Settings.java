@@ -95,6 +95,23 @@ public final class Settings {
      */
     public boolean bulkResults = false;
 
+    /**
+     * Toggles if the server is asked to write lists of primitive numbers packed with GraphBinary. Default is false.
+     */
+    public boolean packedLists = false;
+
+    /**
+     * Toggles if the server is asked to write lengths, ints and longs as variable-length integers with GraphBinary.
+     * Default is false.
+     */
+    public boolean varInts = false;
+
+    /**
+     * Toggles if elements and collections in GraphBinary results are only read when they are first asked for. Default
+     * is false.
+     */
+    public boolean lazyResults = false;
+
     /**
      * Read configuration from a file into a new {@link Settings} object.
      *
@@ -135,6 +152,15 @@ public final class Settings {
         if (conf.containsKey("bulkResults"))
             settings.bulkResults = conf.getBoolean("bulkResults");
 
+        if (conf.containsKey("packedLists"))
+            settings.packedLists = conf.getBoolean("packedLists");
+
+        if (conf.containsKey("varInts"))
+            settings.varInts = conf.getBoolean("varInts");
+
+        if (conf.containsKey("lazyResults"))
+            settings.lazyResults = conf.getBoolean("lazyResults");
+
         if (conf.containsKey("hosts"))
             settings.hosts = conf.getList("hosts").stream().map(Object::toString).collect(Collectors.toList());
 
@@ -217,6 +243,18 @@ public final class Settings {
             if (connectionPoolConf.containsKey("idleConnectionTimeout"))
                 cpSettings.idleConnectionTimeout = connectionPoolConf.getLong("idleConnectionTimeout");
 
+            if (connectionPoolConf.containsKey("channelizer"))
+                cpSettings.channelizer = connectionPoolConf.getString("channelizer");
+
+            if (connectionPoolConf.containsKey("maxConcurrentStreams"))
+                cpSettings.maxConcurrentStreams = connectionPoolConf.getInt("maxConcurrentStreams");
+
+            if (connectionPoolConf.containsKey("maxInFlightPerConnection"))
+                cpSettings.maxInFlightPerConnection = connectionPoolConf.getInt("maxInFlightPerConnection");
+
+            if (connectionPoolConf.containsKey("compression"))
+                cpSettings.compression = connectionPoolConf.getString("compression");
+
             settings.connectionPool = cpSettings;
         }
 
@@ -355,6 +393,33 @@ public final class Settings {
          */
         public long idleConnectionTimeout = Connection.CONNECTION_IDLE_TIMEOUT_MILLIS;
 
+        /**
+         * The fully qualified class name of the {@link Channelizer} that constructs the pipeline of each connection.
+         * Use {@link Channelizer.Http2Channelizer} to send requests over HTTP/2.
+         */
+        public String channelizer = Channelizer.HttpChannelizer.class.getName();
+
+        /**
+         * The maximum number of requests that can be in flight at once on a single connection when the
+         * {@link #channelizer} multiplexes requests, as the {@link Channelizer.Http2Channelizer} does with HTTP/2
+         * streams. The server may lower this number with its own limit.
+         */
+        public int maxConcurrentStreams = Connection.MAX_CONCURRENT_STREAMS;
+
+        /**
+         * The maximum number of requests that can be pipelined on a single HTTP/1.1 connection with the
+         * {@link Channelizer.HttpChannelizer}. Responses come back in the order the requests were sent so a slow
+         * request holds up the ones behind it. The default of one disables pipelining.
+         */
+        public int maxInFlightPerConnection = Connection.MAX_IN_FLIGHT_PER_CONNECTION;
+
+        /**
+         * The compression the server is asked to use for responses which may be "deflate", "lz4" or "none". The
+         * "lz4" compression takes less CPU than "deflate" in exchange for larger responses and requires
+         * {@code lz4-java} on the classpath.
+         */
+        public String compression = Connection.COMPRESSION;
+
     }
 
     public static class SerializerSettings {
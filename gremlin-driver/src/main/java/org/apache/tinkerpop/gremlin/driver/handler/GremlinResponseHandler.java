@@ -32,26 +32,29 @@ import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.util.ser.binary.LazyValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Queue;
 
 import static org.apache.tinkerpop.gremlin.driver.Channelizer.HttpChannelizer.LAST_CONTENT_READ_RESPONSE;
 
 /**
- * Takes a map of requests pending responses and writes responses to the {@link ResultQueue} of a request
- * as the {@link ResponseMessage} objects are deserialized.
+ * Takes a queue of requests pending responses and writes responses to the {@link ResultQueue} of a request
+ * as the {@link ResponseMessage} objects are deserialized. Responses arrive in the order that the requests were
+ * sent, so when requests are pipelined on the connection, the response being read always belongs to the request at
+ * the head of the queue.
  */
 public class GremlinResponseHandler extends SimpleChannelInboundHandler<ResponseMessage> {
     public static final AttributeKey<Throwable> INBOUND_SSL_EXCEPTION = AttributeKey.valueOf("inboundSslException");
     private static final Logger logger = LoggerFactory.getLogger(GremlinResponseHandler.class);
     private static final AttributeKey<ResponseException> CAUGHT_EXCEPTION = AttributeKey.valueOf("caughtException");
-    private final AtomicReference<ResultQueue> pending;
+    private final Queue<ResultQueue> pending;
 
-    public GremlinResponseHandler(final AtomicReference<ResultQueue> pending) {
+    public GremlinResponseHandler(final Queue<ResultQueue> pending) {
         this.pending = pending;
     }
 
@@ -61,8 +64,8 @@ public class GremlinResponseHandler extends SimpleChannelInboundHandler<Response
         // should fire off a close message which will properly release the driver.
         super.channelInactive(ctx);
 
-        final ResultQueue current = pending.getAndSet(null);
-        if (current != null) {
+        ResultQueue current;
+        while ((current = pending.poll()) != null) {
             current.markError(new IllegalStateException("Connection to server is no longer active"));
         }
     }
@@ -70,7 +73,7 @@ public class GremlinResponseHandler extends SimpleChannelInboundHandler<Response
     @Override
     protected void channelRead0(final ChannelHandlerContext channelHandlerContext, final ResponseMessage response) {
         final HttpResponseStatus statusCode = response.getStatus() == null ? null : response.getStatus().getCode();
-        final ResultQueue queue = pending.get();
+        final ResultQueue queue = pending.peek();
 
         if ((null == statusCode) || (statusCode == HttpResponseStatus.OK)) {
             final List<Object> data = response.getResult().getData();
@@ -78,7 +81,7 @@ public class GremlinResponseHandler extends SimpleChannelInboundHandler<Response
             // unrolls the collection into individual results to be handled by the queue.
             if (bulked) {
                 for (Iterator<Object> iter = data.iterator(); iter.hasNext(); ) {
-                    final Object obj = iter.next();
+                    final Object obj = resolve(iter.next());
                     final long bulk = (long) iter.next();
                     DefaultRemoteTraverser<Object> item = new DefaultRemoteTraverser<>(obj, bulk);
                     queue.add(new Result(item));
@@ -101,7 +104,7 @@ public class GremlinResponseHandler extends SimpleChannelInboundHandler<Response
 
         // Stream is done when the last content signaling response message is read.
         if (LAST_CONTENT_READ_RESPONSE == response) {
-            final ResultQueue resultQueue = pending.getAndSet(null);
+            final ResultQueue resultQueue = pending.poll();
             if (resultQueue != null) {
                 if (null == channelHandlerContext.channel().attr(CAUGHT_EXCEPTION).get()) {
                     resultQueue.markComplete();
@@ -112,6 +115,19 @@ public class GremlinResponseHandler extends SimpleChannelInboundHandler<Response
         }
     }
 
+    /**
+     * Reads a value that was left to be read lazily, which is done for traversers right away as they are not handed to
+     * users as a {@link Result}.
+     */
+    private static Object resolve(final Object obj) {
+        if (!(obj instanceof LazyValue)) return obj;
+        try {
+            return ((LazyValue) obj).get();
+        } catch (SerializationException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     @Override
     public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
         // if this happens enough times (like the client is unable to deserialize a response) the pending
@@ -119,9 +135,13 @@ public class GremlinResponseHandler extends SimpleChannelInboundHandler<Response
         // there are that many failures someone would take notice and hopefully stop the client.
         logger.error("Could not process the response", cause);
 
-        final ResultQueue pendingQueue = pending.getAndSet(null);
+        final ResultQueue pendingQueue = pending.poll();
         if (pendingQueue != null) pendingQueue.markError(cause);
 
+        // the rest of a failed response could be taken for the response to a pipelined request that follows, so
+        // the connection can only be kept if nothing else is waiting on it
+        final boolean pipelined = !pending.isEmpty();
+
         if (ExceptionHelper.getRootCause(cause) instanceof SSLException) {
             // inbound ssl error can happen with tls 1.3 because client certification auth can fail after the handshake completes
             // store the inbound ssl error so that outbound can retrieve it
@@ -129,7 +149,7 @@ public class GremlinResponseHandler extends SimpleChannelInboundHandler<Response
         }
 
         // serialization exceptions should not close the channel - that's worth a retry
-        if (!IteratorUtils.anyMatch(ExceptionUtils.getThrowableList(cause).iterator(), t -> t instanceof SerializationException))
+        if (pipelined || !IteratorUtils.anyMatch(ExceptionUtils.getThrowableList(cause).iterator(), t -> t instanceof SerializationException))
             if (ctx.channel().isActive()) ctx.close();
     }
 }
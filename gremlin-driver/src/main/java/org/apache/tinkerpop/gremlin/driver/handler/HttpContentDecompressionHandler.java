@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.driver.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
@@ -31,59 +32,63 @@ import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.apache.tinkerpop.gremlin.driver.HttpRequest;
 
 import java.util.Arrays;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 
 /**
- * Handles decompression of content when the response contains the "Content-Encoding" header. Currently supports "deflate".
- * This class is specifically meant to work with serialized GraphBinary chunks as they need to be inflated per chunk such
- * that the chunk ends with a Marker.END_OF_STREAM.
+ * Handles decompression of content when the response contains the "Content-Encoding" header. Currently supports
+ * "deflate" and "lz4". This class is specifically meant to work with serialized GraphBinary chunks as they need to be
+ * inflated per chunk such that the chunk ends with a Marker.END_OF_STREAM.
+ * <p/>
+ * With "lz4" the content is a sequence of blocks, each of which starts with the length of the uncompressed data and
+ * the length of the compressed data that follows as 4-byte integers. A block whose two lengths are equal holds data
+ * that is stored as it is. Blocks may be split across the chunks that arrive so incomplete blocks are held until the
+ * rest of them arrives.
  */
 @ChannelHandler.Sharable
 public class HttpContentDecompressionHandler extends ChannelInboundHandlerAdapter {
-    private static final AttributeKey<Inflater> INFLATER = AttributeKey.valueOf("inflater");
+    private static final AttributeKey<ChunkDecompressor> DECOMPRESSOR = AttributeKey.valueOf("decompressor");
     private static final int MIN_BUFFER_SIZE = 16; // Don't want a buffer too small as it could cause lots of resizing.
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         Object out = msg;
 
-        if (msg instanceof HttpResponse && (hasDeflateTransferEncoding(((HttpResponse) msg).headers()))) {
-            ctx.attr(INFLATER).set(new Inflater());
+        if (msg instanceof HttpResponse) {
+            final ChunkDecompressor decompressor = createDecompressor(((HttpResponse) msg).headers());
+            if (decompressor != null) ctx.attr(DECOMPRESSOR).set(decompressor);
         }
 
         if (msg instanceof HttpContent) {
-            final Inflater decompressor = ctx.attr(INFLATER).get();
+            final ChunkDecompressor decompressor = ctx.attr(DECOMPRESSOR).get();
             if (null == decompressor) {
                 super.channelRead(ctx, msg);
                 return;
             }
 
-            final ByteBuf chunk = ((HttpContent) msg).content();
-            decompressor.setInput(ByteBufUtil.getBytes(chunk));
-            final int decompressedSizeEstimate = chunk.readableBytes() * 8;
-            byte[] outBuf = new byte[Math.max(decompressedSizeEstimate, MIN_BUFFER_SIZE)];
-
+            final boolean last = msg instanceof LastHttpContent;
             try {
-                int writeIdx = 0;
-                int bytesWritten = decompressor.inflate(outBuf, writeIdx, outBuf.length);
-
-                while (bytesWritten == (outBuf.length - writeIdx)) {
-                    writeIdx += bytesWritten;
-                    outBuf = Arrays.copyOf(outBuf, outBuf.length * 2);
-                    bytesWritten = decompressor.inflate(outBuf, writeIdx, outBuf.length - writeIdx);
-                }
-
-                writeIdx += bytesWritten;
-                out = ((HttpContent) msg).replace(Unpooled.wrappedBuffer(outBuf).writerIndex(writeIdx));
+                final ByteBuf decompressed = decompressor.decompress(ctx.alloc(), ((HttpContent) msg).content(), last);
+                out = ((HttpContent) msg).replace(decompressed);
+            } catch (DataFormatException ex) {
+                ctx.attr(DECOMPRESSOR).getAndSet(null).end();
+                ctx.fireExceptionCaught(ex);
+                return;
+            } finally {
                 ReferenceCountUtil.release(msg);
+            }
 
-                if (out instanceof LastHttpContent) { ctx.attr(INFLATER).getAndSet(null).end(); }
-            } catch (DataFormatException dfe) {
-                ctx.attr(INFLATER).getAndSet(null).end();
-                ctx.fireExceptionCaught(dfe);
+            if (last) { ctx.attr(DECOMPRESSOR).getAndSet(null).end(); }
+
+            // nothing to pass on until a whole block arrives
+            if (!last && !((HttpContent) out).content().isReadable()) {
+                ReferenceCountUtil.release(out);
                 return;
             }
         }
@@ -91,13 +96,130 @@ public class HttpContentDecompressionHandler extends ChannelInboundHandlerAdapte
         super.channelRead(ctx, out);
     }
 
-    private boolean hasDeflateTransferEncoding(HttpHeaders headers) {
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        final ChunkDecompressor decompressor = ctx.attr(DECOMPRESSOR).getAndSet(null);
+        if (decompressor != null) decompressor.end();
+        super.channelInactive(ctx);
+    }
+
+    private static ChunkDecompressor createDecompressor(final HttpHeaders headers) {
         for (String value : headers.getAll(HttpHeaderNames.CONTENT_ENCODING)) {
-            if ("deflate".equals(value)) {
-                return true;
+            if (HttpRequest.Headers.DEFLATE.equals(value)) {
+                return new DeflateChunkDecompressor();
+            } else if (HttpRequest.Headers.LZ4.equals(value)) {
+                return new Lz4ChunkDecompressor();
             }
         }
 
-        return false;
+        return null;
+    }
+
+    /**
+     * Decompresses the chunks of a single response.
+     */
+    private interface ChunkDecompressor {
+        ByteBuf decompress(final ByteBufAllocator allocator, final ByteBuf chunk, final boolean last) throws DataFormatException;
+
+        void end();
+    }
+
+    private static class DeflateChunkDecompressor implements ChunkDecompressor {
+        private final Inflater inflater = new Inflater();
+
+        @Override
+        public ByteBuf decompress(final ByteBufAllocator allocator, final ByteBuf chunk, final boolean last) throws DataFormatException {
+            inflater.setInput(ByteBufUtil.getBytes(chunk));
+            final int decompressedSizeEstimate = chunk.readableBytes() * 8;
+            byte[] outBuf = new byte[Math.max(decompressedSizeEstimate, MIN_BUFFER_SIZE)];
+
+            int writeIdx = 0;
+            int bytesWritten = inflater.inflate(outBuf, writeIdx, outBuf.length);
+
+            while (bytesWritten == (outBuf.length - writeIdx)) {
+                writeIdx += bytesWritten;
+                outBuf = Arrays.copyOf(outBuf, outBuf.length * 2);
+                bytesWritten = inflater.inflate(outBuf, writeIdx, outBuf.length - writeIdx);
+            }
+
+            writeIdx += bytesWritten;
+            return Unpooled.wrappedBuffer(outBuf).writerIndex(writeIdx);
+        }
+
+        @Override
+        public void end() {
+            inflater.end();
+        }
+    }
+
+    private static class Lz4ChunkDecompressor implements ChunkDecompressor {
+        private static final int BLOCK_HEADER_SIZE = 8;
+
+        private final LZ4SafeDecompressor decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+        private ByteBuf cumulation;
+
+        @Override
+        public ByteBuf decompress(final ByteBufAllocator allocator, final ByteBuf chunk, final boolean last) throws DataFormatException {
+            final ByteBuf in;
+            if (cumulation == null) {
+                in = chunk;
+            } else {
+                cumulation.writeBytes(chunk);
+                in = cumulation;
+            }
+
+            ByteBuf out = Unpooled.EMPTY_BUFFER;
+            try {
+                while (in.readableBytes() >= BLOCK_HEADER_SIZE) {
+                    final int length = in.getInt(in.readerIndex());
+                    final int compressedLength = in.getInt(in.readerIndex() + 4);
+                    if (length < 0 || compressedLength < 0 || compressedLength > length)
+                        throw new DataFormatException("Invalid lz4 block header");
+                    if (in.readableBytes() < BLOCK_HEADER_SIZE + compressedLength) break;
+
+                    in.skipBytes(BLOCK_HEADER_SIZE);
+                    if (out == Unpooled.EMPTY_BUFFER) out = allocator.buffer(length);
+                    out.ensureWritable(length);
+
+                    if (compressedLength == length) {
+                        out.writeBytes(in, length);
+                    } else {
+                        final int decompressed;
+                        try {
+                            decompressed = decompressor.decompress(in.nioBuffer(in.readerIndex(), compressedLength), 0,
+                                    compressedLength, out.nioBuffer(out.writerIndex(), length), 0, length);
+                        } catch (LZ4Exception ex) {
+                            throw new DataFormatException("Invalid lz4 block - " + ex.getMessage());
+                        }
+                        if (decompressed != length)
+                            throw new DataFormatException("Invalid lz4 block - expected " + length + " bytes but got " + decompressed);
+                        in.skipBytes(compressedLength);
+                        out.writerIndex(out.writerIndex() + length);
+                    }
+                }
+
+                if (in.isReadable()) {
+                    if (last) throw new DataFormatException("Response ended with an incomplete lz4 block");
+                    if (cumulation == null) cumulation = allocator.buffer(in.readableBytes()).writeBytes(in);
+                } else if (cumulation != null) {
+                    cumulation.release();
+                    cumulation = null;
+                }
+
+                if (cumulation != null) cumulation.discardReadBytes();
+                return out;
+            } catch (DataFormatException | RuntimeException ex) {
+                out.release();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void end() {
+            if (cumulation != null) {
+                cumulation.release();
+                cumulation = null;
+            }
+        }
     }
 }
@@ -39,6 +39,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.GremlinLang;
 import org.apache.tinkerpop.gremlin.util.MessageSerializer;
 import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV4;
 
 import java.net.InetSocketAddress;
 import java.net.URI;
@@ -57,16 +58,48 @@ public final class HttpGremlinRequestEncoder extends MessageToMessageEncoder<Req
     private final MessageSerializer<?> serializer;
     private final boolean userAgentEnabled;
     private final boolean bulkResults;
+    private final boolean packedLists;
+    private final boolean varInts;
+    private final boolean lazyResults;
+    private final String acceptEncoding;
     private final List<Pair<String, ? extends RequestInterceptor>> interceptors;
     private final URI uri;
 
     public HttpGremlinRequestEncoder(final MessageSerializer<?> serializer,
                                      final List<Pair<String, ? extends RequestInterceptor>> interceptors,
                                      final boolean userAgentEnabled, boolean bulkResults, final URI uri) {
+        this(serializer, interceptors, userAgentEnabled, bulkResults, HttpRequest.Headers.DEFLATE, uri);
+    }
+
+    /**
+     * Creates the encoder with the compression that the server is asked to use for responses, which is sent as the
+     * "Accept-Encoding" header unless it is "none".
+     */
+    public HttpGremlinRequestEncoder(final MessageSerializer<?> serializer,
+                                     final List<Pair<String, ? extends RequestInterceptor>> interceptors,
+                                     final boolean userAgentEnabled, boolean bulkResults, final String compression,
+                                     final URI uri) {
+        this(serializer, interceptors, userAgentEnabled, bulkResults, false, false, false, compression, uri);
+    }
+
+    /**
+     * Creates the encoder that also asks the server to write lists of primitive numbers packed and integers with
+     * variable length when the serializer is GraphBinary. When results are read lazily the server is not asked for
+     * string references as the values that are left to be read later are read on their own.
+     */
+    public HttpGremlinRequestEncoder(final MessageSerializer<?> serializer,
+                                     final List<Pair<String, ? extends RequestInterceptor>> interceptors,
+                                     final boolean userAgentEnabled, boolean bulkResults, final boolean packedLists,
+                                     final boolean varInts, final boolean lazyResults, final String compression,
+                                     final URI uri) {
         this.serializer = serializer;
+        this.acceptEncoding = "none".equals(compression) ? null : compression;
         this.interceptors = interceptors;
         this.userAgentEnabled = userAgentEnabled;
         this.bulkResults = bulkResults;
+        this.packedLists = packedLists;
+        this.varInts = varInts;
+        this.lazyResults = lazyResults;
         this.uri = uri;
     }
 
@@ -84,13 +117,29 @@ public final class HttpGremlinRequestEncoder extends MessageToMessageEncoder<Req
             Map<String, String> headersMap = new HashMap<>();
             headersMap.put(HttpRequest.Headers.HOST, remoteAddress.getAddress().getHostAddress());
             headersMap.put(HttpRequest.Headers.ACCEPT, mimeType);
-            headersMap.put(HttpRequest.Headers.ACCEPT_ENCODING, HttpRequest.Headers.DEFLATE);
+            if (acceptEncoding != null) {
+                headersMap.put(HttpRequest.Headers.ACCEPT_ENCODING, acceptEncoding);
+            }
             if (userAgentEnabled) {
                 headersMap.put(HttpRequest.Headers.USER_AGENT, UserAgent.USER_AGENT);
             }
             if (bulkResults) {
                 headersMap.put(Tokens.BULK_RESULTS, "true");
             }
+            if (serializer instanceof GraphBinaryMessageSerializerV4) {
+                // the response is read with the same serializer which understands strings written as references and
+                // maps written as columns
+                if (!lazyResults) {
+                    headersMap.put(Tokens.STRING_REFERENCES, "true");
+                }
+                headersMap.put(Tokens.COLUMNAR_MAPS, "true");
+                if (packedLists) {
+                    headersMap.put(Tokens.PACKED_LISTS, "true");
+                }
+                if (varInts) {
+                    headersMap.put(Tokens.VAR_INTS, "true");
+                }
+            }
             HttpRequest gremlinRequest = new HttpRequest(headersMap, requestMessage, uri);
 
             for (final Pair<String, ? extends RequestInterceptor> interceptor : interceptors) {
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.driver.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import io.netty.handler.codec.TooLongFrameException;
@@ -35,6 +36,7 @@ import io.netty.util.AttributeMap;
 import io.netty.util.CharsetUtil;
 import org.apache.tinkerpop.gremlin.util.MessageSerializer;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV4;
 import org.apache.tinkerpop.gremlin.util.ser.SerTokens;
 import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
 import org.apache.tinkerpop.shaded.jackson.databind.JsonNode;
@@ -45,13 +47,25 @@ import java.util.List;
 import static org.apache.tinkerpop.gremlin.driver.Channelizer.HttpChannelizer.LAST_CONTENT_READ_RESPONSE;
 import static org.apache.tinkerpop.gremlin.driver.handler.HttpGremlinResponseStreamDecoder.IS_BULKED;
 
+@ChannelHandler.Sharable
 public class HttpGremlinResponseDecoder extends MessageToMessageDecoder<FullHttpResponse> {
     private static final String MESSAGE_NAME = "message";
     private final MessageSerializer<?> serializer;
+    private final boolean lazyResults;
     private final ObjectMapper mapper = new ObjectMapper();
 
     public HttpGremlinResponseDecoder(final MessageSerializer<?> serializer) {
+        this(serializer, false);
+    }
+
+    /**
+     * Creates the decoder that, when {@code lazyResults} is set and the serializer is GraphBinary, leaves elements
+     * and collections in the response to be read when the {@link org.apache.tinkerpop.gremlin.driver.Result} is
+     * first asked for.
+     */
+    public HttpGremlinResponseDecoder(final MessageSerializer<?> serializer, final boolean lazyResults) {
         this.serializer = serializer;
+        this.lazyResults = lazyResults;
     }
 
     @Override
@@ -72,6 +86,8 @@ public class HttpGremlinResponseDecoder extends MessageToMessageDecoder<FullHttp
                         .code(msg.status())
                         .statusMessage(message.isEmpty() ? msg.status().reasonPhrase() : message)
                         .create();
+            } else if (lazyResults && serializer instanceof GraphBinaryMessageSerializerV4) {
+                response = ((GraphBinaryMessageSerializerV4) serializer).readChunk(content, true, true);
             } else {
                 response = serializer.deserializeBinaryResponse(content);
             }
@@ -34,6 +34,8 @@ import io.netty.util.AttributeMap;
 import io.netty.util.CharsetUtil;
 import org.apache.tinkerpop.gremlin.util.MessageSerializer;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.ser.ArrowMessageSerializerV4;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV4;
 import org.apache.tinkerpop.gremlin.util.ser.SerTokens;
 import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
 import org.apache.tinkerpop.shaded.jackson.databind.JsonNode;
@@ -50,6 +52,7 @@ public class HttpGremlinResponseStreamDecoder extends MessageToMessageDecoder<De
     private static final AttributeKey<HttpResponseStatus> RESPONSE_STATUS = AttributeKey.valueOf("responseStatus");
     private static final AttributeKey<String> RESPONSE_ENCODING = AttributeKey.valueOf("responseSerializer");
     private static final AttributeKey<Long> BYTES_READ = AttributeKey.valueOf("bytesRead");
+    private static final AttributeKey<MessageSerializer<?>> RESPONSE_SERIALIZER = AttributeKey.valueOf("responseMessageSerializer");
 
     private final MessageSerializer<?> serializer;
     private final long maxResponseContentLength;
@@ -66,6 +69,7 @@ public class HttpGremlinResponseStreamDecoder extends MessageToMessageDecoder<De
         final Attribute<Boolean> isBulked = ((AttributeMap) ctx).attr(IS_BULKED);
         final Attribute<HttpResponseStatus> responseStatus = ((AttributeMap) ctx).attr(RESPONSE_STATUS);
         final Attribute<String> responseEncoding = ((AttributeMap) ctx).attr(RESPONSE_ENCODING);
+        final Attribute<MessageSerializer<?>> responseSerializer = ((AttributeMap) ctx).attr(RESPONSE_SERIALIZER);
 
         if (msg instanceof HttpResponse) {
             ctx.channel().attr(BYTES_READ).set(0L);
@@ -75,6 +79,8 @@ public class HttpGremlinResponseStreamDecoder extends MessageToMessageDecoder<De
             responseEncoding.set(resp.headers().get(HttpHeaderNames.CONTENT_TYPE));
 
             isFirstChunk.set(true);
+
+            responseSerializer.set(forResponse(serializer));
         }
 
         if (msg instanceof HttpContent) {
@@ -87,7 +93,8 @@ public class HttpGremlinResponseStreamDecoder extends MessageToMessageDecoder<De
 
             try {
                 // no more chunks expected
-                if (isError(responseStatus.get()) && !SerTokens.MIME_GRAPHBINARY_V4.equals(responseEncoding.get())) {
+                if (isError(responseStatus.get()) && !SerTokens.MIME_GRAPHBINARY_V4.equals(responseEncoding.get()) &&
+                        !SerTokens.MIME_ARROW_STREAM.equals(responseEncoding.get())) {
                     final JsonNode node = mapper.readTree(content.toString(CharsetUtil.UTF_8));
                     final String message = node.get("message").asText();
                     final ResponseMessage response = ResponseMessage.build()
@@ -96,7 +103,7 @@ public class HttpGremlinResponseStreamDecoder extends MessageToMessageDecoder<De
 
                     out.add(response);
                 } else {
-                    final ResponseMessage chunk = serializer.readChunk(content, isFirstChunk.get());
+                    final ResponseMessage chunk = responseSerializer.get().readChunk(content, isFirstChunk.get());
                     if (isFirstChunk.get()){
                         isBulked.set(chunk.getResult().isBulked());
                     }
@@ -113,6 +120,18 @@ public class HttpGremlinResponseStreamDecoder extends MessageToMessageDecoder<De
         }
     }
 
+    /**
+     * Gets the serializer to read a single response with. Strings in a GraphBinary response may refer back to strings
+     * anywhere earlier in the same response and the record batches of an Arrow response follow the schema at its start.
+     */
+    private static MessageSerializer<?> forResponse(final MessageSerializer<?> serializer) {
+        if (serializer instanceof GraphBinaryMessageSerializerV4)
+            return ((GraphBinaryMessageSerializerV4) serializer).withStringReferences();
+        if (serializer instanceof ArrowMessageSerializerV4)
+            return ((ArrowMessageSerializerV4) serializer).forResponse();
+        return serializer;
+    }
+
     private static boolean isError(final HttpResponseStatus status) {
         return status != HttpResponseStatus.OK;
     }
@@ -55,7 +55,11 @@ public class ClusterBuilderTest {
                 {"idleConnectionTimeoutMillisOne", Cluster.build().idleConnectionTimeoutMillis(1), "idleConnectionTimeoutMillis must be zero or greater than or equal to 1000"},
                 {"idleConnectionTimeoutMillis999", Cluster.build().idleConnectionTimeoutMillis(999), "idleConnectionTimeoutMillis must be zero or greater than or equal to 1000"},
                 {"workerPoolSize0", Cluster.build().workerPoolSize(0), "workerPoolSize must be greater than zero"},
-                {"workerPoolSizeNeg1", Cluster.build().workerPoolSize(-1), "workerPoolSize must be greater than zero"}});
+                {"workerPoolSizeNeg1", Cluster.build().workerPoolSize(-1), "workerPoolSize must be greater than zero"},
+                {"maxConcurrentStreams0", Cluster.build().maxConcurrentStreams(0), "maxConcurrentStreams must be greater than zero"},
+                {"maxInFlightPerConnection0", Cluster.build().maxInFlightPerConnection(0), "maxInFlightPerConnection must be greater than zero"},
+                {"compressionGzip", Cluster.build().compression("gzip"), "compression must be one of deflate, lz4 or none"},
+                {"channelizerMissing", Cluster.build().channelizer("not.a.Channelizer"), "The channelizer specified [not.a.Channelizer] could not be found - it should be the fully qualified classname of a Channelizer implementation available on the classpath"}});
     }
 
     @Parameterized.Parameter(value = 0)
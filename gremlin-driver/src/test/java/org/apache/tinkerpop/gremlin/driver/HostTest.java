@@ -23,6 +23,9 @@ import org.junit.Test;
 import java.net.InetSocketAddress;
 import java.net.URI;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -46,4 +49,31 @@ public class HostTest {
         assertEquals("http://localhost:8183/argh", webSocketUri.toString());
     }
 
+    @Test
+    public void shouldTrackRequestsInFlight() {
+        final Host host = new Host(new InetSocketAddress("localhost", 8182), Cluster.open());
+        assertEquals(0, host.getInFlight());
+        host.requestStarted();
+        host.requestStarted();
+        assertEquals(2, host.getInFlight());
+        host.requestCompleted(-1);
+        assertEquals(1, host.getInFlight());
+        assertEquals(0, host.getLatencyEstimate());
+    }
+
+    @Test
+    public void shouldFollowLatencyIncreaseImmediately() {
+        final Host host = new Host(new InetSocketAddress("localhost", 8182), Cluster.open());
+        host.requestStarted();
+        host.requestCompleted(1_000_000);
+        host.requestStarted();
+        host.requestCompleted(2_000_000_000);
+        assertThat(host.getLatencyEstimate(), greaterThan(1_000_000_000L));
+
+        // a fast response right after a slow one only moves the estimate a little as it decays over time
+        host.requestStarted();
+        host.requestCompleted(1_000_000);
+        assertThat(host.getLatencyEstimate(), greaterThan(1_000_000_000L));
+        assertThat(host.getLatencyEstimate(), lessThan(2_000_000_001L));
+    }
 }
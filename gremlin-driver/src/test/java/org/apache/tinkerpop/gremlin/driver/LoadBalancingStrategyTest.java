@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LoadBalancingStrategyTest {
+    private static Cluster cluster;
+
+    @BeforeClass
+    public static void setUp() {
+        cluster = Cluster.open();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        cluster.close();
+    }
+
+    @Test
+    public void shouldRoundRobinAcrossAvailableHosts() {
+        final List<Host> hosts = createHosts(3);
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.RoundRobin();
+        strategy.initialize(cluster, hosts);
+
+        final Host first = strategy.select(null).next();
+        final List<Host> selected = IteratorUtils.list(strategy.select(null));
+        assertEquals(3, selected.size());
+        assertEquals(new HashSet<>(hosts), new HashSet<>(selected));
+        assertEquals(hosts.get((hosts.indexOf(first) + 1) % 3), selected.get(0));
+    }
+
+    @Test
+    public void shouldSkipUnavailableHosts() {
+        final List<Host> hosts = createHosts(3);
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.RoundRobin();
+        strategy.initialize(cluster, hosts);
+
+        strategy.onUnavailable(hosts.get(1));
+        for (int i = 0; i < 6; i++) {
+            assertFalse(IteratorUtils.list(strategy.select(null)).contains(hosts.get(1)));
+        }
+
+        // hosts that are marked dead but not yet removed from the strategy are skipped too
+        hosts.get(0).makeUnavailable(h -> false);
+        assertEquals(Arrays.asList(hosts.get(2)), IteratorUtils.list(strategy.select(null)));
+
+        strategy.onAvailable(hosts.get(1));
+        assertEquals(2, IteratorUtils.list(strategy.select(null)).size());
+    }
+
+    @Test
+    public void shouldSelectNothingWithoutHosts() {
+        final LoadBalancingStrategy roundRobin = new LoadBalancingStrategy.RoundRobin();
+        roundRobin.initialize(cluster, createHosts(0));
+        assertFalse(roundRobin.select(null).hasNext());
+
+        final LoadBalancingStrategy latencyAware = new LoadBalancingStrategy.LatencyAware();
+        latencyAware.initialize(cluster, createHosts(0));
+        assertFalse(latencyAware.select(null).hasNext());
+    }
+
+    @Test
+    public void shouldReturnAllHostsOnceWhenLatencyAware() {
+        final List<Host> hosts = createHosts(5);
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, hosts);
+
+        for (int i = 0; i < 20; i++) {
+            final List<Host> selected = IteratorUtils.list(strategy.select(null));
+            assertEquals(5, selected.size());
+            assertEquals(new HashSet<>(hosts), new HashSet<>(selected));
+        }
+    }
+
+    @Test
+    public void shouldAvoidSlowHostWhenLatencyAware() {
+        final List<Host> hosts = createHosts(3);
+        final Host slow = hosts.get(1);
+        hosts.forEach(h -> {
+            h.requestStarted();
+            h.requestCompleted(h == slow ? 2_000_000_000L : 1_000_000L);
+        });
+
+        // the slow host is stuck on some requests as well
+        for (int i = 0; i < 10; i++) {
+            slow.requestStarted();
+        }
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, hosts);
+
+        for (int i = 0; i < 100; i++) {
+            final List<Host> selected = IteratorUtils.list(strategy.select(null));
+            assertTrue(selected.get(0) != slow);
+        }
+    }
+
+    @Test
+    public void shouldPreferHostWithFewerRequestsInFlightWhenLatencyAware() {
+        final List<Host> hosts = createHosts(2);
+        hosts.get(0).requestStarted();
+        hosts.get(0).requestStarted();
+        hosts.get(1).requestStarted();
+
+        final LoadBalancingStrategy strategy = new LoadBalancingStrategy.LatencyAware();
+        strategy.initialize(cluster, hosts);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(hosts.get(1), strategy.select(null).next());
+        }
+        assertThat(hosts.get(0).getInFlight(), greaterThan(hosts.get(1).getInFlight()));
+    }
+
+    private static List<Host> createHosts(final int count) {
+        final Host[] hosts = new Host[count];
+        for (int i = 0; i < count; i++) {
+            hosts[i] = new Host(new InetSocketAddress("localhost", 8182 + i), cluster);
+            hosts[i].makeAvailable();
+        }
+        return Arrays.asList(hosts);
+    }
+}
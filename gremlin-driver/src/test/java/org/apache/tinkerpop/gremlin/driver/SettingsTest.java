@@ -71,6 +71,10 @@ public class SettingsTest {
         conf.setProperty("connectionPool.validationRequest", "g.inject()");
         conf.setProperty("connectionPool.connectionSetupTimeoutMillis", 15000);
         conf.setProperty("connectionPool.idleConnectionTimeout", 160000);
+        conf.setProperty("connectionPool.channelizer", Channelizer.Http2Channelizer.class.getName());
+        conf.setProperty("connectionPool.maxConcurrentStreams", 64);
+        conf.setProperty("connectionPool.maxInFlightPerConnection", 4);
+        conf.setProperty("connectionPool.compression", "lz4");
 
         final Settings settings = Settings.from(conf);
 
@@ -101,6 +105,10 @@ public class SettingsTest {
         assertEquals(900, settings.connectionPool.reconnectInterval);
         assertEquals(15000, settings.connectionPool.connectionSetupTimeoutMillis);
         assertEquals(160000, settings.connectionPool.idleConnectionTimeout);
+        assertEquals(Channelizer.Http2Channelizer.class.getName(), settings.connectionPool.channelizer);
+        assertEquals(64, settings.connectionPool.maxConcurrentStreams);
+        assertEquals(4, settings.connectionPool.maxInFlightPerConnection);
+        assertEquals("lz4", settings.connectionPool.compression);
         assertEquals(1100, settings.connectionPool.resultIterationBatchSize);
         assertEquals("g.inject()", settings.connectionPool.validationRequest);
     }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver.handler;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.tinkerpop.gremlin.driver.ResultQueue;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.apache.tinkerpop.gremlin.driver.Channelizer.HttpChannelizer.LAST_CONTENT_READ_RESPONSE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GremlinResponseHandlerTest {
+
+    @Test
+    public void shouldMatchResponsesToPipelinedRequestsInOrder() throws Exception {
+        final Queue<ResultQueue> pending = new ConcurrentLinkedQueue<>();
+        final CompletableFuture<Void> firstRead = new CompletableFuture<>();
+        final CompletableFuture<Void> secondRead = new CompletableFuture<>();
+        final ResultQueue first = new ResultQueue(new LinkedBlockingQueue<>(), firstRead);
+        final ResultQueue second = new ResultQueue(new LinkedBlockingQueue<>(), secondRead);
+        pending.add(first);
+        pending.add(second);
+
+        final EmbeddedChannel testChannel = createChannel(pending);
+        testChannel.writeInbound(createResponse(1, 2), LAST_CONTENT_READ_RESPONSE);
+
+        assertTrue(firstRead.isDone());
+        assertFalse(secondRead.isDone());
+        assertEquals(2, first.size());
+
+        testChannel.writeInbound(createResponse(3), LAST_CONTENT_READ_RESPONSE);
+        assertTrue(secondRead.isDone());
+        assertEquals(1, second.size());
+        assertEquals(3, second.await(1).get().get(0).getInt());
+        assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    public void shouldFailAllPipelinedRequestsWhenChannelCloses() throws Exception {
+        final Queue<ResultQueue> pending = new ConcurrentLinkedQueue<>();
+        final CompletableFuture<Void> firstRead = new CompletableFuture<>();
+        final CompletableFuture<Void> secondRead = new CompletableFuture<>();
+        pending.add(new ResultQueue(new LinkedBlockingQueue<>(), firstRead));
+        pending.add(new ResultQueue(new LinkedBlockingQueue<>(), secondRead));
+
+        final EmbeddedChannel testChannel = createChannel(pending);
+        testChannel.close();
+
+        assertFailed(firstRead);
+        assertFailed(secondRead);
+        assertTrue(pending.isEmpty());
+    }
+
+    private static EmbeddedChannel createChannel(final Queue<ResultQueue> pending) {
+        final EmbeddedChannel testChannel = new EmbeddedChannel(new GremlinResponseHandler(pending));
+        testChannel.attr(HttpGremlinResponseStreamDecoder.IS_BULKED).set(false);
+        return testChannel;
+    }
+
+    private static ResponseMessage createResponse(final Object... data) {
+        return ResponseMessage.build().code(HttpResponseStatus.OK).result(Arrays.asList(data)).create();
+    }
+
+    private static void assertFailed(final CompletableFuture<Void> readCompleted) throws InterruptedException {
+        try {
+            readCompleted.get();
+            fail("Read should have failed as the channel closed");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+    }
+}
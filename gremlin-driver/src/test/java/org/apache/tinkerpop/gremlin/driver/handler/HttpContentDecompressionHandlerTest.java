@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.driver.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
@@ -29,7 +30,11 @@ import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.util.CharsetUtil;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import org.apache.tinkerpop.gremlin.driver.HttpRequest;
 import org.junit.Test;
 
 import java.nio.charset.StandardCharsets;
@@ -219,4 +224,66 @@ public class HttpContentDecompressionHandlerTest {
 
         assertArrayEquals(largeArray, contentBytes);
     }
+
+    @Test
+    public void shouldDecompressLz4BlocksSplitAcrossChunks() {
+        final byte[] first = new byte[4096];
+        Arrays.fill(first, (byte) 0x61);
+        final byte[] second = "bbb".getBytes(StandardCharsets.UTF_8);
+        final ByteBuf blocks = Unpooled.buffer();
+        writeLz4Block(blocks, first);
+        // a block that did not compress is stored as it is
+        blocks.writeInt(second.length).writeInt(second.length).writeBytes(second);
+
+        final EmbeddedChannel testChannel = new EmbeddedChannel(new HttpContentDecompressionHandler());
+        final HttpHeaders headers = new DefaultHttpHeaders().add(CONTENT_ENCODING, HttpRequest.Headers.LZ4);
+        testChannel.writeInbound(new DefaultHttpResponse(HTTP_1_1, OK, headers));
+
+        // split so that the first block arrives in pieces and the second one shares a chunk with the end of the first
+        final int total = blocks.readableBytes();
+        testChannel.writeInbound(new DefaultHttpContent(blocks.readRetainedSlice(5)));
+        testChannel.writeInbound(new DefaultHttpContent(blocks.readRetainedSlice(10)));
+        testChannel.writeInbound(new DefaultHttpContent(blocks.readRetainedSlice(total - 15 - 4)));
+        testChannel.writeInbound(new DefaultLastHttpContent(blocks.readRetainedSlice(4)));
+        blocks.release();
+
+        testChannel.readInbound(); // Discard beginning HttpResponse.
+
+        final HttpContent firstContent = testChannel.readInbound();
+        assertArrayEquals(first, ByteBufUtil.getBytes(firstContent.content()));
+        firstContent.release();
+
+        final HttpContent lastContent = testChannel.readInbound();
+        assertTrue(lastContent instanceof DefaultLastHttpContent);
+        assertArrayEquals(second, ByteBufUtil.getBytes(lastContent.content()));
+        lastContent.release();
+
+        assertEquals(0, testChannel.inboundMessages().size());
+    }
+
+    @Test
+    public void shouldFireExceptionWhenLz4ContentTruncated() {
+        final byte[] data = new byte[256];
+        Arrays.fill(data, (byte) 0x61);
+        final ByteBuf blocks = Unpooled.buffer();
+        writeLz4Block(blocks, data);
+
+        final EmbeddedChannel testChannel = new EmbeddedChannel(new HttpContentDecompressionHandler());
+        final HttpHeaders headers = new DefaultHttpHeaders().add(CONTENT_ENCODING, HttpRequest.Headers.LZ4);
+        final FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK,
+                blocks.writerIndex(blocks.writerIndex() - 1), headers, new DefaultHttpHeaders());
+
+        try {
+            testChannel.writeInbound(response);
+            fail("Expected exception.");
+        } catch (Exception e) {
+            assertTrue(e instanceof DataFormatException);
+        }
+    }
+
+    private static void writeLz4Block(final ByteBuf out, final byte[] data) {
+        final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+        final byte[] compressed = compressor.compress(data);
+        out.writeInt(data.length).writeInt(compressed.length).writeBytes(compressed);
+    }
 }
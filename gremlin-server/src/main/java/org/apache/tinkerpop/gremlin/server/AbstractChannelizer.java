@@ -261,6 +261,14 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         }
     }
 
+    /**
+     * Called as the {@code SslContext} is built so that an implementation can adjust it, for example to negotiate an
+     * application protocol. It is not called when an {@code SslContext} override is supplied in the settings.
+     */
+    protected void configureSslContext(final SslContextBuilder builder) {
+        // nothing to configure by default
+    }
+
     private SslContext createSSLContext(final Settings settings) {
         final Settings.SslSettings sslSettings = settings.ssl;
 
@@ -326,6 +334,7 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         }
 
         builder.clientAuth(sslSettings.needClientAuth).sslProvider(provider);
+        configureSslContext(builder);
 
         try {
             return builder.build();
@@ -21,16 +21,23 @@ package org.apache.tinkerpop.gremlin.server;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptChecker;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.AbstractTraverser;
 import org.apache.tinkerpop.gremlin.server.handler.HttpGremlinEndpointHandler;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
 import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -205,6 +212,49 @@ public class Context {
         }
     }
 
+    /**
+     * Detaches results in the same way as {@link #handleDetachment(List)} but also detaches elements, paths and
+     * properties when properties are materialized, keeping those properties, and does so wherever they are nested in
+     * lists, sets, maps or trees, as from {@code fold()} or {@code group()}, so that the results can be serialized on a
+     * thread other than the one that iterated them and that may be outside of the transaction they were read in.
+     * Results that hold none of them are left as they are.
+     */
+    public void handleDetachmentForHandoff(final List<Object> aggregate) {
+        final boolean withProperties = this.getMaterializeProperties().equals(Tokens.MATERIALIZE_PROPERTIES_ALL);
+        for (int i = 0; i < aggregate.size(); i++) {
+            final Object item = aggregate.get(i);
+            if (item instanceof Traverser.Admin) {
+                final Traverser.Admin traverser = (Traverser.Admin) item;
+                if (holdsDetachable(traverser.get())) traverser.set(detach(traverser.get(), withProperties));
+            } else if (holdsDetachable(item)) {
+                aggregate.set(i, detach(item, withProperties));
+            }
+        }
+    }
+
+    private static Object detach(final Object item, final boolean withProperties) {
+        return withProperties ? DetachedFactory.detach(item, true) : ReferenceFactory.detach(item);
+    }
+
+    /**
+     * Determines if the item is, or holds at any depth of the collections that the detach factories copy, an element,
+     * path or property.
+     */
+    private static boolean holdsDetachable(final Object item) {
+        if (item instanceof Element || item instanceof Path || item instanceof Property)
+            return true;
+        if (item instanceof List || item instanceof Set) {
+            for (final Object o : (Collection<?>) item) {
+                if (holdsDetachable(o)) return true;
+            }
+        } else if (item instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) item).entrySet()) {
+                if (holdsDetachable(entry.getKey()) || holdsDetachable(entry.getValue())) return true;
+            }
+        }
+        return false;
+    }
+
     public HttpGremlinEndpointHandler.RequestState getRequestState() {
         return requestState;
     }
@@ -182,7 +182,8 @@ public class GremlinServer {
                     serverSocketChannel = channelFuture.channel();
 
                     logger.info("Gremlin Server configured with worker thread pool of {}, gremlin pool of {} and boss thread pool of {}.",
-                            settings.threadPoolWorker, settings.gremlinPool, settings.threadPoolBoss);
+                            settings.threadPoolWorker, settings.useVirtualThreads ? "virtual threads" : settings.gremlinPool,
+                            settings.threadPoolBoss);
                     logger.info("Channel started at port {}.", settings.port);
 
                     serverReadyFuture.complete(serverGremlinExecutor);
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.authz.Authorizer;
 import org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
+import org.apache.tinkerpop.gremlin.server.util.AdmissionController;
 import org.apache.tinkerpop.gremlin.server.util.DefaultGraphManager;
 import org.apache.tinkerpop.gremlin.server.util.LifeCycleHook;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -97,6 +98,15 @@ public class Settings {
      */
     public int gremlinPool = 0;
 
+    /**
+     * Determines if request evaluation should run on virtual threads rather than the fixed {@link #gremlinPool} of
+     * platform threads. When enabled, each request is given its own virtual thread and the number of requests in
+     * progress at once is limited to {@link #maxConcurrentRequests}, past which requests are rejected rather than
+     * queued.
+     * Virtual threads require Java 21 or later. Defaults to {@code false}.
+     */
+    public boolean useVirtualThreads = false;
+
     /**
      * Size of the boss thread pool.  Defaults to 1 and should likely stay at 1.  The bossy thread accepts incoming
      * connections on a port until it is unbound. Once a connection is accepted successfully, the boss thread
@@ -115,6 +125,35 @@ public class Settings {
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * The serialized size in bytes to aim for in each chunk of results pushed to the client. When set, the number of
+     * items in a batch is adapted from the serialized size of the results already written, rather than being fixed at
+     * {@link #resultIterationBatchSize}, which then only determines the size of the first batch. A batch size given
+     * on the request takes precedence over this setting. Defaults to {@code 0} which disables this feature.
+     */
+    public long resultIterationBatchBytes = 0;
+
+    /**
+     * The maximum time in milliseconds to spend accumulating a batch of results before writing what has been
+     * gathered so far to the client. Defaults to {@code 0} which disables this feature.
+     */
+    public long resultIterationBatchTimeMs = 0;
+
+    /**
+     * The number of items in the first batch of results pushed to the client, allowing the first results of a large
+     * response to be sent sooner than subsequent batches. Defaults to {@code 0} which means the first batch is sized
+     * like any other.
+     */
+    public int resultIterationFirstBatchSize = 0;
+
+    /**
+     * Determines if each chunk of results is serialized and written on the event loop of the connection while the
+     * thread from the {@link #gremlinPool} goes on to gather the next batch, rather than that thread serializing each
+     * chunk before it continues iterating. Chunks are still written in order and at most one waits to be serialized.
+     * Defaults to {@code false}.
+     */
+    public boolean pipelineResultSerialization = false;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
@@ -146,6 +185,32 @@ public class Settings {
      */
     public int maxAccumulationBufferComponents = 1024;
 
+    /**
+     * When {@code true}, GraphBinary request bodies are deserialized as their content arrives rather than being
+     * aggregated into a single message first. Applies only when no authentication handler is configured as the body
+     * must not be deserialized before the request is authenticated. The {@link #maxRequestContentLength} still applies.
+     * Defaults to {@code false}.
+     */
+    public boolean streamGraphBinaryRequests = false;
+
+    /**
+     * The maximum number of concurrent streams, and therefore requests, that a client may open on a single HTTP/2
+     * connection. Only applies when using the {@code Http2Channelizer}.
+     */
+    public int maxConcurrentStreams = 128;
+
+    /**
+     * The compression level, from 0 to 9 or -1 for the default level, for responses to requests that accept the
+     * "deflate" encoding.
+     */
+    public int deflateCompressionLevel = -1;
+
+    /**
+     * The compression level for responses to requests that accept the "lz4" encoding. The default of 0 uses the fast
+     * LZ4 compressor while 1 to 17 use the high compression one at that level, trading speed for smaller responses.
+     */
+    public int lz4CompressionLevel = 0;
+
     /**
      * If the number of bytes in the network send buffer exceeds this value then the channel is no longer writeable,
      * accepting no additional writes until buffer is drained and the {@link #writeBufferLowWaterMark} is met.
@@ -198,12 +263,20 @@ public class Settings {
      * Maximum size the general processing queue can grow before starting to reject requests. The general processing
      * queue is managed by a thread pool that has its size determined by {@link #gremlinPool}. All incoming requests
      * will be processed by this thread pool. If the threads are exhausted, the requests will queue to the size
-     * specified by this value after which they will begin to reject the requests.
+     * specified by this value after which they will begin to reject the requests. This value does not apply when
+     * {@link #useVirtualThreads} is enabled as there is no queue, see {@link #maxConcurrentRequests} instead.
      * <p/>
      * By default this value is set to 8192.
      */
     public int maxWorkQueueSize = 8192;
 
+    /**
+     * Maximum number of requests that may be in progress at once when {@link #useVirtualThreads} is enabled, past
+     * which requests are rejected. It is not used with the {@link #gremlinPool} of platform threads. By default this
+     * value is set to 1024.
+     */
+    public int maxConcurrentRequests = 1024;
+
     /**
      * Maximum number of parameters that can be passed on a request. Larger numbers may impact performance for scripts.
      * The default is 16 and this setting only applies to the {@link org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer}.
@@ -241,6 +314,11 @@ public class Settings {
 
     public AuthorizationSettings authorization = new AuthorizationSettings();
 
+    /**
+     * Configures the checks that shed or reject requests when the server is overloaded.
+     */
+    public AdmissionSettings admission = new AdmissionSettings();
+
     /**
      * Enable audit logging of authenticated users and gremlin evaluation requests.
      */
@@ -303,6 +381,9 @@ public class Settings {
         final TypeDescription authenticationSettings = new TypeDescription(AuthenticationSettings.class);
         constructor.addTypeDescription(authenticationSettings);
 
+        final TypeDescription admissionSettings = new TypeDescription(AdmissionSettings.class);
+        constructor.addTypeDescription(admissionSettings);
+
         final TypeDescription serverMetricsDescription = new TypeDescription(ServerMetrics.class);
         constructor.addTypeDescription(serverMetricsDescription);
 
@@ -443,6 +524,30 @@ public class Settings {
         public Map<String, Object> config = null;
     }
 
+    /**
+     * Settings for the checks made by the {@link AdmissionController} before a request is processed.
+     */
+    public static class AdmissionSettings {
+        /**
+         * The time in milliseconds that requests may wait in the work queue before they are shed while the server
+         * is overloaded. The server is considered to be overloaded when no request waited less than this over the
+         * last {@link #queueDelayInterval}. Set to zero to disable shedding.
+         */
+        public long targetQueueDelay = 0;
+
+        /**
+         * The time in milliseconds over which the wait in the work queue is judged when deciding if the server is
+         * overloaded. It is also the longest that a request may wait when the server is not overloaded.
+         */
+        public long queueDelayInterval = 1000;
+
+        /**
+         * The maximum number of requests that may be in progress for each traversal source, including those waiting
+         * in the work queue. Additional requests are rejected. Set to zero for no limit.
+         */
+        public int maxConcurrentPerTraversalSource = 0;
+    }
+
     /**
      * Settings to configure SSL support.
      */
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.channel;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerKeepAliveHandler;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.util.AsciiString;
+import org.apache.tinkerpop.gremlin.server.Channelizer;
+import org.apache.tinkerpop.gremlin.server.handler.HttpPipeliningHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Constructs a {@link Channelizer} that exposes the HTTP endpoint of Gremlin Server over HTTP/2 as well as HTTP/1.1.
+ * Each HTTP/2 stream carries a single request and gets its own child channel with the same request handlers as an
+ * HTTP/1.1 connection, so many requests are processed concurrently over one connection and a slow response does not
+ * hold up the others. Results are streamed back in chunks as they are for HTTP/1.1 with each stream subject to its
+ * own flow control window.
+ * <p/>
+ * Without SSL, clients may use HTTP/2 with prior knowledge or upgrade an HTTP/1.1 connection with {@code h2c}. With
+ * SSL, the protocol is negotiated through ALPN. Clients that speak only HTTP/1.1 continue to work in both cases.
+ */
+public class Http2Channelizer extends HttpChannelizer {
+    private static final Logger logger = LoggerFactory.getLogger(Http2Channelizer.class);
+
+    private static final String PIPELINE_HTTP2_STREAM_CODEC = "http2-stream-codec";
+
+    @Override
+    public void configure(final ChannelPipeline pipeline) {
+        if (sslContext.isPresent()) {
+            pipeline.addLast("alpn-handler", new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                @Override
+                protected void configurePipeline(final ChannelHandlerContext ctx, final String protocol) {
+                    if (ApplicationProtocolNames.HTTP_2.equals(protocol))
+                        configureHttp2(ctx.pipeline());
+                    else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol))
+                        Http2Channelizer.super.configure(ctx.pipeline());
+                    else
+                        throw new IllegalStateException("Unsupported protocol: " + protocol);
+                }
+            });
+        } else {
+            final HttpServerCodec sourceCodec = new HttpServerCodec();
+            final HttpServerUpgradeHandler upgradeHandler = new HttpServerUpgradeHandler(sourceCodec, protocol -> {
+                if (AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
+                    return new Http2ServerUpgradeCodec(createFrameCodec(),
+                            new Http2MultiplexHandler(new StreamInitializer()), new Http2Switch(false));
+                }
+                return null;
+            }, settings.maxRequestContentLength);
+
+            pipeline.addLast("http2-cleartext-handler",
+                    new CleartextHttp2ServerUpgradeHandler(sourceCodec, upgradeHandler, new Http2Switch(true)));
+
+            // these handle the connection for as long as it stays on HTTP/1.1 and are removed if it switches to HTTP/2
+            pipeline.addLast("http-pipelining-handler", new HttpPipeliningHandler());
+            pipeline.addLast("http-requestid-handler", httpRequestIdHandler);
+            pipeline.addLast("http-keepalive-handler", new HttpServerKeepAliveHandler());
+            configureRequestHandlers(pipeline);
+        }
+    }
+
+    @Override
+    protected void configureSslContext(final SslContextBuilder builder) {
+        builder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                ApplicationProtocolConfig.Protocol.ALPN,
+                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1));
+    }
+
+    private void configureHttp2(final ChannelPipeline pipeline) {
+        pipeline.addLast("http2-frame-codec", createFrameCodec());
+        pipeline.addLast("http2-multiplex-handler", new Http2MultiplexHandler(new StreamInitializer()));
+    }
+
+    private Http2FrameCodec createFrameCodec() {
+        final Http2Settings http2Settings = Http2Settings.defaultSettings()
+                .maxConcurrentStreams(settings.maxConcurrentStreams)
+                .maxHeaderListSize(settings.maxHeaderSize);
+        return Http2FrameCodecBuilder.forServer().initialSettings(http2Settings).build();
+    }
+
+    /**
+     * Sets up the pipeline of the child channel for each HTTP/2 stream. The stream frames are converted to the HTTP
+     * objects that the request handlers already understand.
+     */
+    private class StreamInitializer extends ChannelInitializer<Channel> {
+        @Override
+        protected void initChannel(final Channel ch) {
+            final ChannelPipeline pipeline = ch.pipeline();
+            pipeline.addLast(PIPELINE_HTTP2_STREAM_CODEC, new Http2StreamFrameToHttpObjectCodec(true));
+            pipeline.addLast("http-requestid-handler", httpRequestIdHandler);
+            configureRequestHandlers(pipeline);
+        }
+    }
+
+    /**
+     * Takes over the connection once it switches to HTTP/2, whether by prior knowledge or by upgrade, and removes the
+     * HTTP/1.1 request handlers that follow it as requests then arrive on the child channels of the streams instead.
+     */
+    private class Http2Switch extends ChannelHandlerAdapter {
+        private final boolean addHttp2Handlers;
+
+        private Http2Switch(final boolean addHttp2Handlers) {
+            this.addHttp2Handlers = addHttp2Handlers;
+        }
+
+        @Override
+        public void handlerAdded(final ChannelHandlerContext ctx) {
+            logger.debug("Switching {} to HTTP/2", ctx.channel());
+            final ChannelPipeline pipeline = ctx.pipeline();
+            while (pipeline.last() != this)
+                pipeline.removeLast();
+
+            if (addHttp2Handlers) configureHttp2(pipeline);
+            pipeline.remove(this);
+        }
+    }
+}
@@ -33,8 +33,10 @@ import org.apache.tinkerpop.gremlin.server.handler.HttpContentCompressionHandler
 import org.apache.tinkerpop.gremlin.server.handler.HttpRequestCheckingHandler;
 import org.apache.tinkerpop.gremlin.server.handler.HttpRequestIdHandler;
 import org.apache.tinkerpop.gremlin.server.handler.HttpRequestMessageDecoder;
+import org.apache.tinkerpop.gremlin.server.handler.HttpStreamingRequestDecoder;
 import org.apache.tinkerpop.gremlin.server.handler.HttpUserAgentHandler;
 import org.apache.tinkerpop.gremlin.server.handler.HttpGremlinEndpointHandler;
+import org.apache.tinkerpop.gremlin.server.handler.HttpPipeliningHandler;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
@@ -55,13 +57,14 @@ public class HttpChannelizer extends AbstractChannelizer {
     private HttpGremlinEndpointHandler httpGremlinEndpointHandler;
     private HttpRequestCheckingHandler httpRequestCheckingHandler = new HttpRequestCheckingHandler();
     private HttpRequestMessageDecoder httpRequestMessageDecoder = new HttpRequestMessageDecoder(serializers);
-    private HttpRequestIdHandler httpRequestIdHandler = new HttpRequestIdHandler();
-    private HttpContentCompressionHandler httpContentEncoder = new HttpContentCompressionHandler();
+    protected HttpRequestIdHandler httpRequestIdHandler = new HttpRequestIdHandler();
+    private HttpContentCompressionHandler httpContentEncoder;
 
     @Override
     public void init(final ServerGremlinExecutor serverGremlinExecutor) {
         super.init(serverGremlinExecutor);
         httpGremlinEndpointHandler = new HttpGremlinEndpointHandler(gremlinExecutor, graphManager, settings);
+        httpContentEncoder = new HttpContentCompressionHandler(settings.deflateCompressionLevel, settings.lz4CompressionLevel);
     }
 
     @Override
@@ -74,10 +77,24 @@ public class HttpChannelizer extends AbstractChannelizer {
         if (logger.isDebugEnabled())
             pipeline.addLast(new LoggingHandler("http-io", LogLevel.DEBUG));
 
+        pipeline.addLast("http-pipelining-handler", new HttpPipeliningHandler());
         pipeline.addLast("http-requestid-handler", httpRequestIdHandler);
         pipeline.addLast("http-keepalive-handler", new HttpServerKeepAliveHandler());
+        configureRequestHandlers(pipeline);
+    }
+
+    /**
+     * Adds the handlers that turn a decoded HTTP request into a {@code RequestMessage} and process it. These follow
+     * the HTTP codec and request ID handler and are shared by each HTTP/1.1 connection and each HTTP/2 stream.
+     */
+    protected void configureRequestHandlers(final ChannelPipeline pipeline) {
         pipeline.addLast("http-cors-handler", new CorsHandler(CorsConfigBuilder.forAnyOrigin().build()));
 
+        // the authentication handler needs the full request so streaming is only used when it isn't present
+        if (settings.streamGraphBinaryRequests && !requiresAuthenticationHandler())
+            pipeline.addLast("http-streaming-request-decoder",
+                    new HttpStreamingRequestDecoder(serializers, settings.maxRequestContentLength));
+
         final HttpObjectAggregator aggregator = new HttpObjectAggregator(settings.maxRequestContentLength);
         aggregator.setMaxCumulationBufferComponents(settings.maxAccumulationBufferComponents);
         pipeline.addLast(PIPELINE_HTTP_AGGREGATOR, aggregator);
@@ -90,8 +107,8 @@ public class HttpChannelizer extends AbstractChannelizer {
             // it is marked as @Sharable, indicating a race condition will
             // not occur. It may not be a safe assumption that the handler
             // is sharable so create a new handler each time.
-            final AbstractAuthenticationHandler authenticationHandler = authenticator.getClass() == AllowAllAuthenticator.class ?
-                    null : instantiateAuthenticationHandler(settings);
+            final AbstractAuthenticationHandler authenticationHandler = requiresAuthenticationHandler() ?
+                    instantiateAuthenticationHandler(settings) : null;
             if (authenticationHandler != null)
                 pipeline.addLast(PIPELINE_AUTHENTICATOR, authenticationHandler);
         }
@@ -108,6 +125,10 @@ public class HttpChannelizer extends AbstractChannelizer {
         // Note that channelRead()'s do not propagate down the pipeline past HttpGremlinEndpointHandler
     }
 
+    private boolean requiresAuthenticationHandler() {
+        return authenticator != null && authenticator.getClass() != AllowAllAuthenticator.class;
+    }
+
     private AbstractAuthenticationHandler instantiateAuthenticationHandler(final Settings settings) {
         final String authHandlerClass = settings.authentication.authenticationHandler;
         if (authHandlerClass == null) {
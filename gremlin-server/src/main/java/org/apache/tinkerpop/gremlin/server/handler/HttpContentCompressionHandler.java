@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.server.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
@@ -27,63 +28,223 @@ import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.AttributeKey;
 import io.netty.util.ReferenceCountUtil;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.zip.Deflater;
 
 /**
- * Handles compression of content when the response contains the "Content-Encoding" header. Currently supports "deflate".
- * This class is specifically meant to work with serialized GraphBinary chunks as they need to be deflated per chunk such
- * that the chunk ends with a compressed Marker.END_OF_STREAM.
+ * Handles compression of content when the response contains the "Content-Encoding" header. Currently supports
+ * "deflate" and "lz4". This class is specifically meant to work with serialized GraphBinary chunks as they need to be
+ * compressed per chunk such that the chunk ends with a compressed Marker.END_OF_STREAM.
+ * <p/>
+ * With "lz4" each chunk is written as one or more blocks, each of which starts with the length of the uncompressed
+ * data and the length of the compressed data that follows as 4-byte integers. A block whose two lengths are equal
+ * holds data that did not compress and is stored as it is.
  */
 @ChannelHandler.Sharable
 public class HttpContentCompressionHandler extends ChannelOutboundHandlerAdapter {
-    private static final AttributeKey<Deflater> DEFLATER = AttributeKey.valueOf("deflater");
+    public static final String LZ4 = "lz4";
+
+    private static final AttributeKey<ChunkCompressor> COMPRESSOR = AttributeKey.valueOf("compressor");
     private static final int MIN_BUFFER_SIZE = 16; // Don't want a buffer too small as it could cause lots of resizing.
+    private static final int LZ4_BLOCK_HEADER_SIZE = 8;
+
+    private final int deflateLevel;
+    private final LZ4Compressor lz4Compressor;
+
+    public HttpContentCompressionHandler() {
+        this(Deflater.DEFAULT_COMPRESSION, 0);
+    }
+
+    /**
+     * Creates the handler with the compression level for "deflate", from 0 to 9 or -1 for the default, and the level
+     * for "lz4" where 0 selects the fast compressor and 1 to 17 select the high compression one at that level.
+     */
+    public HttpContentCompressionHandler(final int deflateLevel, final int lz4Level) {
+        if (deflateLevel < -1 || deflateLevel > 9)
+            throw new IllegalArgumentException("deflate compression level must be between -1 and 9");
+        if (lz4Level < 0 || lz4Level > 17)
+            throw new IllegalArgumentException("lz4 compression level must be between 0 and 17");
+
+        this.deflateLevel = deflateLevel;
+        this.lz4Compressor = lz4Level == 0 ?
+                LZ4Factory.fastestInstance().fastCompressor() : LZ4Factory.fastestInstance().highCompressor(lz4Level);
+    }
+
+    /**
+     * Chooses the encoding from the "Accept-Encoding" headers of a request that this handler supports and that the
+     * client prefers, by its q-value, or {@code null} if there is none. Of encodings with the same q-value the first
+     * listed is chosen and those with a q-value of zero, or one that cannot be parsed, are never chosen.
+     */
+    public static String negotiateEncoding(final List<String> acceptEncodings) {
+        String chosen = null;
+        double chosenQuality = 0;
+        for (String header : acceptEncodings) {
+            for (String value : header.split(",")) {
+                final String[] parts = value.split(";");
+                final String encoding = supportedEncoding(parts[0].trim());
+                if (null == encoding) continue;
+
+                final double quality = parseQuality(parts);
+                if (quality > chosenQuality) {
+                    chosen = encoding;
+                    chosenQuality = quality;
+                }
+            }
+        }
+
+        return chosen;
+    }
+
+    private static String supportedEncoding(final String encoding) {
+        if (HttpHeaderValues.DEFLATE.contentEqualsIgnoreCase(encoding)) return HttpHeaderValues.DEFLATE.toString();
+        if (LZ4.equalsIgnoreCase(encoding)) return LZ4;
+        return null;
+    }
+
+    /**
+     * Gets the q-value from the parameters of an "Accept-Encoding" entry, which defaults to 1 when there is none.
+     */
+    private static double parseQuality(final String[] parts) {
+        for (int ix = 1; ix < parts.length; ix++) {
+            final String parameter = parts[ix].trim();
+            if (parameter.length() > 1 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q') && parameter.charAt(1) == '=') {
+                try {
+                    final double quality = Double.parseDouble(parameter.substring(2).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException nfe) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         Object out = msg;
-        int writeIdx = 0;
-        int bytesWritten = 0;
 
-        if (msg instanceof HttpResponse && (((HttpResponse) msg).headers().contains(HttpHeaderNames.CONTENT_ENCODING))) {
-            ctx.attr(DEFLATER).set(new Deflater());
+        if (msg instanceof HttpResponse) {
+            final String encoding = ((HttpResponse) msg).headers().get(HttpHeaderNames.CONTENT_ENCODING);
+            if (encoding != null) ctx.attr(COMPRESSOR).set(createCompressor(encoding));
         }
 
         if (msg instanceof HttpContent) {
-            final ByteBuf chunk = ((HttpContent) msg).content();
-            final Deflater compressor = ctx.attr(DEFLATER).get();
+            final ChunkCompressor compressor = ctx.attr(COMPRESSOR).get();
             if (null == compressor) {
                 super.write(ctx, msg, promise);
                 return;
             }
 
-            compressor.setInput(ByteBufUtil.getBytes(chunk)); // need to copy bytes as it may be in a direct buffer.
-            if (msg instanceof LastHttpContent) { compressor.finish(); }
+            final boolean last = msg instanceof LastHttpContent;
+            try {
+                out = ((HttpContent) msg).replace(compressor.compress(ctx.alloc(), ((HttpContent) msg).content(), last));
+            } finally {
+                ReferenceCountUtil.release(msg);
+                if (last) ctx.attr(COMPRESSOR).getAndSet(null).end();
+            }
+        }
 
+        super.write(ctx, out, promise);
+    }
+
+    private ChunkCompressor createCompressor(final String encoding) {
+        if (HttpHeaderValues.DEFLATE.contentEqualsIgnoreCase(encoding))
+            return new DeflateChunkCompressor(new Deflater(deflateLevel));
+        else if (LZ4.equalsIgnoreCase(encoding))
+            return new Lz4ChunkCompressor(lz4Compressor);
+        else
+            return null;
+    }
+
+    /**
+     * Compresses the chunks of a single response.
+     */
+    private interface ChunkCompressor {
+        ByteBuf compress(final ByteBufAllocator allocator, final ByteBuf chunk, final boolean last);
+
+        void end();
+    }
+
+    private static class DeflateChunkCompressor implements ChunkCompressor {
+        private final Deflater deflater;
+
+        private DeflateChunkCompressor(final Deflater deflater) {
+            this.deflater = deflater;
+        }
+
+        @Override
+        public ByteBuf compress(final ByteBufAllocator allocator, final ByteBuf chunk, final boolean last) {
+            deflater.setInput(ByteBufUtil.getBytes(chunk)); // need to copy bytes as it may be in a direct buffer.
+            if (last) { deflater.finish(); }
+
+            int writeIdx = 0;
             final int compressedSizeEstimate = chunk.readableBytes() / 8;
             byte[] outBuf = new byte[Math.max(compressedSizeEstimate, MIN_BUFFER_SIZE)];
             // Need to SYNC_FLUSH to ensure that each chunk's data is completely compressed.
-            bytesWritten = compressor.deflate(outBuf, writeIdx, outBuf.length, Deflater.SYNC_FLUSH);
+            int bytesWritten = deflater.deflate(outBuf, writeIdx, outBuf.length, Deflater.SYNC_FLUSH);
 
             while (bytesWritten == (outBuf.length - writeIdx)) {
                 writeIdx += bytesWritten;
                 outBuf = Arrays.copyOf(outBuf, outBuf.length * 2);
-                bytesWritten = compressor.deflate(outBuf, writeIdx, outBuf.length - writeIdx, Deflater.SYNC_FLUSH);
+                bytesWritten = deflater.deflate(outBuf, writeIdx, outBuf.length - writeIdx, Deflater.SYNC_FLUSH);
             }
 
             writeIdx += bytesWritten;
-            out = ((HttpContent) msg).replace(Unpooled.wrappedBuffer(outBuf).writerIndex(writeIdx));
-            ReferenceCountUtil.release(msg);
+            return Unpooled.wrappedBuffer(outBuf).writerIndex(writeIdx);
+        }
 
-            if (out instanceof LastHttpContent) { ctx.attr(DEFLATER).getAndSet(null).end(); }
+        @Override
+        public void end() {
+            deflater.end();
         }
+    }
 
-        super.write(ctx, out, promise);
+    /**
+     * Compresses each chunk into a single LZ4 block. The compressor holds no state between blocks so it is shared by
+     * all responses.
+     */
+    private static class Lz4ChunkCompressor implements ChunkCompressor {
+        private final LZ4Compressor compressor;
+
+        private Lz4ChunkCompressor(final LZ4Compressor compressor) {
+            this.compressor = compressor;
+        }
+
+        @Override
+        public ByteBuf compress(final ByteBufAllocator allocator, final ByteBuf chunk, final boolean last) {
+            final int length = chunk.readableBytes();
+            if (length == 0) return Unpooled.EMPTY_BUFFER;
+
+            final int maxCompressedLength = compressor.maxCompressedLength(length);
+            final ByteBuf out = allocator.buffer(LZ4_BLOCK_HEADER_SIZE + maxCompressedLength);
+            try {
+                int compressedLength = compressor.compress(chunk.nioBuffer(), 0, length,
+                        out.nioBuffer(LZ4_BLOCK_HEADER_SIZE, maxCompressedLength), 0, maxCompressedLength);
+                if (compressedLength >= length) {
+                    out.setBytes(LZ4_BLOCK_HEADER_SIZE, chunk, chunk.readerIndex(), length);
+                    compressedLength = length;
+                }
+
+                out.writeInt(length).writeInt(compressedLength).writerIndex(LZ4_BLOCK_HEADER_SIZE + compressedLength);
+                return out;
+            } catch (RuntimeException ex) {
+                out.release();
+                throw ex;
+            }
+        }
+
+        @Override
+        public void end() {
+            // nothing to release
+        }
     }
 }
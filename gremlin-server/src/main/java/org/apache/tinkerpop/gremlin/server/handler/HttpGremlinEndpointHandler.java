@@ -51,6 +51,7 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.ProcessingException;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.server.util.AdmissionController;
 import org.apache.tinkerpop.gremlin.server.util.GremlinError;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
@@ -85,12 +86,17 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import static com.codahale.metrics.MetricRegistry.name;
@@ -98,7 +104,6 @@ import static io.netty.handler.codec.http.HttpHeaderNames.ACCEPT_ENCODING;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_ENCODING;
 import static io.netty.handler.codec.http.HttpHeaderNames.TRANSFER_ENCODING;
 import static io.netty.handler.codec.http.HttpHeaderValues.CHUNKED;
-import static io.netty.handler.codec.http.HttpHeaderValues.DEFLATE;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
@@ -123,15 +128,27 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
     private static final Timer evalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "eval"));
 
     /**
-     * Length of time to pause writes in milliseconds when the high watermark is exceeded.
+     * Length of time to pause writes in milliseconds when the high watermark is exceeded. Writing resumes sooner if
+     * the channel signals that it is writable again.
      */
     public static final long WRITE_PAUSE_TIME_MS = 10;
 
+    /**
+     * Upper bound on the capacity preallocated for a batch of results as the limit for a batch may be large when it
+     * is sized by bytes.
+     */
+    private static final int MAX_INITIAL_AGGREGATE_CAPACITY = 1024;
+
     /**
      * Tracks the rate of pause to writes when the high watermark is exceeded.
      */
     public static final Meter writePausesMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "channels", "write-pauses"));
 
+    /**
+     * Tracks the rate of evaluations cancelled because the client disconnected before the response was complete.
+     */
+    public static final Meter cancelledMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "channels", "cancelled"));
+
     protected static final Set<String> INVALID_BINDINGS_KEYS = new HashSet<>();
 
     static {
@@ -167,6 +184,7 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
     private final GremlinExecutor gremlinExecutor;
     private final GraphManager graphManager;
     private final Settings settings;
+    private final AdmissionController admissionController;
 
     public HttpGremlinEndpointHandler(final GremlinExecutor gremlinExecutor,
                                       final GraphManager graphManager,
@@ -174,6 +192,7 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         this.gremlinExecutor = gremlinExecutor;
         this.graphManager = graphManager;
         this.settings = settings;
+        this.admissionController = new AdmissionController(settings.admission);
     }
 
     @Override
@@ -184,16 +203,35 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         final Context requestCtx = new Context(requestMessage, ctx, settings, graphManager, gremlinExecutor,
                 gremlinExecutor.getScheduledExecutorService(), NOT_STARTED);
 
+        // requests turned away are rejected before the timer starts so they are not counted as evaluations
+        final String traversalSource = getAdmittedTraversalSource(requestMessage);
+        if (null != traversalSource && !admissionController.tryAcquire(traversalSource)) {
+            writeError(requestCtx, GremlinError.traversalSourceOverloaded(traversalSource,
+                    settings.admission.maxConcurrentPerTraversalSource), serializer.getValue1());
+            return;
+        }
+
         final Timer.Context timerContext = evalOpTimer.time();
         // timeout override - handle both deprecated and newly named configuration. earlier logic should prevent
         // both configurations from being submitted at the same time
         final Long timeoutMs = requestMessage.getField(Tokens.TIMEOUT_MS);
         final long seto = (null != timeoutMs) ? timeoutMs : requestCtx.getSettings().getEvaluationTimeout();
 
-        final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
+        // the admission is released by whichever of the task or its cancellation before it ever ran gets here first
+        final AtomicBoolean claimed = new AtomicBoolean(false);
+        final long queuedAt = System.nanoTime();
+        final FutureTask<Void> evalFuture = new FutureTask<Void>(() -> {
+            if (!claimed.compareAndSet(false, true)) return null;
             requestCtx.setStartedResponse();
 
             try {
+                // requests that waited in the queue for too long are likely to have been given up on already
+                final long queueDelay = System.nanoTime() - queuedAt;
+                if (!admissionController.shouldProcess(queueDelay)) {
+                    writeError(requestCtx, GremlinError.shed(TimeUnit.NANOSECONDS.toMillis(queueDelay)), serializer.getValue1());
+                    return null;
+                }
+
                 logger.debug("Processing request containing script [{}] and bindings of [{}] on {}",
                         requestMessage.getFieldOrDefault(Tokens.ARGS_GREMLIN, ""),
                         requestMessage.getFieldOrDefault(Tokens.ARGS_BINDINGS, Collections.emptyMap()),
@@ -212,8 +250,10 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                 // Send back the 200 OK response header here since the response is always chunk transfer encoded. Any
                 // failures that follow this will show up in the response body instead.
                 final HttpResponse responseHeader = new DefaultHttpResponse(HTTP_1_1, OK);
-                if (acceptsDeflateEncoding(ctx.attr(StateKey.REQUEST_HEADERS).get().getAll(ACCEPT_ENCODING))) {
-                    responseHeader.headers().add(CONTENT_ENCODING, DEFLATE);
+                final String encoding = HttpContentCompressionHandler.negotiateEncoding(
+                        ctx.attr(StateKey.REQUEST_HEADERS).get().getAll(ACCEPT_ENCODING));
+                if (encoding != null) {
+                    responseHeader.headers().add(CONTENT_ENCODING, encoding);
                 }
                 responseHeader.headers().set(TRANSFER_ENCODING, CHUNKED);
                 responseHeader.headers().set(HttpHeaderNames.CONTENT_TYPE, serializer.getValue0());
@@ -233,27 +273,55 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                 final ScheduledFuture<?> timeoutFuture = requestCtx.getTimeoutExecutor();
                 if (null != timeoutFuture)
                     timeoutFuture.cancel(true);
+
+                // a cancelled task may still be running so the admission is only released once it really is done
+                if (null != traversalSource) admissionController.release(traversalSource);
             }
 
             return null;
-        });
+        }) {
+            @Override
+            protected void done() {
+                // called whether the request completed or was cancelled, possibly before it ever ran
+                if (null != traversalSource && claimed.compareAndSet(false, true))
+                    admissionController.release(traversalSource);
+                ctx.channel().attr(StateKey.EVALUATION).compareAndSet(this, null);
+            }
+        };
+
+        // the client may disconnect at any point from here on in which case the evaluation is cancelled. if it is
+        // already gone, channelInactive() will have been missed so the cancellation happens here instead
+        ctx.channel().attr(StateKey.EVALUATION).set(evalFuture);
+        if (!ctx.channel().isActive()) cancelEvaluation(ctx.channel());
 
         try {
-            final Future<?> executionFuture = requestCtx.getGremlinExecutor().getExecutorService().submit(evalFuture);
+            // the task is executed as it is rather than wrapped by submit() so that cancelling it before it runs still
+            // completes it and releases its admission
+            requestCtx.getGremlinExecutor().getExecutorService().execute(evalFuture);
             if (seto > 0) {
                 // Schedule a timeout in the thread pool for future execution
                 requestCtx.setTimeoutExecutor(requestCtx.getScheduledExecutorService().schedule(() -> {
-                    executionFuture.cancel(true);
+                    evalFuture.cancel(true);
                     if (!requestCtx.getStartedResponse()) {
                         writeError(requestCtx, GremlinError.timeout(requestMessage), serializer.getValue1());
                     }
                 }, seto, TimeUnit.MILLISECONDS));
             }
         } catch (RejectedExecutionException ree) {
+            evalFuture.cancel(false);
             writeError(requestCtx, GremlinError.rateLimiting(), serializer.getValue1());
         }
     }
 
+    /**
+     * Gets the traversal source that a request counts against for admission, which is {@code null} for requests that
+     * do not name a traversal source known to the server as those are rejected later anyway.
+     */
+    private String getAdmittedTraversalSource(final RequestMessage requestMessage) {
+        final String g = requestMessage.getFieldOrDefault(Tokens.ARGS_G, Tokens.ARGS_G);
+        return graphManager.getTraversalSourceNames().contains(g) ? g : null;
+    }
+
     private GremlinError formErrorResponseMessage(Throwable t, RequestMessage requestMessage) {
         if (t instanceof UndeclaredThrowableException) t = t.getCause();
 
@@ -339,12 +407,56 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                         Objects.equals(bulkingSetting, "true")) :
                 false;
 
-        if (bulking) {
-            // optimization for driver requests
-            ((Traversal.Admin<?, ?>) result).applyStrategies();
-            handleIterator(context, new TraverserIterator((Traversal.Admin<?, ?>) result), serializer, true);
-        } else {
-            handleIterator(context, IteratorUtils.asIterator(result), serializer, false);
+        try {
+            if (bulking) {
+                // optimization for driver requests
+                if (!((Traversal.Admin<?, ?>) result).isLocked())
+                    ((Traversal.Admin<?, ?>) result).applyStrategies();
+                handleIterator(context, new TraverserIterator((Traversal.Admin<?, ?>) result), serializer, true);
+            } else {
+                handleIterator(context, IteratorUtils.asIterator(result), serializer, false);
+            }
+        } finally {
+            // release whatever the traversal holds now rather than on garbage collection, which matters most when
+            // iteration was stopped early because the evaluation was cancelled or timed out
+            if (result instanceof Traversal) {
+                try {
+                    ((Traversal<?, ?>) result).close();
+                } catch (Exception ex) {
+                    logger.warn(String.format("Could not close traversal for request [%s]", message), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wakes a request paused in {@link #handleIterator} once the channel has drained below the low watermark.
+     */
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) signalWritable(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
+    /**
+     * Wakes a request paused in {@link #handleIterator} so that it can stop iterating for a client that is gone.
+     */
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        cancelEvaluation(ctx.channel());
+        signalWritable(ctx.channel());
+        super.channelInactive(ctx);
+    }
+
+    /**
+     * Interrupts the evaluation in progress on a channel, if there is one, as there is no longer a client to send
+     * the results to. An evaluation that has yet to start will never run.
+     */
+    private static void cancelEvaluation(final Channel channel) {
+        final Future<?> evaluation = channel.attr(StateKey.EVALUATION).getAndSet(null);
+        if (evaluation != null && evaluation.cancel(true)) {
+            cancelledMeter.mark();
+            logger.debug("Cancelled evaluation of request {} as channel {} was closed", channel.attr(StateKey.REQUEST_ID).get(), channel.id());
         }
     }
 
@@ -421,120 +533,230 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         }
 
         // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalField(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        final ResultBatchSizer batchSizer = ResultBatchSizer.create(settings, (Integer) msg.optionalField(Tokens.ARGS_BATCH_SIZE).orElse(null));
+        List<Object> aggregate = new ArrayList<>(Math.min(batchSizer.getLimit(), MAX_INITIAL_AGGREGATE_CAPACITY));
+
+        // when pipelining, the chunk that is being serialized on the event loop while the next batch is gathered
+        final boolean pipelined = settings.pipelineResultSerialization;
+        CompletableFuture<Integer> pendingChunk = null;
+        int pendingItems = 0;
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
         boolean hasMore = itty.hasNext();
 
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            //
-            // there is a need to check hasNext() on the iterator because if the channel is not writeable the
-            // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
-            // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
-            // require a forced flush which can be forced by sub-classes.
-            //
-            // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
-            // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
-            // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext()) {
-                if (bulking) {
-                    Traverser traverser = (Traverser) itty.next();
-                    aggregate.add(traverser.get());
-                    aggregate.add(traverser.bulk());
-                } else {
-                    aggregate.add(itty.next());
+        try {
+            while (hasMore) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                // have to check the aggregate size because it is possible that the channel is not writeable (below)
+                // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
+                // the expected resultIterationBatchSize.  Total serialization time for the response remains in
+                // effect so if the client is "slow" it may simply timeout.
+                //
+                // there is a need to check hasNext() on the iterator because if the channel is not writeable the
+                // previous pass through the while loop will have next()'d the iterator and if it is "done" then a
+                // NoSuchElementException will raise its head. also need a check to ensure that this iteration doesn't
+                // require a forced flush which can be forced by sub-classes.
+                //
+                // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
+                // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
+                // while waiting for the client to catch up
+                if (batchSizer.hasCapacity(aggregate.size()) && itty.hasNext()) {
+                    if (bulking) {
+                        Traverser traverser = (Traverser) itty.next();
+                        aggregate.add(traverser.get());
+                        aggregate.add(traverser.bulk());
+                    } else {
+                        aggregate.add(itty.next());
+                    }
                 }
-            }
-
-            // Don't keep executor busy if client has already given up; there is no way to catch up if the channel is
-            // not active, and hence we should break the loop.
-            if (!nettyContext.channel().isActive()) {
-                break;
-            }
 
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            //
-            // clients might decide to close the Netty channel to the server with a CloseWebsocketFrame after errors
-            // like CorruptedFrameException. On the server, although the channel gets closed, there might be some
-            // executor threads waiting for watermark to clear which will not clear in these cases since client has
-            // already given up on these requests. This leads to these executors waiting for the client to consume
-            // results till the timeout. checking for isActive() should help prevent that.
-            if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
-                if (aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    ByteBuf chunk = null;
-                    try {
-                        chunk = makeChunk(context, serializer, aggregate, itty.hasNext(), bulking);
-                    } catch (Exception ex) {
-                        // Bytebuf is a countable release - if it does not get written downstream
-                        // it needs to be released here
-                        if (chunk != null) chunk.release();
-
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        break;
-                    }
+                // Don't keep executor busy if client has already given up; there is no way to catch up if the channel is
+                // not active, and hence we should break the loop.
+                if (!nettyContext.channel().isActive()) {
+                    break;
+                }
 
-                    // track whether there is anything left in the iterator because it needs to be accessed after
-                    // the transaction could be closed - in that case a call to hasNext() could open a new transaction
-                    // unintentionally
-                    hasMore = itty.hasNext();
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                // also check writeability of the channel to prevent OOME for slow clients.
+                //
+                // clients might decide to close the Netty channel to the server with a CloseWebsocketFrame after errors
+                // like CorruptedFrameException. On the server, although the channel gets closed, there might be some
+                // executor threads waiting for watermark to clear which will not clear in these cases since client has
+                // already given up on these requests. This leads to these executors waiting for the client to consume
+                // results till the timeout. checking for isActive() should help prevent that.
+                if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
+                    if (pipelined && (batchSizer.isReady(aggregate.size()) || !itty.hasNext())) {
+                        hasMore = itty.hasNext();
+
+                        // the previous chunk has to be written before this one is handed over, which keeps the chunks in
+                        // order and leaves at most one waiting on the event loop. the batch sizer learns of each chunk
+                        // once it is serialized, so a batch later than it otherwise would
+                        if (pendingChunk != null) {
+                            final Integer bytes = awaitChunk(pendingChunk);
+                            if (null == bytes) break;
+                            batchSizer.written(pendingItems, bytes);
+                        }
 
-                    try {
-                        // only need to reset the aggregation list if there's more stuff to write
+                        context.handleDetachmentForHandoff(aggregate);
+                        pendingChunk = submitChunk(context, serializer, aggregate, hasMore, bulking);
+                        pendingItems = aggregate.size();
                         if (hasMore) {
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
+                            aggregate = new ArrayList<>(Math.min(batchSizer.getLimit(), MAX_INITIAL_AGGREGATE_CAPACITY));
+                        }
+                    } else if (batchSizer.isReady(aggregate.size()) || !itty.hasNext()) {
+                        ByteBuf chunk = null;
+                        try {
+                            chunk = makeChunk(context, serializer, aggregate, itty.hasNext(), bulking);
+                        } catch (Exception ex) {
+                            // Bytebuf is a countable release - if it does not get written downstream
+                            // it needs to be released here
+                            if (chunk != null) chunk.release();
+
+                            // exception is handled in makeFrame() - serialization error gets written back to driver
+                            // at that point
+                            break;
+                        }
+
+                        // track whether there is anything left in the iterator because it needs to be accessed after
+                        // the transaction could be closed - in that case a call to hasNext() could open a new transaction
+                        // unintentionally
+                        hasMore = itty.hasNext();
+                        batchSizer.written(aggregate.size(), chunk.readableBytes());
+
+                        try {
+                            // only need to reset the aggregation list if there's more stuff to write
+                            if (hasMore) {
+                                aggregate = new ArrayList<>(Math.min(batchSizer.getLimit(), MAX_INITIAL_AGGREGATE_CAPACITY));
+                            }
+                        } catch (Exception ex) {
+                            // Bytebuf is a countable release - if it does not get written downstream
+                            // it needs to be released here
+                            if (chunk != null) chunk.release();
+                            throw ex;
                         }
-                    } catch (Exception ex) {
-                        // Bytebuf is a countable release - if it does not get written downstream
-                        // it needs to be released here
-                        if (chunk != null) chunk.release();
-                        throw ex;
-                    }
 
-                    nettyContext.writeAndFlush(new DefaultHttpContent(chunk));
+                        nettyContext.writeAndFlush(new DefaultHttpContent(chunk));
 
-                    if (!hasMore) {
-                        sendTrailingHeaders(nettyContext, HttpResponseStatus.OK, "");
+                        if (!hasMore) {
+                            sendTrailingHeaders(nettyContext, HttpResponseStatus.OK, "");
+                        }
+                    }
+                } else {
+                    final long currentTime = System.currentTimeMillis();
+
+                    // exponential delay between warnings. don't keep triggering this warning over and over again for the
+                    // same request. totalPendingWriteBytes is volatile so it is possible that by the time this warning
+                    // hits the log the low watermark may have been hit
+                    long interval = (long) Math.pow(2, warnCounter) * 1000;
+                    if (currentTime - lastWarningTime >= interval) {
+                        final Channel ch = context.getChannelHandlerContext().channel();
+                        logger.warn("Warning {}: Outbound buffer size={}, pausing response writing as writeBufferHighWaterMark exceeded on request {} for channel {} - writing will continue once client has caught up",
+                                warnCounter,
+                                ch.unsafe().outboundBuffer().totalPendingWriteBytes(),
+                                ch.attr(StateKey.REQUEST_ID),
+                                ch.id());
+
+                        lastWarningTime = currentTime;
+                        warnCounter++;
                     }
+
+                    // since the client is lagging we hold here until the channel signals that the client has caught up.
+                    // this isn't blocking the IO thread - just a worker.
+                    awaitWritable(nettyContext.channel());
+                    writePausesMeter.mark();
                 }
-            } else {
-                final long currentTime = System.currentTimeMillis();
-
-                // exponential delay between warnings. don't keep triggering this warning over and over again for the
-                // same request. totalPendingWriteBytes is volatile so it is possible that by the time this warning
-                // hits the log the low watermark may have been hit
-                long interval = (long) Math.pow(2, warnCounter) * 1000;
-                if (currentTime - lastWarningTime >= interval) {
-                    final Channel ch = context.getChannelHandlerContext().channel();
-                    logger.warn("Warning {}: Outbound buffer size={}, pausing response writing as writeBufferHighWaterMark exceeded on request {} for channel {} - writing will continue once client has caught up",
-                            warnCounter,
-                            ch.unsafe().outboundBuffer().totalPendingWriteBytes(),
-                            ch.attr(StateKey.REQUEST_ID),
-                            ch.id());
-
-                    lastWarningTime = currentTime;
-                    warnCounter++;
+            }
+        } finally {
+            // nothing else may be written for the request until the last chunk handed over is, which is not
+            // interrupted as that would leave the response in an unknown state
+            if (pendingChunk != null) {
+                try {
+                    pendingChunk.join();
+                } catch (CompletionException ignored) {
+                    // the error was already written back to the client by makeChunk()
                 }
+            }
+        }
+    }
+
+    /**
+     * Serializes and writes a chunk on the event loop of the channel as part of pipelined result serialization,
+     * completing with the size of the chunk. The trailing headers follow the last chunk.
+     */
+    private static CompletableFuture<Integer> submitChunk(final Context context, final MessageSerializer<?> serializer,
+                                                          final List<Object> aggregate, final boolean hasMore,
+                                                          final boolean bulking) {
+        final ChannelHandlerContext nettyContext = context.getChannelHandlerContext();
+        return CompletableFuture.supplyAsync(() -> {
+            final ByteBuf chunk;
+            try {
+                chunk = makeChunk(context, serializer, aggregate, hasMore, bulking);
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(WRITE_PAUSE_TIME_MS);
-                writePausesMeter.mark();
+            final int bytes = chunk.readableBytes();
+            nettyContext.writeAndFlush(new DefaultHttpContent(chunk));
+            if (!hasMore) {
+                sendTrailingHeaders(nettyContext, HttpResponseStatus.OK, "");
             }
+            return bytes;
+        }, nettyContext.executor());
+    }
+
+    /**
+     * Waits for a chunk handed over by {@link #submitChunk} to be written, returning its size or {@code null} if it
+     * could not be serialized, in which case the error was already written back to the client.
+     */
+    private static Integer awaitChunk(final CompletableFuture<Integer> chunk) throws InterruptedException {
+        try {
+            return chunk.get();
+        } catch (ExecutionException ee) {
+            return null;
+        }
+    }
+
+    /**
+     * Parks the calling thread until the channel becomes writable or inactive, as signalled by
+     * {@link #channelWritabilityChanged} and {@link #channelInactive}, waiting at most {@link #WRITE_PAUSE_TIME_MS}.
+     * Each request waiting on the channel, as there may be several when they are pipelined, has its own signal.
+     */
+    private static void awaitWritable(final Channel channel) throws InterruptedException {
+        final CompletableFuture<Void> signal = new CompletableFuture<>();
+        final Set<CompletableFuture<Void>> waiters = getWritabilityWaiters(channel);
+        waiters.add(signal);
+        try {
+            // writability may have changed before the signal was published in which case no event will arrive for it
+            if (channel.isWritable() || !channel.isActive()) return;
+
+            signal.get(WRITE_PAUSE_TIME_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException te) {
+            // loop around and check the channel again
+        } catch (ExecutionException ee) {
+            // the signal is only ever completed normally
+            throw new IllegalStateException(ee);
+        } finally {
+            waiters.remove(signal);
         }
     }
 
+    private static void signalWritable(final Channel channel) {
+        final Set<CompletableFuture<Void>> waiters = channel.attr(StateKey.WRITABILITY_WAITERS).get();
+        if (waiters != null) waiters.forEach(signal -> signal.complete(null));
+    }
+
+    private static Set<CompletableFuture<Void>> getWritabilityWaiters(final Channel channel) {
+        final Set<CompletableFuture<Void>> waiters = channel.attr(StateKey.WRITABILITY_WAITERS).get();
+        if (waiters != null) return waiters;
+
+        final Set<CompletableFuture<Void>> created = ConcurrentHashMap.newKeySet();
+        final Set<CompletableFuture<Void>> existing = channel.attr(StateKey.WRITABILITY_WAITERS).setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
     /**
      * Check if any exception in the chain is {@link TemporaryException} or {@link Failure} then respond with the
      * right error code so that the client knows to retry.
@@ -544,16 +766,6 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                 filter(i -> i instanceof TemporaryException || i instanceof Failure).findFirst();
     }
 
-    private boolean acceptsDeflateEncoding(List<String> encodings) {
-        for (String encoding : encodings) {
-            if (encoding.contains(DEFLATE.toString())) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     private static ByteBuf makeChunk(final Context ctx, final MessageSerializer<?> serializer,
                                      final List<Object> aggregate, final boolean hasMore,
                                      final boolean bulking) throws Exception {
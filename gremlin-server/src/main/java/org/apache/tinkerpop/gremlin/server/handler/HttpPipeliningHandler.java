@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Supports HTTP/1.1 pipelining by holding back requests that arrive while the response to an earlier request on the
+ * same connection is still being written. Requests are released one at a time as each response completes so that
+ * the handlers that follow only ever see one request at a time and responses go out in the order the requests came
+ * in. Reading from the connection is paused while requests are held back.
+ * <p/>
+ * This handler holds state for the connection so a new instance is needed for each channel.
+ */
+public class HttpPipeliningHandler extends ChannelDuplexHandler {
+    private final Queue<Object> held = new ArrayDeque<>();
+    private boolean inProgress = false;
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        // anything that follows a held request has to wait its turn as well
+        if (!held.isEmpty() || (msg instanceof HttpRequest && inProgress)) {
+            held.add(msg);
+            ctx.channel().config().setAutoRead(false);
+            return;
+        }
+
+        if (msg instanceof HttpRequest) inProgress = true;
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        // informational responses like "100 Continue" come before the actual response
+        final boolean complete = msg instanceof LastHttpContent &&
+                !(msg instanceof HttpResponse && ((HttpResponse) msg).status().codeClass() == HttpStatusClass.INFORMATIONAL);
+
+        ctx.write(msg, promise);
+
+        if (complete) {
+            inProgress = false;
+            if (!held.isEmpty()) ctx.channel().eventLoop().execute(() -> release(ctx));
+        }
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        discard();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+        discard();
+    }
+
+    private void release(final ChannelHandlerContext ctx) {
+        while (!held.isEmpty() && !ctx.isRemoved()) {
+            final Object next = held.peek();
+            if (next instanceof HttpRequest) {
+                if (inProgress) return;
+                inProgress = true;
+            }
+
+            held.poll();
+            ctx.fireChannelRead(next);
+        }
+
+        if (held.isEmpty()) ctx.channel().config().setAutoRead(true);
+    }
+
+    private void discard() {
+        Object msg;
+        while ((msg = held.poll()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+}
@@ -47,7 +47,8 @@ public class HttpRequestIdHandler extends ChannelDuplexHandler {
         if (msg instanceof HttpRequest) {
             final Boolean currentlyInUse = ctx.channel().attr(IN_USE).get();
             if (currentlyInUse != null && currentlyInUse == true) {
-                // Pipelining not supported so just ignore the request if another request already being handled.
+                // Pipelined requests are held back by the HttpPipeliningHandler so just ignore the request if another
+                // request is somehow already being handled.
                 ReferenceCountUtil.release(msg);
                 return;
             }
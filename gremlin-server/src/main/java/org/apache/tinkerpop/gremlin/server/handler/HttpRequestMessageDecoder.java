@@ -26,6 +26,8 @@ import org.apache.tinkerpop.gremlin.server.util.TextPlainMessageSerializer;
 import org.apache.tinkerpop.gremlin.util.MessageSerializer;
 import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.ser.ArrowMessageSerializerV4;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV4;
 import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -104,10 +106,28 @@ public class HttpRequestMessageDecoder extends MessageToMessageDecoder<FullHttpR
         }
 
         // checked in getRequestMessageFromHttpRequest
-        ctx.channel().attr(StateKey.SERIALIZER).set(Pair.with(serializer.getValue0(), serializer.getValue1()));
+        ctx.channel().attr(StateKey.SERIALIZER).set(Pair.with(serializer.getValue0(), chooseResponseSerializer(serializer.getValue1(), req)));
         objects.add(requestMessage);
     }
 
+    /**
+     * Gets the serializer to write the response with. For GraphBinary, that is a serializer for just this response
+     * that writes repeated strings as references, lists of primitive numbers packed, maps as columns and integers with
+     * variable length if the client asked for that. For Arrow, it is always a serializer for just this response as
+     * the chunks after the first follow the schema it sets.
+     */
+    private static MessageSerializer<?> chooseResponseSerializer(final MessageSerializer<?> serializer, final FullHttpRequest req) {
+        if (serializer instanceof ArrowMessageSerializerV4) return ((ArrowMessageSerializerV4) serializer).forResponse();
+        if (!(serializer instanceof GraphBinaryMessageSerializerV4)) return serializer;
+
+        final boolean stringReferences = Boolean.parseBoolean(req.headers().get(Tokens.STRING_REFERENCES));
+        final boolean packedLists = Boolean.parseBoolean(req.headers().get(Tokens.PACKED_LISTS));
+        final boolean columnarMaps = Boolean.parseBoolean(req.headers().get(Tokens.COLUMNAR_MAPS));
+        final boolean varInts = Boolean.parseBoolean(req.headers().get(Tokens.VAR_INTS));
+        if (!stringReferences && !packedLists && !columnarMaps && !varInts) return serializer;
+        return ((GraphBinaryMessageSerializerV4) serializer).forResponse(stringReferences, packedLists, columnarMaps, varInts);
+    }
+
     private Pair<String, MessageSerializer<?>> chooseSerializer(final String mimeType) {
         final List<Pair<String, Double>> ordered = Stream.of(mimeType.split(",")).map(mediaType -> {
             // parse out each mediaType with its params - keeping it simple and just looking for "quality".  if
@@ -153,6 +173,10 @@ public class HttpRequestMessageDecoder extends MessageToMessageDecoder<FullHttpR
      */
     public RequestMessage getRequestMessageFromHttpRequest(final FullHttpRequest request,
                                                            Map<String, MessageSerializer<?>> serializers) throws SerializationException {
+        // the body was already deserialized as it arrived
+        if (request instanceof HttpStreamingRequestDecoder.DecodedHttpRequest)
+            return ((HttpStreamingRequestDecoder.DecodedHttpRequest) request).getRequestMessage();
+
         final String contentType = request.headers().get(HttpHeaderNames.CONTENT_TYPE);
 
         if (contentType != null && !contentType.equals("application/json") && serializers.containsKey(contentType)) {
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.FullHttpMessage;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.tinkerpop.gremlin.util.MessageSerializer;
+import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV4;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.util.ser.binary.StreamingRequestMessageReader;
+
+import java.util.Map;
+
+import static io.netty.handler.codec.http.HttpMethod.POST;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE;
+import static org.apache.tinkerpop.gremlin.server.handler.HttpHandlerUtil.sendError;
+
+/**
+ * Deserializes GraphBinary request bodies as their content arrives so that large requests, like a bulk
+ * {@code mergeV()} with a big list of bindings, are not first aggregated into a single buffer. The
+ * {@link RequestMessage} is passed along inside a {@link DecodedHttpRequest} which has no content and which the
+ * {@link HttpObjectAggregator} that follows passes through untouched. All other requests are passed on as they are
+ * to be aggregated as usual.
+ * <p/>
+ * This handler holds state for the request in progress so a new instance is needed for each channel.
+ */
+public class HttpStreamingRequestDecoder extends ChannelInboundHandlerAdapter {
+    private enum State { IDLE, STREAMING, PASSTHROUGH, DISCARDING }
+
+    private final Map<String, MessageSerializer<?>> serializers;
+    private final long maxContentLength;
+
+    private State state = State.IDLE;
+    private HttpRequest request;
+    private GraphBinaryMessageSerializerV4 serializer;
+    private StreamingRequestMessageReader reader;
+    private long contentLength;
+
+    public HttpStreamingRequestDecoder(final Map<String, MessageSerializer<?>> serializers, final long maxContentLength) {
+        this.serializers = serializers;
+        this.maxContentLength = maxContentLength;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        if (msg instanceof HttpRequest) {
+            final HttpRequest req = (HttpRequest) msg;
+            if (!canStream(req)) {
+                state = msg instanceof LastHttpContent ? State.IDLE : State.PASSTHROUGH;
+                ctx.fireChannelRead(msg);
+                return;
+            }
+
+            request = req;
+            reader = serializer.createStreamingRequestReader(ctx.alloc());
+            contentLength = 0;
+            state = State.STREAMING;
+        } else if (msg instanceof HttpContent) {
+            final boolean last = msg instanceof LastHttpContent;
+            switch (state) {
+                case STREAMING:
+                    readContent(ctx, (HttpContent) msg, last);
+                    break;
+                case DISCARDING:
+                    ReferenceCountUtil.release(msg);
+                    if (last) state = State.IDLE;
+                    break;
+                default:
+                    if (last) state = State.IDLE;
+                    ctx.fireChannelRead(msg);
+            }
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        reset();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+        reset();
+    }
+
+    private boolean canStream(final HttpRequest req) {
+        // requests with a body already aggregated, failed decoding, or waiting on "100 Continue" are left to the
+        // aggregator which knows how to deal with them
+        if (req instanceof FullHttpMessage || req.method() != POST || !req.decoderResult().isSuccess() ||
+                HttpUtil.is100ContinueExpected(req) || HttpUtil.getContentLength(req, -1L) > maxContentLength)
+            return false;
+
+        final String contentType = req.headers().get(HttpHeaderNames.CONTENT_TYPE);
+        final MessageSerializer<?> s = null == contentType ? null : serializers.get(contentType);
+        if (!(s instanceof GraphBinaryMessageSerializerV4)) return false;
+
+        serializer = (GraphBinaryMessageSerializerV4) s;
+        return true;
+    }
+
+    private void readContent(final ChannelHandlerContext ctx, final HttpContent content, final boolean last) {
+        try {
+            contentLength += content.content().readableBytes();
+            if (contentLength > maxContentLength) {
+                fail(last);
+                sendError(ctx, REQUEST_ENTITY_TOO_LARGE, String.format("Request content exceeded the maximum of %s bytes", maxContentLength));
+                return;
+            }
+
+            if (!reader.offer(content.content(), last)) return;
+
+            // there may be trailing content which is ignored just as it would be for an aggregated request
+            final RequestMessage requestMessage = reader.getRequestMessage();
+            final HttpRequest req = request;
+            reset();
+            state = last ? State.IDLE : State.DISCARDING;
+            ctx.fireChannelRead(new DecodedHttpRequest(req, requestMessage));
+        } catch (SerializationException ex) {
+            fail(last);
+            sendError(ctx, BAD_REQUEST, "Unable to deserialize request using: " + serializer.getClass().getSimpleName());
+        } finally {
+            content.release();
+        }
+    }
+
+    private void fail(final boolean last) {
+        reset();
+        state = last ? State.IDLE : State.DISCARDING;
+    }
+
+    private void reset() {
+        if (reader != null) {
+            reader.release();
+            reader = null;
+        }
+        request = null;
+    }
+
+    /**
+     * A {@link FullHttpMessage} with no content that carries the {@link RequestMessage} deserialized from the body of
+     * the original request.
+     */
+    public static class DecodedHttpRequest extends DefaultFullHttpRequest {
+        private final RequestMessage requestMessage;
+
+        public DecodedHttpRequest(final HttpRequest request, final RequestMessage requestMessage) {
+            super(request.protocolVersion(), request.method(), request.uri(), Unpooled.EMPTY_BUFFER,
+                    request.headers(), EmptyHttpHeaders.INSTANCE);
+            this.requestMessage = requestMessage;
+        }
+
+        public RequestMessage getRequestMessage() {
+            return requestMessage;
+        }
+    }
+}
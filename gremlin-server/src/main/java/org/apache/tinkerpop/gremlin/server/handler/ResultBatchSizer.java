@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import org.apache.tinkerpop.gremlin.server.Settings;
+
+/**
+ * Determines when an aggregate of results is ready to be serialized and written as a chunk. By default a batch is
+ * complete once it holds a fixed number of items. When a byte target is given, the number of items per batch is
+ * instead adapted after each chunk from a moving average of the serialized size of the items that have been written so
+ * far so that chunks stay close to the target regardless of how large individual results are. A time budget may also
+ * be given to flush a batch that has been accumulating for too long and the first batch may be given its own size so
+ * that the client sees its first results quickly.
+ */
+public final class ResultBatchSizer {
+
+    /**
+     * Weight given to the most recent chunk when updating the average size of an item.
+     */
+    private static final double ALPHA = 0.5;
+
+    private final int batchSize;
+    private final long targetBytes;
+    private final long timeBudgetNanos;
+    private final int firstBatchSize;
+
+    private int limit;
+    private double bytesPerItem = -1;
+    private long batchStartNanos;
+    private boolean first = true;
+
+    /**
+     * @param batchSize the number of items per batch when no byte target is set and the size of the first batch
+     *                  when no first batch size is set
+     * @param targetBytes the serialized size to aim for in each chunk or {@code 0} to batch by item count
+     * @param timeBudgetMs the maximum time to accumulate a non-empty batch or {@code 0} for no limit
+     * @param firstBatchSize the number of items in the first batch or {@code 0} to use the {@code batchSize}
+     */
+    public ResultBatchSizer(final int batchSize, final long targetBytes, final long timeBudgetMs, final int firstBatchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        this.batchSize = batchSize;
+        this.targetBytes = Math.max(0, targetBytes);
+        this.timeBudgetNanos = Math.max(0, timeBudgetMs) * 1_000_000L;
+        this.firstBatchSize = Math.max(0, firstBatchSize);
+        this.limit = this.firstBatchSize > 0 ? this.firstBatchSize : batchSize;
+        this.batchStartNanos = this.timeBudgetNanos > 0 ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Creates a sizer from the {@link Settings}. A batch size given explicitly on the request is honored as a fixed
+     * item count, in which case the byte target does not apply.
+     */
+    public static ResultBatchSizer create(final Settings settings, final Integer requestBatchSize) {
+        if (requestBatchSize != null)
+            return new ResultBatchSizer(requestBatchSize, 0, settings.resultIterationBatchTimeMs, settings.resultIterationFirstBatchSize);
+
+        return new ResultBatchSizer(settings.resultIterationBatchSize, settings.resultIterationBatchBytes,
+                settings.resultIterationBatchTimeMs, settings.resultIterationFirstBatchSize);
+    }
+
+    /**
+     * Gets the number of items the current batch may hold.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Determines if another item may be added to a batch that currently holds {@code size} items.
+     */
+    public boolean hasCapacity(final int size) {
+        return size < limit;
+    }
+
+    /**
+     * Determines if a batch that currently holds {@code size} items should be written now.
+     */
+    public boolean isReady(final int size) {
+        if (size >= limit) return true;
+        return timeBudgetNanos > 0 && size > 0 && System.nanoTime() - batchStartNanos >= timeBudgetNanos;
+    }
+
+    /**
+     * Records the chunk that was written for a batch and computes the limit for the next batch.
+     */
+    public void written(final int items, final int bytes) {
+        if (timeBudgetNanos > 0) batchStartNanos = System.nanoTime();
+
+        if (targetBytes > 0 && items > 0) {
+            final double observed = (double) bytes / items;
+            bytesPerItem = bytesPerItem < 0 ? observed : ALPHA * observed + (1 - ALPHA) * bytesPerItem;
+            limit = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (long) (targetBytes / Math.max(1d, bytesPerItem))));
+        } else if (first) {
+            limit = batchSize;
+        }
+
+        first = false;
+    }
+}
@@ -24,7 +24,10 @@ import org.apache.tinkerpop.gremlin.util.MessageSerializer;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.javatuples.Pair;
 
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 /**
  * Keys used in the various handlers to store state in the pipeline.
@@ -59,4 +62,15 @@ public final class StateKey {
      * The key for the current {@link AuthenticatedUser}.
      */
     public static final AttributeKey<AuthenticatedUser> AUTHENTICATED_USER = AttributeKey.valueOf("authenticatedUser");
+
+    /**
+     * The key for the signals of the requests waiting for a channel that was not writable to become writable again
+     * or to be closed.
+     */
+    public static final AttributeKey<Set<CompletableFuture<Void>>> WRITABILITY_WAITERS = AttributeKey.valueOf("writabilityWaiters");
+
+    /**
+     * The key for the evaluation of the request currently in progress on a channel.
+     */
+    public static final AttributeKey<Future<?>> EVALUATION = AttributeKey.valueOf("evaluation");
 }
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Decides whether requests are processed when Gremlin Server is under more load than it can keep up with. Two checks
+ * are made for each request:
+ * <ul>
+ *     <li>When a request arrives, it is rejected if the traversal source it is for already has the maximum number of
+ *     requests in progress, so that a flood of requests against one source cannot take all of the server.</li>
+ *     <li>When a request is taken from the work queue, it is shed if it waited too long. Following CoDel, the queue is
+ *     considered to be overloaded when even the shortest wait over an interval exceeded the target delay. While
+ *     overloaded, requests that waited longer than the target are shed, otherwise they may wait up to the full
+ *     interval. This drops requests whose clients have likely given up, and does so early enough for the queue to
+ *     drain, while a short burst that the server can absorb is left alone.</li>
+ * </ul>
+ */
+public class AdmissionController {
+    private static final Timer queueDelayTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "admission", "queue-delay"));
+    private static final Meter shedMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "admission", "shed"));
+    private static final Meter rejectedMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "admission", "rejected"));
+
+    private final long targetQueueDelayNanos;
+    private final long intervalNanos;
+    private final int maxConcurrentPerTraversalSource;
+    private final Map<String, AtomicInteger> inProgress = new ConcurrentHashMap<>();
+
+    private long intervalStart = System.nanoTime();
+    private long minQueueDelay = Long.MAX_VALUE;
+    private volatile boolean overloaded = false;
+
+    public AdmissionController(final Settings.AdmissionSettings settings) {
+        this(settings.targetQueueDelay, settings.queueDelayInterval, settings.maxConcurrentPerTraversalSource);
+    }
+
+    /**
+     * Creates a controller that sheds requests waiting longer than {@code targetQueueDelay} milliseconds while
+     * overloaded, as judged over {@code interval} milliseconds, and that allows up to
+     * {@code maxConcurrentPerTraversalSource} requests in progress for each traversal source. Either check is
+     * disabled with a value of zero.
+     */
+    public AdmissionController(final long targetQueueDelay, final long interval, final int maxConcurrentPerTraversalSource) {
+        if (targetQueueDelay < 0)
+            throw new IllegalArgumentException("targetQueueDelay must be zero or greater");
+        if (interval < 1)
+            throw new IllegalArgumentException("interval must be greater than zero");
+        if (maxConcurrentPerTraversalSource < 0)
+            throw new IllegalArgumentException("maxConcurrentPerTraversalSource must be zero or greater");
+
+        this.targetQueueDelayNanos = TimeUnit.MILLISECONDS.toNanos(targetQueueDelay);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(interval);
+        this.maxConcurrentPerTraversalSource = maxConcurrentPerTraversalSource;
+
+        // the gauges of a controller this one replaces, as when the server restarts, would otherwise keep reporting
+        // its counts rather than these
+        final String inProgressPrefix = name(GremlinServer.class, "admission", "in-progress") + ".";
+        MetricManager.INSTANCE.getRegistry().removeMatching((s, metric) -> s.startsWith(inProgressPrefix));
+        registerGauge(() -> overloaded ? 1 : 0, name(GremlinServer.class, "admission", "overloaded"));
+    }
+
+    /**
+     * Admits a request for the traversal source if it has fewer than the maximum number of requests in progress. A
+     * request that is admitted must be followed by a call to {@link #release(String)} once it is complete.
+     */
+    public boolean tryAcquire(final String traversalSource) {
+        final AtomicInteger count = inProgress.computeIfAbsent(traversalSource, k -> {
+            final AtomicInteger c = new AtomicInteger();
+            registerGauge(c::get, name(GremlinServer.class, "admission", "in-progress", k));
+            return c;
+        });
+
+        if (count.incrementAndGet() > maxConcurrentPerTraversalSource && maxConcurrentPerTraversalSource > 0) {
+            count.decrementAndGet();
+            rejectedMeter.mark();
+            return false;
+        }
+
+        return true;
+    }
+
+    public void release(final String traversalSource) {
+        final AtomicInteger count = inProgress.get(traversalSource);
+        if (count != null) count.decrementAndGet();
+    }
+
+    /**
+     * Determines if a request that waited in the work queue for the given number of nanoseconds should still be
+     * processed.
+     */
+    public boolean shouldProcess(final long queueDelayNanos) {
+        queueDelayTimer.update(queueDelayNanos, TimeUnit.NANOSECONDS);
+        if (targetQueueDelayNanos == 0) return true;
+
+        final boolean process;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            if (now - intervalStart >= intervalNanos) {
+                // an interval without any requests means the queue was empty
+                overloaded = minQueueDelay != Long.MAX_VALUE && minQueueDelay > targetQueueDelayNanos
+                        && now - intervalStart < 2 * intervalNanos;
+                minQueueDelay = Long.MAX_VALUE;
+                intervalStart = now;
+            }
+
+            minQueueDelay = Math.min(minQueueDelay, queueDelayNanos);
+            process = queueDelayNanos <= (overloaded ? targetQueueDelayNanos : intervalNanos);
+        }
+
+        if (!process) shedMeter.mark();
+        return process;
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    public int getInProgress(final String traversalSource) {
+        final AtomicInteger count = inProgress.get(traversalSource);
+        return null == count ? 0 : count.get();
+    }
+
+    private static void registerGauge(final Gauge<Integer> gauge, final String name) {
+        MetricManager.INSTANCE.getRegistry().remove(name);
+        MetricManager.INSTANCE.getRegistry().register(name, gauge);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@code ExecutorService} that starts a new thread for every task and limits the number of tasks that may be in
+ * progress at once with a {@code Semaphore} rather than a work queue. A task submitted when no permit is available is
+ * rejected immediately with a {@code RejectedExecutionException}. It is intended to be used with a virtual thread
+ * {@code ThreadFactory} so that requests which block on slow clients or backends only occupy a cheap virtual thread
+ * while they wait rather than one of a small number of platform threads.
+ */
+public class AdmissionLimitedExecutorService extends AbstractExecutorService {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final ThreadFactory threadFactory;
+    private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+    private final Object terminationLock = new Object();
+    private volatile boolean shutdown = false;
+    private volatile boolean interrupted = false;
+
+    public AdmissionLimitedExecutorService(final int maxConcurrent, final ThreadFactory threadFactory) {
+        if (maxConcurrent < 1)
+            throw new IllegalArgumentException("maxConcurrent must be greater than zero");
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (shutdown)
+            throw new RejectedExecutionException("Executor has been shutdown");
+        if (!permits.tryAcquire())
+            throw new RejectedExecutionException(String.format("Admission limit of %s concurrent tasks reached", maxConcurrent));
+
+        final Thread t;
+        try {
+            t = threadFactory.newThread(() -> {
+                try {
+                    // shutdownNow() may have come before the thread started, when interrupting it had no effect
+                    if (interrupted) Thread.currentThread().interrupt();
+                    command.run();
+                } finally {
+                    running.remove(Thread.currentThread());
+                    release();
+                }
+            });
+        } catch (RuntimeException re) {
+            release();
+            throw new RejectedExecutionException(re);
+        }
+
+        // register the thread before it starts so that shutdownNow() can never miss a task that was admitted
+        running.add(t);
+        try {
+            t.start();
+        } catch (RuntimeException | Error e) {
+            running.remove(t);
+            release();
+            throw new RejectedExecutionException(e);
+        }
+    }
+
+    /**
+     * Gets the number of tasks that may still be admitted before new tasks are rejected.
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        interrupted = true;
+        running.forEach(Thread::interrupt);
+
+        // tasks are never queued so there is nothing that was waiting to run
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && permits.availablePermits() == maxConcurrent;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return false;
+                TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+            }
+        }
+        return true;
+    }
+
+    private void release() {
+        permits.release();
+        if (shutdown) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+}
@@ -109,6 +109,18 @@ public class GremlinError {
                 "Too many requests have been sent in a given amount of time.", "TooManyRequestsException");
     }
 
+    public static GremlinError traversalSourceOverloaded(final String traversalSource, final int limit) {
+        final String message = String.format("The limit of %s requests in progress for the traversal source [%s] has been reached.",
+                limit, traversalSource);
+        return new GremlinError(HttpResponseStatus.TOO_MANY_REQUESTS, message, "TooManyRequestsException");
+    }
+
+    public static GremlinError shed(final long queueDelayMs) {
+        final String message = String.format("The request was dropped after waiting %s ms to be processed as the server is overloaded.",
+                queueDelayMs);
+        return new GremlinError(HttpResponseStatus.SERVICE_UNAVAILABLE, message, "ServerOverloadedException");
+    }
+
     public static GremlinError serialization(Exception ex) {
         final String message = String.format("Error during serialization: %s", ExceptionHelper.getMessageFromExceptionOrCause(ex));
         return new GremlinError(HttpResponseStatus.INTERNAL_SERVER_ERROR, message, "ServerSerializationException");
@@ -36,7 +36,10 @@ import com.codahale.metrics.graphite.GraphiteReporter;
 import info.ganglia.gmetric4j.gmetric.GMetric;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.TraversalPlanCache;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParserCache;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -502,4 +505,40 @@ public enum MetricManager {
                     (Gauge<Long>) gremlinGroovyScriptEngine::getClassCacheTotalLoadTime);
         }
     }
+
+    /**
+     * Registers metrics for the {@link TraversalPlanCache} and {@link GremlinParserCache} of a
+     * {@link GremlinLangScriptEngine} where they are configured.
+     */
+    public void registerGremlinLangScriptEngineMetrics(final GremlinScriptEngine engine, final String... prefix) {
+        if (!(engine instanceof GremlinLangScriptEngine)) return;
+
+        final Optional<TraversalPlanCache> cache = ((GremlinLangScriptEngine) engine).getTraversalPlanCache();
+        if (cache.isPresent() && getRegistry().getNames().stream().noneMatch(n -> n.endsWith("plan-cache.hit-count"))) {
+            final TraversalPlanCache traversalPlanCache = cache.get();
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "plan-cache.hit-count")),
+                    (Gauge<Long>) traversalPlanCache::getHits);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "plan-cache.miss-count")),
+                    (Gauge<Long>) traversalPlanCache::getMisses);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "plan-cache.estimated-size")),
+                    (Gauge<Integer>) traversalPlanCache::size);
+        }
+
+        final Optional<GremlinParserCache> parserCache = ((GremlinLangScriptEngine) engine).getParserCache();
+        if (parserCache.isPresent() && getRegistry().getNames().stream().noneMatch(n -> n.endsWith("parser-cache.hit-count"))) {
+            final GremlinParserCache gremlinParserCache = parserCache.get();
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "parser-cache.hit-count")),
+                    (Gauge<Long>) gremlinParserCache::getHits);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "parser-cache.miss-count")),
+                    (Gauge<Long>) gremlinParserCache::getMisses);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "parser-cache.estimated-size")),
+                    (Gauge<Integer>) gremlinParserCache::size);
+        }
+    }
 }
@@ -91,7 +91,9 @@ public class ServerGremlinExecutor {
      * Create a new object from {@link Settings} where thread pools are externally assigned. Note that if the
      * {@code scheduleExecutorServiceClass} is set to {@code null} it will be created via
      * {@link Executors#newScheduledThreadPool(int, ThreadFactory)}.  If either of the {@link ExecutorService}
-     * instances are supplied, the {@link Settings#gremlinPool} value will be ignored for the pool size.
+     * instances are supplied, the {@link Settings#gremlinPool} value will be ignored for the pool size. When
+     * {@link Settings#useVirtualThreads} is enabled and no {@code gremlinExecutorService} is supplied, requests are
+     * executed on virtual threads with the number in progress limited by {@link Settings#maxConcurrentRequests}.
      */
     public ServerGremlinExecutor(final Settings settings, final ExecutorService gremlinExecutorService,
                                  final ScheduledExecutorService scheduledExecutorService) {
@@ -114,7 +116,10 @@ public class ServerGremlinExecutor {
             throw new RuntimeException(e);
         }
 
-        if (null == gremlinExecutorService) {
+        if (null == gremlinExecutorService && settings.useVirtualThreads) {
+            this.gremlinExecutorService = new AdmissionLimitedExecutorService(settings.maxConcurrentRequests,
+                    ThreadFactoryUtil.createVirtual("exec-"));
+        } else if (null == gremlinExecutorService) {
             final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
             final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(settings.maxWorkQueueSize);
             this.gremlinExecutorService = new ThreadPoolExecutor(settings.gremlinPool, settings.gremlinPool,
@@ -131,7 +136,11 @@ public class ServerGremlinExecutor {
             this.scheduledExecutorService = scheduledExecutorService;
         }
 
-        logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
+        if (this.gremlinExecutorService instanceof AdmissionLimitedExecutorService)
+            logger.info("Initialized Gremlin virtual thread executor with an admission limit of {}.  Threads named with pattern gremlin-*",
+                    settings.maxConcurrentRequests);
+        else
+            logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
 
         final GremlinExecutor.Builder gremlinExecutorBuilder = GremlinExecutor.build()
                 .evaluationTimeout(settings.getEvaluationTimeout())
@@ -202,6 +211,7 @@ public class ServerGremlinExecutor {
     private void registerMetrics(final String engineName) {
         final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
         MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless", "class-cache");
+        MetricManager.INSTANCE.registerGremlinLangScriptEngineMetrics(engine, engineName, "sessionless");
     }
 
     public void addHostOption(final String key, final Object value) {
@@ -32,4 +32,21 @@ public final class ThreadFactoryUtil {
     public static ThreadFactory create(final String pattern) {
         return new BasicThreadFactory.Builder().namingPattern(SERVER_THREAD_PREFIX + pattern).build();
     }
+
+    /**
+     * Creates a {@code ThreadFactory} of virtual threads named with the supplied prefix followed by a counter. The
+     * factory is obtained reflectively as virtual threads are only available on Java 21 and later.
+     *
+     * @throws UnsupportedOperationException if the running JVM does not support virtual threads
+     */
+    public static ThreadFactory createVirtual(final String prefix) {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object named = builderClass.getMethod("name", String.class, long.class).invoke(builder, SERVER_THREAD_PREFIX + prefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(named);
+        } catch (Exception ex) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM - Java 21 or later is required", ex);
+        }
+    }
 }
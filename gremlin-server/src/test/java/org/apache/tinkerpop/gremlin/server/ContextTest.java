@@ -20,6 +20,12 @@ package org.apache.tinkerpop.gremlin.server;
 
 import io.netty.channel.ChannelHandlerContext;
 import nl.altindag.log.LogCaptor;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -27,7 +33,16 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class ContextTest {
 
@@ -76,4 +91,55 @@ public class ContextTest {
         // "all" is default value
         assertEquals("all", context.getMaterializeProperties());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldDetachNestedElementsWithPropertiesForHandoff() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final List<Vertex> folded = g.V().order().by(T.id).fold().next();
+        final Map<Object, Object> grouped = g.V().group().by(T.label).next();
+        final List<Object> aggregate = new ArrayList<>(Arrays.asList(folded, grouped, 1));
+
+        final Context context = createContext("g.V().fold()");
+        context.handleDetachmentForHandoff(aggregate);
+
+        final List<Vertex> detachedFolded = (List<Vertex>) aggregate.get(0);
+        assertEquals(6, detachedFolded.size());
+        assertThat(detachedFolded.get(0), instanceOf(DetachedVertex.class));
+        assertEquals("marko", detachedFolded.get(0).value("name"));
+
+        final Map<Object, List<Vertex>> detachedGrouped = (Map<Object, List<Vertex>>) aggregate.get(1);
+        assertEquals(grouped.keySet(), detachedGrouped.keySet());
+        assertThat(detachedGrouped.get("software").get(0), instanceOf(DetachedVertex.class));
+        assertEquals("java", detachedGrouped.get("software").get(0).value("lang"));
+
+        assertEquals(1, aggregate.get(2));
+    }
+
+    @Test
+    public void shouldReferenceNestedElementsForHandoffWithTokens() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final List<Object> aggregate = new ArrayList<>(Collections.singletonList(g.V().fold().next()));
+
+        final Context context = createContext("g.with('materializeProperties', 'tokens').V().fold()");
+        context.handleDetachmentForHandoff(aggregate);
+
+        final List<Vertex> detached = (List<Vertex>) aggregate.get(0);
+        assertEquals(6, detached.size());
+        assertThat(detached.get(0), instanceOf(ReferenceVertex.class));
+    }
+
+    @Test
+    public void shouldNotCopyResultsWithoutElementsForHandoff() {
+        final List<Object> folded = Arrays.asList(1, 2, 3);
+        final List<Object> aggregate = new ArrayList<>(Collections.singletonList(folded));
+
+        createContext("g.inject(1,2,3).fold()").handleDetachmentForHandoff(aggregate);
+
+        assertSame(folded, aggregate.get(0));
+    }
+
+    private static Context createContext(final String gremlin) {
+        final ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+        return new Context(RequestMessage.build(gremlin).create(), ctx, new Settings(), null, null, null);
+    }
+}
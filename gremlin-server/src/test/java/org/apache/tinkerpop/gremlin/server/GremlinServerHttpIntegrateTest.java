@@ -34,6 +34,7 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.conn.EofSensorInputStream;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
@@ -43,6 +44,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.GremlinLang;
 import org.apache.tinkerpop.gremlin.server.auth.SimpleAuthenticator;
 import org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer;
 import org.apache.tinkerpop.gremlin.server.handler.HttpBasicAuthenticationHandler;
+import org.apache.tinkerpop.gremlin.server.handler.HttpGremlinEndpointHandler;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONTokens;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
@@ -58,10 +60,12 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import javax.script.SimpleBindings;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
@@ -88,6 +92,7 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Integration tests for server-side settings and processing.
@@ -136,6 +141,13 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
             case "should200OnPOSTWithAuthorizationHeader":
                 configureForAuthentication(settings);
                 break;
+            case "shouldCancelEvaluationWhenClientDisconnects":
+                settings.evaluationTimeout = 60000;
+                settings.gremlinPool = 1;
+                break;
+            case "should200OnPOSTWithLargeChunkedGraphBinaryRequest":
+                settings.streamGraphBinaryRequests = true;
+                break;
             case "should500OnPOSTWithEvaluationTimeout":
                 settings.evaluationTimeout = 5000;
                 settings.gremlinPool = 1;
@@ -855,6 +867,31 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
         }
     }
 
+    @Test(timeout = 20000)
+    public void shouldCancelEvaluationWhenClientDisconnects() throws Exception {
+        final long cancelled = HttpGremlinEndpointHandler.cancelledMeter.getCount();
+
+        // the client gives up on this request long before it produces a result, closing the connection
+        final HttpPost slowPost = new HttpPost(TestClientFactory.createURLString());
+        slowPost.setConfig(RequestConfig.custom().setSocketTimeout(1000).build());
+        slowPost.setEntity(new StringEntity("{\"gremlin\":\"Thread.sleep(30000);1\",\"language\":\"gremlin-groovy\"}", Consts.UTF_8));
+        try (final CloseableHttpResponse response = HttpClients.createDefault().execute(slowPost)) {
+            EntityUtils.toString(response.getEntity());
+            fail("Request should have timed out on the client");
+        } catch (IOException ignored) {
+            // expected
+        }
+
+        // with gremlinPool=1 this can only be processed once the abandoned evaluation has stopped
+        final HttpPost post = new HttpPost(TestClientFactory.createURLString());
+        post.setEntity(new StringEntity("{\"gremlin\":\"g.inject(1)\"}", Consts.UTF_8));
+        try (final CloseableHttpResponse response = HttpClients.createDefault().execute(post)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+        }
+
+        assertEquals(cancelled + 1, HttpGremlinEndpointHandler.cancelledMeter.getCount());
+    }
+
     @Test(timeout = 10000) // Add test timeout to prevent incorrect timeout behavior from stopping test run.
     public void should500OnPOSTWithEvaluationTimeout() throws Exception {
         // Related to TINKERPOP-2769. This is a similar test to the one for the WebSocketChannelizer.
@@ -959,6 +996,56 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
         }
     }
 
+    @Test
+    public void should200OnPOSTWithLargeChunkedGraphBinaryRequest() throws Exception {
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final Map<String, Object> row = new HashMap<>();
+            row.put("name", "name-" + i);
+            row.put("age", i);
+            rows.add(row);
+        }
+
+        final GraphBinaryMessageSerializerV4 serializer = new GraphBinaryMessageSerializerV4();
+        final ByteBuf serializedRequest = serializer.serializeRequestAsBinary(
+                RequestMessage.build("g.inject(rows).unfold().count()").addBinding("rows", rows).create(),
+                new UnpooledByteBufAllocator(false));
+
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader(HttpHeaders.CONTENT_TYPE, Serializers.GRAPHBINARY_V4.getValue());
+        httppost.addHeader(HttpHeaders.ACCEPT, Serializers.GRAPHBINARY_V4.getValue());
+        // an unknown length forces a chunked transfer encoding so the body arrives in many pieces
+        httppost.setEntity(new InputStreamEntity(new ByteArrayInputStream(serializedRequest.array(),
+                serializedRequest.readerIndex(), serializedRequest.readableBytes()), -1));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+
+            final ResponseMessage responseMessage = serializer.readChunk(toByteBuf(response.getEntity()), true);
+            assertEquals(5000L, ((List) responseMessage.getResult().getData()).get(0));
+        }
+    }
+
+    @Test
+    public void should400OnPOSTWithTruncatedChunkedGraphBinaryRequest() throws Exception {
+        final GraphBinaryMessageSerializerV4 serializer = new GraphBinaryMessageSerializerV4();
+        final ByteBuf serializedRequest = serializer.serializeRequestAsBinary(
+                RequestMessage.build("g.inject(x)").addBinding("x", "some value").create(),
+                new UnpooledByteBufAllocator(false));
+
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader(HttpHeaders.CONTENT_TYPE, Serializers.GRAPHBINARY_V4.getValue());
+        httppost.addHeader(HttpHeaders.ACCEPT, Serializers.GRAPHBINARY_V4.getValue());
+        httppost.setEntity(new InputStreamEntity(new ByteArrayInputStream(serializedRequest.array(),
+                serializedRequest.readerIndex(), serializedRequest.readableBytes() - 4), -1));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(400, response.getStatusLine().getStatusCode());
+        }
+    }
+
     @Test
     public void should200OnPOSTWithEmptyChunkedResponseGraphBinary() throws Exception {
         final String gremlin = "g.V().iterate()";
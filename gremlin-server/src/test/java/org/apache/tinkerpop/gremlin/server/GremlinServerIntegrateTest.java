@@ -55,6 +55,8 @@ import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
 import org.apache.tinkerpop.gremlin.util.function.Lambda;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.ser.ArrowMessageSerializerV4;
+import org.apache.tinkerpop.gremlin.util.ser.Serializers;
 import org.hamcrest.Matchers;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -65,11 +67,14 @@ import org.junit.Test;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -147,6 +152,7 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
                 settings.maxParameters = Integer.MAX_VALUE;
                 break;
             case "shouldRespectHighWaterMarkSettingAndSucceed":
+            case "shouldResumeWritingWhenChannelBecomesWritable":
                 settings.writeBufferHighWaterMark = 64;
                 settings.writeBufferLowWaterMark = 32;
                 break;
@@ -156,6 +162,19 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldBlockRequestWhenTooBig":
                 settings.maxRequestContentLength = 1024;
                 break;
+            case "shouldBatchResultsBySerializedBytes":
+                settings.resultIterationBatchBytes = 100;
+                settings.resultIterationFirstBatchSize = 1;
+                break;
+            case "shouldPipelineResultSerialization":
+            case "shouldPipelineResultSerializationOfElements":
+                settings.pipelineResultSerialization = true;
+                settings.resultIterationBatchSize = 2;
+                break;
+            case "shouldExportTabularResultsAsArrow":
+            case "shouldWidenArrowSchemaWhenResultsDoNotFit":
+                settings.serializers.add(new Settings.SerializerSettings(ArrowMessageSerializerV4.class.getName(), Collections.emptyMap()));
+                break;
             case "shouldBatchResultsByTwos":
             case "shouldBatchResultsByTwosToDriver":
                 settings.resultIterationBatchSize = 2;
@@ -182,6 +201,9 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
                 settings.gremlinPool = 1;
                 settings.maxWorkQueueSize = 1;
                 break;
+            case "shouldLimitRequestsInProgressPerTraversalSource":
+                settings.admission.maxConcurrentPerTraversalSource = 1;
+                break;
             case "shouldStoreUserAgentInContextHttp":
                 settings.channelizer = HttpTestChannelizer.class.getName();
                 break;
@@ -304,6 +326,31 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldLimitRequestsInProgressPerTraversalSource() throws Exception {
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+        try {
+            // maxConcurrentPerTraversalSource=1 so a second request for "g" is turned away while the first runs
+            final ResultSet r1 = client.submitAsync("Thread.sleep(3000);'test1'", groovyRequestOptions).get();
+            Thread.sleep(1000);
+
+            try {
+                client.submit("'test2'", groovyRequestOptions).all().get();
+                fail("Request should have been rejected");
+            } catch (Exception ex) {
+                final Throwable root = ExceptionHelper.getRootCause(ex);
+                assertThat(root, instanceOf(ResponseException.class));
+                assertEquals(HttpResponseStatus.TOO_MANY_REQUESTS, ((ResponseException) root).getResponseStatusCode());
+            }
+
+            assertEquals("test1", r1.all().get().get(0).getString());
+            assertEquals("test3", client.submit("'test3'", groovyRequestOptions).all().get().get(0).getString());
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     @Ignore("Lambda is not supported")
     public void shouldScriptEvaluationErrorForRemoteTraversal() throws Exception {
@@ -510,6 +557,28 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldResumeWritingWhenChannelBecomesWritable() throws Exception {
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+
+        try {
+            final String fatty = IntStream.range(0, 175).mapToObj(String::valueOf).collect(Collectors.joining());
+            final RequestMessage request = RequestMessage.build(
+                    String.format("g.inject('%s').repeat(union(identity(),identity())).times(10)", fatty))
+                    .addChunkSize(3).create();
+
+            final List<Result> results = client.submitAsync(request).get().all().get(30000, TimeUnit.MILLISECONDS);
+            assertEquals(1024, results.size());
+            assertThat(results.stream().allMatch(r -> r.getString().equals(fatty)), is(true));
+
+            assertThat(logCaptor.getLogs().stream().anyMatch(m -> m.contains(
+                    "pausing response writing as writeBufferHighWaterMark exceeded on")), is(true));
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     public void shouldReturnInvalidRequestArgsWhenInvalidReservedBindingKeyIsUsed() throws Exception {
         try (SimpleClient client = TestClientFactory.createSimpleHttpClient()) {
@@ -638,6 +707,96 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldBatchResultsBySerializedBytes() throws Exception {
+        try (SimpleClient client = TestClientFactory.createSimpleHttpClient()) {
+            final String gremlin = "g.inject(" + IntStream.range(0, 100).mapToObj(String::valueOf).collect(Collectors.joining(",")) + ")";
+            final List<ResponseMessage> msgs = client.submit(RequestMessage.build(gremlin).create());
+
+            // the first batch is sized separately and the rest are sized to the byte target
+            assertEquals(1, msgs.get(0).getResult().getData().size());
+            assertThat(msgs.size() > 2, is(true));
+
+            final List<Object> results = msgs.stream().flatMap(m -> m.getResult().getData().stream()).collect(Collectors.toList());
+            assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), results);
+            assertThat(msgs.stream().allMatch(m -> m.getResult().getData().size() < 100), is(true));
+        }
+    }
+
+    @Test
+    public void shouldPipelineResultSerialization() throws Exception {
+        try (SimpleClient client = TestClientFactory.createSimpleHttpClient()) {
+            final String gremlin = "g.inject(" + IntStream.range(0, 100).mapToObj(String::valueOf).collect(Collectors.joining(",")) + ")";
+            final List<ResponseMessage> msgs = client.submit(RequestMessage.build(gremlin).create());
+
+            // the chunks are serialized away from the thread iterating the traversal but still arrive in order
+            assertThat(msgs.size() > 2, is(true));
+            final List<Object> results = msgs.stream().flatMap(m -> m.getResult().getData().stream()).collect(Collectors.toList());
+            assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), results);
+        }
+    }
+
+    @Test
+    public void shouldPipelineResultSerializationOfElements() throws Exception {
+        final Cluster cluster = TestClientFactory.build().create();
+        final Client client = cluster.connect();
+
+        try {
+            final RequestOptions ro = RequestOptions.build().addG("gmodern").create();
+            final List<Result> results = client.submit("g.V().order().by(id)", ro).all().get();
+            assertEquals(6, results.size());
+
+            // the vertices were detached with their properties before they were handed over to be serialized
+            final Vertex marko = results.get(0).getVertex();
+            assertEquals("marko", marko.value("name"));
+            assertEquals(29, (int) marko.value("age"));
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldExportTabularResultsAsArrow() throws Exception {
+        final Cluster cluster = TestClientFactory.build().serializer(Serializers.ARROW_STREAM).create();
+        final Client client = cluster.connect();
+
+        try {
+            final RequestOptions ro = RequestOptions.build().addG("gmodern").batchSize(2).create();
+            final List<Result> results = client.submit(
+                    "g.V().hasLabel('person').order().by('name').project('name','age').by('name').by('age')", ro).all().get();
+
+            // the rows of all the record batches are read back as maps of the columns
+            final List<Map> rows = results.stream().map(r -> r.get(Map.class)).collect(Collectors.toList());
+            assertEquals(4, rows.size());
+            assertEquals("josh", rows.get(0).get("name"));
+            assertEquals(32, rows.get(0).get("age"));
+            assertEquals("vadas", rows.get(3).get("name"));
+            assertEquals(27, rows.get(3).get("age"));
+
+            final Map edge = client.submit("g.E(7).elementMap()", ro).one().get(Map.class);
+            assertEquals("knows", edge.get("label"));
+            assertEquals(0.5d, edge.get("weight"));
+            assertEquals(Collections.singletonList("vadas"), client.submit("g.V(2).valueMap('name')", ro).one().get(Map.class).get("name"));
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldWidenArrowSchemaWhenResultsDoNotFit() throws Exception {
+        final Cluster cluster = TestClientFactory.build().serializer(Serializers.ARROW_STREAM).create();
+        final Client client = cluster.connect();
+
+        try {
+            // the schema comes from the first chunk of two integers so the string after them starts a new stream with
+            // the values as strings
+            final List<Result> results = client.submit("g.inject(1,2,3,'x')", RequestOptions.build().batchSize(2).create()).all().get();
+            assertEquals(Arrays.asList(1, 2, "3", "x"), results.stream().map(Result::getObject).collect(Collectors.toList()));
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     public void shouldBatchResultsByTwosWithDriver() throws Exception {
         final Cluster cluster = TestClientFactory.build().create();
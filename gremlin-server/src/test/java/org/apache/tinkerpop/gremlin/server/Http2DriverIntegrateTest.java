@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.tinkerpop.gremlin.driver.Channelizer;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.RequestOptions;
+import org.apache.tinkerpop.gremlin.driver.Result;
+import org.apache.tinkerpop.gremlin.driver.ResultSet;
+import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
+import org.apache.tinkerpop.gremlin.server.channel.Http2Channelizer;
+import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class Http2DriverIntegrateTest extends AbstractGremlinServerIntegrationTest {
+
+    @Override
+    public Settings overrideSettings(final Settings settings) {
+        settings.channelizer = Http2Channelizer.class.getName();
+
+        final String nameOfTest = name.getMethodName();
+        switch (nameOfTest) {
+            case "shouldSubmitOverHttp2WithSsl":
+                settings.ssl = new Settings.SslSettings();
+                settings.ssl.enabled = true;
+                settings.ssl.keyStore = JKS_SERVER_KEY;
+                settings.ssl.keyStorePassword = KEY_PASS;
+                settings.ssl.keyStoreType = KEYSTORE_TYPE_JKS;
+                break;
+            case "shouldLimitConcurrentStreamsToServerSetting":
+                settings.maxConcurrentStreams = 2;
+                break;
+        }
+
+        return settings;
+    }
+
+    @Test
+    public void shouldSubmitOverHttp2() throws Exception {
+        final Cluster cluster = TestClientFactory.build().channelizer(Channelizer.Http2Channelizer.class).create();
+        try {
+            final Client client = cluster.connect();
+            // default chunk size is 64 so this spans several chunks
+            assertEquals(100, client.submit("g.inject(0).repeat(inject(0)).times(99)").all().get().size());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldSubmitOverHttp2WithSsl() throws Exception {
+        final Cluster cluster = TestClientFactory.build().channelizer(Channelizer.Http2Channelizer.class)
+                .enableSsl(true).sslSkipCertValidation(true).create();
+        try {
+            final Client client = cluster.connect();
+            assertEquals("test", client.submit("g.inject('test')").one().getString());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldSubmitOverHttp1() throws Exception {
+        // clients that do not speak HTTP/2 are still served by the same endpoint
+        final Cluster cluster = TestClientFactory.build().create();
+        try {
+            final Client client = cluster.connect();
+            assertEquals(100, client.submit("g.inject(0).repeat(inject(0)).times(99)").all().get().size());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldFailWhenNeeded() {
+        final Cluster cluster = TestClientFactory.build().channelizer(Channelizer.Http2Channelizer.class).create();
+        final Client client = cluster.connect();
+        try {
+            final RequestOptions ro = RequestOptions.build().language("gremlin-lang").create();
+            client.submit("g.inject(1).fail('Good bye, world!')", ro).all().get();
+            fail("should throw exception");
+        } catch (Exception ex) {
+            final Throwable inner = ExceptionHelper.getRootCause(ex);
+            assertThat(inner, instanceOf(ResponseException.class));
+            assertEquals(HttpResponseStatus.INTERNAL_SERVER_ERROR, ((ResponseException) inner).getResponseStatusCode());
+            assertTrue(ex.getMessage().contains("Good bye, world!"));
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldProcessRequestsOutOfOrderOnOneConnection() throws Exception {
+        final Cluster cluster = TestClientFactory.build().channelizer(Channelizer.Http2Channelizer.class)
+                .maxConnectionPoolSize(1).create();
+        final RequestOptions ro = RequestOptions.build().language("gremlin-groovy").create();
+        try {
+            final Client client = cluster.connect();
+
+            final ResultSet rsFive = client.submit("Thread.sleep(5000);'five'", ro);
+            final ResultSet rsZero = client.submit("'zero'", ro);
+
+            final CompletableFuture<List<Result>> futureFive = rsFive.all();
+            final CompletableFuture<List<Result>> futureZero = rsZero.all();
+
+            // with a single connection the quick request can only finish first if both are in flight together
+            assertEquals("zero", futureZero.get(4, TimeUnit.SECONDS).get(0).getString());
+            assertFalse(futureFive.isDone());
+            assertEquals("five", futureFive.get(10, TimeUnit.SECONDS).get(0).getString());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldSubmitManyConcurrentRequests() throws Exception {
+        final Cluster cluster = TestClientFactory.build().channelizer(Channelizer.Http2Channelizer.class)
+                .maxConnectionPoolSize(2).create();
+        try {
+            final Client client = cluster.connect();
+
+            final List<CompletableFuture<List<Result>>> futures = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                futures.add(client.submitAsync("g.inject(" + i + ")").thenCompose(ResultSet::all));
+            }
+
+            for (int i = 0; i < 500; i++) {
+                assertEquals(i, futures.get(i).get(30, TimeUnit.SECONDS).get(0).getInt());
+            }
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldLimitConcurrentStreamsToServerSetting() throws Exception {
+        final Cluster cluster = TestClientFactory.build().channelizer(Channelizer.Http2Channelizer.class)
+                .maxConnectionPoolSize(1).create();
+        final RequestOptions ro = RequestOptions.build().language("gremlin-groovy").create();
+        try {
+            final Client client = cluster.connect();
+
+            final List<CompletableFuture<List<Result>>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(client.submitAsync("Thread.sleep(100);" + i, ro).thenCompose(ResultSet::all));
+            }
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, futures.get(i).get(30, TimeUnit.SECONDS).get(0).getInt());
+            }
+        } finally {
+            cluster.close();
+        }
+    }
+}
@@ -32,19 +32,23 @@ import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.binary.types.PackedList;
 import org.apache.tinkerpop.gremlin.util.CollectionUtil;
 import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
 import org.junit.Ignore;
 import org.junit.Test;
 
 import java.awt.Color;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.list;
@@ -53,6 +57,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -378,6 +383,120 @@ public class HttpDriverIntegrateTest extends AbstractGremlinServerIntegrationTes
         }
     }
 
+    @Test
+    public void shouldReturnLz4CompressedResults() throws Exception {
+        final Cluster cluster = TestClientFactory.build().compression("lz4").create();
+        try {
+            final Client client = cluster.connect();
+            // default chunk size is 64 so this spans several chunks
+            final List<Result> results = client.submit("g.inject(0).repeat(inject(0)).times(999)").all().get();
+            assertEquals(1000, results.size());
+            assertEquals(0, results.get(999).getInt());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldReturnUncompressedResults() throws Exception {
+        final Cluster cluster = TestClientFactory.build().compression("none").create();
+        try {
+            final Client client = cluster.connect();
+            assertEquals(1000, client.submit("g.inject(0).repeat(inject(0)).times(999)").all().get().size());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldReturnPackedListsAndPrimitiveArrays() throws Exception {
+        final Cluster cluster = TestClientFactory.build().packedLists(true).create();
+        try {
+            final Client client = cluster.connect();
+            final RequestOptions ro = RequestOptions.build().language("gremlin-groovy").create();
+            final List<Result> results = client.submit("[[0.5d, 0.25d], [1, 'x'], [1L, 2L] as long[]]", ro).all().get();
+            assertThat(results.get(0).getObject(), instanceOf(PackedList.OfDouble.class));
+            assertEquals(Arrays.asList(0.5d, 0.25d), results.get(0).getObject());
+            assertEquals(Arrays.asList(1, "x"), results.get(1).getObject());
+            assertArrayEquals(new long[] {1L, 2L}, (long[]) results.get(2).getObject());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldReturnVarInts() throws Exception {
+        final Cluster cluster = TestClientFactory.build().varInts(true).create();
+        try {
+            final Client client = cluster.connect();
+            final RequestOptions ro = RequestOptions.build().addG("gmodern").create();
+            final List<Result> ids = client.submit("g.V().hasLabel('person').id().order()", ro).all().get();
+            assertEquals(Arrays.asList(1, 2, 4, 6), ids.stream().map(Result::getInt).collect(Collectors.toList()));
+
+            final List<Result> counts = client.submit("g.V().out().groupCount().by(label)", ro).all().get();
+            assertEquals(4L, ((Map) counts.get(0).getObject()).get("software"));
+            assertEquals(2, client.submit("g.V().out().label().dedup().count()", ro).all().get().get(0).getLong());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldReadResultsLazily() throws Exception {
+        final Cluster cluster = TestClientFactory.build().lazyResults(true).create();
+        try {
+            final Client client = cluster.connect();
+            final RequestOptions ro = RequestOptions.build().addG("gmodern").create();
+            final List<Result> results = client.submit("g.V().hasLabel('person').order().by('name')", ro).all().get();
+            assertEquals(4, results.size());
+            assertEquals("josh", results.get(0).getVertex().value("name"));
+            assertEquals("vadas", results.get(3).getVertex().value("name"));
+
+            final List<Result> counts = client.submit("g.V().out().groupCount().by(label)", ro).all().get();
+            assertEquals(4L, ((Map) counts.get(0).getObject()).get("software"));
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldPipelineRequestsOnOneConnection() throws Exception {
+        final Cluster cluster = TestClientFactory.build().maxConnectionPoolSize(1).maxInFlightPerConnection(8).create();
+        try {
+            final Client client = cluster.connect();
+
+            final List<CompletableFuture<List<Result>>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(client.submitAsync("g.inject(" + i + ")").thenCompose(ResultSet::all));
+            }
+
+            for (int i = 0; i < 200; i++) {
+                assertEquals(i, futures.get(i).get(30, TimeUnit.SECONDS).get(0).getInt());
+            }
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldReturnPipelinedResponsesInOrder() throws Exception {
+        final Cluster cluster = TestClientFactory.build().maxConnectionPoolSize(1).maxInFlightPerConnection(2).create();
+        final RequestOptions ro = RequestOptions.build().language("gremlin-groovy").create();
+        try {
+            final Client client = cluster.connect();
+
+            final CompletableFuture<List<Result>> futureSlow = client.submit("Thread.sleep(2000);'slow'", ro).all();
+            final CompletableFuture<List<Result>> futureFast = client.submit("'fast'", ro).all();
+
+            // the fast request was sent on the same connection so its response waits on the slow one
+            assertEquals("fast", futureFast.get(10, TimeUnit.SECONDS).get(0).getString());
+            assertTrue(futureSlow.isDone());
+            assertEquals("slow", futureSlow.get().get(0).getString());
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     public void shouldWaitForAllResultsToArrive() throws Exception {
         final Cluster cluster = TestClientFactory.build().create();
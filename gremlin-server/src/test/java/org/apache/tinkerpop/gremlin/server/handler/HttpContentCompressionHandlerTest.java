@@ -31,11 +31,13 @@ import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.util.CharsetUtil;
+import net.jpountz.lz4.LZ4Factory;
 import org.junit.Test;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.zip.Inflater;
@@ -49,6 +51,7 @@ import static io.netty.handler.codec.http.LastHttpContent.EMPTY_LAST_CONTENT;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class HttpContentCompressionHandlerTest {
@@ -205,4 +208,82 @@ public class HttpContentCompressionHandlerTest {
 
         assertArrayEquals(data, inflatedBytes);
     }
+
+    @Test
+    public void shouldCompressContentInMultipleChunksWithLz4() {
+        final HttpContentCompressionHandler compressionHandler = new HttpContentCompressionHandler(-1, 9);
+        final EmbeddedChannel testChannel = new EmbeddedChannel(compressionHandler);
+
+        final HttpHeaders headers = new DefaultHttpHeaders().add(CONTENT_ENCODING, HttpContentCompressionHandler.LZ4);
+        testChannel.writeOutbound(new DefaultHttpResponse(HTTP_1_1, OK, headers));
+
+        final byte[] first = new byte[4096];
+        Arrays.fill(first, (byte) 0x61);
+        final byte[] second = new byte[4096];
+        Arrays.fill(second, (byte) 0x62);
+        testChannel.writeOutbound(new DefaultHttpContent(Unpooled.wrappedBuffer(first)));
+        testChannel.writeOutbound(new DefaultHttpContent(Unpooled.wrappedBuffer(second)));
+        testChannel.writeOutbound(EMPTY_LAST_CONTENT);
+
+        testChannel.readOutbound(); // Discard HttpResponse.
+
+        for (byte[] expected : Arrays.asList(first, second)) {
+            final HttpContent content = testChannel.readOutbound();
+            final ByteBuf block = content.content();
+            assertEquals(expected.length, block.readInt());
+            final int compressedLength = block.readInt();
+            assertTrue(compressedLength < expected.length);
+            assertEquals(compressedLength, block.readableBytes());
+
+            final byte[] decompressed = LZ4Factory.fastestInstance().fastDecompressor()
+                    .decompress(ByteBufUtil.getBytes(block), expected.length);
+            assertArrayEquals(expected, decompressed);
+            content.release();
+        }
+
+        final HttpContent last = testChannel.readOutbound();
+        assertEquals(0, last.content().readableBytes());
+    }
+
+    @Test
+    public void shouldStoreUncompressableChunkWithLz4() {
+        final byte[] data = new byte[128];
+        new Random().nextBytes(data);
+
+        final EmbeddedChannel testChannel = new EmbeddedChannel(new HttpContentCompressionHandler());
+        final HttpHeaders headers = new DefaultHttpHeaders().add(CONTENT_ENCODING, HttpContentCompressionHandler.LZ4);
+        testChannel.writeOutbound(new DefaultFullHttpResponse(HTTP_1_1, OK, Unpooled.wrappedBuffer(data), headers, new DefaultHttpHeaders()));
+
+        final FullHttpResponse response = testChannel.readOutbound();
+        final ByteBuf block = response.content();
+        assertEquals(data.length, block.readInt());
+        assertEquals(data.length, block.readInt());
+        assertArrayEquals(data, ByteBufUtil.getBytes(block));
+        response.release();
+    }
+
+    @Test
+    public void shouldNegotiateEncodingInOrderOfRequest() {
+        assertEquals("deflate", HttpContentCompressionHandler.negotiateEncoding(Collections.singletonList("gzip, deflate, br")));
+        assertEquals("lz4", HttpContentCompressionHandler.negotiateEncoding(Collections.singletonList("lz4, deflate")));
+        assertEquals("deflate", HttpContentCompressionHandler.negotiateEncoding(Arrays.asList("deflate", "lz4")));
+        assertEquals("deflate", HttpContentCompressionHandler.negotiateEncoding(Collections.singletonList("lz4;q=0, deflate;q=0.5")));
+        assertNull(HttpContentCompressionHandler.negotiateEncoding(Collections.singletonList("gzip, br")));
+        assertNull(HttpContentCompressionHandler.negotiateEncoding(Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldNegotiateEncodingByQuality() {
+        assertEquals("lz4", HttpContentCompressionHandler.negotiateEncoding(Collections.singletonList("deflate;q=0.5, lz4")));
+        assertEquals("lz4", HttpContentCompressionHandler.negotiateEncoding(Collections.singletonList("deflate;q=0.5, lz4;q=0.8")));
+        assertEquals("deflate", HttpContentCompressionHandler.negotiateEncoding(Collections.singletonList("deflate;q=0.8, lz4;q=0.8")));
+        assertEquals("lz4", HttpContentCompressionHandler.negotiateEncoding(Arrays.asList("deflate;q=0.1", "gzip, lz4;Q=0.9")));
+        assertEquals("deflate", HttpContentCompressionHandler.negotiateEncoding(Collections.singletonList("lz4;q=abc, deflate;q=0.001")));
+        assertNull(HttpContentCompressionHandler.negotiateEncoding(Collections.singletonList("lz4;q=0.0, deflate;q=0")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowInvalidLz4Level() {
+        new HttpContentCompressionHandler(-1, 18);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HttpPipeliningHandlerTest {
+
+    @Test
+    public void shouldPassRequestsThroughOneAtATime() {
+        final EmbeddedChannel testChannel = new EmbeddedChannel(new HttpPipeliningHandler());
+
+        testChannel.writeInbound(createRequest("/first"), createRequest("/second"));
+        assertEquals("/first", ((HttpRequest) testChannel.readInbound()).uri());
+        assertNull(testChannel.readInbound());
+        assertFalse(testChannel.config().isAutoRead());
+
+        // a streamed response only completes with its last content
+        testChannel.writeOutbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+        testChannel.runPendingTasks();
+        assertNull(testChannel.readInbound());
+
+        testChannel.writeOutbound(new DefaultLastHttpContent());
+        testChannel.runPendingTasks();
+        assertEquals("/second", ((HttpRequest) testChannel.readInbound()).uri());
+        assertNull(testChannel.readInbound());
+        assertTrue(testChannel.config().isAutoRead());
+
+        testChannel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldHoldBackContentOfPipelinedRequest() {
+        final EmbeddedChannel testChannel = new EmbeddedChannel(new HttpPipeliningHandler());
+
+        testChannel.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/first"),
+                new DefaultLastHttpContent(),
+                new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/second"),
+                new DefaultHttpContent(testChannel.alloc().buffer().writeByte(1)),
+                new DefaultLastHttpContent());
+
+        assertEquals("/first", ((HttpRequest) testChannel.readInbound()).uri());
+        assertTrue(testChannel.readInbound() instanceof LastHttpContent);
+        assertNull(testChannel.readInbound());
+
+        testChannel.writeOutbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+        testChannel.runPendingTasks();
+
+        assertEquals("/second", ((HttpRequest) testChannel.readInbound()).uri());
+        final HttpContent content = testChannel.readInbound();
+        assertFalse(content instanceof LastHttpContent);
+        ReferenceCountUtil.release(content);
+        assertTrue(testChannel.readInbound() instanceof LastHttpContent);
+
+        testChannel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldNotReleaseRequestOnInformationalResponse() {
+        final EmbeddedChannel testChannel = new EmbeddedChannel(new HttpPipeliningHandler());
+
+        testChannel.writeInbound(createRequest("/first"), createRequest("/second"));
+        assertEquals("/first", ((HttpRequest) testChannel.readInbound()).uri());
+
+        testChannel.writeOutbound(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+        testChannel.runPendingTasks();
+        assertNull(testChannel.readInbound());
+
+        testChannel.finishAndReleaseAll();
+    }
+
+    private static HttpRequest createRequest(final String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, uri);
+    }
+}
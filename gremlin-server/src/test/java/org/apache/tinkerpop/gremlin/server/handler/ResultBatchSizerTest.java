@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResultBatchSizerTest {
+
+    @Test
+    public void shouldBatchByItemCountByDefault() {
+        final ResultBatchSizer sizer = ResultBatchSizer.create(new Settings(), null);
+        assertEquals(64, sizer.getLimit());
+        assertTrue(sizer.hasCapacity(63));
+        assertFalse(sizer.isReady(63));
+        assertTrue(sizer.isReady(64));
+
+        sizer.written(64, 1_000_000);
+        assertEquals(64, sizer.getLimit());
+    }
+
+    @Test
+    public void shouldAdaptBatchToTargetBytes() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(10, 1000, 0, 0);
+        assertEquals(10, sizer.getLimit());
+
+        // 10 items of 50 bytes each means 20 items will fit the target
+        sizer.written(10, 500);
+        assertEquals(20, sizer.getLimit());
+
+        // items got bigger so the average moves toward 250 bytes an item
+        sizer.written(20, 10000);
+        assertEquals(3, sizer.getLimit());
+    }
+
+    @Test
+    public void shouldNeverGoBelowOneItem() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(10, 100, 0, 0);
+        sizer.written(10, 1_000_000);
+        assertEquals(1, sizer.getLimit());
+        assertTrue(sizer.isReady(1));
+    }
+
+    @Test
+    public void shouldUseFirstBatchSize() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(64, 0, 0, 1);
+        assertEquals(1, sizer.getLimit());
+        assertTrue(sizer.isReady(1));
+
+        sizer.written(1, 100);
+        assertEquals(64, sizer.getLimit());
+    }
+
+    @Test
+    public void shouldPreferRequestBatchSizeOverTargetBytes() {
+        final Settings settings = new Settings();
+        settings.resultIterationBatchBytes = 1000;
+        final ResultBatchSizer sizer = ResultBatchSizer.create(settings, 5);
+        assertEquals(5, sizer.getLimit());
+
+        sizer.written(5, 5);
+        assertEquals(5, sizer.getLimit());
+    }
+
+    @Test
+    public void shouldFlushWhenTimeBudgetExpires() throws Exception {
+        final ResultBatchSizer sizer = new ResultBatchSizer(1000, 0, 10, 0);
+        assertFalse(sizer.isReady(0));
+        Thread.sleep(20);
+
+        // an empty batch is never flushed for time alone
+        assertFalse(sizer.isReady(0));
+        assertTrue(sizer.isReady(1));
+
+        sizer.written(1, 10);
+        assertFalse(sizer.isReady(1));
+    }
+}
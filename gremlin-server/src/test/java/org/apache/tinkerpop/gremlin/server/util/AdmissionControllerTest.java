@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void shouldLimitRequestsInProgressPerTraversalSource() {
+        final AdmissionController controller = new AdmissionController(0, 1000, 2);
+        assertThat(controller.tryAcquire("g"), is(true));
+        assertThat(controller.tryAcquire("g"), is(true));
+        assertThat(controller.tryAcquire("g"), is(false));
+        assertThat(controller.getInProgress("g"), is(2));
+
+        // other traversal sources are counted separately
+        assertThat(controller.tryAcquire("gmodern"), is(true));
+
+        controller.release("g");
+        assertThat(controller.getInProgress("g"), is(1));
+        assertThat(controller.tryAcquire("g"), is(true));
+    }
+
+    @Test
+    public void shouldReportInProgressOfLatestController() {
+        final String gauge = name(GremlinServer.class, "admission", "in-progress", "g");
+        final AdmissionController first = new AdmissionController(0, 1000, 0);
+        first.tryAcquire("g");
+        assertThat(MetricManager.INSTANCE.getRegistry().getGauges().get(gauge).getValue(), is(1));
+
+        // a controller created for a restarted server replaces the gauges of the one before it
+        final AdmissionController second = new AdmissionController(0, 1000, 0);
+        assertThat(MetricManager.INSTANCE.getRegistry().getGauges().containsKey(gauge), is(false));
+        second.tryAcquire("g");
+        second.tryAcquire("g");
+        assertThat(MetricManager.INSTANCE.getRegistry().getGauges().get(gauge).getValue(), is(2));
+    }
+
+    @Test
+    public void shouldNotLimitRequestsInProgressWhenDisabled() {
+        final AdmissionController controller = new AdmissionController(0, 1000, 0);
+        for (int i = 0; i < 100; i++) {
+            assertThat(controller.tryAcquire("g"), is(true));
+        }
+        assertThat(controller.getInProgress("g"), is(100));
+    }
+
+    @Test
+    public void shouldNotShedWhenDisabled() {
+        final AdmissionController controller = new AdmissionController(0, 1, 0);
+        assertThat(controller.shouldProcess(TimeUnit.SECONDS.toNanos(60)), is(true));
+        assertThat(controller.isOverloaded(), is(false));
+    }
+
+    @Test
+    public void shouldOnlyShedRequestsThatWaitedLongerThanTheIntervalWhenNotOverloaded() {
+        final AdmissionController controller = new AdmissionController(5, 1000, 0);
+        assertThat(controller.shouldProcess(TimeUnit.MILLISECONDS.toNanos(500)), is(true));
+        assertThat(controller.shouldProcess(TimeUnit.MILLISECONDS.toNanos(1500)), is(false));
+        assertThat(controller.isOverloaded(), is(false));
+    }
+
+    @Test
+    public void shouldShedWhenQueueDelayStaysAboveTarget() throws Exception {
+        final AdmissionController controller = new AdmissionController(5, 50, 0);
+
+        // every request over the interval waited longer than the target
+        assertThat(controller.shouldProcess(TimeUnit.MILLISECONDS.toNanos(20)), is(true));
+        assertThat(controller.shouldProcess(TimeUnit.MILLISECONDS.toNanos(30)), is(true));
+        Thread.sleep(60);
+
+        assertThat(controller.shouldProcess(TimeUnit.MILLISECONDS.toNanos(20)), is(false));
+        assertThat(controller.isOverloaded(), is(true));
+        assertThat(controller.shouldProcess(TimeUnit.MILLISECONDS.toNanos(1)), is(true));
+    }
+
+    @Test
+    public void shouldRecoverWhenQueueDelayDropsBelowTarget() throws Exception {
+        final AdmissionController controller = new AdmissionController(5, 50, 0);
+        controller.shouldProcess(TimeUnit.MILLISECONDS.toNanos(20));
+        Thread.sleep(60);
+        controller.shouldProcess(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(controller.isOverloaded(), is(true));
+
+        // the shortest wait in the overloaded interval was under the target
+        Thread.sleep(60);
+        assertThat(controller.shouldProcess(TimeUnit.MILLISECONDS.toNanos(20)), is(true));
+        assertThat(controller.isOverloaded(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowNegativeTargetQueueDelay() {
+        new AdmissionController(-1, 1000, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowZeroInterval() {
+        new AdmissionController(5, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowNegativeMaxConcurrentPerTraversalSource() {
+        new AdmissionController(5, 1000, -1);
+    }
+}
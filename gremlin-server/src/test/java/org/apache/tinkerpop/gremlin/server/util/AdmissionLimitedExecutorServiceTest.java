@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class AdmissionLimitedExecutorServiceTest {
+
+    @Test
+    public void shouldRejectWhenAdmissionLimitReached() throws Exception {
+        final AdmissionLimitedExecutorService executor = new AdmissionLimitedExecutorService(2, ThreadFactoryUtil.create("test-%d"));
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(2);
+        try {
+            final Future<?> first = executor.submit(() -> { started.countDown(); release.await(); return null; });
+            final Future<?> second = executor.submit(() -> { started.countDown(); release.await(); return null; });
+            assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+            assertThat(executor.getAvailablePermits(), is(0));
+
+            try {
+                executor.submit(() -> {});
+                fail("Task should have been rejected");
+            } catch (RejectedExecutionException ignored) {
+                // expected
+            }
+
+            release.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+
+            // permits are returned once tasks complete
+            assertThat(executor.submit(() -> 1).get(10, TimeUnit.SECONDS), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldAwaitTerminationOfRunningTasks() throws Exception {
+        final AdmissionLimitedExecutorService executor = new AdmissionLimitedExecutorService(4, ThreadFactoryUtil.create("test-%d"));
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> { release.await(); return null; });
+        executor.shutdown();
+
+        assertThat(executor.isShutdown(), is(true));
+        assertThat(executor.isTerminated(), is(false));
+        assertThat(executor.awaitTermination(100, TimeUnit.MILLISECONDS), is(false));
+
+        release.countDown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+        assertThat(executor.isTerminated(), is(true));
+    }
+
+    @Test
+    public void shouldInterruptRunningTasksOnShutdownNow() throws Exception {
+        final AdmissionLimitedExecutorService executor = new AdmissionLimitedExecutorService(1, ThreadFactoryUtil.create("test-%d"));
+        final CountDownLatch started = new CountDownLatch(1);
+        final Future<Boolean> f = executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60000);
+                return false;
+            } catch (InterruptedException ie) {
+                return true;
+            }
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        executor.shutdownNow();
+        assertThat(f.get(10, TimeUnit.SECONDS), is(true));
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void shouldInterruptTasksNotYetStartedOnShutdownNow() throws Exception {
+        final AtomicReference<AdmissionLimitedExecutorService> ref = new AtomicReference<>();
+        final ThreadFactory factory = ThreadFactoryUtil.create("test-%d");
+        // shutdownNow() arrives after the task was admitted but before its thread has started
+        final AdmissionLimitedExecutorService executor = new AdmissionLimitedExecutorService(1, r -> {
+            final Thread t = factory.newThread(r);
+            ref.get().shutdownNow();
+            return t;
+        });
+        ref.set(executor);
+
+        final CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        executor.execute(() -> interrupted.complete(Thread.currentThread().isInterrupted()));
+        assertThat(interrupted.get(10, TimeUnit.SECONDS), is(true));
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shouldRejectAfterShutdown() {
+        final AdmissionLimitedExecutorService executor = new AdmissionLimitedExecutorService(1, ThreadFactoryUtil.create("test-%d"));
+        executor.shutdown();
+        executor.execute(() -> {});
+    }
+}
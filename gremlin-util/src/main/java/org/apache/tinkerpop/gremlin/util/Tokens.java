@@ -91,6 +91,28 @@ public final class Tokens {
      */
     public static final String BULK_RESULTS = "bulkResults";
 
+    /**
+     * The key for a client to ask the server to write repeated strings in GraphBinary responses as references.
+     */
+    public static final String STRING_REFERENCES = "stringReferences";
+
+    /**
+     * The key for a client to ask the server to write lists of primitive numbers in GraphBinary responses packed.
+     */
+    public static final String PACKED_LISTS = "packedLists";
+
+    /**
+     * The key for a client to ask the server to write runs of maps with the same keys in GraphBinary responses as
+     * columns.
+     */
+    public static final String COLUMNAR_MAPS = "columnarMaps";
+
+    /**
+     * The key for a client to ask the server to write lengths, ints and longs in GraphBinary responses as
+     * variable-length integers.
+     */
+    public static final String VAR_INTS = "varInts";
+
     /**
      * A value that is a custom string that the user can pass to a server that might accept it for purpose of
      * identifying the kind of client it came from.
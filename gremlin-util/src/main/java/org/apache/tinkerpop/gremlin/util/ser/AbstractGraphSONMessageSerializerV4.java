@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.util.ser;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.util.ReferenceCountUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -32,7 +33,6 @@ import org.apache.tinkerpop.gremlin.util.Tokens;
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.shaded.jackson.core.JsonGenerator;
-import org.apache.tinkerpop.shaded.jackson.core.JsonProcessingException;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.jackson.databind.SerializerProvider;
 import org.apache.tinkerpop.shaded.jackson.databind.jsontype.TypeSerializer;
@@ -42,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -123,20 +124,14 @@ public abstract class AbstractGraphSONMessageSerializerV4 extends AbstractMessag
         try {
             boolean writeFullMessage = responseMessage.getStatus() != null;
 
-            final byte[] header = mapper.writeValueAsBytes(new ResponseMessage.ResponseMessageHeader(responseMessage, isTyped()));
-            final byte[] data = getChunk(true, responseMessage.getResult().getData());
+            encodedMessage = allocator.buffer();
 
-            final byte[] footer = writeFullMessage
-                    ? mapper.writeValueAsBytes(new ResponseMessage.ResponseMessageFooter(responseMessage, isTyped()))
-                    : new byte[0];
             // skip closing }
-            final int headerLen = header.length - (isTyped() ? 4 : 3);
-            final int bufSize = headerLen + data.length + (writeFullMessage ? footer.length - 1 : 0);
-
-            encodedMessage = allocator.buffer(bufSize).writeBytes(header, 0, headerLen).writeBytes(data);
+            writeValue(new ResponseMessage.ResponseMessageHeader(responseMessage, isTyped()), encodedMessage, 0, isTyped() ? 4 : 3);
+            writeData(true, responseMessage.getResult().getData(), encodedMessage);
 
             if (writeFullMessage) {
-                encodedMessage.writeBytes(footer, 1, footer.length - 1);
+                writeValue(new ResponseMessage.ResponseMessageFooter(responseMessage, isTyped()), encodedMessage, 1, 0);
             }
 
             return encodedMessage;
@@ -148,35 +143,45 @@ public abstract class AbstractGraphSONMessageSerializerV4 extends AbstractMessag
         }
     }
 
-    private byte[] getChunk(final boolean isFirst, final Object aggregate) throws JsonProcessingException {
+    /**
+     * Writes the items of a chunk straight into the buffer as a part of the enclosing JSON array. Jackson flushes
+     * its own small buffer into the {@code ByteBuf} as it goes, so even a large chunk never exists as a complete
+     * {@code String} or {@code byte[]}.
+     */
+    private void writeData(final boolean isFirst, final Object aggregate, final ByteBuf buffer) throws IOException {
         if (aggregate == null) {
-            return new byte[0];
+            return;
         }
 
         // Gremlin server always produce List
         final List asList = (List) aggregate;
         if (asList.isEmpty()) {
-            return new byte[0];
+            return;
         }
 
-        final Object[] array = new Object[asList.size()];
-        asList.toArray(array);
-        // List serialization adds extra data, so array used
-        String str = mapper.writeValueAsString(array);
-        // skip opening `[` and closing `]`
-        str = str.substring(1, str.length() - 1);
         if (!isFirst) {
-            str = "," + str;
+            buffer.writeByte(',');
         }
-        return str.getBytes();
+
+        // List serialization adds extra data, so array used. skip opening `[` and closing `]`
+        writeValue(asList.toArray(), buffer, 1, 1);
+    }
+
+    /**
+     * Serializes the value as UTF-8 JSON directly into the buffer, dropping {@code leading} bytes from the start
+     * of the output and {@code trailing} bytes from its end.
+     */
+    private void writeValue(final Object value, final ByteBuf buffer, final int leading, final int trailing) throws IOException {
+        mapper.writeValue((OutputStream) new SkippingByteBufOutputStream(buffer, leading), value);
+        buffer.writerIndex(buffer.writerIndex() - trailing);
     }
 
     @Override
     public ByteBuf writeChunk(final Object aggregate, final ByteBufAllocator allocator) throws SerializationException {
         ByteBuf encodedMessage = null;
         try {
-            final byte[] payload = getChunk(false, aggregate);
-            encodedMessage = allocator.buffer(payload.length).writeBytes(payload);
+            encodedMessage = allocator.buffer();
+            writeData(false, aggregate, encodedMessage);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -191,11 +196,10 @@ public abstract class AbstractGraphSONMessageSerializerV4 extends AbstractMessag
     public ByteBuf writeFooter(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
         ByteBuf encodedMessage = null;
         try {
-            final byte[] footer = mapper.writeValueAsBytes(new ResponseMessage.ResponseMessageFooter(responseMessage, isTyped()));
-            final byte[] data = getChunk(false, responseMessage.getResult().getData());
+            encodedMessage = allocator.buffer();
+            writeData(false, responseMessage.getResult().getData(), encodedMessage);
             // skip opening {
-            encodedMessage = allocator.buffer(footer.length - 2 + data.length).
-                    writeBytes(data).writeBytes(footer, 1, footer.length - 1);
+            writeValue(new ResponseMessage.ResponseMessageFooter(responseMessage, isTyped()), encodedMessage, 1, 0);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -210,10 +214,9 @@ public abstract class AbstractGraphSONMessageSerializerV4 extends AbstractMessag
     public ByteBuf writeErrorFooter(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
         ByteBuf encodedMessage = null;
         try {
-            final byte[] footer = mapper.writeValueAsBytes(new ResponseMessage.ResponseMessageFooter(responseMessage, isTyped()));
+            encodedMessage = allocator.buffer();
             // skip opening {
-            encodedMessage = allocator.buffer(footer.length - 2).
-                    writeBytes(footer, 1, footer.length - 1);
+            writeValue(new ResponseMessage.ResponseMessageFooter(responseMessage, isTyped()), encodedMessage, 1, 0);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -233,10 +236,8 @@ public abstract class AbstractGraphSONMessageSerializerV4 extends AbstractMessag
     public ByteBuf serializeRequestAsBinary(RequestMessage requestMessage, ByteBufAllocator allocator) throws SerializationException {
         ByteBuf encodedMessage = null;
         try {
-            final byte[] payload = mapper.writeValueAsBytes(requestMessage);
-
-            encodedMessage = allocator.buffer(payload.length);
-            encodedMessage.writeBytes(payload);
+            encodedMessage = allocator.buffer();
+            writeValue(requestMessage, encodedMessage, 0, 0);
 
             return encodedMessage;
         } catch (Exception ex) {
@@ -259,6 +260,39 @@ public abstract class AbstractGraphSONMessageSerializerV4 extends AbstractMessag
         }
     }
 
+    /**
+     * A {@code ByteBufOutputStream} that discards the first bytes written to it, which lets a complete JSON value
+     * be written by Jackson when only a fragment of it belongs in the response.
+     */
+    private static final class SkippingByteBufOutputStream extends ByteBufOutputStream {
+        private int skip;
+
+        private SkippingByteBufOutputStream(final ByteBuf buffer, final int skip) {
+            super(buffer);
+            this.skip = skip;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (skip > 0)
+                skip--;
+            else
+                super.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b) throws IOException {
+            write(b, 0, b.length);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            final int skipped = Math.min(skip, len);
+            skip -= skipped;
+            if (len > skipped) super.write(b, off + skipped, len - skipped);
+        }
+    }
+
     public final static class GremlinServerModuleV4 extends SimpleModule {
         public GremlinServerModuleV4() {
             super("graphsonV4-gremlin-server");
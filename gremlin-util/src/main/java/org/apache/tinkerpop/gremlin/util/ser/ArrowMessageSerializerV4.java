@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryMapper;
+import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.message.ResponseStatus;
+import org.apache.tinkerpop.gremlin.util.ser.arrow.ArrowStreamReader;
+import org.apache.tinkerpop.gremlin.util.ser.arrow.ArrowStreamWriter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes results as an Apache Arrow IPC stream so that tabular results, like those of {@code project()},
+ * {@code valueMap()} or {@code elementMap()}, can be loaded by dataframe and analytics tools as they are. The
+ * schema comes from the first chunk of results and each chunk is a record batch. A chunk that does not fit the schema
+ * ends the stream and starts another with a schema widened to fit it, so a response may be a few streams one after
+ * the other. The status of the response is the custom metadata of a last record batch without rows. Requests are
+ * GraphBinary, as they are for the drivers.
+ */
+public class ArrowMessageSerializerV4 extends AbstractMessageSerializer<GraphBinaryMapper> {
+    public static final String STATUS_CODE = "gremlin.status.code";
+    public static final String STATUS_MESSAGE = "gremlin.status.message";
+    public static final String STATUS_EXCEPTION = "gremlin.status.exception";
+
+    private static final String MIME_TYPE = SerTokens.MIME_ARROW_STREAM;
+
+    private final GraphBinaryMessageSerializerV4 requestSerializer;
+    private final boolean forResponse;
+    private ArrowStreamWriter writer;
+    private ArrowStreamReader reader;
+
+    public ArrowMessageSerializerV4() {
+        requestSerializer = new GraphBinaryMessageSerializerV4();
+        forResponse = false;
+    }
+
+    private ArrowMessageSerializerV4(final ArrowMessageSerializerV4 serializer) {
+        requestSerializer = serializer.requestSerializer;
+        forResponse = true;
+    }
+
+    /**
+     * Creates a serializer for a single response. The header, chunks and footer of the response must be written, or
+     * read, in order with the same instance, which is not thread-safe, as each follows the schema of those before it.
+     */
+    public ArrowMessageSerializerV4 forResponse() {
+        return new ArrowMessageSerializerV4(this);
+    }
+
+    @Override
+    public GraphBinaryMapper getMapper() {
+        return requestSerializer.getMapper();
+    }
+
+    @Override
+    public void configure(final Map<String, Object> config, final Map<String, Graph> graphs) {
+        requestSerializer.configure(config, graphs);
+    }
+
+    @Override
+    public String[] mimeTypesSupported() {
+        return new String[] {MIME_TYPE};
+    }
+
+    @Override
+    public ByteBuf serializeRequestAsBinary(final RequestMessage requestMessage, final ByteBufAllocator allocator) throws SerializationException {
+        return requestSerializer.serializeRequestAsBinary(requestMessage, allocator);
+    }
+
+    @Override
+    public RequestMessage deserializeBinaryRequest(final ByteBuf msg) throws SerializationException {
+        return requestSerializer.deserializeBinaryRequest(msg);
+    }
+
+    @Override
+    public ByteBuf serializeResponseAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        if (null == responseMessage.getStatus()) {
+            throw new SerializationException("ResponseStatus can't be null when serializing a full ResponseMessage.");
+        }
+
+        final List<Object> data = getData(responseMessage);
+        final ArrowStreamWriter writer = ArrowStreamWriter.inferFrom(data);
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            writer.writeSchema(buffer);
+            if (!data.isEmpty()) writer.writeBatch(data, Collections.emptyMap(), buffer);
+            writeStatus(writer, responseMessage, buffer);
+        } catch (Exception ex) {
+            buffer.release();
+            throw ex;
+        }
+        return buffer;
+    }
+
+    @Override
+    public ResponseMessage deserializeBinaryResponse(final ByteBuf msg) throws SerializationException {
+        final ArrowStreamReader reader = new ArrowStreamReader();
+        return toResponseMessage(reader, reader.read(msg));
+    }
+
+    //////////////// chunked write
+    @Override
+    public ByteBuf writeHeader(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        requireForResponse();
+        final List<Object> data = getData(responseMessage);
+        writer = ArrowStreamWriter.inferFrom(data);
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            writer.writeSchema(buffer);
+            if (!data.isEmpty()) writeBatch(data, buffer);
+            if (responseMessage.getStatus() != null) writeStatus(writer, responseMessage, buffer);
+        } catch (Exception ex) {
+            buffer.release();
+            throw ex;
+        }
+        return buffer;
+    }
+
+    @Override
+    public ByteBuf writeChunk(final Object aggregate, final ByteBufAllocator allocator) throws SerializationException {
+        requireForResponse();
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            writeBatch((List<?>) aggregate, buffer);
+        } catch (Exception ex) {
+            buffer.release();
+            throw ex;
+        }
+        return buffer;
+    }
+
+    @Override
+    public ByteBuf writeFooter(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        requireForResponse();
+        final List<Object> data = getData(responseMessage);
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            if (!data.isEmpty()) writeBatch(data, buffer);
+            writeStatus(writer, responseMessage, buffer);
+        } catch (Exception ex) {
+            buffer.release();
+            throw ex;
+        }
+        return buffer;
+    }
+
+    @Override
+    public ByteBuf writeErrorFooter(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
+        requireForResponse();
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            // the stream needs a schema before the status even if the error came before any results
+            if (null == writer) {
+                writer = ArrowStreamWriter.inferFrom(Collections.emptyList());
+                writer.writeSchema(buffer);
+            }
+            writeStatus(writer, responseMessage, buffer);
+        } catch (Exception ex) {
+            buffer.release();
+            throw ex;
+        }
+        return buffer;
+    }
+
+    @Override
+    public ResponseMessage readChunk(final ByteBuf byteBuf, final boolean isFirstChunk) throws SerializationException {
+        requireForResponse();
+        if (isFirstChunk || null == reader) reader = new ArrowStreamReader();
+        return toResponseMessage(reader, reader.read(byteBuf));
+    }
+
+    /**
+     * Writes the results as a record batch, first ending the stream and starting another with a wider schema if they
+     * do not fit the schema of the current one.
+     */
+    private void writeBatch(final List<?> data, final ByteBuf buffer) throws SerializationException {
+        final ArrowStreamWriter widened = writer.widenTo(data);
+        if (widened != writer) {
+            ArrowStreamWriter.writeEndOfStream(buffer);
+            writer = widened;
+            writer.writeSchema(buffer);
+        }
+        writer.writeBatch(data, Collections.emptyMap(), buffer);
+    }
+
+    private void requireForResponse() {
+        if (!forResponse)
+            throw new IllegalStateException("A response is written and read in chunks with a serializer from forResponse()");
+    }
+
+    private static List<Object> getData(final ResponseMessage responseMessage) {
+        return null == responseMessage.getResult() || null == responseMessage.getResult().getData() ?
+                Collections.emptyList() : responseMessage.getResult().getData();
+    }
+
+    private static void writeStatus(final ArrowStreamWriter writer, final ResponseMessage responseMessage, final ByteBuf buffer) throws SerializationException {
+        final ResponseStatus status = responseMessage.getStatus();
+        final Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put(STATUS_CODE, String.valueOf(status.getCode().code()));
+        if (status.getMessage() != null) metadata.put(STATUS_MESSAGE, status.getMessage());
+        if (status.getException() != null) metadata.put(STATUS_EXCEPTION, status.getException());
+
+        writer.writeBatch(Collections.emptyList(), metadata, buffer);
+        ArrowStreamWriter.writeEndOfStream(buffer);
+    }
+
+    private static ResponseMessage toResponseMessage(final ArrowStreamReader reader, final List<Object> rows) {
+        final String code = reader.isEnded() ? reader.getMetadata().get(STATUS_CODE) : null;
+        if (null == code) return ResponseMessage.build().result(rows).create();
+
+        return ResponseMessage.build()
+                .result(rows)
+                .code(HttpResponseStatus.valueOf(Integer.parseInt(code)))
+                .statusMessage(reader.getMetadata().get(STATUS_MESSAGE))
+                .exception(reader.getMetadata().get(STATUS_EXCEPTION))
+                .create();
+    }
+}
@@ -20,10 +20,12 @@ package org.apache.tinkerpop.gremlin.util.ser;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 import org.apache.tinkerpop.gremlin.structure.io.IoRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryIo;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryMapper;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
@@ -34,7 +36,10 @@ import org.apache.tinkerpop.gremlin.structure.io.binary.types.CustomTypeSerializ
 import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.message.ResponseStatus;
+import org.apache.tinkerpop.gremlin.util.ser.binary.ColumnarMapsSerializer;
+import org.apache.tinkerpop.gremlin.util.ser.binary.LazyValue;
 import org.apache.tinkerpop.gremlin.util.ser.binary.RequestMessageSerializer;
+import org.apache.tinkerpop.gremlin.util.ser.binary.StreamingRequestMessageReader;
 import org.javatuples.Pair;
 import org.javatuples.Triplet;
 
@@ -56,9 +61,27 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
     private RequestMessageSerializer requestSerializer;
     private final GraphBinaryMapper mapper;
 
+    private final boolean forResponse;
+    private final boolean stringReferences;
+    private final boolean packedLists;
+    private final boolean columnarMaps;
+    private final boolean varInts;
+    private final ColumnarMapsSerializer columnarMapsSerializer = new ColumnarMapsSerializer();
+
     private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
     private static final String MIME_TYPE = SerTokens.MIME_GRAPHBINARY_V4;
 
+    /**
+     * The largest buffer allocated up front for a chunk, which keeps the allocation within the sizes a pooled
+     * allocator serves from its pool. Chunks that are larger grow from there.
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 20;
+
+    /**
+     * The number of results at the start of a chunk whose size is estimated and taken as typical of the rest of it.
+     */
+    private static final int ESTIMATE_SAMPLE_SIZE = 8;
+
     /**
      * Creates a new instance of the message serializer using the default type serializers.
      */
@@ -72,12 +95,88 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
         mapper = new GraphBinaryMapper(writer, reader);
 
         requestSerializer = new RequestMessageSerializer();
+        forResponse = false;
+        stringReferences = false;
+        packedLists = false;
+        columnarMaps = false;
+        varInts = false;
     }
 
     public GraphBinaryMessageSerializerV4(final TypeSerializerRegistry.Builder builder) {
         this(builder.create());
     }
 
+    private GraphBinaryMessageSerializerV4(final GraphBinaryMessageSerializerV4 serializer, final boolean stringReferences,
+                                           final boolean packedLists, final boolean columnarMaps, final boolean varInts) {
+        GraphBinaryWriter responseWriter = stringReferences ? serializer.writer.withStringReferences() : serializer.writer;
+        if (packedLists) responseWriter = responseWriter.withPackedLists();
+        if (varInts) responseWriter = responseWriter.withVarInts();
+        reader = serializer.reader.withStringReferences();
+        writer = responseWriter;
+        mapper = serializer.mapper;
+        requestSerializer = serializer.requestSerializer;
+        forResponse = true;
+        this.stringReferences = stringReferences;
+        this.packedLists = packedLists;
+        this.columnarMaps = columnarMaps;
+        this.varInts = varInts;
+    }
+
+    /**
+     * Creates a serializer with the same configuration as this one for a single response. The header, chunks and
+     * footer of the response must be written, or read, in order with the same instance, which is not thread-safe.
+     * Other readers may not support the optional encodings so a server should only write them when a client asks
+     * for them.
+     *
+     * @param stringReferences write a string repeated anywhere in the response, like a label or property key, in full
+     *                         only once and as a reference to that after
+     * @param packedLists write lists of primitive numbers, like embeddings, as packed values
+     * @param columnarMaps write runs of maps with the same keys, like the results of {@code project()}, with the keys
+     *                     once and the values by column
+     * @param varInts write lengths, ints and longs, like sizes, bulks and numeric ids, as variable-length integers
+     */
+    public GraphBinaryMessageSerializerV4 forResponse(final boolean stringReferences, final boolean packedLists,
+                                                      final boolean columnarMaps, final boolean varInts) {
+        return new GraphBinaryMessageSerializerV4(this, stringReferences, packedLists, columnarMaps, varInts);
+    }
+
+    /**
+     * Creates a serializer for a single response that writes repeated strings as references.
+     *
+     * @see #forResponse(boolean, boolean, boolean, boolean)
+     */
+    public GraphBinaryMessageSerializerV4 withStringReferences() {
+        return forResponse(true, false, false, false);
+    }
+
+    /**
+     * Determines if this serializer is for a single response with string references.
+     */
+    public boolean isStringReferences() {
+        return stringReferences;
+    }
+
+    /**
+     * Determines if this serializer is for a single response with packed lists.
+     */
+    public boolean isPackedLists() {
+        return packedLists;
+    }
+
+    /**
+     * Determines if this serializer is for a single response with columnar maps.
+     */
+    public boolean isColumnarMaps() {
+        return columnarMaps;
+    }
+
+    /**
+     * Determines if this serializer is for a single response with variable-length integers.
+     */
+    public boolean isVarInts() {
+        return varInts;
+    }
+
     @Override
     public GraphBinaryMapper getMapper() {
         return mapper;
@@ -180,6 +279,13 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
         return requestSerializer.readValue(msg, reader);
     }
 
+    /**
+     * Creates a reader that deserializes a request incrementally as its content arrives.
+     */
+    public StreamingRequestMessageReader createStreamingRequestReader(final ByteBufAllocator allocator) {
+        return new StreamingRequestMessageReader(reader, allocator);
+    }
+
     @Override
     public ByteBuf serializeResponseAsBinary(final ResponseMessage responseMessage, final ByteBufAllocator allocator) throws SerializationException {
         if (null == responseMessage.getStatus()) {
@@ -214,25 +320,34 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
 
     private ByteBuf write(final ResponseMessage responseMessage, final Object aggregate,
                           final ByteBufAllocator allocator, final EnumSet<MessageParts> parts) throws SerializationException {
-        final ByteBuf byteBuf = allocator.buffer();
+        final Object data = parts.contains(MessageParts.DATA) && aggregate == null && responseMessage.getResult() != null
+                ? responseMessage.getResult().getData()
+                : aggregate;
+
+        final ByteBuf byteBuf;
+        try {
+            byteBuf = allocator.buffer(estimateSize(responseMessage, (List) data, parts));
+        } catch (IOException e) {
+            throw new SerializationException(e);
+        }
         final Buffer buffer = bufferFactory.create(byteBuf);
 
         try {
             if (parts.contains(MessageParts.HEADER)) {
                 // Version
                 buffer.writeByte(GraphBinaryWriter.VERSION_BYTE);
-                if (responseMessage.getResult().isBulked()) {
-                    buffer.writeByte(GraphBinaryWriter.BULKED_BYTE);
-                } else {
-                    buffer.writeByte((byte) 0);
-                }
+                byte flags = responseMessage.getResult().isBulked() ? GraphBinaryWriter.BULKED_BYTE : 0;
+                if (stringReferences) flags |= GraphBinaryWriter.STRING_REFERENCES_BYTE;
+                if (packedLists) flags |= GraphBinaryWriter.PACKED_LISTS_BYTE;
+                if (columnarMaps) flags |= GraphBinaryWriter.COLUMNAR_MAPS_BYTE;
+                if (varInts) flags |= GraphBinaryWriter.VAR_INTS_BYTE;
+                buffer.writeByte(flags);
             }
 
             if (parts.contains(MessageParts.DATA)) {
-                final Object data = aggregate == null && responseMessage.getResult() != null
-                        ? responseMessage.getResult().getData()
-                        : aggregate;
-                if (data != null) {
+                if (data != null && columnarMaps) {
+                    columnarMapsSerializer.writeData((List) data, buffer, writer);
+                } else if (data != null) {
                     for (final Object item : (List) data) {
                         writer.write(item, buffer);
                     }
@@ -257,6 +372,31 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
         return byteBuf;
     }
 
+    /**
+     * Estimates the size of a chunk from the estimates of the serializers so that its buffer is allocated close to the
+     * size it ends up with rather than growing while it is written, but no larger than {@link #MAX_INITIAL_CAPACITY}.
+     * Only the first {@link #ESTIMATE_SAMPLE_SIZE} results are estimated so that this stays cheap next to writing them.
+     */
+    private int estimateSize(final ResponseMessage responseMessage, final List data,
+                             final EnumSet<MessageParts> parts) throws IOException {
+        // {version}{flags}
+        long size = parts.contains(MessageParts.HEADER) ? 2 : 0;
+        if (data != null && !data.isEmpty()) {
+            final int sampled = Math.min(data.size(), ESTIMATE_SAMPLE_SIZE);
+            long sampleSize = 0;
+            for (int i = 0; i < sampled; i++) {
+                sampleSize += writer.estimateSize(data.get(i));
+            }
+            size += sampleSize * data.size() / sampled;
+        }
+        if (parts.contains(MessageParts.FOOTER)) {
+            // {marker}{status_code}{status_message}{exception}
+            final ResponseStatus status = responseMessage.getStatus();
+            size += 3 + Integer.BYTES + writer.estimateSize(status.getMessage()) + writer.estimateSize(status.getException());
+        }
+        return (int) Math.min(size, MAX_INITIAL_CAPACITY);
+    }
+
     //////////////// read message methods
 
     @Override
@@ -264,9 +404,24 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
         return readChunk(msg, true);
     }
 
-    private List<Object> readPayload(final Buffer buffer) throws IOException {
+    private List<Object> readPayload(final Buffer buffer, final GraphBinaryReader reader, final byte[] lazyBytes) throws IOException {
         final List<Object> result = new ArrayList<>();
         while (buffer.readableBytes() != 0) {
+            // maps written as columns are added to the result as separate items
+            final int readerIndex = buffer.readerIndex();
+            final DataType type = DataType.get(Byte.toUnsignedInt(buffer.readByte()));
+            if (type == DataType.COLUMNAR_MAPS) {
+                columnarMapsSerializer.readValue(buffer, reader, result);
+                continue;
+            }
+            buffer.readerIndex(readerIndex);
+
+            if (lazyBytes != null && isReadLazily(type)) {
+                reader.skip(buffer);
+                result.add(new LazyValue(lazyBytes, readerIndex, buffer.readerIndex() - readerIndex, reader));
+                continue;
+            }
+
             final Object obj = reader.read(buffer);
             if (Marker.END_OF_STREAM.equals(obj)) {
                 break;
@@ -276,7 +431,7 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
         return result;
     }
 
-    private Triplet<HttpResponseStatus, String, String> readFooter(final Buffer buffer) throws IOException {
+    private Triplet<HttpResponseStatus, String, String> readFooter(final Buffer buffer, final GraphBinaryReader reader) throws IOException {
         final HttpResponseStatus statusCode = HttpResponseStatus.valueOf(reader.readValue(buffer, Integer.class, false));
         final String message = reader.readValue(buffer, String.class, true);
         final String exception = reader.readValue(buffer, String.class, true);
@@ -284,11 +439,41 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
         return Triplet.with(statusCode, message, exception);
     }
 
+    /**
+     * Determines if a value of the type is worth reading only when it is asked for, which is the case for those that
+     * hold other values.
+     */
+    private static boolean isReadLazily(final DataType type) {
+        return type == DataType.VERTEX || type == DataType.EDGE || type == DataType.VERTEXPROPERTY ||
+                type == DataType.PATH || type == DataType.LIST || type == DataType.SET || type == DataType.MAP;
+    }
+
     @Override
     public ResponseMessage readChunk(final ByteBuf byteBuf, final boolean isFirstChunk) throws SerializationException {
-        final Buffer buffer = bufferFactory.create(byteBuf);
+        return readChunk(byteBuf, isFirstChunk, false);
+    }
+
+    /**
+     * Reads a chunk in the same way as {@link #readChunk(ByteBuf, boolean)} but, when {@code lazy} is set, leaves
+     * elements, paths, lists, sets and maps in the result as a {@link LazyValue} that is only read when it is asked
+     * for. Their bytes are a range of a single copy of the chunk, so the buffer does not need to be kept. Values that
+     * are read lazily are read on their own, so the chunk must not have strings written as references and this
+     * cannot be a serializer for a single response.
+     */
+    public ResponseMessage readChunk(final ByteBuf byteBuf, final boolean isFirstChunk, final boolean lazy) throws SerializationException {
+        if (lazy && forResponse)
+            throw new IllegalStateException("A serializer for a single response cannot read values lazily");
+
+        final byte[] lazyBytes = lazy ? new byte[byteBuf.readableBytes()] : null;
+        if (lazy) byteBuf.readBytes(lazyBytes);
+        final Buffer buffer = bufferFactory.create(lazy ? Unpooled.wrappedBuffer(lazyBytes) : byteBuf);
         boolean bulking = false;
 
+        // a serializer for a single response resolves references to strings in earlier chunks. otherwise, the
+        // chunk is expected to be read on its own, which is fine whether it has references or not. lazy values are
+        // read later on their own so they are read without references
+        GraphBinaryReader reader = forResponse || lazy ? this.reader : this.reader.withStringReferences();
+
         try {
             // empty input buffer
             if (buffer.readableBytes() == 0) {
@@ -303,10 +488,17 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
                     // Or the buffer offsets are wrong
                     throw new SerializationException("The most significant bit should be set according to the format");
                 }
-                bulking = (buffer.readByte() & 1) == 1;
+                final byte flags = buffer.readByte();
+                bulking = (flags & GraphBinaryWriter.BULKED_BYTE) != 0;
+
+                // the header is where the encoding of integers in the rest of the response is set
+                if ((flags & GraphBinaryWriter.VAR_INTS_BYTE) != 0 && !reader.isReadingVarInts()) {
+                    reader = reader.withVarInts();
+                    if (forResponse) this.reader = reader;
+                }
             }
 
-            final List<Object> result = readPayload(buffer);
+            final List<Object> result = readPayload(buffer, reader, lazyBytes);
 
             // no footer
             if (buffer.readableBytes() == 0) {
@@ -316,7 +508,7 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
                         .create();
             }
 
-            final Triplet<HttpResponseStatus, String, String> footer = readFooter(buffer);
+            final Triplet<HttpResponseStatus, String, String> footer = readFooter(buffer, reader);
             return ResponseMessage.build()
                     .result(result)
                     .bulked(bulking)
@@ -41,4 +41,5 @@ public final class SerTokens {
     public static final String MIME_GRAPHSON_V4 = "application/vnd.gremlin-v4.0+json";
     public static final String MIME_GRAPHSON_V4_UNTYPED = "application/vnd.gremlin-v4.0+json;types=false";
     public static final String MIME_GRAPHBINARY_V4 = "application/vnd.graphbinary-v4.0";
+    public static final String MIME_ARROW_STREAM = "application/vnd.apache.arrow.stream";
 }
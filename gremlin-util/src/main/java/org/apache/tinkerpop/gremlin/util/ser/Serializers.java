@@ -45,7 +45,12 @@ public enum Serializers {
     /**
      * GraphBinary 4.0.
      */
-    GRAPHBINARY_V4(SerTokens.MIME_GRAPHBINARY_V4);
+    GRAPHBINARY_V4(SerTokens.MIME_GRAPHBINARY_V4),
+
+    /**
+     * Apache Arrow IPC stream for tabular results.
+     */
+    ARROW_STREAM(SerTokens.MIME_ARROW_STREAM);
 
     private String value;
 
@@ -66,6 +71,8 @@ public enum Serializers {
                 return new GraphSONUntypedMessageSerializerV4();
             case SerTokens.MIME_GRAPHBINARY_V4:
                 return new GraphBinaryMessageSerializerV4();
+            case SerTokens.MIME_ARROW_STREAM:
+                return new ArrowMessageSerializerV4();
             default:
                 throw new RuntimeException("Could not create a simple MessageSerializer instance of " + value);
         }
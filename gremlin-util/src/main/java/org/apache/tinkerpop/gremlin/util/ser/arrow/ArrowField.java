@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.arrow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A column of an Arrow schema. All fields are nullable.
+ */
+public final class ArrowField {
+
+    /**
+     * The Arrow types that results are written as.
+     */
+    public enum Type {
+        /**
+         * A signed 32-bit {@code Int}, read as an {@code Integer}.
+         */
+        INT32,
+
+        /**
+         * A signed 64-bit {@code Int}, read as a {@code Long}.
+         */
+        INT64,
+
+        /**
+         * A single precision {@code FloatingPoint}, read as a {@code Float}.
+         */
+        FLOAT32,
+
+        /**
+         * A double precision {@code FloatingPoint}, read as a {@code Double}.
+         */
+        FLOAT64,
+
+        /**
+         * A {@code Bool}, read as a {@code Boolean}.
+         */
+        BOOL,
+
+        /**
+         * A {@code Utf8} string, read as a {@code String}.
+         */
+        UTF8,
+
+        /**
+         * A {@code List} with a single child field for its items, read as a {@code List}.
+         */
+        LIST,
+
+        /**
+         * A {@code Struct_} with a child field for each key, read as a {@code Map}.
+         */
+        STRUCT
+    }
+
+    static final String LIST_ITEM = "item";
+
+    private final String name;
+    private final Type type;
+    private final List<ArrowField> children;
+
+    ArrowField(final String name, final Type type, final List<ArrowField> children) {
+        this.name = name;
+        this.type = type;
+        this.children = Collections.unmodifiableList(children);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<ArrowField> getChildren() {
+        return children;
+    }
+
+    /**
+     * Infers the field for a column from its values. Numbers, booleans and strings map to the matching Arrow type,
+     * collections to a {@link Type#LIST} of their items and maps to a {@link Type#STRUCT} of their keys. Anything
+     * else, or a mix of values that do not share a type, is a {@link Type#UTF8} of their string form.
+     */
+    static ArrowField infer(final String name, final Collection<?> values) {
+        boolean integers = true;
+        boolean longs = false;
+        boolean floats = true;
+        boolean numbers = true;
+        boolean booleans = true;
+        boolean collections = true;
+        boolean maps = true;
+        boolean any = false;
+        for (Object value : values) {
+            if (null == value) continue;
+            any = true;
+            final boolean integral = isIntegral(value);
+            longs |= value instanceof Long;
+            integers &= integral;
+            floats &= value instanceof Float;
+            numbers &= integral || value instanceof Float || value instanceof Double;
+            booleans &= value instanceof Boolean;
+            collections &= value instanceof Collection;
+            maps &= value instanceof Map;
+        }
+
+        if (!any) return new ArrowField(name, Type.UTF8, Collections.emptyList());
+        if (integers) return new ArrowField(name, longs ? Type.INT64 : Type.INT32, Collections.emptyList());
+        if (floats) return new ArrowField(name, Type.FLOAT32, Collections.emptyList());
+        if (numbers) return new ArrowField(name, Type.FLOAT64, Collections.emptyList());
+        if (booleans) return new ArrowField(name, Type.BOOL, Collections.emptyList());
+
+        if (collections) {
+            final List<Object> items = new ArrayList<>();
+            values.stream().filter(v -> v != null).forEach(v -> items.addAll((Collection<?>) v));
+            return new ArrowField(name, Type.LIST, Collections.singletonList(infer(LIST_ITEM, items)));
+        }
+
+        if (maps) {
+            final Map<String, List<Object>> columns = new LinkedHashMap<>();
+            values.stream().filter(v -> v != null).forEach(v -> keyed((Map<?, ?>) v).keySet().forEach(k ->
+                    columns.putIfAbsent(k, new ArrayList<>())));
+            values.stream().filter(v -> v != null).map(v -> keyed((Map<?, ?>) v)).forEach(m ->
+                    columns.forEach((k, column) -> column.add(m.get(k))));
+            return new ArrowField(name, Type.STRUCT, columns.entrySet().stream().
+                    map(e -> infer(e.getKey(), e.getValue())).collect(Collectors.toList()));
+        }
+
+        return new ArrowField(name, Type.UTF8, Collections.emptyList());
+    }
+
+    /**
+     * Determines if the value can be written to this field as it is or by promoting an integer to a {@link Type#INT64}
+     * or a {@link Type#FLOAT64}. A {@link Type#UTF8} holds any value as its string form and {@code null}, as for a key
+     * missing from a map, fits any field.
+     */
+    boolean fits(final Object value) {
+        if (null == value) return true;
+        switch (type) {
+            case INT32:
+                return isIntegral(value) && !(value instanceof Long);
+            case INT64:
+                return isIntegral(value);
+            case FLOAT32:
+                return value instanceof Float;
+            case FLOAT64:
+                return isIntegral(value) || value instanceof Float || value instanceof Double;
+            case BOOL:
+                return value instanceof Boolean;
+            case LIST:
+                if (!(value instanceof Collection)) return false;
+                for (Object item : (Collection<?>) value) {
+                    if (!children.get(0).fits(item)) return false;
+                }
+                return true;
+            case STRUCT:
+                return value instanceof Map && fitsChildren((Map<?, ?>) value);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Determines if each key of the map is a child of this field with a value that fits it.
+     */
+    boolean fitsChildren(final Map<?, ?> map) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            final String key = String.valueOf(entry.getKey());
+            final ArrowField child = children.stream().filter(f -> f.getName().equals(key)).findFirst().orElse(null);
+            if (null == child || !child.fits(entry.getValue())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the narrowest field, named as the first, that holds the values of both fields. Integers widen to a
+     * {@link Type#INT64} and numbers to a {@link Type#FLOAT64}, lists widen their items and structs widen the children
+     * they share and add those of the second after those of the first. Any other fields that differ widen to a
+     * {@link Type#UTF8}.
+     */
+    static ArrowField widen(final ArrowField first, final ArrowField second) {
+        if (first.type == second.type) {
+            if (first.type == Type.LIST)
+                return new ArrowField(first.name, Type.LIST,
+                        Collections.singletonList(widen(first.children.get(0), second.children.get(0))));
+            if (first.type == Type.STRUCT) {
+                final Map<String, ArrowField> children = new LinkedHashMap<>();
+                first.children.forEach(f -> children.put(f.name, f));
+                second.children.forEach(f -> children.merge(f.name, f, ArrowField::widen));
+                return new ArrowField(first.name, Type.STRUCT, new ArrayList<>(children.values()));
+            }
+            return first;
+        }
+
+        if (isNumeric(first.type) && isNumeric(second.type)) {
+            final boolean integral = (first.type == Type.INT32 || first.type == Type.INT64) &&
+                    (second.type == Type.INT32 || second.type == Type.INT64);
+            return new ArrowField(first.name, integral ? Type.INT64 : Type.FLOAT64, Collections.emptyList());
+        }
+
+        return new ArrowField(first.name, Type.UTF8, Collections.emptyList());
+    }
+
+    private static boolean isNumeric(final Type type) {
+        return type == Type.INT32 || type == Type.INT64 || type == Type.FLOAT32 || type == Type.FLOAT64;
+    }
+
+    static boolean isIntegral(final Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * Gets a map with the name of each column as its keys, which is the string form of keys like {@code T.id}.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> keyed(final Map<?, ?> map) {
+        if (map.keySet().stream().allMatch(k -> k instanceof String)) return (Map<String, Object>) map;
+
+        final Map<String, Object> keyed = new LinkedHashMap<>();
+        map.forEach((k, v) -> keyed.put(String.valueOf(k), v));
+        return keyed;
+    }
+
+    @Override
+    public String toString() {
+        return children.isEmpty() ? name + ":" + type : name + ":" + type + children;
+    }
+}
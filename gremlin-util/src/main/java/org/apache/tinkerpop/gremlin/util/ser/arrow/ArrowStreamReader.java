@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.arrow;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the results of an Arrow IPC stream as written by {@link ArrowStreamWriter}. The stream may be given in
+ * pieces that split its messages anywhere, as the part of a message that is not complete is kept until the rest of
+ * it arrives. Rows that are maps are read as a {@code Map} of the column names to the values that are not
+ * {@code null}. Streams that follow the end of one, each with a schema of its own, are read in turn. An instance
+ * reads the streams of a single response and is not thread-safe.
+ */
+public final class ArrowStreamReader {
+
+    private List<ArrowField> fields;
+    private boolean valueRows;
+    private boolean ended;
+    private Map<String, String> metadata = Collections.emptyMap();
+    private ByteBuf pending;
+
+    /**
+     * Reads the results of all the messages in the buffer that are complete.
+     */
+    public List<Object> read(final ByteBuf buffer) throws SerializationException {
+        final ByteBuf input;
+        if (pending != null) {
+            pending.writeBytes(buffer);
+            input = pending;
+        } else {
+            input = buffer;
+        }
+
+        final List<Object> rows = new ArrayList<>();
+        try {
+            while (readMessage(input, rows)) {
+                // each message read adds its rows
+            }
+        } catch (IndexOutOfBoundsException ex) {
+            throw new SerializationException(ex);
+        }
+
+        if (!input.isReadable()) {
+            if (pending != null) pending.release();
+            pending = null;
+        } else if (input == pending) {
+            pending.discardReadBytes();
+        } else {
+            pending = Unpooled.buffer(input.readableBytes());
+            pending.writeBytes(input);
+        }
+
+        return rows;
+    }
+
+    /**
+     * Gets the columns of the schema of the stream being read, which are {@code null} until a schema message is read.
+     */
+    public List<ArrowField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Gets the custom metadata of the last record batch read that had any.
+     */
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Determines if the last message read was the end-of-stream marker, which is only followed by another stream if
+     * the schema was widened.
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+
+    private boolean readMessage(final ByteBuf input, final List<Object> rows) throws SerializationException {
+        if (input.readableBytes() < 4) return false;
+
+        // streams from before the continuation marker was added start messages with the length right away
+        final int index = input.readerIndex();
+        int prefix = 4;
+        int length = input.getIntLE(index);
+        if (length == ArrowStreamWriter.CONTINUATION) {
+            if (input.readableBytes() < 8) return false;
+            prefix = 8;
+            length = input.getIntLE(index + 4);
+        }
+
+        if (length == 0) {
+            input.skipBytes(prefix);
+            ended = true;
+            return true;
+        }
+
+        if (input.readableBytes() < prefix + length) return false;
+        final FlatBufferView message = FlatBufferView.root(input, index + prefix);
+        final long bodyLength = message.getLong(3, 0);
+        if (input.readableBytes() < prefix + length + bodyLength) return false;
+
+        final int body = index + prefix + length;
+        final int headerType = message.getByte(1, 0);
+        final FlatBufferView header = message.getTable(2);
+        if (headerType == ArrowStreamWriter.HEADER_SCHEMA) {
+            readSchema(header);
+            ended = false;
+        } else if (headerType == ArrowStreamWriter.HEADER_RECORD_BATCH) {
+            if (null == fields) throw new SerializationException("Arrow stream has a record batch before its schema");
+            readBatch(header, input, body, rows);
+            if (message.getVectorLength(4) > 0) metadata = keyValues(message, 4);
+        } else {
+            throw new SerializationException(String.format("Arrow message header type %s is not supported", headerType));
+        }
+
+        input.readerIndex(body + (int) bodyLength);
+        return true;
+    }
+
+    private void readSchema(final FlatBufferView schema) throws SerializationException {
+        if (schema.getShort(0, 0) != 0) throw new SerializationException("Arrow stream is not little-endian");
+
+        final List<ArrowField> fields = new ArrayList<>();
+        for (int ix = 0; ix < schema.getVectorLength(1); ix++) {
+            fields.add(readField(schema.getTable(1, ix)));
+        }
+        this.fields = Collections.unmodifiableList(fields);
+        valueRows = ArrowStreamWriter.VALUE_ROWS.equals(keyValues(schema, 2).get(ArrowStreamWriter.ROWS));
+    }
+
+    private static ArrowField readField(final FlatBufferView field) throws SerializationException {
+        final String name = field.getString(0);
+        final int typeType = field.getByte(2, 0);
+        final FlatBufferView type = field.getTable(3);
+        final ArrowField.Type arrowType;
+        if (typeType == ArrowStreamWriter.TYPE_INT && type.getBool(1, false) && type.getInt(0, 0) == 32)
+            arrowType = ArrowField.Type.INT32;
+        else if (typeType == ArrowStreamWriter.TYPE_INT && type.getBool(1, false) && type.getInt(0, 0) == 64)
+            arrowType = ArrowField.Type.INT64;
+        else if (typeType == ArrowStreamWriter.TYPE_FLOATING_POINT && type.getShort(0, 0) == ArrowStreamWriter.PRECISION_SINGLE)
+            arrowType = ArrowField.Type.FLOAT32;
+        else if (typeType == ArrowStreamWriter.TYPE_FLOATING_POINT && type.getShort(0, 0) == ArrowStreamWriter.PRECISION_DOUBLE)
+            arrowType = ArrowField.Type.FLOAT64;
+        else if (typeType == ArrowStreamWriter.TYPE_BOOL)
+            arrowType = ArrowField.Type.BOOL;
+        else if (typeType == ArrowStreamWriter.TYPE_UTF8)
+            arrowType = ArrowField.Type.UTF8;
+        else if (typeType == ArrowStreamWriter.TYPE_LIST)
+            arrowType = ArrowField.Type.LIST;
+        else if (typeType == ArrowStreamWriter.TYPE_STRUCT)
+            arrowType = ArrowField.Type.STRUCT;
+        else
+            throw new SerializationException(String.format("Arrow type %s of field [%s] is not supported", typeType, name));
+
+        final List<ArrowField> children = new ArrayList<>();
+        for (int ix = 0; ix < field.getVectorLength(5); ix++) {
+            children.add(readField(field.getTable(5, ix)));
+        }
+        if (arrowType == ArrowField.Type.LIST && children.size() != 1)
+            throw new SerializationException(String.format("Arrow list field [%s] must have a single child", name));
+
+        return new ArrowField(name, arrowType, children);
+    }
+
+    private void readBatch(final FlatBufferView batch, final ByteBuf input, final int body, final List<Object> rows) throws SerializationException {
+        if (batch.getTable(3) != null) throw new SerializationException("Arrow record batch compression is not supported");
+
+        final Batch columns = new Batch(batch, input, body);
+        final int length = (int) batch.getLong(0, 0);
+        if (valueRows) {
+            rows.addAll(Arrays.asList(readColumn(fields.get(0), columns)));
+            return;
+        }
+
+        final Object[][] values = new Object[fields.size()][];
+        for (int ix = 0; ix < fields.size(); ix++) {
+            values[ix] = readColumn(fields.get(ix), columns);
+        }
+        for (int row = 0; row < length; row++) {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            for (int ix = 0; ix < fields.size(); ix++) {
+                if (values[ix][row] != null) map.put(fields.get(ix).getName(), values[ix][row]);
+            }
+            rows.add(map);
+        }
+    }
+
+    /**
+     * Reads the values of a column, and of its children, from the next field node and buffers of the batch.
+     */
+    private static Object[] readColumn(final ArrowField field, final Batch batch) throws SerializationException {
+        final int length = (int) batch.nodeLength();
+        final boolean hasNulls = batch.nodeNulls() > 0;
+        batch.node++;
+
+        final int validity = batch.bufferOffset();
+        final boolean hasValidity = hasNulls && batch.bufferLength() > 0;
+        batch.buffer++;
+
+        final Object[] values = new Object[length];
+        final ByteBuf input = batch.input;
+        switch (field.getType()) {
+            case INT32: {
+                final int data = batch.nextBuffer();
+                for (int ix = 0; ix < length; ix++) {
+                    if (isSet(input, validity, hasValidity, ix)) values[ix] = input.getIntLE(data + 4 * ix);
+                }
+                break;
+            }
+            case INT64: {
+                final int data = batch.nextBuffer();
+                for (int ix = 0; ix < length; ix++) {
+                    if (isSet(input, validity, hasValidity, ix)) values[ix] = input.getLongLE(data + 8 * ix);
+                }
+                break;
+            }
+            case FLOAT32: {
+                final int data = batch.nextBuffer();
+                for (int ix = 0; ix < length; ix++) {
+                    if (isSet(input, validity, hasValidity, ix)) values[ix] = input.getFloatLE(data + 4 * ix);
+                }
+                break;
+            }
+            case FLOAT64: {
+                final int data = batch.nextBuffer();
+                for (int ix = 0; ix < length; ix++) {
+                    if (isSet(input, validity, hasValidity, ix)) values[ix] = input.getDoubleLE(data + 8 * ix);
+                }
+                break;
+            }
+            case BOOL: {
+                final int data = batch.nextBuffer();
+                for (int ix = 0; ix < length; ix++) {
+                    if (isSet(input, validity, hasValidity, ix)) values[ix] = isSet(input, data, true, ix);
+                }
+                break;
+            }
+            case UTF8: {
+                final int offsets = batch.nextBuffer();
+                final int data = batch.nextBuffer();
+                for (int ix = 0; ix < length; ix++) {
+                    final int start = input.getIntLE(offsets + 4 * ix);
+                    if (isSet(input, validity, hasValidity, ix))
+                        values[ix] = input.toString(data + start, input.getIntLE(offsets + 4 * (ix + 1)) - start, StandardCharsets.UTF_8);
+                }
+                break;
+            }
+            case LIST: {
+                final int offsets = batch.nextBuffer();
+                final List<Object> items = Arrays.asList(readColumn(field.getChildren().get(0), batch));
+                for (int ix = 0; ix < length; ix++) {
+                    if (isSet(input, validity, hasValidity, ix))
+                        values[ix] = new ArrayList<>(items.subList(input.getIntLE(offsets + 4 * ix), input.getIntLE(offsets + 4 * (ix + 1))));
+                }
+                break;
+            }
+            default: {
+                final List<ArrowField> children = field.getChildren();
+                final Object[][] columns = new Object[children.size()][];
+                for (int child = 0; child < children.size(); child++) {
+                    columns[child] = readColumn(children.get(child), batch);
+                }
+                for (int ix = 0; ix < length; ix++) {
+                    if (!isSet(input, validity, hasValidity, ix)) continue;
+                    final Map<String, Object> map = new LinkedHashMap<>();
+                    for (int child = 0; child < children.size(); child++) {
+                        if (columns[child][ix] != null) map.put(children.get(child).getName(), columns[child][ix]);
+                    }
+                    values[ix] = map;
+                }
+            }
+        }
+        return values;
+    }
+
+    private static boolean isSet(final ByteBuf input, final int bitmap, final boolean hasBitmap, final int index) {
+        return !hasBitmap || (input.getByte(bitmap + index / 8) & (1 << (index % 8))) != 0;
+    }
+
+    private static Map<String, String> keyValues(final FlatBufferView table, final int id) {
+        final Map<String, String> keyValues = new LinkedHashMap<>();
+        for (int ix = 0; ix < table.getVectorLength(id); ix++) {
+            final FlatBufferView keyValue = table.getTable(id, ix);
+            keyValues.put(keyValue.getString(0), keyValue.getString(1));
+        }
+        return keyValues;
+    }
+
+    /**
+     * The field nodes and buffers of a record batch, which columns take from in the order of a depth-first walk of
+     * the schema.
+     */
+    private static final class Batch {
+        private final FlatBufferView batch;
+        private final ByteBuf input;
+        private final int body;
+        private int node;
+        private int buffer;
+
+        private Batch(final FlatBufferView batch, final ByteBuf input, final int body) {
+            this.batch = batch;
+            this.input = input;
+            this.body = body;
+        }
+
+        private long nodeLength() {
+            return batch.getLongStruct(1, node, 2, 0);
+        }
+
+        private long nodeNulls() {
+            return batch.getLongStruct(1, node, 2, 1);
+        }
+
+        private int bufferOffset() {
+            return body + (int) batch.getLongStruct(2, buffer, 2, 0);
+        }
+
+        private long bufferLength() {
+            return batch.getLongStruct(2, buffer, 2, 1);
+        }
+
+        private int nextBuffer() {
+            return body + (int) batch.getLongStruct(2, buffer++, 2, 0);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.arrow;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Writes results as an Arrow IPC stream: a schema message followed by record batch messages and then the
+ * end-of-stream marker. The schema is inferred from the first batch of results. As an Arrow stream cannot change its
+ * schema, a later batch that does not fit it is written to a new stream with a wider schema from
+ * {@link #widenTo(List)}. Results that are maps, like those of {@code project()}, {@code valueMap()} or
+ * {@code elementMap()}, have a column for each key while any other results are written to a single column named
+ * "value".
+ */
+public final class ArrowStreamWriter {
+
+    /**
+     * The key of the schema metadata that holds whether each row is a map of the columns or a single value.
+     */
+    public static final String ROWS = "gremlin.rows";
+
+    static final String MAP_ROWS = "map";
+    static final String VALUE_ROWS = "value";
+
+    static final int CONTINUATION = 0xFFFFFFFF;
+    static final int METADATA_VERSION_V5 = 4;
+    static final int HEADER_SCHEMA = 1;
+    static final int HEADER_RECORD_BATCH = 3;
+
+    static final int TYPE_INT = 2;
+    static final int TYPE_FLOATING_POINT = 3;
+    static final int TYPE_UTF8 = 5;
+    static final int TYPE_BOOL = 6;
+    static final int TYPE_LIST = 12;
+    static final int TYPE_STRUCT = 13;
+
+    static final int PRECISION_SINGLE = 1;
+    static final int PRECISION_DOUBLE = 2;
+
+    private final List<ArrowField> fields;
+    private final boolean valueRows;
+
+    private ArrowStreamWriter(final List<ArrowField> fields, final boolean valueRows) {
+        this.fields = fields;
+        this.valueRows = valueRows;
+    }
+
+    /**
+     * Creates a writer with the schema inferred from the first batch of results. Without results the schema has
+     * no columns.
+     */
+    public static ArrowStreamWriter inferFrom(final List<?> rows) {
+        // the columns of map results are those of a struct made up of all the maps
+        if (rows.stream().allMatch(r -> r instanceof Map))
+            return new ArrowStreamWriter(rows.isEmpty() ? Collections.emptyList() :
+                    ArrowField.infer(VALUE_ROWS, rows).getChildren(), false);
+
+        return new ArrowStreamWriter(Collections.singletonList(ArrowField.infer(VALUE_ROWS, rows)), true);
+    }
+
+    public List<ArrowField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Gets a writer with a schema that the rows fit, which is this writer if they already fit its schema or else one
+     * with a schema that is widened so that they do. As a schema only ever widens, a stream of results is restarted
+     * at most a few times for each of its columns.
+     */
+    public ArrowStreamWriter widenTo(final List<?> rows) {
+        if (fits(rows)) return this;
+
+        // a schema without columns came from no results at all so it says nothing about the ones that follow
+        final ArrowStreamWriter inferred = inferFrom(rows);
+        if (!valueRows && fields.isEmpty()) return inferred;
+
+        final ArrowField widened = ArrowField.widen(asField(), inferred.asField());
+        return valueRows || inferred.valueRows ?
+                new ArrowStreamWriter(Collections.singletonList(widened), true) :
+                new ArrowStreamWriter(widened.getChildren(), false);
+    }
+
+    private boolean fits(final List<?> rows) {
+        final ArrowField field = asField();
+        for (Object row : rows) {
+            if (valueRows ? !field.fits(row) : !(row instanceof Map) || !field.fitsChildren((Map<?, ?>) row))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the schema as the field of the rows, which is a struct of the columns when rows are maps.
+     */
+    private ArrowField asField() {
+        return valueRows ? fields.get(0) : new ArrowField(VALUE_ROWS, ArrowField.Type.STRUCT, fields);
+    }
+
+    /**
+     * Writes the schema message, which is first in the stream.
+     */
+    public void writeSchema(final ByteBuf buffer) {
+        final FlatBufferTable schema = new FlatBufferTable()
+                .addShort(0, 0)
+                .addTables(1, fields.stream().map(ArrowStreamWriter::field).collect(Collectors.toList()))
+                .addTables(2, keyValues(Collections.singletonMap(ROWS, valueRows ? VALUE_ROWS : MAP_ROWS)));
+        writeMessage(HEADER_SCHEMA, schema, Collections.emptyMap(), null, buffer);
+    }
+
+    /**
+     * Writes a record batch message for the results with the metadata given, which may be empty. The results must fit
+     * the schema.
+     */
+    public void writeBatch(final List<?> rows, final Map<String, String> metadata, final ByteBuf buffer) throws SerializationException {
+        final List<Long> nodes = new ArrayList<>();
+        final List<Long> buffers = new ArrayList<>();
+        final ByteBuf body = buffer.alloc().buffer();
+        try {
+            if (valueRows) {
+                writeColumn(fields.get(0), rows, nodes, buffers, body);
+            } else {
+                final List<Map<String, Object>> maps = new ArrayList<>(rows.size());
+                for (Object row : rows) {
+                    if (!(row instanceof Map))
+                        throw new SerializationException(String.format(
+                                "Arrow results are maps as set by the schema of the stream and cannot hold %s",
+                                row == null ? "null" : row.getClass().getSimpleName()));
+                    maps.add(checkKeys(fields, (Map<?, ?>) row));
+                }
+                for (ArrowField field : fields) {
+                    writeColumn(field, maps.stream().map(m -> m.get(field.getName())).collect(Collectors.toList()),
+                            nodes, buffers, body);
+                }
+            }
+
+            final FlatBufferTable batch = new FlatBufferTable()
+                    .addLong(0, rows.size())
+                    .addLongStructs(1, toArray(nodes), 2)
+                    .addLongStructs(2, toArray(buffers), 2);
+            writeMessage(HEADER_RECORD_BATCH, batch, metadata, body, buffer);
+        } finally {
+            body.release();
+        }
+    }
+
+    /**
+     * Writes the marker at the end of the stream.
+     */
+    public static void writeEndOfStream(final ByteBuf buffer) {
+        buffer.writeIntLE(CONTINUATION);
+        buffer.writeIntLE(0);
+    }
+
+    private static void writeMessage(final int headerType, final FlatBufferTable header, final Map<String, String> metadata,
+                                     final ByteBuf body, final ByteBuf buffer) {
+        buffer.writeIntLE(CONTINUATION);
+        final int lengthIndex = buffer.writerIndex();
+        buffer.writeIntLE(0);
+
+        final FlatBufferTable message = new FlatBufferTable()
+                .addShort(0, METADATA_VERSION_V5)
+                .addByte(1, headerType)
+                .addTable(2, header)
+                .addLong(3, null == body ? 0 : body.readableBytes());
+        if (!metadata.isEmpty()) message.addTables(4, keyValues(metadata));
+
+        // the metadata is padded so that the body that follows it starts on an 8 byte boundary
+        final int start = buffer.writerIndex();
+        message.writeRoot(buffer);
+        buffer.writeZero((8 - (buffer.writerIndex() - start) % 8) % 8);
+        buffer.setIntLE(lengthIndex, buffer.writerIndex() - start);
+
+        if (body != null) buffer.writeBytes(body, body.readerIndex(), body.readableBytes());
+    }
+
+    private static FlatBufferTable field(final ArrowField field) {
+        final FlatBufferTable type = new FlatBufferTable();
+        final int typeType;
+        switch (field.getType()) {
+            case INT32:
+            case INT64:
+                typeType = TYPE_INT;
+                type.addInt(0, field.getType() == ArrowField.Type.INT32 ? 32 : 64).addBool(1, true);
+                break;
+            case FLOAT32:
+            case FLOAT64:
+                typeType = TYPE_FLOATING_POINT;
+                type.addShort(0, field.getType() == ArrowField.Type.FLOAT32 ? PRECISION_SINGLE : PRECISION_DOUBLE);
+                break;
+            case BOOL:
+                typeType = TYPE_BOOL;
+                break;
+            case LIST:
+                typeType = TYPE_LIST;
+                break;
+            case STRUCT:
+                typeType = TYPE_STRUCT;
+                break;
+            default:
+                typeType = TYPE_UTF8;
+        }
+
+        return new FlatBufferTable()
+                .addString(0, field.getName())
+                .addBool(1, true)
+                .addByte(2, typeType)
+                .addTable(3, type)
+                .addTables(5, field.getChildren().stream().map(ArrowStreamWriter::field).collect(Collectors.toList()));
+    }
+
+    private static List<FlatBufferTable> keyValues(final Map<String, String> metadata) {
+        return metadata.entrySet().stream().map(e -> new FlatBufferTable()
+                .addString(0, e.getKey())
+                .addString(1, e.getValue())).collect(Collectors.toList());
+    }
+
+    /**
+     * Writes the field node and buffers of a column, and then those of its children, to the body of a record batch.
+     */
+    private static void writeColumn(final ArrowField field, final List<?> values, final List<Long> nodes,
+                                    final List<Long> buffers, final ByteBuf body) throws SerializationException {
+        final int length = values.size();
+        final int nulls = (int) values.stream().filter(v -> null == v).count();
+        nodes.add((long) length);
+        nodes.add((long) nulls);
+
+        // the validity bitmap may be left out when all values are set
+        if (nulls == 0)
+            addBuffer(body, body.writerIndex(), buffers);
+        else
+            writeBitmap(body, length, ix -> values.get(ix) != null, buffers);
+
+        switch (field.getType()) {
+            case INT32: {
+                final int start = align(body);
+                for (Object value : values) {
+                    body.writeIntLE(null == value ? 0 : toInt(field, value));
+                }
+                addBuffer(body, start, buffers);
+                break;
+            }
+            case INT64: {
+                final int start = align(body);
+                for (Object value : values) {
+                    body.writeLongLE(null == value ? 0 : toNumber(field, value, true).longValue());
+                }
+                addBuffer(body, start, buffers);
+                break;
+            }
+            case FLOAT32: {
+                final int start = align(body);
+                for (Object value : values) {
+                    body.writeFloatLE(null == value ? 0 : toNumber(field, value, false).floatValue());
+                }
+                addBuffer(body, start, buffers);
+                break;
+            }
+            case FLOAT64: {
+                final int start = align(body);
+                for (Object value : values) {
+                    body.writeDoubleLE(null == value ? 0 : toNumber(field, value, false).doubleValue());
+                }
+                addBuffer(body, start, buffers);
+                break;
+            }
+            case BOOL: {
+                for (Object value : values) {
+                    if (value != null && !(value instanceof Boolean)) throw mismatch(field, value);
+                }
+                writeBitmap(body, length, ix -> Boolean.TRUE.equals(values.get(ix)), buffers);
+                break;
+            }
+            case LIST: {
+                final List<Object> items = new ArrayList<>();
+                final int start = align(body);
+                body.writeIntLE(0);
+                for (Object value : values) {
+                    if (value != null) {
+                        if (!(value instanceof Collection)) throw mismatch(field, value);
+                        items.addAll((Collection<?>) value);
+                    }
+                    body.writeIntLE(items.size());
+                }
+                addBuffer(body, start, buffers);
+                writeColumn(field.getChildren().get(0), items, nodes, buffers, body);
+                break;
+            }
+            case STRUCT: {
+                final List<Map<String, Object>> maps = new ArrayList<>(length);
+                for (Object value : values) {
+                    if (value != null && !(value instanceof Map)) throw mismatch(field, value);
+                    maps.add(null == value ? Collections.emptyMap() : checkKeys(field.getChildren(), (Map<?, ?>) value));
+                }
+                for (ArrowField child : field.getChildren()) {
+                    writeColumn(child, maps.stream().map(m -> m.get(child.getName())).collect(Collectors.toList()),
+                            nodes, buffers, body);
+                }
+                break;
+            }
+            default: {
+                final List<String> strings = values.stream().map(v -> null == v ? "" : v.toString()).collect(Collectors.toList());
+                final int offsets = align(body);
+                int offset = 0;
+                body.writeIntLE(offset);
+                for (String string : strings) {
+                    offset += ByteBufUtil.utf8Bytes(string);
+                    body.writeIntLE(offset);
+                }
+                addBuffer(body, offsets, buffers);
+
+                final int data = align(body);
+                for (String string : strings) {
+                    ByteBufUtil.writeUtf8(body, string);
+                }
+                addBuffer(body, data, buffers);
+            }
+        }
+    }
+
+    private static Map<String, Object> checkKeys(final List<ArrowField> fields, final Map<?, ?> map) throws SerializationException {
+        final Map<String, Object> keyed = ArrowField.keyed(map);
+        for (String key : keyed.keySet()) {
+            if (fields.stream().noneMatch(f -> f.getName().equals(key)))
+                throw new SerializationException(String.format(
+                        "Arrow column [%s] is not in the schema of the stream", key));
+        }
+        return keyed;
+    }
+
+    private static int toInt(final ArrowField field, final Object value) throws SerializationException {
+        final long number = toNumber(field, value, true).longValue();
+        if (number != (int) number) throw mismatch(field, value);
+        return (int) number;
+    }
+
+    private static Number toNumber(final ArrowField field, final Object value, final boolean integral) throws SerializationException {
+        if (ArrowField.isIntegral(value) || (!integral && (value instanceof Float || value instanceof Double)))
+            return (Number) value;
+        throw mismatch(field, value);
+    }
+
+    private static SerializationException mismatch(final ArrowField field, final Object value) {
+        return new SerializationException(String.format(
+                "Arrow column [%s] is %s as set by the schema of the stream and cannot hold %s of %s",
+                field.getName(), field.getType(), value.getClass().getSimpleName(), value));
+    }
+
+    private static void writeBitmap(final ByteBuf body, final int length, final IntPredicate set, final List<Long> buffers) {
+        final int start = align(body);
+        for (int ix = 0; ix < length; ix += 8) {
+            int bits = 0;
+            for (int bit = 0; bit < 8 && ix + bit < length; bit++) {
+                if (set.test(ix + bit)) bits |= 1 << bit;
+            }
+            body.writeByte(bits);
+        }
+        addBuffer(body, start, buffers);
+    }
+
+    /**
+     * Pads the body so that the next buffer starts on an 8 byte boundary and returns where it starts.
+     */
+    private static int align(final ByteBuf body) {
+        body.writeZero((8 - body.writerIndex() % 8) % 8);
+        return body.writerIndex();
+    }
+
+    private static void addBuffer(final ByteBuf body, final int start, final List<Long> buffers) {
+        buffers.add((long) start);
+        buffers.add((long) (body.writerIndex() - start));
+        align(body);
+    }
+
+    private static long[] toArray(final List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+}
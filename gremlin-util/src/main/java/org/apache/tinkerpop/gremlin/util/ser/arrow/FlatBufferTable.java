@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.arrow;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A table of a FlatBuffer, which is how the metadata of Arrow IPC messages is encoded, that is built up field by
+ * field and then written front to back. Each table is written with its vtable just before it and the strings,
+ * vectors and tables it refers to after it, so every offset points forward. Fields are always written, even when
+ * they hold the default value of the schema.
+ */
+final class FlatBufferTable {
+
+    private static final int OFFSET_SIZE = 4;
+
+    private final List<Slot> slots = new ArrayList<>();
+
+    FlatBufferTable addBool(final int id, final boolean value) {
+        return add(new Slot(id, 1, value ? 1 : 0, null));
+    }
+
+    FlatBufferTable addByte(final int id, final int value) {
+        return add(new Slot(id, 1, value, null));
+    }
+
+    FlatBufferTable addShort(final int id, final int value) {
+        return add(new Slot(id, 2, value, null));
+    }
+
+    FlatBufferTable addInt(final int id, final int value) {
+        return add(new Slot(id, 4, value, null));
+    }
+
+    FlatBufferTable addLong(final int id, final long value) {
+        return add(new Slot(id, 8, value, null));
+    }
+
+    FlatBufferTable addString(final int id, final String value) {
+        return add(new Slot(id, OFFSET_SIZE, 0, value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    FlatBufferTable addTable(final int id, final FlatBufferTable value) {
+        return add(new Slot(id, OFFSET_SIZE, 0, value));
+    }
+
+    FlatBufferTable addTables(final int id, final List<FlatBufferTable> value) {
+        return add(new Slot(id, OFFSET_SIZE, 0, value));
+    }
+
+    /**
+     * Adds a vector of structs that are made up of {@code long} values only, like the {@code FieldNode} and
+     * {@code Buffer} of an Arrow record batch.
+     */
+    FlatBufferTable addLongStructs(final int id, final long[] value, final int longsPerStruct) {
+        return add(new Slot(id, OFFSET_SIZE, longsPerStruct, value));
+    }
+
+    private FlatBufferTable add(final Slot slot) {
+        slots.add(slot);
+        return this;
+    }
+
+    /**
+     * Writes this table as the root of a FlatBuffer that starts at the writer index of the buffer.
+     */
+    void writeRoot(final ByteBuf buffer) {
+        final int start = buffer.writerIndex();
+        buffer.writeIntLE(0);
+        final int table = write(buffer, start);
+        buffer.setIntLE(start, table - start);
+    }
+
+    private int write(final ByteBuf buffer, final int start) {
+        // the largest fields go first so that no padding is needed between them once the first is aligned
+        final List<Slot> ordered = new ArrayList<>(slots);
+        ordered.sort(Comparator.comparingInt((Slot s) -> s.size).reversed());
+        final int fields = slots.stream().mapToInt(s -> s.id + 1).max().orElse(0);
+        final int vtableSize = 4 + 2 * fields;
+
+        // the table starts 4 bytes past an 8 byte boundary so that the fields right after its vtable offset are
+        // aligned for longs
+        pad(buffer, (12 - (buffer.writerIndex() + vtableSize - start) % 8) % 8);
+        final int vtable = buffer.writerIndex();
+        buffer.writeShortLE(vtableSize);
+        buffer.writeShortLE(0);
+        buffer.writeZero(2 * fields);
+
+        final int table = buffer.writerIndex();
+        buffer.writeIntLE(table - vtable);
+        final int[] positions = new int[ordered.size()];
+        for (int ix = 0; ix < ordered.size(); ix++) {
+            final Slot slot = ordered.get(ix);
+            pad(buffer, (slot.size - (buffer.writerIndex() - start) % slot.size) % slot.size);
+            positions[ix] = buffer.writerIndex();
+            buffer.setShortLE(vtable + 4 + 2 * slot.id, positions[ix] - table);
+            switch (slot.size) {
+                case 1: buffer.writeByte((int) slot.value); break;
+                case 2: buffer.writeShortLE((int) slot.value); break;
+                case 4: buffer.writeIntLE((int) slot.value); break;
+                default: buffer.writeLongLE(slot.value);
+            }
+        }
+        buffer.setShortLE(vtable + 2, buffer.writerIndex() - table);
+
+        for (int ix = 0; ix < ordered.size(); ix++) {
+            final Slot slot = ordered.get(ix);
+            if (slot.child != null)
+                buffer.setIntLE(positions[ix], writeChild(buffer, start, slot) - positions[ix]);
+        }
+
+        return table;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int writeChild(final ByteBuf buffer, final int start, final Slot slot) {
+        if (slot.child instanceof FlatBufferTable)
+            return ((FlatBufferTable) slot.child).write(buffer, start);
+
+        if (slot.child instanceof byte[]) {
+            final byte[] bytes = (byte[]) slot.child;
+            pad(buffer, (4 - (buffer.writerIndex() - start) % 4) % 4);
+            final int position = buffer.writerIndex();
+            buffer.writeIntLE(bytes.length);
+            buffer.writeBytes(bytes);
+            buffer.writeByte(0);
+            return position;
+        }
+
+        if (slot.child instanceof long[]) {
+            final long[] values = (long[]) slot.child;
+            // the length goes just before an 8 byte boundary so that the structs that follow it are aligned
+            pad(buffer, (12 - (buffer.writerIndex() - start) % 8) % 8);
+            final int position = buffer.writerIndex();
+            buffer.writeIntLE(values.length / (int) slot.value);
+            for (long value : values) {
+                buffer.writeLongLE(value);
+            }
+            return position;
+        }
+
+        final List<FlatBufferTable> tables = (List<FlatBufferTable>) slot.child;
+        pad(buffer, (4 - (buffer.writerIndex() - start) % 4) % 4);
+        final int position = buffer.writerIndex();
+        buffer.writeIntLE(tables.size());
+        buffer.writeZero(OFFSET_SIZE * tables.size());
+        for (int ix = 0; ix < tables.size(); ix++) {
+            final int element = position + OFFSET_SIZE * (ix + 1);
+            buffer.setIntLE(element, tables.get(ix).write(buffer, start) - element);
+        }
+        return position;
+    }
+
+    private static void pad(final ByteBuf buffer, final int bytes) {
+        buffer.writeZero(bytes);
+    }
+
+    private static final class Slot {
+        private final int id;
+        private final int size;
+        private final long value;
+        private final Object child;
+
+        private Slot(final int id, final int size, final long value, final Object child) {
+            this.id = id;
+            this.size = size;
+            this.value = value;
+            this.child = child;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.arrow;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only view of a table in a FlatBuffer, whatever order its parts were written in. Fields that are absent
+ * from the table read as the given default.
+ */
+final class FlatBufferView {
+
+    private final ByteBuf buffer;
+    private final int table;
+
+    private FlatBufferView(final ByteBuf buffer, final int table) {
+        this.buffer = buffer;
+        this.table = table;
+    }
+
+    /**
+     * Gets the root table of a FlatBuffer that starts at the given index of the buffer.
+     */
+    static FlatBufferView root(final ByteBuf buffer, final int start) {
+        return new FlatBufferView(buffer, start + buffer.getIntLE(start));
+    }
+
+    boolean getBool(final int id, final boolean defaultValue) {
+        final int position = field(id);
+        return position == 0 ? defaultValue : buffer.getByte(position) != 0;
+    }
+
+    int getByte(final int id, final int defaultValue) {
+        final int position = field(id);
+        return position == 0 ? defaultValue : buffer.getUnsignedByte(position);
+    }
+
+    int getShort(final int id, final int defaultValue) {
+        final int position = field(id);
+        return position == 0 ? defaultValue : buffer.getShortLE(position);
+    }
+
+    int getInt(final int id, final int defaultValue) {
+        final int position = field(id);
+        return position == 0 ? defaultValue : buffer.getIntLE(position);
+    }
+
+    long getLong(final int id, final long defaultValue) {
+        final int position = field(id);
+        return position == 0 ? defaultValue : buffer.getLongLE(position);
+    }
+
+    String getString(final int id) {
+        final int position = indirect(id);
+        return position == 0 ? null : buffer.toString(position + 4, buffer.getIntLE(position), StandardCharsets.UTF_8);
+    }
+
+    FlatBufferView getTable(final int id) {
+        final int position = indirect(id);
+        return position == 0 ? null : new FlatBufferView(buffer, position);
+    }
+
+    int getVectorLength(final int id) {
+        final int position = indirect(id);
+        return position == 0 ? 0 : buffer.getIntLE(position);
+    }
+
+    FlatBufferView getTable(final int id, final int index) {
+        final int element = indirect(id) + 4 + 4 * index;
+        return new FlatBufferView(buffer, element + buffer.getIntLE(element));
+    }
+
+    /**
+     * Gets a {@code long} from a vector of structs that are made up of {@code long} values only.
+     */
+    long getLongStruct(final int id, final int index, final int longsPerStruct, final int member) {
+        return buffer.getLongLE(indirect(id) + 4 + 8 * (index * longsPerStruct + member));
+    }
+
+    private int field(final int id) {
+        final int vtable = table - buffer.getIntLE(table);
+        final int entry = 4 + 2 * id;
+        if (entry >= buffer.getUnsignedShortLE(vtable)) return 0;
+        final int offset = buffer.getUnsignedShortLE(vtable + entry);
+        return offset == 0 ? 0 : table + offset;
+    }
+
+    private int indirect(final int id) {
+        final int position = field(id);
+        return position == 0 ? 0 : position + buffer.getIntLE(position);
+    }
+}
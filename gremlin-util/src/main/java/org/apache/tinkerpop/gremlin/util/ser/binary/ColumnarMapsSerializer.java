@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.binary;
+
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the items of a response so that a run of maps with the same keys, like the results of {@code project()},
+ * {@code elementMap()} or {@code valueMap()}, is written as a single value that holds the keys once followed by the
+ * values column by column. A column where all values have the same type, or are {@code null}, only has the type
+ * code written once. The maps are read back as separate items so that the columns are not visible to users.
+ *
+ * <p>
+ *     Format: <code>{type_code}{value_flag}{length}{key_0}...{key_k}{rows}{column_0}...{column_k}</code> where each
+ *     column is <code>{column_type}{value_0}...{value_n}</code>. When the {column_type} is that of unspecified
+ *     {@code null} the values are fully qualified and otherwise they are <code>{value_flag}{value}</code>.
+ * </p>
+ */
+public class ColumnarMapsSerializer {
+
+    /**
+     * The fewest maps in a run that are written as columns, as a single map is smaller written as it is.
+     */
+    public static final int MIN_ROWS = 2;
+
+    private static final byte[] header = new byte[] { DataType.COLUMNAR_MAPS.getCodeByte(), 0x00 };
+    private static final byte MIXED_COLUMN = DataType.UNSPECIFIED_NULL.getCodeByte();
+
+    /**
+     * Writes the items in fully qualified format except for runs of maps with the same keys, which are written as
+     * columns.
+     */
+    public void writeData(final List<?> data, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
+        final List<Map<?, ?>> run = new ArrayList<>();
+        for (Object item : data) {
+            final boolean columnable = item instanceof Map && !((Map<?, ?>) item).isEmpty();
+            if (columnable && !run.isEmpty() && sameKeys(run.get(0), (Map<?, ?>) item)) {
+                run.add((Map<?, ?>) item);
+                continue;
+            }
+
+            writeRun(run, buffer, context);
+            if (columnable)
+                run.add((Map<?, ?>) item);
+            else
+                context.write(item, buffer);
+        }
+        writeRun(run, buffer, context);
+    }
+
+    private void writeRun(final List<Map<?, ?>> run, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
+        if (run.size() < MIN_ROWS) {
+            for (Map<?, ?> row : run) {
+                context.write(row, buffer);
+            }
+        } else {
+            writeValue(run, buffer, context);
+        }
+        run.clear();
+    }
+
+    private void writeValue(final List<Map<?, ?>> rows, final Buffer buffer, final GraphBinaryWriter context) throws IOException {
+        final Map<?, ?> first = rows.get(0);
+        buffer.writeBytes(header);
+        context.writeInt(first.size(), buffer);
+        for (Object key : first.keySet()) {
+            context.write(key, buffer);
+        }
+
+        // the keys of every row are in the same order so the values are gathered in that order too
+        final Object[][] columns = new Object[first.size()][rows.size()];
+        for (int r = 0; r < rows.size(); r++) {
+            int c = 0;
+            for (Object value : rows.get(r).values()) {
+                columns[c++][r] = value;
+            }
+        }
+
+        context.writeInt(rows.size(), buffer);
+        for (Object[] column : columns) {
+            final DataType columnType = columnType(column, context);
+            if (null == columnType) {
+                buffer.writeByte(MIXED_COLUMN);
+                for (Object value : column) {
+                    context.write(value, buffer);
+                }
+            } else {
+                buffer.writeByte(columnType.getCodeByte());
+                for (Object value : column) {
+                    context.writeValue(value, buffer, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the maps written as columns, after the {type_code}, and adds them to the result.
+     */
+    public void readValue(final Buffer buffer, final GraphBinaryReader context, final List<Object> result) throws IOException {
+        // {value_flag} is always unset
+        buffer.readByte();
+
+        final int length = context.readInt(buffer);
+        if (length <= 0)
+            throw new IOException(String.format("Invalid number of keys %s for columnar maps", length));
+        final Object[] keys = new Object[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = context.read(buffer);
+        }
+
+        final int rows = context.readInt(buffer);
+        if (rows < 0)
+            throw new IOException(String.format("Invalid number of rows %s for columnar maps", rows));
+        final Object[][] columns = new Object[length][];
+        for (int c = 0; c < length; c++) {
+            columns[c] = readColumn(buffer, context, rows);
+        }
+
+        for (int r = 0; r < rows; r++) {
+            final Map<Object, Object> row = new LinkedHashMap<>(length);
+            for (int c = 0; c < length; c++) {
+                row.put(keys[c], columns[c][r]);
+            }
+            result.add(row);
+        }
+    }
+
+    private static Object[] readColumn(final Buffer buffer, final GraphBinaryReader context, final int rows) throws IOException {
+        final byte code = buffer.readByte();
+        final Object[] column = new Object[rows];
+        if (code == MIXED_COLUMN) {
+            for (int r = 0; r < rows; r++) {
+                column[r] = context.read(buffer);
+            }
+            return column;
+        }
+
+        final DataType columnType = DataType.get(Byte.toUnsignedInt(code));
+        if (null == columnType || columnType == DataType.CUSTOM)
+            throw new IOException(String.format("Invalid column type %s for columnar maps", Byte.toUnsignedInt(code)));
+        for (int r = 0; r < rows; r++) {
+            column[r] = context.readValue(buffer, columnType, true);
+        }
+        return column;
+    }
+
+    /**
+     * Gets the type shared by all values in the column that are not {@code null}, or {@code null} when there is none.
+     */
+    private static DataType columnType(final Object[] column, final GraphBinaryWriter context) throws IOException {
+        Object first = null;
+        for (Object value : column) {
+            if (null == value) continue;
+            if (null == first)
+                first = value;
+            else if (value.getClass() != first.getClass())
+                return null;
+        }
+        return context.getDataType(first);
+    }
+
+    private static boolean sameKeys(final Map<?, ?> a, final Map<?, ?> b) {
+        if (a.size() != b.size()) return false;
+
+        final Iterator<?> bKeys = b.keySet().iterator();
+        for (Object key : a.keySet()) {
+            if (!Objects.equals(key, bKeys.next())) return false;
+        }
+        return true;
+    }
+}
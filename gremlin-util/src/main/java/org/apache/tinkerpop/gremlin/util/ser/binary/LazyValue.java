@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.util.ser.NettyBufferFactory;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * A value in a GraphBinary response that is kept as its bytes and only read when it is first asked for. The bytes
+ * are a range of an array that holds a whole chunk of the response, so they do not need to be released.
+ */
+public final class LazyValue {
+    private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private final GraphBinaryReader reader;
+
+    private Object value;
+    private boolean read;
+
+    public LazyValue(final byte[] bytes, final int offset, final int length, final GraphBinaryReader reader) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.reader = reader;
+    }
+
+    /**
+     * Gets the value, reading it the first time this is called.
+     */
+    public synchronized Object get() throws SerializationException {
+        if (!read) {
+            try {
+                value = reader.read(bufferFactory.create(content()));
+            } catch (IOException | IndexOutOfBoundsException ex) {
+                throw new SerializationException(ex);
+            }
+            read = true;
+        }
+        return value;
+    }
+
+    /**
+     * Gets the bytes of the value in fully-qualified format as a read-only buffer that does not need to be released.
+     */
+    public ByteBuf content() {
+        return Unpooled.wrappedBuffer(bytes, offset, length).asReadOnly();
+    }
+
+    /**
+     * Gets the number of bytes the value takes up.
+     */
+    public int length() {
+        return length;
+    }
+}
@@ -39,47 +39,60 @@ public class RequestMessageSerializer {
         final Buffer buffer = bufferFactory.create(byteBuf);
 
         final int version = buffer.readByte() & 0xff;
-
-        if (version >>> 7 != 1) {
-            // This is an indication that the request buffer was incorrectly built
-            // Or the buffer offsets are wrong
-            throw new SerializationException("The most significant bit should be set according to the format");
-        }
+        validateVersion(version);
 
         try {
             final Map<String, Object> fields = context.readValue(buffer, Map.class, false);
 
             final String gremlin = context.readValue(buffer, String.class, false);
 
-            final RequestMessage.Builder builder = RequestMessage.build(gremlin);
-            if (fields.containsKey(SerTokens.TOKEN_LANGUAGE)) {
-                builder.addLanguage(fields.get(SerTokens.TOKEN_LANGUAGE).toString());
-            }
-            if (fields.containsKey(SerTokens.TOKEN_G)) {
-                builder.addG(fields.get(SerTokens.TOKEN_G).toString());
-            }
-            if (fields.containsKey(SerTokens.TOKEN_BINDINGS)) {
-                builder.addBindings((Map<String, Object>) fields.get(SerTokens.TOKEN_BINDINGS));
-            }
-            if (fields.containsKey(Tokens.TIMEOUT_MS)) {
-                builder.addTimeoutMillis((long) fields.get(Tokens.TIMEOUT_MS));
-            }
-            if (fields.containsKey(Tokens.ARGS_MATERIALIZE_PROPERTIES)) {
-                builder.addMaterializeProperties(fields.get(Tokens.ARGS_MATERIALIZE_PROPERTIES).toString());
-            }
-            if (fields.containsKey(Tokens.ARGS_BATCH_SIZE)) {
-                builder.addChunkSize((int) fields.get(Tokens.ARGS_BATCH_SIZE));
-            }
-            if (fields.containsKey(Tokens.BULK_RESULTS)) {
-                builder.addBulkResults(Boolean.parseBoolean(fields.get(Tokens.BULK_RESULTS).toString()));
-            }
-
-            return builder.create();
+            return createRequestMessage(gremlin, fields);
         } catch (IOException ex) {
             throw new SerializationException(ex);
         }
     }
 
+    /**
+     * Checks the version byte that starts a serialized request.
+     */
+    static void validateVersion(final int version) throws SerializationException {
+        if (version >>> 7 != 1) {
+            // This is an indication that the request buffer was incorrectly built
+            // Or the buffer offsets are wrong
+            throw new SerializationException("The most significant bit should be set according to the format");
+        }
+    }
+
+    /**
+     * Builds the {@link RequestMessage} from the deserialized Gremlin and fields.
+     */
+    static RequestMessage createRequestMessage(final String gremlin, final Map<String, Object> fields) {
+        final RequestMessage.Builder builder = RequestMessage.build(gremlin);
+        if (fields.containsKey(SerTokens.TOKEN_LANGUAGE)) {
+            builder.addLanguage(fields.get(SerTokens.TOKEN_LANGUAGE).toString());
+        }
+        if (fields.containsKey(SerTokens.TOKEN_G)) {
+            builder.addG(fields.get(SerTokens.TOKEN_G).toString());
+        }
+        if (fields.containsKey(SerTokens.TOKEN_BINDINGS)) {
+            builder.addBindings((Map<String, Object>) fields.get(SerTokens.TOKEN_BINDINGS));
+        }
+        if (fields.containsKey(Tokens.TIMEOUT_MS)) {
+            builder.addTimeoutMillis((long) fields.get(Tokens.TIMEOUT_MS));
+        }
+        if (fields.containsKey(Tokens.ARGS_MATERIALIZE_PROPERTIES)) {
+            builder.addMaterializeProperties(fields.get(Tokens.ARGS_MATERIALIZE_PROPERTIES).toString());
+        }
+        if (fields.containsKey(Tokens.ARGS_BATCH_SIZE)) {
+            builder.addChunkSize((int) fields.get(Tokens.ARGS_BATCH_SIZE));
+        }
+        if (fields.containsKey(Tokens.BULK_RESULTS)) {
+            builder.addBulkResults(Boolean.parseBoolean(fields.get(Tokens.BULK_RESULTS).toString()));
+        }
+
+        return builder.create();
+    }
+
     public void writeValue(final RequestMessage value, final ByteBuf byteBuf, final GraphBinaryWriter context) throws SerializationException {
         // Wrap netty's buffer
         final Buffer buffer = bufferFactory.create(byteBuf);
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.DataType;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.ser.NettyBufferFactory;
+import org.apache.tinkerpop.gremlin.util.ser.SerTokens;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Deserializes a GraphBinary {@link RequestMessage} incrementally as the content of a request arrives rather than
+ * from a single fully buffered body. The fields of the request, and each entry of its bindings, are read as soon as
+ * all of their bytes are available, after which the bytes that were consumed are released. Large requests are
+ * therefore never held in memory twice, once as bytes and once as deserialized objects.
+ * <p/>
+ * An item that is not yet complete is re-read from its start when more content arrives. To bound that work for a
+ * single very large item, a re-read is only attempted once the buffered content has doubled since the last attempt
+ * or when the final content has arrived. Instances are not thread-safe and are intended for a single request.
+ */
+public class StreamingRequestMessageReader {
+    private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
+
+    private enum State { VERSION, FIELDS_LENGTH, FIELD, BINDINGS_ENTRY, GREMLIN, DONE }
+
+    private final GraphBinaryReader context;
+    private final CompositeByteBuf cumulation;
+    private final Buffer buffer;
+
+    private State state = State.VERSION;
+    private int fieldsRemaining;
+    private int bindingsRemaining;
+    private final Map<String, Object> fields = new HashMap<>();
+    private Map<Object, Object> bindings;
+    private String gremlin;
+    private int retryThreshold = 0;
+
+    public StreamingRequestMessageReader(final GraphBinaryReader context, final ByteBufAllocator allocator) {
+        this.context = context;
+        this.cumulation = allocator.compositeBuffer(Integer.MAX_VALUE);
+        this.buffer = bufferFactory.create(cumulation);
+    }
+
+    /**
+     * Adds content to the request and reads as much of the request as possible. The reader retains the content it
+     * is given so the caller remains responsible for releasing its own reference.
+     *
+     * @param content the next portion of the serialized request
+     * @param last    {@code true} if this is the final portion of the request
+     * @return {@code true} if the request has been completely read
+     * @throws SerializationException if the request is malformed or is incomplete once the final content arrives
+     */
+    public boolean offer(final ByteBuf content, final boolean last) throws SerializationException {
+        if (state == State.DONE) return true;
+
+        if (content.isReadable())
+            cumulation.addComponent(true, content.retain());
+
+        if (!last && cumulation.readableBytes() < retryThreshold)
+            return false;
+
+        while (state != State.DONE) {
+            final int mark = cumulation.readerIndex();
+            try {
+                readNext();
+                retryThreshold = 0;
+            } catch (IndexOutOfBoundsException | BufferUnderflowException ex) {
+                // not enough bytes for the next item yet (or the request is truncated which can only be known for
+                // sure once there is no more content coming)
+                cumulation.readerIndex(mark);
+                if (last)
+                    throw new SerializationException("Unable to deserialize request", ex);
+
+                retryThreshold = cumulation.readableBytes() * 2;
+                break;
+            } catch (SerializationException se) {
+                throw se;
+            } catch (Exception ex) {
+                // the bytes that are there are malformed and more content will not change that
+                throw new SerializationException("Unable to deserialize request", ex);
+            }
+        }
+
+        cumulation.discardReadComponents();
+
+        if (state == State.DONE) return true;
+        if (last) throw new SerializationException("Request content ended before the request was completely read");
+        return false;
+    }
+
+    /**
+     * Gets the deserialized request once {@link #offer(ByteBuf, boolean)} has returned {@code true}.
+     */
+    public RequestMessage getRequestMessage() {
+        if (state != State.DONE)
+            throw new IllegalStateException("The request has not been completely read");
+        return RequestMessageSerializer.createRequestMessage(gremlin, fields);
+    }
+
+    /**
+     * Releases any content still held by the reader.
+     */
+    public void release() {
+        cumulation.release();
+    }
+
+    private void readNext() throws Exception {
+        switch (state) {
+            case VERSION:
+                RequestMessageSerializer.validateVersion(buffer.readByte() & 0xff);
+                state = State.FIELDS_LENGTH;
+                break;
+            case FIELDS_LENGTH:
+                fieldsRemaining = buffer.readInt();
+                state = fieldsRemaining > 0 ? State.FIELD : State.GREMLIN;
+                break;
+            case FIELD:
+                readField();
+                break;
+            case BINDINGS_ENTRY:
+                final Object key = context.read(buffer);
+                final Object value = context.read(buffer);
+                bindings.put(key, value);
+                if (--bindingsRemaining == 0)
+                    fieldDone();
+                break;
+            case GREMLIN:
+                gremlin = context.readValue(buffer, String.class, false);
+                state = State.DONE;
+                break;
+            default:
+                throw new IllegalStateException("Unexpected state " + state);
+        }
+    }
+
+    private void readField() throws Exception {
+        final String key = context.read(buffer);
+
+        // the bindings are the only field expected to be large so their entries are read one at a time
+        if (SerTokens.TOKEN_BINDINGS.equals(key) && cumulation.getByte(cumulation.readerIndex()) == DataType.MAP.getCodeByte()) {
+            buffer.readByte();
+            final byte valueFlag = buffer.readByte();
+            if ((valueFlag & 1) == 1) {
+                fields.put(key, null);
+                fieldDone();
+                return;
+            }
+
+            bindingsRemaining = buffer.readInt();
+            bindings = (valueFlag & 2) == 2 ? new LinkedHashMap<>(bindingsRemaining) : new HashMap<>(bindingsRemaining);
+            fields.put(key, bindings);
+            if (bindingsRemaining == 0)
+                fieldDone();
+            else
+                state = State.BINDINGS_ENTRY;
+            return;
+        }
+
+        fields.put(key, context.read(buffer));
+        fieldDone();
+    }
+
+    private void fieldDone() {
+        state = --fieldsRemaining > 0 ? State.FIELD : State.GREMLIN;
+    }
+}
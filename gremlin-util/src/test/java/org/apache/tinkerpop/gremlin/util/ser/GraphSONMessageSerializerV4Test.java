@@ -102,6 +102,31 @@ public class GraphSONMessageSerializerV4Test {
         assertEquals(8, ((List)deserialized.getResult().getData()).size());
     }
 
+    @Test
+    public void shouldSerializeLargeChunkedResponseMessage() throws SerializationException, JsonProcessingException {
+        final List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            items.add("\u00e9t\u00e9-" + i);
+        }
+
+        final ResponseMessage footer = ResponseMessage.build()
+                .result(Collections.singletonList("\u6771\u4eac"))
+                .code(HttpResponseStatus.OK)
+                .create();
+
+        final ByteBuf bb0 = serializer.writeHeader(ResponseMessage.build().result(items).create(), allocator);
+        final ByteBuf bb1 = serializer.writeChunk(items, allocator);
+        final ByteBuf bb2 = serializer.writeFooter(footer, allocator);
+
+        final ByteBuf bbCombined = allocator.buffer().writeBytes(bb0).writeBytes(bb1).writeBytes(bb2);
+        final ResponseMessage deserialized = serializer.deserializeBinaryResponse(bbCombined);
+        final List<Object> data = deserialized.getResult().getData();
+        assertEquals(20001, data.size());
+        assertEquals("\u00e9t\u00e9-0", data.get(0));
+        assertEquals("\u00e9t\u00e9-9999", data.get(19999));
+        assertEquals("\u6771\u4eac", data.get(20000));
+    }
+
     @Test
     public void shouldSerializeResponseMessageWithoutData() throws SerializationException, JsonProcessingException {
         final ResponseMessage header = ResponseMessage.build()
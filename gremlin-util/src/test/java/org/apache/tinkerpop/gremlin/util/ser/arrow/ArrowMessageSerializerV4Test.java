@@ -0,0 +1,421 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.arrow;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.util.ser.ArrowMessageSerializerV4;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ArrowMessageSerializerV4Test {
+
+    /**
+     * A stream of the values 1, null and 3, which was checked byte by byte against the Arrow IPC format and the
+     * flatbuffers of its Message.fbs and Schema.fbs. Offsets are from the start of the stream.
+     */
+    private static final String GOLDEN_VALUE_STREAM =
+            // 0x0000 continuation and metadata length of the schema message
+            "ffffffff d0000000" +
+            // 0x0008 offset to the Message table, padding and the vtable of Message: bodyLength at 4, header at 12,
+            // version at 16 and header_type at 18
+            "14000000 00000000 0c001300 10001200 0c000400" +
+            // 0x001c Message: bodyLength 0, header to 0x3c, version V5 and header_type Schema
+            "0c000000 00000000 00000000 14000000 0400 01 00 0000" +
+            // 0x0032 vtable of Schema: fields at 4, custom_metadata at 8 and endianness at 12
+            "0a000e00 0c000400 0800" +
+            // 0x003c Schema: fields to 0x4c, custom_metadata to 0x9c and endianness Little
+            "0a000000 0c000000 58000000 0000 0000" +
+            // 0x004c fields of one, the Field at 0x64, and the vtable of Field: name at 4, type at 8, children at 12,
+            // nullable at 16 and type_type at 17
+            "01000000 14000000 10001200 04001000 11000800 00000c00" +
+            // 0x0064 Field: name to 0x78, type to 0x8c, children to 0x98, nullable and type_type Int
+            "10000000 10000000 20000000 28000000 01 02 0000" +
+            // 0x0078 "value" and the vtable of Int: bitWidth at 4 and is_signed at 8
+            "05000000 76616c75 65000000 08000900 04000800" +
+            // 0x008c Int: bitWidth 32 and is_signed, then no children
+            "08000000 20000000 01000000 00000000" +
+            // 0x009c custom_metadata of one, the KeyValue at 0xac, and the vtable of KeyValue: key at 4 and value at 8
+            "01000000 0c000000 08000c00 04000800" +
+            // 0x00ac KeyValue: key to 0xb8 and value to 0xcc, "gremlin.rows" and "value"
+            "08000000 08000000 18000000 0c000000 6772656d 6c696e2e 726f7773 00000000 05000000 76616c75 65000000" +
+            // 0x00d8 continuation and metadata length of the record batch message
+            "ffffffff 88000000" +
+            // 0x00e0 offset to the Message table, padding and the vtable of Message as before
+            "14000000 00000000 0c001300 10001200 0c000400" +
+            // 0x00f4 Message: bodyLength 24, header to 0x114, version V5 and header_type RecordBatch
+            "0c000000 18000000 00000000 14000000 0400 03 00 0000" +
+            // 0x010a vtable of RecordBatch: length at 4, nodes at 12 and buffers at 16
+            "0a001400 04000c00 1000" +
+            // 0x0114 RecordBatch: length 3, nodes to 0x12c and buffers to 0x144
+            "0a000000 03000000 00000000 0c000000 20000000 00000000" +
+            // 0x012c nodes of one FieldNode: length 3 and null_count 1
+            "01000000 03000000 00000000 01000000 00000000 00000000" +
+            // 0x0144 buffers of two Buffers: the validity bitmap at 0 of 1 byte and the values at 8 of 12 bytes
+            "02000000 00000000 00000000 01000000 00000000 08000000 00000000 0c000000 00000000" +
+            // 0x0168 body: the validity bitmap 0b101 and the values 1, 0 for null and 3, each padded to 8 bytes
+            "05000000 00000000 01000000 00000000 03000000 00000000" +
+            // 0x0180 end-of-stream
+            "ffffffff 00000000";
+
+    /**
+     * A stream of the maps {name: "ab"} and {name: "c"} in a record batch with the custom metadata {k: "v"}, which
+     * was checked byte by byte in the same way as {@link #GOLDEN_VALUE_STREAM}.
+     */
+    private static final String GOLDEN_MAP_STREAM =
+            // 0x0000 continuation and metadata length of the schema message
+            "ffffffff c8000000" +
+            // 0x0008 offset to the Message table, padding and the vtable of Message
+            "14000000 00000000 0c001300 10001200 0c000400" +
+            // 0x001c Message: bodyLength 0, header to 0x3c, version V5 and header_type Schema
+            "0c000000 00000000 00000000 14000000 0400 01 00 0000" +
+            // 0x0032 vtable of Schema
+            "0a000e00 0c000400 0800" +
+            // 0x003c Schema: fields to 0x4c, custom_metadata to 0x94 and endianness Little
+            "0a000000 0c000000 50000000 0000 0000" +
+            // 0x004c fields of one, the Field at 0x64, and the vtable of Field
+            "01000000 14000000 10001200 04001000 11000800 00000c00" +
+            // 0x0064 Field: name to 0x78, type to 0x8c, children to 0x90, nullable and type_type Utf8
+            "10000000 10000000 20000000 20000000 01 05 0000" +
+            // 0x0078 "name", padding and the vtable of Utf8, which has no fields
+            "04000000 6e616d65 00000000 00000000 04000400" +
+            // 0x008c Utf8, no children, then custom_metadata of one, the KeyValue at 0xa4, and the vtable of KeyValue
+            "04000000 00000000 01000000 0c000000 08000c00 04000800" +
+            // 0x00a4 KeyValue: key to 0xb0 and value to 0xc4, "gremlin.rows" and "map"
+            "08000000 08000000 18000000 0c000000 6772656d 6c696e2e 726f7773 00000000 03000000 6d617000 00000000" +
+            // 0x00d0 continuation and metadata length of the record batch message
+            "ffffffff d0000000" +
+            // 0x00d8 offset to the Message table, padding and the vtable of Message: bodyLength at 4, header at 12,
+            // custom_metadata at 16, version at 20 and header_type at 22
+            "14000000 0000 0e001700 14001600 0c000400 1000" +
+            // 0x00ec Message: bodyLength 24, header to 0x114, custom_metadata to 0x178, version V5 and header_type
+            // RecordBatch
+            "0e000000 18000000 00000000 1c000000 7c000000 0400 03 00 00000000 0000" +
+            // 0x010a vtable of RecordBatch
+            "0a001400 04000c00 1000" +
+            // 0x0114 RecordBatch: length 2, nodes to 0x12c and buffers to 0x144
+            "0a000000 02000000 00000000 0c000000 20000000 00000000" +
+            // 0x012c nodes of one FieldNode: length 2 and null_count 0
+            "01000000 02000000 00000000 00000000 00000000 00000000" +
+            // 0x0144 buffers of three Buffers: no validity bitmap, the offsets at 0 of 12 bytes and the data at 16 of
+            // 3 bytes
+            "03000000 00000000 00000000 00000000 00000000 00000000 00000000 0c000000 00000000" +
+            "10000000 00000000 03000000 00000000" +
+            // 0x0178 custom_metadata of one, the KeyValue at 0x18c, padding and the vtable of KeyValue
+            "01000000 10000000 00000000 08000c00 04000800" +
+            // 0x018c KeyValue: key to 0x198 and value to 0x1a0, "k" and "v"
+            "08000000 08000000 0c000000 01000000 6b000000 01000000 76000000" +
+            // 0x01a8 body: the offsets 0, 2 and 3 and the data "abc", each padded to 8 bytes
+            "00000000 02000000 03000000 00000000 61626300 00000000" +
+            // 0x01c0 end-of-stream
+            "ffffffff 00000000";
+
+    private final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+    private final ArrowMessageSerializerV4 serializer = new ArrowMessageSerializerV4();
+
+    @Test
+    public void shouldSerializeAndDeserializeMapsInChunks() throws SerializationException {
+        final List<Object> first = Arrays.asList(
+                row("name", "marko", "age", 29, "weight", 0.5d, "active", true),
+                row("name", "vadas", "age", 27, "active", false));
+        final List<Object> second = Collections.singletonList(row("name", "josh", "age", 32, "weight", 1.0d));
+        final List<Object> last = Collections.singletonList(row("name", "peter", "age", 35));
+
+        final ArrowMessageSerializerV4 writer = serializer.forResponse();
+        final ArrowMessageSerializerV4 reader = serializer.forResponse();
+        final ResponseMessage header = reader.readChunk(writer.writeHeader(ResponseMessage.build().result(first).create(), allocator), true);
+        final ResponseMessage chunk = reader.readChunk(writer.writeChunk(second, allocator), false);
+        final ResponseMessage footer = reader.readChunk(writer.writeFooter(ResponseMessage.build().result(last).code(HttpResponseStatus.OK).create(), allocator), false);
+
+        assertEquals(first, header.getResult().getData());
+        assertNull(header.getStatus());
+        assertEquals(second, chunk.getResult().getData());
+        assertNull(chunk.getStatus());
+        assertEquals(last, footer.getResult().getData());
+        assertEquals(HttpResponseStatus.OK, footer.getStatus().getCode());
+    }
+
+    @Test
+    public void shouldSerializeAndDeserializeElementMaps() throws SerializationException {
+        final Map<Object, Object> edge = new LinkedHashMap<>();
+        edge.put(T.id, 7);
+        edge.put(T.label, "knows");
+        edge.put(Direction.IN, row(T.id, 2, T.label, "person"));
+        edge.put(Direction.OUT, row(T.id, 1, T.label, "person"));
+        edge.put("weight", 0.5d);
+        final Map<Object, Object> vertex = new LinkedHashMap<>();
+        vertex.put("name", Collections.singletonList("marko"));
+        vertex.put("location", Arrays.asList("san diego", "santa cruz"));
+
+        final ResponseMessage response = roundTrip(Arrays.asList(edge, vertex));
+
+        final Map<Object, Object> expectedEdge = new LinkedHashMap<>();
+        expectedEdge.put("id", 7);
+        expectedEdge.put("label", "knows");
+        expectedEdge.put("IN", row("id", 2, "label", "person"));
+        expectedEdge.put("OUT", row("id", 1, "label", "person"));
+        expectedEdge.put("weight", 0.5d);
+        assertEquals(Arrays.asList(expectedEdge, vertex), response.getResult().getData());
+    }
+
+    @Test
+    public void shouldSerializeAndDeserializeValuesThatAreNotMaps() throws SerializationException {
+        assertEquals(Arrays.asList(1L, null, 3L), roundTrip(Arrays.asList(1, null, 3L)).getResult().getData());
+        assertEquals(Arrays.asList(1.5f, 2.5f), roundTrip(Arrays.asList(1.5f, 2.5f)).getResult().getData());
+        assertEquals(Arrays.asList("a", "1"), roundTrip(Arrays.asList("a", 1)).getResult().getData());
+    }
+
+    @Test
+    public void shouldSerializeAndDeserializeEmptyResponse() throws SerializationException {
+        final ResponseMessage response = roundTrip(Collections.emptyList());
+        assertEquals(Collections.emptyList(), response.getResult().getData());
+        assertEquals(HttpResponseStatus.OK, response.getStatus().getCode());
+    }
+
+    @Test
+    public void shouldSerializeAndDeserializeErrorResponse() throws SerializationException {
+        final ResponseMessage response = ResponseMessage.build()
+                .code(HttpResponseStatus.INTERNAL_SERVER_ERROR)
+                .statusMessage("failed")
+                .exception("ServerErrorException")
+                .create();
+
+        final ResponseMessage deserialized = serializer.deserializeBinaryResponse(serializer.serializeResponseAsBinary(response, allocator));
+        assertEquals(Collections.emptyList(), deserialized.getResult().getData());
+        assertEquals(HttpResponseStatus.INTERNAL_SERVER_ERROR, deserialized.getStatus().getCode());
+        assertEquals("failed", deserialized.getStatus().getMessage());
+        assertEquals("ServerErrorException", deserialized.getStatus().getException());
+    }
+
+    @Test
+    public void shouldWriteErrorFooterAfterResults() throws SerializationException {
+        final List<Object> first = Collections.singletonList(row("name", "marko"));
+        final ArrowMessageSerializerV4 writer = serializer.forResponse();
+        final ByteBuf buffer = Unpooled.buffer();
+        buffer.writeBytes(writer.writeHeader(ResponseMessage.build().result(first).create(), allocator));
+        buffer.writeBytes(writer.writeErrorFooter(ResponseMessage.build().code(HttpResponseStatus.INTERNAL_SERVER_ERROR).statusMessage("failed").create(), allocator));
+
+        final ResponseMessage deserialized = serializer.deserializeBinaryResponse(buffer);
+        assertEquals(first, deserialized.getResult().getData());
+        assertEquals(HttpResponseStatus.INTERNAL_SERVER_ERROR, deserialized.getStatus().getCode());
+    }
+
+    @Test
+    public void shouldReadStreamSplitAnywhere() throws SerializationException {
+        final List<Object> data = new ArrayList<>();
+        for (int ix = 0; ix < 10; ix++) {
+            data.add(row("name", "name" + ix, "ids", Arrays.asList(ix, ix + 1)));
+        }
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(
+                ResponseMessage.build().result(data).code(HttpResponseStatus.OK).create(), allocator);
+
+        final ArrowMessageSerializerV4 reader = serializer.forResponse();
+        final List<Object> read = new ArrayList<>();
+        ResponseMessage chunk = null;
+        for (int ix = 0; buffer.isReadable(); ix++) {
+            chunk = reader.readChunk(buffer.readRetainedSlice(Math.min(3, buffer.readableBytes())), ix == 0);
+            read.addAll(chunk.getResult().getData());
+        }
+
+        assertEquals(data, read);
+        assertEquals(HttpResponseStatus.OK, chunk.getStatus().getCode());
+    }
+
+    @Test
+    public void shouldWriteMessagesOnEightByteBoundaries() throws SerializationException {
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(ResponseMessage.build()
+                .result(Arrays.asList(row("name", "marko", "age", 29), row("name", "josh")))
+                .code(HttpResponseStatus.OK).create(), allocator);
+
+        int messages = 0;
+        while (buffer.readableBytes() > 8) {
+            assertEquals(0xFFFFFFFF, buffer.readIntLE());
+            final int length = buffer.readIntLE();
+            assertEquals(0, length % 8);
+            final long bodyLength = FlatBufferView.root(buffer, buffer.readerIndex()).getLong(3, 0);
+            assertEquals(0, bodyLength % 8);
+            buffer.skipBytes(length + (int) bodyLength);
+            messages++;
+        }
+
+        // the schema, the results and the status, then the end-of-stream marker
+        assertEquals(3, messages);
+        assertEquals(0xFFFFFFFF, buffer.readIntLE());
+        assertEquals(0, buffer.readIntLE());
+    }
+
+    @Test
+    public void shouldInferSchemaFromFirstChunk() {
+        final ArrowStreamWriter writer = ArrowStreamWriter.inferFrom(Arrays.asList(
+                row("id", 1, "count", 2L, "score", 1.5f, "name", "marko", "tags", Arrays.asList(1.0d, 2)),
+                row("id", 2, "count", 3, "score", 2.5d, "other", true)));
+
+        assertEquals("[id:INT32, count:INT64, score:FLOAT64, name:UTF8, tags:LIST[item:FLOAT64], other:BOOL]",
+                writer.getFields().toString());
+    }
+
+    @Test
+    public void shouldWidenSchema() {
+        final ArrowStreamWriter writer = ArrowStreamWriter.inferFrom(Collections.singletonList(row("id", 1, "name", "marko")));
+        assertSame(writer, writer.widenTo(Collections.singletonList(row("id", (short) 2))));
+
+        assertEquals("[id:INT64, name:UTF8, age:INT32]",
+                writer.widenTo(Collections.singletonList(row("id", 2L, "age", 29))).getFields().toString());
+        assertEquals("[id:FLOAT64, name:UTF8]",
+                writer.widenTo(Collections.singletonList(row("id", 1.5d))).getFields().toString());
+        assertEquals("[id:UTF8, name:UTF8]",
+                writer.widenTo(Collections.singletonList(row("id", true))).getFields().toString());
+        assertEquals("[value:UTF8]", writer.widenTo(Collections.singletonList(1)).getFields().toString());
+
+        final ArrowStreamWriter values = ArrowStreamWriter.inferFrom(Collections.singletonList(Arrays.asList(1, 2)));
+        assertEquals("[value:LIST[item:FLOAT64]]",
+                values.widenTo(Collections.singletonList(Collections.singletonList(1.5f))).getFields().toString());
+
+        // a schema inferred from no results is replaced by that of the first results
+        assertEquals("[value:INT32]", ArrowStreamWriter.inferFrom(Collections.emptyList())
+                .widenTo(Collections.singletonList(1)).getFields().toString());
+    }
+
+    @Test
+    public void shouldWriteChunkThatFitsSchemaToSameStream() throws SerializationException {
+        final ArrowMessageSerializerV4 writer = serializer.forResponse();
+        final ArrowMessageSerializerV4 reader = serializer.forResponse();
+        reader.readChunk(writer.writeHeader(ResponseMessage.build()
+                .result(Collections.singletonList(row("id", 1L, "name", "marko"))).create(), allocator), true);
+
+        // an integer promotes to the long of the column and the missing name is null
+        final ByteBuf chunk = writer.writeChunk(Collections.singletonList(row("id", 2)), allocator);
+        final FlatBufferView message = FlatBufferView.root(chunk, chunk.readerIndex() + 8);
+        assertEquals(ArrowStreamWriter.HEADER_RECORD_BATCH, message.getByte(1, 0));
+
+        assertEquals(Collections.singletonList(row("id", 2L)), reader.readChunk(chunk, false).getResult().getData());
+    }
+
+    @Test
+    public void shouldStartNewStreamWhenChunkDoesNotFitSchema() throws SerializationException {
+        final List<Object> first = Collections.singletonList(row("age", 29));
+        final ArrowMessageSerializerV4 writer = serializer.forResponse();
+        final ArrowMessageSerializerV4 reader = serializer.forResponse();
+        final List<Object> read = new ArrayList<>(reader.readChunk(
+                writer.writeHeader(ResponseMessage.build().result(first).create(), allocator), true).getResult().getData());
+
+        final ByteBuf chunk = writer.writeChunk(Arrays.asList(row("age", 30L, "name", "josh"), row("age", 1.5d)), allocator);
+        // the stream with the schema of the first chunk ends right away and another starts with the wider schema
+        assertEquals(0xFFFFFFFF, chunk.getIntLE(0));
+        assertEquals(0, chunk.getIntLE(4));
+        assertEquals(ArrowStreamWriter.HEADER_SCHEMA, FlatBufferView.root(chunk, 16).getByte(1, 0));
+        read.addAll(reader.readChunk(chunk, false).getResult().getData());
+
+        final ResponseMessage footer = reader.readChunk(writer.writeFooter(ResponseMessage.build()
+                .result(Collections.singletonList(row("age", "old", "lang", "java")))
+                .code(HttpResponseStatus.OK).create(), allocator), false);
+        read.addAll(footer.getResult().getData());
+
+        assertEquals(Arrays.asList(row("age", 29), row("age", 30.0d, "name", "josh"), row("age", 1.5d),
+                row("age", "old", "lang", "java")), read);
+        assertEquals(HttpResponseStatus.OK, footer.getStatus().getCode());
+    }
+
+    @Test
+    public void shouldStartNewStreamWhenValuesAreNoLongerMaps() throws SerializationException {
+        final ArrowMessageSerializerV4 writer = serializer.forResponse();
+        final ByteBuf buffer = Unpooled.buffer();
+        buffer.writeBytes(writer.writeHeader(ResponseMessage.build().result(Collections.singletonList(row("age", 29))).create(), allocator));
+        buffer.writeBytes(writer.writeFooter(ResponseMessage.build().result(Arrays.asList(1, null))
+                .code(HttpResponseStatus.OK).create(), allocator));
+
+        final ResponseMessage deserialized = serializer.deserializeBinaryResponse(buffer);
+        assertEquals(Arrays.asList(row("age", 29), "1", null), deserialized.getResult().getData());
+        assertEquals(HttpResponseStatus.OK, deserialized.getStatus().getCode());
+    }
+
+    @Test
+    public void shouldWriteGoldenValueStream() throws SerializationException {
+        final List<Object> values = Arrays.asList(1, null, 3);
+        final ArrowStreamWriter writer = ArrowStreamWriter.inferFrom(values);
+        final ByteBuf buffer = Unpooled.buffer();
+        writer.writeSchema(buffer);
+        writer.writeBatch(values, Collections.emptyMap(), buffer);
+        ArrowStreamWriter.writeEndOfStream(buffer);
+
+        assertEquals(GOLDEN_VALUE_STREAM.replace(" ", ""), ByteBufUtil.hexDump(buffer));
+        assertEquals(values, new ArrowStreamReader().read(golden(GOLDEN_VALUE_STREAM)));
+    }
+
+    @Test
+    public void shouldWriteGoldenMapStream() throws SerializationException {
+        final List<Object> rows = Arrays.asList(row("name", "ab"), row("name", "c"));
+        final ArrowStreamWriter writer = ArrowStreamWriter.inferFrom(rows);
+        final ByteBuf buffer = Unpooled.buffer();
+        writer.writeSchema(buffer);
+        writer.writeBatch(rows, Collections.singletonMap("k", "v"), buffer);
+        ArrowStreamWriter.writeEndOfStream(buffer);
+
+        assertEquals(GOLDEN_MAP_STREAM.replace(" ", ""), ByteBufUtil.hexDump(buffer));
+        final ArrowStreamReader reader = new ArrowStreamReader();
+        assertEquals(rows, reader.read(golden(GOLDEN_MAP_STREAM)));
+        assertEquals(Collections.singletonMap("k", "v"), reader.getMetadata());
+        assertThat(reader.isEnded(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireSerializerForResponseToWriteChunks() throws SerializationException {
+        serializer.writeChunk(Collections.emptyList(), allocator);
+    }
+
+    private ResponseMessage roundTrip(final List<Object> data) throws SerializationException {
+        final ResponseMessage response = ResponseMessage.build().result(data).code(HttpResponseStatus.OK).create();
+        final ResponseMessage deserialized = serializer.deserializeBinaryResponse(serializer.serializeResponseAsBinary(response, allocator));
+        assertThat(deserialized.getResult().isBulked(), is(false));
+        return deserialized;
+    }
+
+    private static ByteBuf golden(final String hex) {
+        return Unpooled.wrappedBuffer(ByteBufUtil.decodeHexDump(hex.replace(" ", "")));
+    }
+
+    private static Map<Object, Object> row(final Object... keyValues) {
+        final Map<Object, Object> row = new LinkedHashMap<>();
+        for (int ix = 0; ix < keyValues.length; ix += 2) {
+            row.put(keyValues[ix], keyValues[ix + 1]);
+        }
+        return row;
+    }
+}
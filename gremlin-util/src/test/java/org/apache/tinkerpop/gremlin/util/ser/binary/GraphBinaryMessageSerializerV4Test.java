@@ -20,21 +20,35 @@ package org.apache.tinkerpop.gremlin.util.ser.binary;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
+import org.apache.tinkerpop.gremlin.structure.io.binary.types.PackedList;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV4;
 import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.util.ser.binary.LazyValue;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.number.OrderingComparison.lessThan;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class GraphBinaryMessageSerializerV4Test {
@@ -202,6 +216,280 @@ public class GraphBinaryMessageSerializerV4Test {
         serializer.configure(config, null);
     }
 
+    @Test
+    public void shouldWriteRepeatedStringsAsReferences() throws SerializationException {
+        final List<Object> data = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            final Map<String, Object> m = new HashMap<>();
+            m.put("name", "person" + i);
+            m.put("label", "person");
+            m.put("age", i);
+            data.add(m);
+        }
+        final ResponseMessage response = ResponseMessage.build()
+                .code(HttpResponseStatus.OK)
+                .statusMessage("OK")
+                .result(data)
+                .create();
+
+        final ByteBuf plain = serializer.writeHeader(response, allocator);
+        final ByteBuf referenced = serializer.withStringReferences().writeHeader(response, allocator);
+        try {
+            assertThat(referenced.readableBytes() < plain.readableBytes(), is(true));
+            assertEquals(GraphBinaryWriter.STRING_REFERENCES_BYTE, referenced.getByte(1) & GraphBinaryWriter.STRING_REFERENCES_BYTE);
+
+            // a whole response can be read at once without a serializer for the response
+            assertResponseEquals(response, serializer.readChunk(referenced, true));
+        } finally {
+            plain.release();
+        }
+    }
+
+    @Test
+    public void shouldSerializeAndDeserializePrimitiveArrays() throws SerializationException {
+        final List<Object> data = Arrays.asList(new int[] {1, -2, Integer.MAX_VALUE}, new long[] {Long.MIN_VALUE, 0L},
+                new float[] {0.5f, Float.NaN}, new double[] {-1.25d, Double.MAX_VALUE}, new double[0]);
+        final ResponseMessage response = ResponseMessage.build()
+                .code(HttpResponseStatus.OK)
+                .result(data)
+                .create();
+
+        final List<Object> deserialized = serializer.readChunk(serializer.writeHeader(response, allocator), true).getResult().getData();
+        assertEquals(data.size(), deserialized.size());
+        assertArrayEquals((int[]) data.get(0), (int[]) deserialized.get(0));
+        assertArrayEquals((long[]) data.get(1), (long[]) deserialized.get(1));
+        assertArrayEquals((float[]) data.get(2), (float[]) deserialized.get(2), 0f);
+        assertArrayEquals((double[]) data.get(3), (double[]) deserialized.get(3), 0d);
+        assertArrayEquals((double[]) data.get(4), (double[]) deserialized.get(4), 0d);
+    }
+
+    @Test
+    public void shouldWritePackedListsOnlyWhenAsked() throws SerializationException {
+        final List<Double> embedding = new ArrayList<>();
+        for (int i = 0; i < 128; i++) {
+            embedding.add(i / 128d);
+        }
+        final List<Object> data = Arrays.asList(embedding, Arrays.asList(1, 2, 3), Arrays.asList(1L, 2L),
+                Arrays.asList(1f, 2f), Arrays.asList(1, 2L), Arrays.asList(1, null), Collections.emptyList());
+        final ResponseMessage response = ResponseMessage.build()
+                .code(HttpResponseStatus.OK)
+                .result(data)
+                .create();
+
+        final ByteBuf plain = serializer.writeHeader(response, allocator);
+        final ByteBuf packed = serializer.forResponse(false, true, false, false).writeHeader(response, allocator);
+        try {
+            assertThat(packed.readableBytes() < plain.readableBytes(), is(true));
+            assertEquals(0, plain.getByte(1) & GraphBinaryWriter.PACKED_LISTS_BYTE);
+            assertEquals(GraphBinaryWriter.PACKED_LISTS_BYTE, packed.getByte(1) & GraphBinaryWriter.PACKED_LISTS_BYTE);
+
+            final List<Object> deserialized = serializer.readChunk(packed, true).getResult().getData();
+            assertEquals(data, deserialized);
+            assertThat(deserialized.get(0), instanceOf(PackedList.OfDouble.class));
+            assertThat(deserialized.get(1), instanceOf(PackedList.OfInt.class));
+            assertThat(deserialized.get(2), instanceOf(PackedList.OfLong.class));
+            assertThat(deserialized.get(3), instanceOf(PackedList.OfFloat.class));
+
+            // lists with mixed types, nulls or no items at all are written as usual
+            assertThat(deserialized.get(4), instanceOf(ArrayList.class));
+            assertThat(deserialized.get(5), instanceOf(ArrayList.class));
+            assertThat(deserialized.get(6), instanceOf(ArrayList.class));
+        } finally {
+            plain.release();
+        }
+    }
+
+    @Test
+    public void shouldWritePackedListsWithStringReferences() throws SerializationException {
+        final Map<String, Object> m = new HashMap<>();
+        m.put("name", "marko");
+        m.put("embedding", new PackedList.OfFloat(new float[] {0.1f, 0.2f}));
+        final List<Object> data = Arrays.asList(m, m);
+        final ResponseMessage response = ResponseMessage.build()
+                .code(HttpResponseStatus.OK)
+                .result(data)
+                .create();
+
+        final GraphBinaryMessageSerializerV4 writing = serializer.forResponse(true, true, false, false);
+        assertThat(writing.isStringReferences(), is(true));
+        assertThat(writing.isPackedLists(), is(true));
+        assertEquals(data, serializer.readChunk(writing.writeHeader(response, allocator), true).getResult().getData());
+    }
+
+    @Test
+    public void shouldWriteMapsWithSameKeysAsColumns() throws SerializationException {
+        final List<Object> data = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            final Map<String, Object> m = new LinkedHashMap<>();
+            m.put("name", "person" + i);
+            m.put("age", i % 10 == 0 ? null : i);
+            m.put("weight", i % 2 == 0 ? i : (Object) (i + 0.5d));
+            m.put("knows", Collections.singletonMap("count", (long) i));
+            data.add(m);
+        }
+        // breaks the run of maps with the same keys so that the rest are written as a second set of columns
+        data.add(32, Collections.singletonMap("name", "other"));
+        data.add(48, "not a map");
+        final ResponseMessage response = ResponseMessage.build()
+                .code(HttpResponseStatus.OK)
+                .result(data)
+                .create();
+
+        final ByteBuf plain = serializer.writeHeader(response, allocator);
+        final ByteBuf columnar = serializer.forResponse(false, false, true, false).writeHeader(response, allocator);
+        try {
+            assertThat(columnar.readableBytes() < plain.readableBytes(), is(true));
+            assertEquals(GraphBinaryWriter.COLUMNAR_MAPS_BYTE, columnar.getByte(1) & GraphBinaryWriter.COLUMNAR_MAPS_BYTE);
+
+            final List<Object> deserialized = serializer.readChunk(columnar, true).getResult().getData();
+            assertEquals(data, deserialized);
+            assertEquals(new ArrayList<>(((Map) data.get(0)).keySet()), new ArrayList<>(((Map) deserialized.get(0)).keySet()));
+        } finally {
+            plain.release();
+        }
+    }
+
+    @Test
+    public void shouldReadColumnarMapsAcrossChunks() throws SerializationException {
+        final Map<String, Object> marko = new LinkedHashMap<>();
+        marko.put("name", "marko");
+        marko.put("embedding", Arrays.asList(0.1d, 0.2d));
+        final Map<String, Object> vadas = new LinkedHashMap<>();
+        vadas.put("name", "vadas");
+        vadas.put("embedding", Arrays.asList(0.3d, 0.4d));
+        final ResponseMessage header = ResponseMessage.build().result(Arrays.asList(marko, vadas)).create();
+        final List chunkData = Arrays.asList(vadas, marko, vadas);
+        final ResponseMessage footer = ResponseMessage.build()
+                .result(Collections.singletonList(marko))
+                .code(HttpResponseStatus.OK)
+                .create();
+
+        final GraphBinaryMessageSerializerV4 writing = serializer.forResponse(true, true, true, false);
+        final ByteBuf bb0 = writing.writeHeader(header, allocator);
+        final ByteBuf bb1 = writing.writeChunk(chunkData, allocator);
+        final ByteBuf bb2 = writing.writeFooter(footer, allocator);
+
+        final GraphBinaryMessageSerializerV4 reading = serializer.withStringReferences();
+        assertEquals(header.getResult().getData(), reading.readChunk(bb0, true).getResult().getData());
+        assertEquals(chunkData, reading.readChunk(bb1, false).getResult().getData());
+        assertEquals(footer.getResult().getData(), reading.readChunk(bb2, false).getResult().getData());
+    }
+
+    @Test
+    public void shouldWriteVarInts() throws SerializationException {
+        final Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("person", 4L);
+        counts.put("software", 2L);
+        final List<Object> data = Arrays.asList(1, 1L, -300, Long.MIN_VALUE, Arrays.asList(1, 2, 3), counts, "marko");
+        final ResponseMessage response = ResponseMessage.build()
+                .code(HttpResponseStatus.OK)
+                .result(data)
+                .create();
+
+        final ByteBuf fixed = serializer.writeHeader(response, allocator);
+        final ByteBuf varInts = serializer.forResponse(false, false, false, true).writeHeader(response, allocator);
+        assertEquals(GraphBinaryWriter.VAR_INTS_BYTE, varInts.getByte(1));
+        assertThat(varInts.readableBytes(), lessThan(fixed.readableBytes()));
+
+        final ResponseMessage deserialized = serializer.readChunk(varInts, true);
+        assertEquals(data, deserialized.getResult().getData());
+        assertEquals(HttpResponseStatus.OK, deserialized.getStatus().getCode());
+    }
+
+    @Test
+    public void shouldAllocateChunkForItsEstimatedSize() throws SerializationException {
+        final List<Object> data = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            data.add(i);
+            data.add(String.format("name-%04d", i));
+        }
+
+        // ints and ascii strings are estimated exactly so a chunk of results alike in size never grows from its
+        // estimate, which is taken from its first few results
+        final ByteBuf chunk = serializer.forResponse(false, false, false, false).writeChunk(data, UnpooledByteBufAllocator.DEFAULT);
+        assertEquals(chunk.writerIndex(), chunk.capacity());
+        chunk.release();
+    }
+
+    @Test
+    public void shouldReadVarIntsAcrossChunks() throws SerializationException {
+        final ResponseMessage header = ResponseMessage.build().result(Arrays.asList(1L, 2L)).create();
+        final List chunkData = Arrays.asList(Arrays.asList(3, 4), "five");
+        final ResponseMessage footer = ResponseMessage.build()
+                .result(Collections.singletonList(6))
+                .code(HttpResponseStatus.OK)
+                .create();
+
+        final GraphBinaryMessageSerializerV4 writing = serializer.forResponse(true, false, false, true);
+        final ByteBuf bb0 = writing.writeHeader(header, allocator);
+        final ByteBuf bb1 = writing.writeChunk(chunkData, allocator);
+        final ByteBuf bb2 = writing.writeFooter(footer, allocator);
+
+        final GraphBinaryMessageSerializerV4 reading = serializer.withStringReferences();
+        assertEquals(header.getResult().getData(), reading.readChunk(bb0, true).getResult().getData());
+        assertEquals(chunkData, reading.readChunk(bb1, false).getResult().getData());
+        final ResponseMessage last = reading.readChunk(bb2, false);
+        assertEquals(footer.getResult().getData(), last.getResult().getData());
+        assertEquals(HttpResponseStatus.OK, last.getStatus().getCode());
+    }
+
+    @Test
+    public void shouldReadValuesLazily() throws SerializationException {
+        final Vertex v = DetachedVertex.build().setId(1).setLabel("person")
+                .addProperty(DetachedVertexProperty.build().setId(2).setLabel("name").setValue("marko").create())
+                .create();
+        final Map<String, Object> m = new HashMap<>();
+        m.put("name", "vadas");
+        final List<Object> data = Arrays.asList(v, 1, m, Arrays.asList("a", "b"), "c");
+        final ResponseMessage response = ResponseMessage.build()
+                .code(HttpResponseStatus.OK)
+                .result(data)
+                .create();
+
+        final List<Object> deserialized = serializer.readChunk(serializer.writeHeader(response, allocator), true, true).getResult().getData();
+        assertEquals(data.size(), deserialized.size());
+        assertThat(deserialized.get(0), instanceOf(LazyValue.class));
+        assertEquals(1, deserialized.get(1));
+        assertThat(deserialized.get(2), instanceOf(LazyValue.class));
+        assertThat(deserialized.get(3), instanceOf(LazyValue.class));
+        assertEquals("c", deserialized.get(4));
+
+        final Vertex read = (Vertex) ((LazyValue) deserialized.get(0)).get();
+        assertEquals(v, read);
+        assertEquals("marko", read.value("name"));
+        assertEquals(m, ((LazyValue) deserialized.get(2)).get());
+        assertEquals(data.get(3), ((LazyValue) deserialized.get(3)).get());
+    }
+
+    @Test
+    public void shouldReadStringReferencesAcrossChunks() throws SerializationException {
+        final ResponseMessage header = ResponseMessage.build().result(Arrays.asList("a", "b")).create();
+        final List chunkData = Arrays.asList("b", "c", "a");
+        final ResponseMessage footer = ResponseMessage.build()
+                .result(Arrays.asList("c", "a"))
+                .code(HttpResponseStatus.OK)
+                .statusMessage("a")
+                .create();
+
+        final GraphBinaryMessageSerializerV4 writing = serializer.withStringReferences();
+        final ByteBuf bb0 = writing.writeHeader(header, allocator);
+        final ByteBuf bb1 = writing.writeChunk(chunkData, allocator);
+        final ByteBuf bb2 = writing.writeFooter(footer, allocator);
+
+        final GraphBinaryMessageSerializerV4 reading = serializer.withStringReferences();
+        assertEquals(header.getResult().getData(), reading.readChunk(bb0, true).getResult().getData());
+        assertEquals(chunkData, reading.readChunk(bb1, false).getResult().getData());
+        assertResponseEquals(footer, reading.readChunk(bb2, false));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void shouldNotReadStringReferenceToEarlierChunkWithoutSerializerForResponse() throws SerializationException {
+        final GraphBinaryMessageSerializerV4 writing = serializer.withStringReferences();
+        writing.writeHeader(ResponseMessage.build().result(Collections.singletonList("a")).create(), allocator).release();
+
+        serializer.readChunk(writing.writeChunk(Collections.singletonList("a"), allocator), false);
+    }
+
     // copy-paste because response format will be different
     private static void assertResponseEquals(final ResponseMessage expected, final ResponseMessage actual) {
         // Status
@@ -57,4 +57,36 @@ public class GraphBinaryReaderWriterRoundTripTest extends AbstractRoundTripTest
             Optional.ofNullable(assertion).orElse((Consumer) r -> assertEquals(value, r)).accept(result);
         }
     }
+
+    @Test
+    public void shouldWriteAndReadWithVarInts() throws Exception {
+        if (skippedTests.contains(name)) return;
+
+        final GraphBinaryWriter varIntWriter = writer.withVarInts();
+        final GraphBinaryReader varIntReader = reader.withVarInts();
+        final Buffer buffer = bufferFactory.create(allocator.buffer());
+        varIntWriter.write(value, buffer);
+        varIntWriter.write(name, buffer);
+        buffer.readerIndex(0);
+        final Object result = varIntReader.read(buffer);
+
+        Optional.ofNullable(assertion).orElse((Consumer) r -> assertEquals(value, r)).accept(result);
+        assertEquals(name, varIntReader.read(buffer));
+        assertEquals(0, buffer.readableBytes());
+    }
+
+    @Test
+    public void shouldSkip() throws Exception {
+        if (skippedTests.contains(name)) return;
+
+        final Buffer buffer = bufferFactory.create(allocator.buffer());
+        writer.write(value, buffer);
+        writer.write(name, buffer);
+        buffer.readerIndex(0);
+        reader.skip(buffer);
+
+        // the value that follows is read from where the skipped one ended
+        assertEquals(name, reader.read(buffer));
+        assertEquals(0, buffer.readableBytes());
+    }
 }
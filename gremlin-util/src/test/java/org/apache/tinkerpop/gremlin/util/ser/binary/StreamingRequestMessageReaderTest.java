@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.util.ser.binary;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+import org.apache.tinkerpop.gremlin.util.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV4;
+import org.apache.tinkerpop.gremlin.util.ser.SerializationException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.util.MockitoHamcrestMatcherAdapter.reflectionEquals;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamingRequestMessageReaderTest {
+    private final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+    private final GraphBinaryMessageSerializerV4 serializer = new GraphBinaryMessageSerializerV4();
+
+    @Test
+    public void shouldReadRequestInOnePiece() throws SerializationException {
+        final RequestMessage request = createRequest(10);
+        assertThat(request, reflectionEquals(readInSlices(request, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void shouldReadRequestOneByteAtATime() throws SerializationException {
+        final RequestMessage request = createRequest(10);
+        assertThat(request, reflectionEquals(readInSlices(request, 1)));
+    }
+
+    @Test
+    public void shouldReadRequestWithLargeBindingsInSlices() throws SerializationException {
+        final RequestMessage request = createRequest(1000);
+        final RequestMessage deserialized = readInSlices(request, 333);
+        assertThat(request, reflectionEquals(deserialized));
+        assertEquals(1000, ((List<?>) deserialized.<Map<String, Object>>getField(Tokens.ARGS_BINDINGS).get("rows")).size());
+    }
+
+    @Test
+    public void shouldReadRequestWithoutFields() throws SerializationException {
+        final RequestMessage request = RequestMessage.build("g.V()").create();
+        assertThat(request, reflectionEquals(readInSlices(request, 3)));
+    }
+
+    @Test
+    public void shouldFailOnTruncatedRequest() throws SerializationException {
+        final ByteBuf serialized = serializer.serializeRequestAsBinary(createRequest(10), allocator);
+        final StreamingRequestMessageReader reader = serializer.createStreamingRequestReader(allocator);
+        try {
+            assertFalse(reader.offer(serialized.slice(0, serialized.readableBytes() / 2), false));
+            reader.offer(serialized.slice(0, 0), true);
+            fail("Should have failed as the request was incomplete");
+        } catch (SerializationException expected) {
+            // expected
+        } finally {
+            reader.release();
+            serialized.release();
+        }
+    }
+
+    @Test
+    public void shouldFailOnInvalidVersion() throws SerializationException {
+        final ByteBuf serialized = serializer.serializeRequestAsBinary(createRequest(1), allocator);
+        serialized.setByte(0, 0x01);
+        final StreamingRequestMessageReader reader = serializer.createStreamingRequestReader(allocator);
+        try {
+            reader.offer(serialized, false);
+            fail("Should have failed as the version is invalid");
+        } catch (SerializationException expected) {
+            // expected
+        } finally {
+            reader.release();
+            serialized.release();
+        }
+    }
+
+    @Test
+    public void shouldFailOnMalformedRequestBeforeContentEnds() throws SerializationException {
+        final ByteBuf serialized = serializer.serializeRequestAsBinary(createRequest(1), allocator);
+        // the type code of the key of the first field, after the version and the number of fields
+        serialized.setByte(5, 0x7f);
+        final StreamingRequestMessageReader reader = serializer.createStreamingRequestReader(allocator);
+        try {
+            reader.offer(serialized, false);
+            fail("Should have failed as the type code is invalid");
+        } catch (SerializationException expected) {
+            // expected
+        } finally {
+            reader.release();
+            serialized.release();
+        }
+    }
+
+    private RequestMessage createRequest(final int rows) {
+        final List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            final Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("name", "name-" + i);
+            list.add(row);
+        }
+
+        return RequestMessage.build("g.inject(rows).unfold().mergeV()")
+                .addG("g")
+                .addLanguage("gremlin-lang")
+                .addTimeoutMillis(500)
+                .addBinding("rows", list)
+                .addBinding("x", 1L)
+                .create();
+    }
+
+    private RequestMessage readInSlices(final RequestMessage request, final int sliceSize) throws SerializationException {
+        final ByteBuf serialized = serializer.serializeRequestAsBinary(request, allocator);
+        final StreamingRequestMessageReader reader = serializer.createStreamingRequestReader(allocator);
+        try {
+            final int length = serialized.readableBytes();
+            boolean done = false;
+            for (int i = 0; i < length; i += sliceSize) {
+                final int size = Math.min(sliceSize, length - i);
+                done = reader.offer(serialized.slice(i, size), i + size == length);
+            }
+            assertTrue(done);
+            return reader.getRequestMessage();
+        } finally {
+            reader.release();
+            serialized.release();
+        }
+    }
+}
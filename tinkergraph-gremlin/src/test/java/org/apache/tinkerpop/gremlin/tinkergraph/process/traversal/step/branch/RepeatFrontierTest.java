@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.branch;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.core.Is.is;
+
+public class RepeatFrontierTest {
+
+    private final TinkerGraph graph = TinkerFactory.createModern();
+    private final GraphTraversalSource g = graph.traversal();
+
+    @Test
+    public void shouldEmitEachVertexOnceAtItsShortestDistance() {
+        final List<Object> names = g.V().has("name", "marko").
+                repeat(__.both()).emit().times(3).with(RepeatStep.FRONTIER, true).
+                values("name").toList();
+        assertThat(names, containsInAnyOrder("vadas", "josh", "lop", "ripple", "peter"));
+    }
+
+    @Test
+    public void shouldProduceBreadthFirstLevels() {
+        final List<Object> names = g.V().has("name", "marko").
+                repeat(__.both()).emit().times(3).with(RepeatStep.FRONTIER, true).
+                values("name").toList();
+        assertThat(names.subList(0, 3), containsInAnyOrder("vadas", "josh", "lop"));
+        assertThat(names.subList(3, 5), containsInAnyOrder("ripple", "peter"));
+    }
+
+    @Test
+    public void shouldMergeBulkOfTraversersReachingTheSameVertex() {
+        // vadas and josh are reached by both branches of the union in the same loop so each remains as a single
+        // traverser with a bulk of two
+        final Map<Object, Long> frontier = toBulkMap(g.V().has("name", "marko").
+                repeat(__.union(__.out(), __.out("knows"))).times(1).with(RepeatStep.FRONTIER, true).asAdmin());
+        assertThat(frontier.size(), is(3));
+        assertThat(frontier.get("vadas"), is(2L));
+        assertThat(frontier.get("josh"), is(2L));
+        assertThat(frontier.get("lop"), is(1L));
+    }
+
+    @Test
+    public void shouldExpandEachStartOnItsOwn() {
+        // lop is reached from marko, josh and peter and josh is both a start and reached from marko, none of which
+        // may prune the results of another start
+        final List<Object> names = g.V().hasLabel("person").
+                repeat(__.out()).times(1).with(RepeatStep.FRONTIER, true).values("name").toList();
+        assertThat(names, containsInAnyOrder("lop", "vadas", "josh", "ripple", "lop", "lop"));
+        assertThat(names, containsInAnyOrder(g.V().hasLabel("person").repeat(__.out()).times(1).values("name").toList().toArray()));
+    }
+
+    @Test
+    public void shouldKeepPathsWhenRequired() {
+        final List<Path> expected = g.V().has("name", "marko").repeat(__.both()).times(2).path().toList();
+        final List<Path> paths = g.V().has("name", "marko").
+                repeat(__.both()).times(2).with(RepeatStep.FRONTIER, true).path().toList();
+        assertThat(paths, is(expected));
+        assertThat(g.V().has("name", "marko").as("a").repeat(__.both()).times(2).with(RepeatStep.FRONTIER, true).
+                select("a").count().next(), is(g.V().has("name", "marko").repeat(__.both()).times(2).count().next()));
+    }
+
+    @Test
+    public void shouldKeepSacksWhenRequired() {
+        // d is reached through b and through c in the same loop but the two traversers carry different sacks so they
+        // may not be merged into one
+        final TinkerGraph weighted = TinkerGraph.open();
+        final GraphTraversalSource w = weighted.traversal();
+        w.addV().property(T.id, "a").as("a").
+                addV().property(T.id, "b").as("b").
+                addV().property(T.id, "c").as("c").
+                addV().property(T.id, "d").as("d").
+                addE("link").from("a").to("b").property("w", 0.5).
+                addE("link").from("a").to("c").property("w", 0.2).
+                addE("link").from("b").to("d").property("w", 1.0).
+                addE("link").from("c").to("d").property("w", 1.0).iterate();
+        final List<Object> expected = w.withSack(1.0).V("a").
+                repeat(__.outE().sack(Operator.mult).by("w").inV()).times(2).sack().toList();
+        final List<Object> sacks = w.withSack(1.0).V("a").
+                repeat(__.outE().sack(Operator.mult).by("w").inV()).times(2).with(RepeatStep.FRONTIER, true).sack().toList();
+        assertThat(sacks, containsInAnyOrder(0.5, 0.2));
+        assertThat(sacks, containsInAnyOrder(expected.toArray()));
+    }
+
+    @Test
+    public void shouldPruneVerticesReachedInEarlierLoops() {
+        assertThat(g.V().has("name", "marko").repeat(__.both()).times(4).count().next() > 0L, is(true));
+        assertThat(g.V().has("name", "marko").repeat(__.both()).times(4).with(RepeatStep.FRONTIER, true).count().next(), is(0L));
+        assertThat(g.V().has("name", "marko").repeat(__.both()).times(2).with(RepeatStep.FRONTIER, true).values("name").toList(),
+                containsInAnyOrder("ripple", "peter"));
+    }
+
+    @Test
+    public void shouldSupportUntilBeforeRepeat() {
+        final List<Object> names = g.V().has("name", "marko").
+                until(__.hasLabel("software")).repeat(__.out()).with(RepeatStep.FRONTIER, true).
+                values("name").toList();
+        assertThat(names, containsInAnyOrder("lop", "ripple"));
+    }
+
+    @Test
+    public void shouldNotUnrollFrontierRepeat() {
+        final Traversal.Admin<?, ?> t = g.V().repeat(__.out()).times(2).with(RepeatStep.FRONTIER, true).asAdmin();
+        t.applyStrategies();
+        assertThat(TraversalHelper.getFirstStepOfAssignableClass(RepeatStep.class, t).isPresent(), is(true));
+    }
+
+    private static Map<Object, Long> toBulkMap(final Traversal.Admin<?, Vertex> traversal) {
+        final Map<Object, Long> bulks = new HashMap<>();
+        while (traversal.hasNext()) {
+            final Traverser.Admin<Vertex> t = traversal.nextTraverser();
+            assertThat(bulks.containsKey(t.get().value("name")), is(false));
+            bulks.put(t.get().value("name"), t.bulk());
+        }
+        return bulks;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Parallelizable;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ParallelBranchStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BranchExecutor;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+
+public class ParallelBranchStrategyTest {
+
+    private final TinkerGraph graph = TinkerFactory.createModern();
+    private final GraphTraversalSource g = graph.traversal();
+    private final GraphTraversalSource parallelG = g.withStrategies(
+            ParallelBranchStrategy.build().threads(4).requireConcurrentAccess(false).create());
+
+    @Test
+    public void shouldProduceSameOrderedResultsForUnion() {
+        assertSameResults(s -> s.V().union(__.out().id(), __.in().id(), __.both().values("name"), __.outE().count().as("c").select("c")));
+        assertSameResults(s -> s.union(__.V().values("name"), __.E().id(), __.V().out().out().id()));
+        assertSameResults(s -> s.V().union(__.out().order().by("name").id(), __.in().fold().unfold().id()));
+    }
+
+    @Test
+    public void shouldProduceSameOrderedResultsForLocal() {
+        assertSameResults(s -> s.V().local(__.out().values("name").fold()));
+        assertSameResults(s -> s.V().local(__.bothE().limit(2)).label());
+    }
+
+    @Test
+    public void shouldProduceSameOrderedResultsForCoalesce() {
+        assertSameResults(s -> s.V().coalesce(__.out("created"), __.out("knows"), __.values("name")));
+        assertSameResults(s -> s.V().coalesce(__.outE("knows").values("weight"), __.constant(0)));
+    }
+
+    @Test
+    public void shouldProduceSameOrderedResultsForNestedBranches() {
+        assertSameResults(s -> s.V().union(__.local(__.out().union(__.in(), __.out())), __.coalesce(__.in(), __.out())).id());
+    }
+
+    @Test
+    public void shouldNotParallelizeDependentBranches() {
+        final Traversal.Admin<?, ?> t = parallelG.V().union(__.out(), __.aggregate("x")).asAdmin();
+        t.applyStrategies();
+        assertThat(TraversalHelper.getLastStepOfAssignableClass(Parallelizable.class, t).get().getBranchExecutor(), is(nullValue()));
+
+        final Traversal.Admin<?, ?> mutating = parallelG.V().coalesce(__.out(), __.addV()).asAdmin();
+        mutating.applyStrategies();
+        assertThat(TraversalHelper.getLastStepOfAssignableClass(Parallelizable.class, mutating).get().getBranchExecutor(), is(nullValue()));
+
+        assertNotParallelized(parallelG.withSack(1).V().union(__.out(), __.sack()).asAdmin());
+        assertNotParallelized(parallelG.V().union(__.out(), __.out().cap("x")).asAdmin());
+        assertNotParallelized(parallelG.withSideEffect("x", 1).V().union(__.out(), __.select("x")).asAdmin());
+        assertNotParallelized(parallelG.V().union(__.out(), __.in()).profile().asAdmin());
+    }
+
+    @Test
+    public void shouldParallelizeBranchesThatSelectLabelsOnly() {
+        final Traversal.Admin<?, ?> t = parallelG.withSideEffect("x", 1).V().as("a").union(__.out(), __.select("a")).asAdmin();
+        t.applyStrategies();
+        assertThat(TraversalHelper.getLastStepOfAssignableClass(Parallelizable.class, t).get().getBranchExecutor(), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldCancelRemainingBranchesOnceFirstHasResult() {
+        final BranchExecutor executor = BranchExecutor.create(2);
+        try {
+            final CountDownLatch started = new CountDownLatch(1);
+            final AtomicBoolean finished = new AtomicBoolean(false);
+            final String first = executor.invokeFirst(Arrays.<Callable<String>>asList(
+                    () -> {
+                        started.await();
+                        return "first";
+                    },
+                    () -> {
+                        started.countDown();
+                        try {
+                            new CountDownLatch(1).await();
+                        } finally {
+                            finished.set(true);
+                        }
+                        return "second";
+                    }), Objects::nonNull);
+
+            assertThat(first, is("first"));
+            assertThat(finished.get(), is(true));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotEvaluateBranchesAfterFirstWhenEvaluatedOnCaller() {
+        final BranchExecutor executor = new BranchExecutor(Executors.newSingleThreadExecutor(), 2);
+        executor.shutdown();
+        final AtomicInteger calls = new AtomicInteger(0);
+        final Integer first = executor.invokeFirst(Arrays.<Callable<Integer>>asList(
+                calls::incrementAndGet, calls::incrementAndGet, calls::incrementAndGet), Objects::nonNull);
+
+        assertThat(first, is(1));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void shouldParallelizeIndependentBranches() {
+        final Traversal.Admin<?, ?> t = parallelG.V().union(__.out(), __.in()).asAdmin();
+        t.applyStrategies();
+        assertThat(TraversalHelper.getLastStepOfAssignableClass(Parallelizable.class, t).get().getBranchExecutor(), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldRespectConcurrentAccessFeature() {
+        final Traversal.Admin<?, ?> t = g.withStrategies(ParallelBranchStrategy.build().create()).V().union(__.out(), __.in()).asAdmin();
+        t.applyStrategies();
+        assertThat(TraversalHelper.getLastStepOfAssignableClass(Parallelizable.class, t).get().getBranchExecutor(), is(nullValue()));
+    }
+
+    private static void assertNotParallelized(final Traversal.Admin<?, ?> t) {
+        t.applyStrategies();
+        assertThat(TraversalHelper.getLastStepOfAssignableClass(Parallelizable.class, t).get().getBranchExecutor(), is(nullValue()));
+    }
+
+    private void assertSameResults(final Function<GraphTraversalSource, Traversal<?, ?>> query) {
+        final List<?> expected = query.apply(g).toList();
+        final List<?> actual = query.apply(parallelG).toList();
+        assertThat(actual, is(expected));
+    }
+}
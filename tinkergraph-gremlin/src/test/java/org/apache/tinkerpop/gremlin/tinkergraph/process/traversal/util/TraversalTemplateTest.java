@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalTemplate;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+public class TraversalTemplateTest {
+
+    private final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+    @Test
+    public void shouldBindArgumentsIntoHasStep() {
+        final TraversalTemplate<Vertex, Object> template = g.template((s, args) ->
+                s.V().out("knows").has("age", P.gt(args[0])).values("name"));
+
+        assertThat(template.instance(30).toList(), containsInAnyOrder("josh"));
+        assertThat(template.instance(20).toList(), containsInAnyOrder("vadas", "josh"));
+        assertThat(template.instance(40).toList().isEmpty(), is(true));
+
+        assertThat(template.isCompiled(1), is(true));
+        assertThat(template.getMisses(), is(1L));
+    }
+
+    @Test
+    public void shouldBindArgumentsIntoFoldedStartStep() {
+        // TinkerGraphStepStrategy folds the has() into the TinkerGraphStep which holds the containers the arguments
+        // are bound to
+        final TraversalTemplate<Vertex, Object> template = g.template((s, args) -> s.V().has("name", args[0]).values("age"));
+
+        assertThat(template.instance("marko").toList(), containsInAnyOrder(29));
+        assertThat(template.instance("josh").toList(), containsInAnyOrder(32));
+        assertThat(template.instance("lop").toList().isEmpty(), is(true));
+        assertThat(template.instance("marko").toList(), containsInAnyOrder(29));
+
+        assertThat(template.isCompiled(1), is(true));
+        assertThat(template.getMisses(), is(1L));
+        assertThat(template.getHits(), is(3L));
+    }
+
+    @Test
+    public void shouldBindArgumentsIntoShapeBuiltWithPlaceholders() {
+        // the builder must not branch on its arguments as instances take the shape of the compiled traversal, so the
+        // null here is bound into the has() rather than returning all vertices
+        final TraversalTemplate<Vertex, Object> template = g.template((s, args) ->
+                null == args[0] ? s.V().values("name") : s.V().has("name", args[0]).values("name"));
+
+        assertThat(template.instance("marko").toList(), containsInAnyOrder("marko"));
+        assertThat(template.isCompiled(1), is(true));
+        assertThat(template.instance((Object) null).toList().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldNotCompileWhenArgumentIsAnId() {
+        final TraversalTemplate<Vertex, Object> template = g.template((s, args) -> s.V(args[0]).out("knows").values("name"));
+
+        assertThat(template.instance(1).toList(), containsInAnyOrder("vadas", "josh"));
+        assertThat(template.instance(4).toList().isEmpty(), is(true));
+        assertThat(template.instance(Arrays.asList(1, 4)).toList(), containsInAnyOrder("vadas", "josh"));
+
+        assertThat(template.isCompiled(1), is(false));
+        assertThat(template.getHits(), is(0L));
+    }
+
+    @Test
+    public void shouldReturnLockedIndependentInstances() {
+        final TraversalTemplate<Vertex, Long> template = g.template((s, args) -> s.V().hasLabel("person").count());
+
+        final Traversal<Vertex, Long> first = template.instance();
+        final Traversal<Vertex, Long> second = template.instance();
+        assertNotSame(first, second);
+        assertThat(first.asAdmin().isLocked(), is(true));
+        assertThat(second.asAdmin().isLocked(), is(true));
+
+        assertThat(first.next(), is(4L));
+        assertThat(second.next(), is(4L));
+        assertThat(template.instance().next(), is(4L));
+    }
+
+    @Test
+    public void shouldNotAllowStepsToBeAddedToInstance() {
+        final TraversalTemplate<Vertex, Vertex> template = g.template((s, args) -> s.V(args));
+        final Traversal.Admin<Vertex, Vertex> instance = template.instance(1).asAdmin();
+        try {
+            instance.addStep(new IdentityStep<>(instance));
+            fail("Instances should be locked");
+        } catch (IllegalStateException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldCompileOncePerNumberOfArguments() {
+        final TraversalTemplate<Vertex, Object> template = g.template((s, args) -> s.V().out().has("name", P.within(args)).values("age"));
+        assertThat(template.instance("josh").toList(), containsInAnyOrder(32));
+        assertThat(template.instance("josh", "vadas").toList(), containsInAnyOrder(32, 27));
+        assertThat(template.instance("marko", "vadas").toList(), containsInAnyOrder(27));
+        assertThat(template.instance("vadas").toList(), containsInAnyOrder(27));
+
+        assertThat(template.isCompiled(1), is(true));
+        assertThat(template.isCompiled(2), is(true));
+        assertThat(template.getMisses(), is(2L));
+        assertThat(template.getHits(), is(2L));
+    }
+
+    @Test
+    public void shouldProduceInstancesConcurrently() throws Exception {
+        final TraversalTemplate<Vertex, Long> template = g.template((s, args) -> s.V().both().has("name", args[0]).count());
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Callable<Long> task = () -> {
+                long total = 0;
+                for (int i = 0; i < 250; i++) {
+                    total += template.instance("marko").next();
+                }
+                return total;
+            };
+            for (Future<Long> f : executor.invokeAll(Arrays.asList(task, task, task, task))) {
+                assertThat(f.get(), is(750L));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(template.getMisses() + template.getHits(), is(1000L));
+    }
+}